@@ -0,0 +1,75 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.persistence.Neo4jConfig;
+import org.openkilda.persistence.Neo4jPersistenceManager;
+import org.openkilda.persistence.NetworkConfig;
+import org.openkilda.persistence.PersistenceManager;
+
+import lombok.Getter;
+import org.neo4j.ogm.testutil.TestServer;
+
+/**
+ * Embedded Neo4j with the persistence layer on top of it, for the benchmarks which go through the repositories.
+ */
+public class EmbeddedPersistence implements AutoCloseable {
+    private final TestServer testServer;
+
+    @Getter
+    private final PersistenceManager persistenceManager;
+
+    /**
+     * Starts the embedded Neo4j, the indexes and constraints are created on the first access.
+     */
+    public EmbeddedPersistence() {
+        testServer = new TestServer(true, true, 5);
+
+        NetworkConfig networkConfig = new PropertiesBasedConfigurationProvider().getConfiguration(NetworkConfig.class);
+        persistenceManager = new Neo4jPersistenceManager(new Neo4jConfig() {
+            @Override
+            public String getUri() {
+                return testServer.getUri();
+            }
+
+            @Override
+            public String getLogin() {
+                return testServer.getUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return testServer.getPassword();
+            }
+
+            @Override
+            public int getConnectionPoolSize() {
+                return 50;
+            }
+
+            @Override
+            public String getIndexesAuto() {
+                return "update";
+            }
+        }, networkConfig);
+    }
+
+    @Override
+    public void close() {
+        testServer.shutdown();
+    }
+}
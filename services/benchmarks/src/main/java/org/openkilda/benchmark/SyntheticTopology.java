@@ -0,0 +1,239 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated network for the benchmarks. ISL costs are pseudo random with a fixed seed, so the same spec gives the
+ * same network (and the same paths) in every run and the results of successive builds are comparable.
+ *
+ * <p>The spec is {@code <shape>:<size>}, supported shapes are:
+ * <ul>
+ * <li>{@code fat-tree:K} - K-ary fat-tree of 5*K^2/4 switches, i.e. K pods of K/2 edge and K/2 aggregation switches
+ * plus (K/2)^2 core switches.</li>
+ * <li>{@code mesh:N} - N x N grid, each switch is linked with its neighbours in the row and in the column.</li>
+ * </ul>
+ */
+public final class SyntheticTopology {
+    public static final IslConfig ISL_CONFIG = IslConfig.builder()
+            .unstableIslTimeout(Duration.ofSeconds(120))
+            .unstableCostRaise(10000)
+            .underMaintenanceCostRaise(10000)
+            .build();
+
+    private static final long SEED = 42;
+    private static final int MIN_COST = 100;
+    private static final int MAX_COST = 1000;
+    private static final long BANDWIDTH = 10_000_000;
+    private static final long LATENCY = 1_000_000;
+
+    @Getter
+    private final String spec;
+    private final List<Switch> switches = new ArrayList<>();
+    private final List<Link> links = new ArrayList<>();
+    private final int[] nextPort;
+    private final Random random = new Random(SEED);
+
+    private int firstEndpoint;
+    private int secondEndpoint;
+
+    private SyntheticTopology(String spec, int switchesCount) {
+        this.spec = spec;
+        nextPort = new int[switchesCount];
+        for (int i = 0; i < switchesCount; i++) {
+            switches.add(Switch.builder()
+                    .switchId(new SwitchId(i + 1))
+                    .status(SwitchStatus.ACTIVE)
+                    .build());
+        }
+    }
+
+    /**
+     * Builds the topology by its spec, e.g. {@code fat-tree:8} or {@code mesh:10}.
+     */
+    public static SyntheticTopology fromSpec(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(format("Invalid topology spec \"%s\", expected <shape>:<size>", spec));
+        }
+
+        int size = Integer.parseInt(parts[1]);
+        switch (parts[0]) {
+            case "fat-tree":
+                return fatTree(size);
+            case "mesh":
+                return mesh(size);
+            default:
+                throw new IllegalArgumentException(format("Unsupported topology shape \"%s\"", parts[0]));
+        }
+    }
+
+    /**
+     * Builds K-ary fat-tree. The endpoints are the first edge switch of the first pod and the last edge switch of
+     * the last pod, so the path between them goes through the core.
+     */
+    public static SyntheticTopology fatTree(int k) {
+        checkArgument(k >= 2 && k % 2 == 0, "The fat-tree arity must be even and not less than 2");
+
+        int half = k / 2;
+        int coresCount = half * half;
+        SyntheticTopology topology = new SyntheticTopology(format("fat-tree:%d", k), coresCount + k * k);
+        for (int pod = 0; pod < k; pod++) {
+            int podBase = coresCount + pod * k;
+            for (int aggregation = 0; aggregation < half; aggregation++) {
+                for (int edge = 0; edge < half; edge++) {
+                    topology.addLink(podBase + aggregation, podBase + half + edge);
+                }
+                for (int core = 0; core < half; core++) {
+                    topology.addLink(podBase + aggregation, aggregation * half + core);
+                }
+            }
+        }
+
+        topology.firstEndpoint = coresCount + half;
+        topology.secondEndpoint = coresCount + k * k - 1;
+        return topology;
+    }
+
+    /**
+     * Builds N x N grid. The endpoints are the opposite corners of the grid, i.e. 2 * (N - 1) hops away.
+     */
+    public static SyntheticTopology mesh(int n) {
+        checkArgument(n >= 2, "The mesh side must be not less than 2");
+
+        SyntheticTopology topology = new SyntheticTopology(format("mesh:%d", n), n * n);
+        for (int row = 0; row < n; row++) {
+            for (int column = 0; column < n; column++) {
+                int current = row * n + column;
+                if (column + 1 < n) {
+                    topology.addLink(current, current + 1);
+                }
+                if (row + 1 < n) {
+                    topology.addLink(current, current + n);
+                }
+            }
+        }
+
+        topology.firstEndpoint = 0;
+        topology.secondEndpoint = n * n - 1;
+        return topology;
+    }
+
+    public List<Switch> getSwitches() {
+        return Collections.unmodifiableList(switches);
+    }
+
+    /**
+     * Returns the number of bidirectional links, i.e. each link gives 2 ISLs.
+     */
+    public int getLinksCount() {
+        return links.size();
+    }
+
+    public Switch getFirstEndpoint() {
+        return switches.get(firstEndpoint);
+    }
+
+    public Switch getSecondEndpoint() {
+        return switches.get(secondEndpoint);
+    }
+
+    /**
+     * Builds active ISLs in both directions of each link, the ISLs are not persisted.
+     */
+    public List<Isl> buildIsls() {
+        List<Isl> isls = new ArrayList<>(links.size() * 2);
+        for (Link link : links) {
+            isls.add(buildIsl(link.getSrc(), link.getSrcPort(), link.getDst(), link.getDstPort(), link.getCost()));
+            isls.add(buildIsl(link.getDst(), link.getDstPort(), link.getSrc(), link.getSrcPort(), link.getCost()));
+        }
+        return isls;
+    }
+
+    /**
+     * Stores the switches (with default properties) and the ISLs.
+     */
+    public void persist(RepositoryFactory repositoryFactory) {
+        SwitchRepository switchRepository = repositoryFactory.createSwitchRepository();
+        SwitchPropertiesRepository switchPropertiesRepository = repositoryFactory.createSwitchPropertiesRepository();
+        for (Switch sw : switches) {
+            switchRepository.createOrUpdate(sw);
+            switchPropertiesRepository.createOrUpdate(SwitchProperties.builder()
+                    .switchObj(sw)
+                    .supportedTransitEncapsulation(SwitchProperties.DEFAULT_FLOW_ENCAPSULATION_TYPES)
+                    .build());
+        }
+
+        IslRepository islRepository = repositoryFactory.createIslRepository();
+        buildIsls().forEach(islRepository::createOrUpdate);
+    }
+
+    private void addLink(int src, int dst) {
+        int cost = MIN_COST + random.nextInt(MAX_COST - MIN_COST + 1);
+        links.add(new Link(src, ++nextPort[src], dst, ++nextPort[dst], cost));
+    }
+
+    private Isl buildIsl(int src, int srcPort, int dst, int dstPort, int cost) {
+        Isl isl = Isl.builder()
+                .srcSwitch(switches.get(src))
+                .srcPort(srcPort)
+                .destSwitch(switches.get(dst))
+                .destPort(dstPort)
+                .cost(cost)
+                .latency(LATENCY)
+                .speed(BANDWIDTH)
+                .maxBandwidth(BANDWIDTH)
+                .defaultMaxBandwidth(BANDWIDTH)
+                .availableBandwidth(BANDWIDTH)
+                .status(IslStatus.ACTIVE)
+                .actualStatus(IslStatus.ACTIVE)
+                .build();
+        isl.setIslConfig(ISL_CONFIG);
+        return isl;
+    }
+
+    @Value
+    private static class Link {
+        int src;
+        int srcPort;
+        int dst;
+        int dstPort;
+        int cost;
+    }
+}
@@ -0,0 +1,118 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark.floodlight;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.service.of.InputService;
+import org.openkilda.floodlight.utils.CommandContextFactory;
+
+import net.floodlightcontroller.core.FloodlightContext;
+import net.floodlightcontroller.core.IFloodlightProviderService;
+import net.floodlightcontroller.core.IListener;
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.debugcounter.IDebugCounterService;
+import net.floodlightcontroller.debugcounter.MockDebugCounterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFPacketInReason;
+import org.projectfloodlight.openflow.protocol.OFType;
+import org.projectfloodlight.openflow.protocol.match.MatchField;
+import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.OFPort;
+import org.projectfloodlight.openflow.types.U64;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PACKET_IN dispatch throughput of {@link InputService}, i.e. messages/sec accepted from one FL IO thread (one core).
+ * The translator does nothing, so only the dispatch overhead is measured.
+ *
+ * <p>Use {@code java -jar target/benchmarks.jar InputServiceBenchmark -t N} to emulate N switch IO threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class InputServiceBenchmark {
+    private InputService inputService;
+    private IOFSwitch sw;
+    private OFMessage packetIn;
+    private FloodlightContext context;
+
+    /**
+     * Setup InputService with one no-op PACKET_IN translator.
+     */
+    @Setup
+    public void setUp() {
+        KildaCoreConfig config = createMock(KildaCoreConfig.class);
+        expect(config.getPacketInWorkersCount()).andStubReturn(4);
+        expect(config.getPacketInQueueCapacity()).andStubReturn(1024);
+        KildaCore kildaCore = createMock(KildaCore.class);
+        expect(kildaCore.getConfig()).andStubReturn(config);
+
+        sw = createMock(IOFSwitch.class);
+        expect(sw.getId()).andStubReturn(DatapathId.of(1));
+        expect(sw.getLatency()).andStubReturn(U64.of(1));
+
+        IFloodlightProviderService flProviderService = createNiceMock(IFloodlightProviderService.class);
+        replay(config, kildaCore, sw, flProviderService);
+
+        FloodlightModuleContext moduleContext = new FloodlightModuleContext();
+        moduleContext.addService(IFloodlightProviderService.class, flProviderService);
+        moduleContext.addService(IDebugCounterService.class, new MockDebugCounterService());
+        CommandContextFactory commandContextFactory = new CommandContextFactory();
+        commandContextFactory.init(moduleContext);
+
+        inputService = new InputService(kildaCore, commandContextFactory);
+        inputService.setup(moduleContext);
+        inputService.addTranslator(OFType.PACKET_IN, (commandContext, input) -> null);
+
+        OFFactory ofFactory = OFFactoryVer13.INSTANCE;
+        packetIn = ofFactory.buildPacketIn()
+                .setMatch(ofFactory.buildMatch().setExact(MatchField.IN_PORT, OFPort.of(1)).build())
+                .setReason(OFPacketInReason.NO_MATCH)
+                .setData(new byte[64])
+                .build();
+        context = new FloodlightContext();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public IListener.Command receivePacketIn() {
+        return inputService.receive(sw, packetIn, context);
+    }
+}
@@ -0,0 +1,147 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark.messaging;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.model.SwitchId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the kafka messages with {@link Utils#MAPPER}, in JSON and in the binary format of
+ * {@link MessageCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MessageCodecBenchmark {
+    @Param({"FLOW_STATS", "ISL_INFO", "PING_COMMAND"})
+    public Sample sample;
+
+    @Param({"JSON", "BINARY"})
+    public MessageFormat format;
+
+    private MessageCodec codec;
+    private Message message;
+    private byte[] encoded;
+
+    /**
+     * Build the sample message and its encoded form.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        codec = new MessageCodec(Utils.MAPPER);
+        message = sample.build();
+        encoded = codec.encode(message, format);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(message, format);
+    }
+
+    @Benchmark
+    public Message decode() throws IOException {
+        return codec.decode(encoded, format, Message.class);
+    }
+
+    @Benchmark
+    public Message roundTrip() throws IOException {
+        return codec.decode(codec.encode(message, format), format, Message.class);
+    }
+
+    public enum Sample {
+        /**
+         * Flow stats of one switch with 50 entries, the biggest periodic message.
+         */
+        FLOW_STATS {
+            @Override
+            Message build() {
+                List<FlowStatsEntry> entries = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    entries.add(new FlowStatsEntry(0, 0x4000000000000000L + i, 1000L * i, 64000L * i, i, i + 1));
+                }
+                return new InfoMessage(new FlowStatsData(new SwitchId(1), entries),
+                        System.currentTimeMillis(), "stats-request", "region");
+            }
+        },
+
+        /**
+         * Discovered ISL, sent for each ISL on each discovery round.
+         */
+        ISL_INFO {
+            @Override
+            Message build() {
+                IslInfoData data = IslInfoData.builder()
+                        .latency(1000)
+                        .source(new PathNode(new SwitchId("00:00:00:00:00:00:00:01"), 1, 0))
+                        .destination(new PathNode(new SwitchId("00:00:00:00:00:00:00:02"), 2, 1))
+                        .speed(10000000)
+                        .availableBandwidth(10000000)
+                        .maxBandwidth(10000000)
+                        .defaultMaxBandwidth(10000000)
+                        .state(IslChangeType.DISCOVERED)
+                        .actualState(IslChangeType.DISCOVERED)
+                        .cost(700)
+                        .packetId(1L)
+                        .build();
+                return new InfoMessage(data, System.currentTimeMillis(), "discovery", "region");
+            }
+        },
+
+        /**
+         * Small command.
+         */
+        PING_COMMAND {
+            @Override
+            Message build() {
+                return new CommandMessage(new PeriodicPingCommand("flow", true), System.currentTimeMillis(),
+                        "ping");
+            }
+        };
+
+        abstract Message build();
+    }
+}
@@ -0,0 +1,74 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark.model;
+
+import org.openkilda.model.SwitchId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and formatting of {@link SwitchId}, which is done for each switch id in logs, stats and JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SwitchIdBenchmark {
+    private SwitchId switchId;
+    private String colonSeparated;
+
+    /**
+     * Fields are not final to not let JIT fold the results.
+     */
+    @Setup
+    public void setUp() {
+        colonSeparated = "00:00:70:72:cf:d2:48:6c";
+        switchId = new SwitchId(colonSeparated);
+    }
+
+    @Benchmark
+    public SwitchId parse() {
+        return new SwitchId(colonSeparated);
+    }
+
+    @Benchmark
+    public String formatColonSeparated() {
+        return switchId.toString();
+    }
+
+    @Benchmark
+    public String formatMacAddress() {
+        return switchId.toMacAddress();
+    }
+
+    @Benchmark
+    public String formatOtsd() {
+        return switchId.toOtsdFormat();
+    }
+}
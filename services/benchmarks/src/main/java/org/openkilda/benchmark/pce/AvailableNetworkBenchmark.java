@@ -0,0 +1,91 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark.pce;
+
+import org.openkilda.benchmark.SyntheticTopology;
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Isl;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.WeightStrategy;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building of {@link AvailableNetwork} from the ISLs and {@link AvailableNetwork#reduceByWeight}, i.e. the part of
+ * each path computation which is done before the path finder is called.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AvailableNetworkBenchmark {
+    @Param({"fat-tree:8", "fat-tree:16", "mesh:16"})
+    public String topology;
+
+    private List<Isl> isls;
+    private WeightFunction weightFunction;
+
+    /**
+     * Generate the ISLs of the topology.
+     */
+    @Setup
+    public void setUp() {
+        isls = SyntheticTopology.fromSpec(topology).buildIsls();
+
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider()
+                .getConfiguration(PathComputerConfig.class);
+        // only the weight function is used, so the factory doesn't need the network factory
+        weightFunction = new PathComputerFactory(config, null).getWeightFunctionByStrategy(WeightStrategy.COST);
+    }
+
+    /**
+     * Add all ISLs of the topology to the new network, as {@link org.openkilda.pce.AvailableNetworkFactory} does.
+     */
+    @Benchmark
+    public AvailableNetwork build() {
+        AvailableNetwork network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+        return network;
+    }
+
+    /**
+     * Build the network and leave the cheapest ISL between each pair of switches, as the path computer does.
+     */
+    @Benchmark
+    public AvailableNetwork buildAndReduceByWeight() {
+        AvailableNetwork network = build();
+        network.reduceByWeight(weightFunction);
+        return network;
+    }
+}
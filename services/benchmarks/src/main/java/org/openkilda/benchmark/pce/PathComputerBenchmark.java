@@ -0,0 +1,107 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark.pce;
+
+import org.openkilda.benchmark.EmbeddedPersistence;
+import org.openkilda.benchmark.SyntheticTopology;
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.PathComputer;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathPair;
+import org.openkilda.pce.exception.RecoverableException;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole {@link PathComputer#getPath} with the topology stored in the embedded Neo4j, i.e. the ISL query (or the
+ * network snapshot), building and reducing of the network and the path finder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PathComputerBenchmark {
+    @Param({"fat-tree:8", "mesh:10"})
+    public String topology;
+
+    @Param({"false", "true"})
+    public boolean networkSnapshot;
+
+    private EmbeddedPersistence persistence;
+    private PathComputer pathComputer;
+    private Flow flow;
+
+    /**
+     * Start the embedded Neo4j and store the topology into it.
+     */
+    @Setup
+    public void setUp() {
+        persistence = new EmbeddedPersistence();
+        RepositoryFactory repositoryFactory = persistence.getPersistenceManager().getRepositoryFactory();
+        SyntheticTopology synthetic = SyntheticTopology.fromSpec(topology);
+        persistence.getPersistenceManager().getTransactionManager().doInTransaction(
+                () -> synthetic.persist(repositoryFactory));
+
+        Properties configProps = new Properties();
+        configProps.setProperty("pce.network.snapshot.enabled", String.valueOf(networkSnapshot));
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider(configProps)
+                .getConfiguration(PathComputerConfig.class);
+        pathComputer = new PathComputerFactory(config, new AvailableNetworkFactory(config, repositoryFactory))
+                .getPathComputer();
+
+        flow = Flow.builder()
+                .flowId("benchmark-flow")
+                .srcSwitch(synthetic.getFirstEndpoint())
+                .srcPort(100)
+                .destSwitch(synthetic.getSecondEndpoint())
+                .destPort(100)
+                .bandwidth(1000)
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        persistence.close();
+    }
+
+    @Benchmark
+    public PathPair getPath() throws UnroutableFlowException, RecoverableException {
+        return pathComputer.getPath(flow);
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark.pce;
+
+import org.openkilda.benchmark.SyntheticTopology;
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.WeightStrategy;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path finders over the reduced {@link AvailableNetwork}, the path is searched between the most distant switches of
+ * the topology. {@code finderStrategy} is {@code pce.finder.strategy} of {@link PathComputerConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PathFinderBenchmark {
+    @Param({"fat-tree:8", "fat-tree:16", "mesh:16"})
+    public String topology;
+
+    @Param({"BFS", "DIJKSTRA"})
+    public String finderStrategy;
+
+    private AvailableNetwork network;
+    private PathFinder pathFinder;
+    private SwitchId srcSwitchId;
+    private SwitchId dstSwitchId;
+
+    /**
+     * Build the reduced network of the topology and the configured path finder.
+     */
+    @Setup
+    public void setUp() {
+        Properties configProps = new Properties();
+        configProps.setProperty("pce.finder.strategy", finderStrategy);
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider(configProps)
+                .getConfiguration(PathComputerConfig.class);
+        // only the finder is used, so the factory doesn't need the network factory
+        PathComputerFactory pathComputerFactory = new PathComputerFactory(config, null);
+        pathFinder = pathComputerFactory.getPathFinder(
+                pathComputerFactory.getWeightFunctionByStrategy(WeightStrategy.COST));
+
+        SyntheticTopology synthetic = SyntheticTopology.fromSpec(topology);
+        network = new AvailableNetwork();
+        synthetic.buildIsls().forEach(network::addLink);
+        network.reduceByWeight(pathFinder.getWeightFunction());
+
+        srcSwitchId = synthetic.getFirstEndpoint().getSwitchId();
+        dstSwitchId = synthetic.getSecondEndpoint().getSwitchId();
+    }
+
+    @Benchmark
+    public Pair<List<Edge>, List<Edge>> findPath() throws UnroutableFlowException {
+        return pathFinder.findPathInNetwork(network, srcSwitchId, dstSwitchId);
+    }
+
+    @Benchmark
+    public List<List<Edge>> findThreePaths() throws UnroutableFlowException {
+        return pathFinder.findNPathsBetweenSwitches(network, srcSwitchId, dstSwitchId, 3);
+    }
+}
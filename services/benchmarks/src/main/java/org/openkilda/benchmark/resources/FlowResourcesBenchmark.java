@@ -0,0 +1,123 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark.resources;
+
+import static java.lang.String.format;
+
+import org.openkilda.benchmark.EmbeddedPersistence;
+import org.openkilda.benchmark.SyntheticTopology;
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Switch;
+import org.openkilda.wfm.share.flow.resources.FlowResources;
+import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
+import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.flow.resources.ResourceAllocationException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation and deallocation of the flow resources (cookie, meters and transit encapsulation) by
+ * {@link FlowResourcesManager} in the embedded Neo4j. {@code allocatedFlows} flows are allocated beforehand to
+ * measure the pools which are not empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class FlowResourcesBenchmark {
+    @Param({"TRANSIT_VLAN", "VXLAN"})
+    public FlowEncapsulationType encapsulationType;
+
+    @Param({"0", "1000"})
+    public int allocatedFlows;
+
+    private EmbeddedPersistence persistence;
+    private FlowResourcesManager flowResourcesManager;
+    private Flow flow;
+
+    /**
+     * Start the embedded Neo4j, store the switches of fat-tree:4 into it and allocate resources of
+     * {@code allocatedFlows} flows between random switches.
+     */
+    @Setup
+    public void setUp() throws ResourceAllocationException {
+        persistence = new EmbeddedPersistence();
+        SyntheticTopology synthetic = SyntheticTopology.fatTree(4);
+        persistence.getPersistenceManager().getTransactionManager().doInTransaction(
+                () -> synthetic.persist(persistence.getPersistenceManager().getRepositoryFactory()));
+
+        FlowResourcesConfig config = new PropertiesBasedConfigurationProvider()
+                .getConfiguration(FlowResourcesConfig.class);
+        flowResourcesManager = new FlowResourcesManager(persistence.getPersistenceManager(), config);
+
+        List<Switch> switches = synthetic.getSwitches();
+        Random random = new Random(42);
+        for (int i = 0; i < allocatedFlows; i++) {
+            Switch src = switches.get(random.nextInt(switches.size()));
+            Switch dst = switches.get(random.nextInt(switches.size()));
+            flowResourcesManager.allocateFlowResourcesInTransaction(
+                    buildFlow(format("allocated-flow-%d", i), src, dst));
+        }
+
+        flow = buildFlow("benchmark-flow", synthetic.getFirstEndpoint(), synthetic.getSecondEndpoint());
+    }
+
+    @TearDown
+    public void tearDown() {
+        persistence.close();
+    }
+
+    /**
+     * Allocate and release resources of one flow, i.e. the pools have the same state before each invocation.
+     */
+    @Benchmark
+    public FlowResources allocateAndDeallocate() throws ResourceAllocationException {
+        FlowResources resources = flowResourcesManager.allocateFlowResourcesInTransaction(flow);
+        flowResourcesManager.deallocatePathResources(resources);
+        return resources;
+    }
+
+    private Flow buildFlow(String flowId, Switch src, Switch dst) {
+        return Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(src)
+                .srcPort(100)
+                .destSwitch(dst)
+                .destPort(100)
+                .bandwidth(1000)
+                .encapsulationType(encapsulationType)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.Isl;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SyntheticTopologyTest {
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> (long) edge.getCost();
+
+    @Test
+    public void shouldBuildFatTree() throws UnroutableFlowException {
+        SyntheticTopology topology = SyntheticTopology.fromSpec("fat-tree:4");
+
+        assertEquals("fat-tree:4", topology.getSpec());
+        assertEquals(20, topology.getSwitches().size());
+        assertEquals(32, topology.getLinksCount());
+        assertEquals(64, topology.buildIsls().size());
+        // edge - aggregation - core - aggregation - edge
+        assertEquals(4, findPath(topology).getLeft().size());
+    }
+
+    @Test
+    public void shouldBuildMesh() throws UnroutableFlowException {
+        SyntheticTopology topology = SyntheticTopology.fromSpec("mesh:4");
+
+        assertEquals(16, topology.getSwitches().size());
+        assertEquals(24, topology.getLinksCount());
+        assertEquals(6, findPath(topology).getLeft().size());
+    }
+
+    @Test
+    public void shouldBuildSameTopologyBySameSpec() {
+        assertEquals(getCosts(SyntheticTopology.fatTree(8)), getCosts(SyntheticTopology.fromSpec("fat-tree:8")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownShape() {
+        SyntheticTopology.fromSpec("ring:8");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectOddFatTree() {
+        SyntheticTopology.fromSpec("fat-tree:5");
+    }
+
+    private Pair<List<Edge>, List<Edge>> findPath(SyntheticTopology topology) throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        topology.buildIsls().forEach(network::addLink);
+        network.reduceByWeight(WEIGHT_FUNCTION);
+
+        return new BestCostAndShortestPathFinder(35, WEIGHT_FUNCTION).findPathInNetwork(network,
+                topology.getFirstEndpoint().getSwitchId(), topology.getSecondEndpoint().getSwitchId());
+    }
+
+    private List<Integer> getCosts(SyntheticTopology topology) {
+        return topology.buildIsls().stream()
+                .map(Isl::getCost)
+                .collect(Collectors.toList());
+    }
+}
@@ -16,6 +16,7 @@
 package org.openkilda.config;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
 import javax.validation.constraints.NotBlank;
@@ -26,4 +27,12 @@ public interface KafkaConfig {
     @Key("hosts")
     @NotBlank
     String getHosts();
+
+    /**
+     * Comma separated list of topics written in the compact binary format instead of JSON. A topic can be added here
+     * only when all its consumers are able to read the binary format.
+     */
+    @Key("binary.topics")
+    @Default("")
+    String getBinaryTopics();
 }
@@ -24,6 +24,7 @@ import org.openkilda.model.SwitchId;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.util.UUID;
@@ -56,6 +57,14 @@ public abstract class SpeakerFlowRequest extends AbstractMessage {
     @JsonProperty("multi_table")
     final boolean multiTable;
 
+    /**
+     * The key of the response record. The request record is keyed by the switch id to keep the commands of the switch
+     * in order, so the key the requester expects in the response is passed here.
+     */
+    @JsonProperty("reply_key")
+    @Setter
+    private String replyKey;
+
     public SpeakerFlowRequest(MessageContext context, UUID commandId, String flowId, SwitchId switchId,
                               boolean multiTable) {
         super(context);
@@ -41,6 +41,13 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
     @Key("floodlight-region")
     String getFloodlightRegion();
 
+    /**
+     * Comma separated list of topics written in the compact binary format instead of JSON.
+     */
+    @Key("binary-topics")
+    @Default("")
+    String getBinaryTopics();
+
     /**
      * Returns Kafka properties built with the configuration data for Consumer.
      */
@@ -53,7 +60,7 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
         properties.put("enable.auto.commit", "false");
 
         properties.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
-        properties.put("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        properties.put("value.deserializer", "org.apache.kafka.common.serialization.ByteArrayDeserializer");
 
         return properties;
     }
@@ -72,7 +79,7 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
         properties.put("linger.ms", 10);
 
         properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        properties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         return properties;
     }
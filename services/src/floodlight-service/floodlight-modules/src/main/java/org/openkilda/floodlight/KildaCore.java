@@ -22,6 +22,8 @@ import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.service.connected.ConnectedDevicesService;
 import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.floodlight.service.session.SessionService;
+import org.openkilda.floodlight.service.session.SwitchWriteCoalescer;
+import org.openkilda.floodlight.service.web.CommandProcessorWebRoutable;
 import org.openkilda.floodlight.utils.CommandContextFactory;
 
 import com.google.common.collect.ImmutableList;
@@ -32,6 +34,8 @@ import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import net.floodlightcontroller.debugcounter.IDebugCounterService;
+import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
 
 import java.util.Collection;
@@ -48,9 +52,10 @@ public class KildaCore implements IFloodlightModule {
 
     public KildaCore() {
         services = ImmutableMap.<Class<? extends IFloodlightService>, IFloodlightService>builder()
-                .put(CommandProcessorService.class, new CommandProcessorService(this, commandContextFactory))
-                .put(InputService.class, new InputService(commandContextFactory))
+                .put(CommandProcessorService.class, new CommandProcessorService(this))
+                .put(InputService.class, new InputService(this, commandContextFactory))
                 .put(SessionService.class, new SessionService())
+                .put(SwitchWriteCoalescer.class, new SwitchWriteCoalescer(this))
                 .put(FeatureDetectorService.class, new FeatureDetectorService())
                 .put(ConnectedDevicesService.class, new ConnectedDevicesService())
                 .build();
@@ -71,7 +76,9 @@ public class KildaCore implements IFloodlightModule {
         return ImmutableList.of(
                 IThreadPoolService.class,
                 IFloodlightProviderService.class,
-                IOFSwitchService.class);
+                IOFSwitchService.class,
+                IRestApiService.class,
+                IDebugCounterService.class);
     }
 
     @Override
@@ -89,6 +96,8 @@ public class KildaCore implements IFloodlightModule {
                 ((IService) entry).setup(moduleContext);
             }
         }
+
+        moduleContext.getServiceImpl(IRestApiService.class).addRestletRoutable(new CommandProcessorWebRoutable());
     }
 
     public KildaCoreConfig getConfig() {
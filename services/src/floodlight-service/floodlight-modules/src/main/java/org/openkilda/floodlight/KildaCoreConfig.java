@@ -34,4 +34,20 @@ public interface KildaCoreConfig {
     @Key("command-processor-idle-workers-keep-alive-seconds")
     @Default("300")
     long getCommandIdleWorkersKeepAliveSeconds();
+
+    @Key("write-batch-window-ms")
+    @Default("5")
+    long getWriteBatchWindowMillis();
+
+    @Key("write-batch-max-size")
+    @Default("64")
+    int getWriteBatchMaxSize();
+
+    @Key("packet-in-workers-count")
+    @Default("4")
+    int getPacketInWorkersCount();
+
+    @Key("packet-in-queue-capacity")
+    @Default("1024")
+    int getPacketInQueueCapacity();
 }
@@ -29,6 +29,7 @@ import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.messaging.MessageContext;
 import org.openkilda.model.SwitchId;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -67,6 +68,12 @@ public abstract class SpeakerCommand {
     protected final SwitchId switchId;
     protected final MessageContext messageContext;
 
+    /**
+     * The key to send the response with, the record key is used if it is not set.
+     */
+    @JsonProperty("reply_key")
+    protected String replyKey;
+
     public SpeakerCommand(SwitchId switchId, MessageContext messageContext) {
         this.switchId = switchId;
         this.messageContext = messageContext;
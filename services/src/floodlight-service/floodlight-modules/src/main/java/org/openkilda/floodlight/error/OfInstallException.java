@@ -26,6 +26,11 @@ public class OfInstallException extends SwitchOperationException {
         this.ofMessage = ofMessage;
     }
 
+    public OfInstallException(DatapathId dpId, OFMessage ofMessage, Throwable cause) {
+        super(dpId, String.format("Error during install OFRule into switch \"%s\"", dpId), cause);
+        this.ofMessage = ofMessage;
+    }
+
     public OFMessage getOfMessage() {
         return ofMessage;
     }
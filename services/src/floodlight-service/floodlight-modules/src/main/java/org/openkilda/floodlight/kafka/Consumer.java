@@ -16,28 +16,39 @@
 package org.openkilda.floodlight.kafka;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
 import org.openkilda.floodlight.service.kafka.KafkaConsumerSetup;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
-import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.InterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
+/**
+ * Polls the Kafka topics and dispatches the records to the handlers.
+ * <p/>
+ * Records with the same key are handled one by one in the order they are received, records with different keys are
+ * handled in parallel (records without a key are ordered by the partition). The producers key the speaker commands by
+ * the switch id, so the commands of a switch are kept in order and land in one partition. The records are decoded by
+ * the handlers, so the poll thread only reads the key.
+ * <p/>
+ * Offsets are committed only when the records are handled, including the switch operations the handler started and
+ * their replies. A partition is paused when it has too many pending records, so the poll loop never blocks on busy
+ * handlers.
+ */
 public class Consumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
 
@@ -45,19 +56,25 @@ public class Consumer implements Runnable {
     private final RecordHandler.Factory handlerFactory;
     private final KafkaConsumerSetup kafkaSetup;
     private final long commitInterval;
+    private final int lanesCount;
+    private final int maxPendingRecords;
 
     private final KafkaUtilityService kafkaUtilityService;
     private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
     public Consumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
                     KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
-                    long commitInterval) {
+                    long commitInterval, int lanesCount, int maxPendingRecords) {
         this.handlersPool = requireNonNull(handlersPool);
         this.handlerFactory = requireNonNull(handlerFactory);
         this.kafkaSetup = kafkaSetup;
 
         checkArgument(commitInterval > 0, "commitInterval must be positive");
         this.commitInterval = commitInterval;
+        checkArgument(lanesCount > 0, "lanesCount must be positive");
+        this.lanesCount = lanesCount;
+        checkArgument(maxPendingRecords > 0, "maxPendingRecords must be positive");
+        this.maxPendingRecords = maxPendingRecords;
 
         kafkaUtilityService = moduleContext.getServiceImpl(KafkaUtilityService.class);
         switchManager = moduleContext.getServiceImpl(ISwitchManager.class);
@@ -74,34 +91,39 @@ public class Consumer implements Runnable {
              * From the Kafka source code, here are the default values for the following fields:
              *  - max.poll.interval.ms = 300000 (ie 300 seconds)
              *  - max.poll.records = 500 (must be able to process about 2 records per second
+             *
+             * The poll loop doesn't wait for the handlers, so the limits above can't be hit by slow handlers.
              */
 
-            try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer =
-                         kafkaUtilityService.makeConsumer(kafkaSetup)) {
+            OffsetRegistryRebalanceListener rebalanceListener = new OffsetRegistryRebalanceListener();
+            try (org.apache.kafka.clients.consumer.Consumer<String, byte[]> consumer =
+                         kafkaUtilityService.makeConsumer(kafkaSetup, rebalanceListener)) {
                 logger.info("Kafka consumer: start. Topics: {}", kafkaSetup.getTopics());
 
                 KafkaOffsetRegistry offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
-
-                while (true) {
-                    try {
-                        ConsumerRecords<String, String> batch = consumer.poll(100);
-                        if (batch.isEmpty()) {
-                            continue;
+                rebalanceListener.offsetRegistry = offsetRegistry;
+                OrderedDispatcher dispatcher = new OrderedDispatcher(handlersPool, lanesCount);
+
+                try {
+                    while (true) {
+                        ConsumerRecords<String, byte[]> batch = consumer.poll(100);
+                        if (!batch.isEmpty()) {
+                            logger.debug("Received records batch contain {} messages", batch.count());
+
+                            for (ConsumerRecord<String, byte[]> record : batch) {
+                                offsetRegistry.add(record);
+                                handle(record, dispatcher, offsetRegistry);
+                            }
                         }
 
-                        logger.debug("Received records batch contain {} messages", batch.count());
+                        offsetRegistry.commitIfIntervalPassed();
+                        applyBackpressure(consumer, offsetRegistry);
 
-                        for (ConsumerRecord<String, String> record : batch) {
-                            handle(record);
-
-                            offsetRegistry.addAndCommit(record);
-                        }
-                    } finally {
-                        // force to commit after each completed batch or in a case of an exception / error.
-                        offsetRegistry.commitOffsets();
+                        switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
                     }
-
-                    switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
+                } finally {
+                    // commit the records handled so far in a case of an exception / error.
+                    offsetRegistry.commitOffsets();
                 }
             } catch (InterruptException ex) {
                 // Gracefully finish loop on thread interruption.
@@ -114,70 +136,66 @@ public class Consumer implements Runnable {
         }
     }
 
-    protected void handle(ConsumerRecord<String, String> record) {
-        logger.trace("received message: {} - key:{}, value:{}", record.offset(), record.key(), record.value());
-        handlersPool.execute(handlerFactory.produce(record));
-    }
-
-    /**
-     * Holds offsets for Kafka partitions and performs sync commits of them.
-     * <p/>
-     * Note: the implementation is not thread-safe.
-     */
-    @VisibleForTesting
-    static class KafkaOffsetRegistry {
-        private final org.apache.kafka.clients.consumer.Consumer<String, String> consumer;
-        private final long autoCommitInterval;
-
-        private final Map<TopicPartition, Long> partitionToUncommittedOffset = new HashMap<>();
-        private long lastCommitTime;
-
-        KafkaOffsetRegistry(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
-                            long autoCommitInterval) {
-            this.consumer = consumer;
-            this.autoCommitInterval = autoCommitInterval;
+    private void handle(ConsumerRecord<String, byte[]> record, OrderedDispatcher dispatcher,
+                        KafkaOffsetRegistry offsetRegistry) {
+        logger.trace("received message: {} - key:{}, value size:{}",
+                record.offset(), record.key(), record.serializedValueSize());
+        RecordHandler handler = handlerFactory.produce(record);
+        handler.getCompletion().whenComplete((ignored, error) -> offsetRegistry.complete(record));
 
-            lastCommitTime = System.currentTimeMillis();
-        }
+        // records without a key keep the partition order
+        int keyHash = record.key() != null ? record.key().hashCode() : record.partition();
+        dispatcher.dispatch(keyHash, handler);
+    }
 
-        /**
-         * Add the record's offset to the registry and perform a commit
-         * if more than autoCommitInterval ms passed since the last commit.
-         */
-        void addAndCommit(ConsumerRecord<String, String> record) {
-            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
-
-            Long previousOffset = partitionToUncommittedOffset.get(partition);
-            if (previousOffset != null && previousOffset > record.offset()) {
-                throw new IllegalArgumentException(
-                        format("The record has offset %d which less than the previously added %d.",
-                                record.offset(), previousOffset));
+    private void applyBackpressure(org.apache.kafka.clients.consumer.Consumer<String, byte[]> consumer,
+                                   KafkaOffsetRegistry offsetRegistry) {
+        Set<TopicPartition> assignment = consumer.assignment();
+        offsetRegistry.retain(assignment);
+
+        Set<TopicPartition> paused = consumer.paused();
+        List<TopicPartition> toPause = new ArrayList<>();
+        List<TopicPartition> toResume = new ArrayList<>();
+        for (TopicPartition partition : assignment) {
+            int pending = offsetRegistry.getPendingCount(partition);
+            if (!paused.contains(partition) && pending >= maxPendingRecords) {
+                toPause.add(partition);
+            } else if (paused.contains(partition) && pending <= maxPendingRecords / 2) {
+                toResume.add(partition);
             }
+        }
 
-            partitionToUncommittedOffset.put(partition, record.offset());
+        if (!toPause.isEmpty()) {
+            logger.debug("Pause consuming from {}: too many pending records", toPause);
+            consumer.pause(toPause);
+        }
+        if (!toResume.isEmpty()) {
+            logger.debug("Resume consuming from {}", toResume);
+            consumer.resume(toResume);
+        }
+    }
 
-            // commit offsets of processed messages
-            if ((System.currentTimeMillis() - lastCommitTime) >= autoCommitInterval) {
-                commitOffsets();
+    /**
+     * Drops the registry state of the partitions on a rebalance. The consumer resumes a newly assigned partition from
+     * the committed offset, which is below the offsets the registry has seen before.
+     */
+    private static class OffsetRegistryRebalanceListener implements ConsumerRebalanceListener {
+        // set before the first poll, the listener is called from the poll only
+        private KafkaOffsetRegistry offsetRegistry;
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            if (offsetRegistry != null) {
+                offsetRegistry.commitOffsets();
+                offsetRegistry.reset(partitions);
             }
         }
 
-        /**
-         * Commits the offsets added since the last commit.
-         */
-        void commitOffsets() {
-            if (!partitionToUncommittedOffset.isEmpty()) {
-                Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
-                for (Entry<TopicPartition, Long> e : partitionToUncommittedOffset.entrySet()) {
-                    partitionToMetadata.put(e.getKey(), new OffsetAndMetadata(e.getValue() + 1));
-                }
-
-                consumer.commitSync(partitionToMetadata);
-
-                partitionToUncommittedOffset.clear();
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            if (offsetRegistry != null) {
+                offsetRegistry.reset(partitions);
             }
-
-            lastCommitTime = System.currentTimeMillis();
         }
     }
 }
@@ -40,9 +40,6 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaMessageCollector implements IFloodlightModule {
@@ -95,13 +92,13 @@ public class KafkaMessageCollector implements IFloodlightModule {
     protected void launchTopics(KafkaMessageCollectorConfig consumerConfig,
                                 KafkaChannel kafkaChannel,
                                 ConsumerLauncher launcher) {
-        ExecutorService generalExecutor = buildExecutorWithNoQueue(consumerConfig.getGeneralExecutorCount());
+        ExecutorService generalExecutor = buildExecutor(consumerConfig.getGeneralExecutorCount());
         logger.info("Kafka Consumer: general executor threads = {}", consumerConfig.getGeneralExecutorCount());
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowPingTopic()));
 
-        ExecutorService discoCommandExecutor = buildExecutorWithNoQueue(consumerConfig.getDiscoExecutorCount());
+        ExecutorService discoCommandExecutor = buildExecutor(consumerConfig.getDiscoExecutorCount());
         logger.info("Kafka Consumer: disco executor threads = {}", consumerConfig.getDiscoExecutorCount());
 
         KafkaConsumerSetup kafkaSetup = new KafkaConsumerSetup(kafkaChannel.getSpeakerDiscoTopic());
@@ -109,10 +106,9 @@ public class KafkaMessageCollector implements IFloodlightModule {
         launcher.launch(discoCommandExecutor, kafkaSetup);
     }
 
-    protected ExecutorService buildExecutorWithNoQueue(int executorCount) {
-        // A thread pool of fixed sized and no work queue.
-        return new ThreadPoolExecutor(executorCount, executorCount, 0L, TimeUnit.MILLISECONDS,
-                new SynchronousQueue<>(), new RetryableExecutionHandler());
+    protected ExecutorService buildExecutor(int executorCount) {
+        // The queue size is limited by consumers, they pause partitions with too many pending records.
+        return Executors.newFixedThreadPool(executorCount);
     }
 
     protected static class ConsumerLauncher {
@@ -131,27 +127,10 @@ public class KafkaMessageCollector implements IFloodlightModule {
 
         protected void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup) {
             Consumer consumer = new Consumer(moduleContext, handlerExecutor, kafkaSetup, handlerFactory,
-                    consumerConfig.getAutoCommitInterval());
+                    consumerConfig.getAutoCommitInterval(), consumerConfig.getOrderingLanesCount(),
+                    consumerConfig.getMaxPendingRecords());
             Executors.newSingleThreadScheduledExecutor()
                     .scheduleWithFixedDelay(consumer, 0, 1, TimeUnit.MILLISECONDS);
         }
     }
-
-    /**
-     * Handler of rejected messages by ThreadPoolExecutor, in case of reject this handler will wait
-     * until one of executors becomes available.
-     */
-    private static class RetryableExecutionHandler implements RejectedExecutionHandler {
-        @Override
-        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            if (!executor.isShutdown()) {
-                try {
-                    executor.getQueue().put(r);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.error("Couldn't retry to process message", e);
-                }
-            }
-        }
-    }
 }
@@ -40,4 +40,20 @@ public interface KafkaMessageCollectorConfig {
     @Default("1000")
     @Min(1)
     long getAutoCommitInterval();
+
+    /**
+     * The number of parallel lanes of a consumer. Records with the same key always go through the same lane.
+     */
+    @Key("consumer-ordering-lanes")
+    @Default("32")
+    @Min(1)
+    int getOrderingLanesCount();
+
+    /**
+     * The number of received but not handled records of a partition after which the partition is paused.
+     */
+    @Key("consumer-max-pending-records")
+    @Default("500")
+    @Min(1)
+    int getMaxPendingRecords();
 }
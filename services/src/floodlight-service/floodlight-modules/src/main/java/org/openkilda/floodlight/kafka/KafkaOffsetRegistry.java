@@ -0,0 +1,195 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static java.lang.String.format;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tracks the offsets of dispatched records per Kafka partition and performs sync commits of the completed ones.
+ * <p/>
+ * Records are completed out of order by the handlers, so only the watermark is committed: the offset below which
+ * all the dispatched records of the partition are completed. A record which is still being processed holds back
+ * the commit of the records after it, so they are re-delivered if the consumer fails (at-least-once).
+ * <p/>
+ * Note: {@link #complete} can be called from any thread, the other methods must be called from the poll thread.
+ */
+class KafkaOffsetRegistry {
+    private final Consumer<String, ?> consumer;
+    private final long autoCommitInterval;
+
+    private final Map<TopicPartition, PartitionOffsets> partitions = new HashMap<>();
+    private long lastCommitTime;
+
+    KafkaOffsetRegistry(Consumer<String, ?> consumer, long autoCommitInterval) {
+        this.consumer = consumer;
+        this.autoCommitInterval = autoCommitInterval;
+
+        lastCommitTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Adds the dispatched record's offset to the registry.
+     */
+    void add(ConsumerRecord<String, ?> record) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        PartitionOffsets offsets;
+        synchronized (partitions) {
+            offsets = partitions.computeIfAbsent(partition, key -> new PartitionOffsets());
+        }
+        offsets.add(record);
+    }
+
+    /**
+     * Marks the record as processed, so its offset can be committed. The record dispatched before the partition was
+     * reset is ignored, even if the same offset is dispatched again after the reset.
+     */
+    void complete(ConsumerRecord<String, ?> record) {
+        PartitionOffsets offsets;
+        synchronized (partitions) {
+            offsets = partitions.get(new TopicPartition(record.topic(), record.partition()));
+        }
+        if (offsets != null) {
+            offsets.complete(record);
+        }
+    }
+
+    /**
+     * Gets the number of dispatched but not completed records of the partition.
+     */
+    int getPendingCount(TopicPartition partition) {
+        PartitionOffsets offsets;
+        synchronized (partitions) {
+            offsets = partitions.get(partition);
+        }
+        return offsets != null ? offsets.getPendingCount() : 0;
+    }
+
+    /**
+     * Forgets the partitions which are not assigned to the consumer anymore.
+     */
+    void retain(Set<TopicPartition> assignment) {
+        synchronized (partitions) {
+            partitions.keySet().retainAll(assignment);
+        }
+    }
+
+    /**
+     * Forgets the state of the partitions, e.g. when they are assigned again after a rebalance and the consumer
+     * re-reads them from the committed offset.
+     */
+    void reset(Collection<TopicPartition> topicPartitions) {
+        synchronized (partitions) {
+            partitions.keySet().removeAll(topicPartitions);
+        }
+    }
+
+    /**
+     * Performs a commit if more than autoCommitInterval ms passed since the last commit.
+     */
+    void commitIfIntervalPassed() {
+        if ((System.currentTimeMillis() - lastCommitTime) >= autoCommitInterval) {
+            commitOffsets();
+        }
+    }
+
+    /**
+     * Commits the watermarks advanced since the last commit.
+     */
+    void commitOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
+        synchronized (partitions) {
+            for (Entry<TopicPartition, PartitionOffsets> e : partitions.entrySet()) {
+                long watermark = e.getValue().takeWatermark();
+                if (watermark >= 0) {
+                    partitionToMetadata.put(e.getKey(), new OffsetAndMetadata(watermark + 1));
+                }
+            }
+        }
+
+        if (!partitionToMetadata.isEmpty()) {
+            consumer.commitSync(partitionToMetadata);
+        }
+
+        lastCommitTime = System.currentTimeMillis();
+    }
+
+    private static class PartitionOffsets {
+        // offset -> the dispatched record, null once it is completed
+        private final TreeMap<Long, ConsumerRecord<String, ?>> dispatched = new TreeMap<>();
+        private long lastAdded = -1;
+        private long watermark = -1;
+        private boolean advanced;
+
+        synchronized void add(ConsumerRecord<String, ?> record) {
+            long offset = record.offset();
+            if (lastAdded > offset) {
+                throw new IllegalArgumentException(
+                        format("The record has offset %d which less than the previously added %d.",
+                                offset, lastAdded));
+            }
+            lastAdded = offset;
+            dispatched.put(offset, record);
+        }
+
+        synchronized void complete(ConsumerRecord<String, ?> record) {
+            // compare the instances: a late completion of the previous assignment must not complete the same offset
+            // re-read after the reset
+            if (dispatched.get(record.offset()) != record) {
+                return;
+            }
+            dispatched.put(record.offset(), null);
+
+            Iterator<Entry<Long, ConsumerRecord<String, ?>>> iterator = dispatched.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<Long, ConsumerRecord<String, ?>> entry = iterator.next();
+                if (entry.getValue() != null) {
+                    break;
+                }
+                watermark = entry.getKey();
+                advanced = true;
+                iterator.remove();
+            }
+        }
+
+        synchronized int getPendingCount() {
+            return dispatched.size();
+        }
+
+        /**
+         * Gets the watermark if it was advanced since the previous call, -1 otherwise.
+         */
+        synchronized long takeWatermark() {
+            if (!advanced) {
+                return -1;
+            }
+            advanced = false;
+            return watermark;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.openkilda.floodlight.utils.SerialLane;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks on a shared executor keeping the order of tasks with the same key. Tasks are spread over a fixed
+ * number of lanes by the key hash, each lane runs its tasks one by one, the lanes run in parallel.
+ * <p/>
+ * {@link #dispatch} never blocks, the caller is responsible for limiting the number of queued tasks.
+ */
+class OrderedDispatcher {
+    private final Executor executor;
+    private final Lane[] lanes;
+
+    OrderedDispatcher(Executor executor, int lanesCount) {
+        checkArgument(lanesCount > 0, "lanesCount must be positive");
+        this.executor = executor;
+
+        lanes = new Lane[lanesCount];
+        for (int i = 0; i < lanesCount; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Queues the task to the lane of the key.
+     */
+    void dispatch(int keyHash, Runnable task) {
+        lanes[Math.floorMod(keyHash, lanes.length)].add(task);
+    }
+
+    private class Lane extends SerialLane<Runnable> {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        Lane() {
+            super(executor);
+        }
+
+        @Override
+        protected void enqueue(Runnable task) {
+            tasks.add(task);
+        }
+
+        @Override
+        protected Runnable poll() {
+            return tasks.poll();
+        }
+
+        @Override
+        protected boolean isEmpty() {
+            return tasks.isEmpty();
+        }
+
+        @Override
+        protected void handle(Runnable task) {
+            task.run();
+        }
+    }
+}
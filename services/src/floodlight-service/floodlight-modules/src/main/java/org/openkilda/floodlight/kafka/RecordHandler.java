@@ -60,12 +60,15 @@ import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosa
 import org.openkilda.messaging.AliveRequest;
 import org.openkilda.messaging.AliveResponse;
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.command.discovery.PortsCommandData;
+import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.BaseInstallFlow;
 import org.openkilda.messaging.command.flow.DeleteMeterRequest;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
@@ -132,6 +135,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.google.common.collect.ImmutableList;
 import net.floodlightcontroller.core.IOFSwitch;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
@@ -142,25 +146,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 class RecordHandler implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(RecordHandler.class);
 
+    private static final MessageCodec CODEC = new MessageCodec(MAPPER);
+
     private final ConsumerContext context;
     private final List<CommandDispatcher<?>> dispatchers;
-    private final ConsumerRecord<String, String> record;
+    private final ConsumerRecord<String, byte[]> record;
 
     private final CommandProcessorService commandProcessor;
 
+    private SpeakerCommand speakerCommand;
+    private CommandMessage commandMessage;
+
+    // switch operations started by the handler, the record is handled when they and their replies are done
+    private final List<CompletableFuture<?>> pendingOperations = new ArrayList<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
     public RecordHandler(ConsumerContext context, List<CommandDispatcher<?>> dispatchers,
-                         ConsumerRecord<String, String> record) {
+                         ConsumerRecord<String, byte[]> record) {
         this.context = context;
         this.dispatchers = dispatchers;
         this.record = record;
@@ -178,16 +194,48 @@ class RecordHandler implements Runnable {
         } catch (SwitchOperationException e) {
             logger.error("Unable to handle request {}: {}", message.getData().getClass().getName(), e.getMessage());
         } catch (FlowCommandException e) {
-            String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
-            logger.error("Failed to handle message {}: {}", message, errorMessage);
-            ErrorData errorData = new FlowCommandErrorData(e.getFlowId(), e.getCookie(), e.getTransactionId(),
-                    e.getErrorType(), errorMessage, e.getMessage());
-            ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
-                    message.getCorrelationId(), replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, error);
+            replyFlowCommandError(message, e, replyToTopic, replyDestination);
         }
     }
 
+    private void replyFlowCommandError(CommandMessage message, FlowCommandException e, String replyToTopic,
+                                       Destination replyDestination) {
+        String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        logger.error("Failed to handle message {}: {}", message, errorMessage);
+        ErrorData errorData = new FlowCommandErrorData(e.getFlowId(), e.getCookie(), e.getTransactionId(),
+                e.getErrorType(), errorMessage, e.getMessage());
+        ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
+                message.getCorrelationId(), replyDestination);
+        getKafkaProducer().sendMessageAndTrack(replyToTopic, error);
+    }
+
+    /**
+     * Sends the reply of the flow install command when the switch has processed the flow, the consumer's thread is
+     * not blocked while the flow is written.
+     */
+    private void replyOnFlowInstalled(CompletableFuture<Long> installation, CommandMessage message,
+                                      BaseFlow command, String replyToTopic, Destination replyDestination) {
+        trackOperation(installation.whenComplete((xid, error) -> {
+            try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                if (error == null) {
+                    message.setDestination(replyDestination);
+                    getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+                    return;
+                }
+
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause instanceof SwitchOperationException) {
+                    replyFlowCommandError(message, new FlowCommandException(command.getId(), command.getCookie(),
+                            command.getTransactionId(), ErrorType.CREATION_FAILURE,
+                            (SwitchOperationException) cause), replyToTopic, replyDestination);
+                } else {
+                    logger.error("Failed to install flow {} on switch {}", command.getId(), command.getSwitchId(),
+                            cause);
+                }
+            }
+        }));
+    }
+
     private void handleCommand(CommandMessage message, String replyToTopic, Destination replyDestination)
             throws FlowCommandException, SwitchOperationException {
         logger.debug("Handling message: '{}'. Reply topic: '{}'. Reply destination: '{}'.",
@@ -339,9 +387,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing ingress flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installIngressFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyOnFlowInstalled(installIngressFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -353,7 +399,8 @@ class RecordHandler implements Runnable {
      *
      * @param command command message for flow installation
      */
-    private void installIngressFlow(final InstallIngressFlow command) throws SwitchOperationException {
+    private CompletableFuture<Long> installIngressFlow(final InstallIngressFlow command)
+            throws SwitchOperationException {
         logger.debug("Creating an ingress flow: {}", command);
 
         long meterId = 0;
@@ -370,7 +417,7 @@ class RecordHandler implements Runnable {
         if (command.isMultiTable()) {
             context.getSwitchManager().installIntermediateIngressRule(dpid, command.getInputPort());
         }
-        context.getSwitchManager().installIngressFlow(
+        return context.getSwitchManager().installIngressFlow(
                 dpid,
                 DatapathId.of(command.getEgressSwitchId().toLong()),
                 command.getId(),
@@ -392,18 +439,16 @@ class RecordHandler implements Runnable {
         logger.info("Installing LLDP flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installLldpFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyOnFlowInstalled(installLldpFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
         }
     }
 
-    private void installLldpFlow(InstallLldpFlow command) throws SwitchOperationException {
+    private CompletableFuture<Long> installLldpFlow(InstallLldpFlow command) throws SwitchOperationException {
         logger.debug("Installing LLDP flow: {}", command);
-        context.getSwitchManager().installLldpIngressFlow(
+        return context.getSwitchManager().installLldpIngressFlow(
                 DatapathId.of(command.getSwitchId().toLong()),
                 command.getCookie(),
                 command.getInputPort(),
@@ -424,9 +469,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing egress flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installEgressFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyOnFlowInstalled(installEgressFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -438,10 +481,10 @@ class RecordHandler implements Runnable {
      *
      * @param command command message for flow installation
      */
-    private void installEgressFlow(InstallEgressFlow command) throws SwitchOperationException {
+    private CompletableFuture<Long> installEgressFlow(InstallEgressFlow command) throws SwitchOperationException {
         logger.debug("Creating an egress flow: {}", command);
 
-        context.getSwitchManager().installEgressFlow(
+        return context.getSwitchManager().installEgressFlow(
                 DatapathId.of(command.getSwitchId().toLong()),
                 command.getId(),
                 command.getCookie(),
@@ -465,9 +508,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing transit flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installTransitFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyOnFlowInstalled(installTransitFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -479,10 +520,11 @@ class RecordHandler implements Runnable {
      *
      * @param command command message for flow installation
      */
-    private void installTransitFlow(final InstallTransitFlow command) throws SwitchOperationException {
+    private CompletableFuture<Long> installTransitFlow(final InstallTransitFlow command)
+            throws SwitchOperationException {
         logger.debug("Creating a transit flow: {}", command);
 
-        context.getSwitchManager().installTransitFlow(
+        return context.getSwitchManager().installTransitFlow(
                 DatapathId.of(command.getSwitchId().toLong()),
                 command.getId(),
                 command.getCookie(),
@@ -504,9 +546,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing one switch flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installOneSwitchFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyOnFlowInstalled(installOneSwitchFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -518,7 +558,8 @@ class RecordHandler implements Runnable {
      *
      * @param command command message for flow installation
      */
-    private void installOneSwitchFlow(InstallOneSwitchFlow command) throws SwitchOperationException {
+    private CompletableFuture<Long> installOneSwitchFlow(InstallOneSwitchFlow command)
+            throws SwitchOperationException {
         long meterId = 0;
         if (command.getMeterId() != null && command.getMeterId() > 0) {
             meterId = command.getMeterId();
@@ -535,7 +576,7 @@ class RecordHandler implements Runnable {
         }
 
         OutputVlanType directOutputVlanType = command.getOutputVlanType();
-        context.getSwitchManager().installOneSwitchFlow(
+        return context.getSwitchManager().installOneSwitchFlow(
                 DatapathId.of(command.getSwitchId().toLong()),
                 command.getId(),
                 command.getCookie(),
@@ -547,7 +588,6 @@ class RecordHandler implements Runnable {
                 meterId,
                 command.isEnableLldp(),
                 command.isMultiTable());
-
     }
 
     /**
@@ -1104,17 +1144,12 @@ class RecordHandler implements Runnable {
 
         String replyToTopic = context.getKafkaSwitchManagerTopic();
 
+        CompletableFuture<Long> installation;
         try {
-            installFlow(request.getFlowCommand());
-
+            installation = installFlow(request.getFlowCommand());
         } catch (SwitchOperationException e) {
-            logger.error("Error during flow installation", e);
-            ErrorData errorData = new ErrorData(ErrorType.INTERNAL_ERROR, "Error during flow installation",
-                    "Switch operation error");
-            ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
-                    message.getCorrelationId());
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message.getCorrelationId(), error);
-
+            installation = new CompletableFuture<>();
+            installation.completeExceptionally(e);
         } catch (FlowCommandException e) {
             String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
             logger.error("Failed to handle message {}: {}", message, errorMessage);
@@ -1123,28 +1158,43 @@ class RecordHandler implements Runnable {
             ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
                     message.getCorrelationId());
             getKafkaProducer().sendMessageAndTrack(replyToTopic, message.getCorrelationId(), error);
+            installation = CompletableFuture.completedFuture(null);
         }
 
-        InfoMessage response = new InfoMessage(new FlowInstallResponse(), System.currentTimeMillis(),
-                message.getCorrelationId());
-        getKafkaProducer().sendMessageAndTrack(replyToTopic, message.getCorrelationId(), response);
+        trackOperation(installation.whenComplete((xid, e) -> {
+            try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                if (e != null) {
+                    logger.error("Error during flow installation", e);
+                    ErrorData errorData = new ErrorData(ErrorType.INTERNAL_ERROR, "Error during flow installation",
+                            "Switch operation error");
+                    ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
+                            message.getCorrelationId());
+                    getKafkaProducer().sendMessageAndTrack(replyToTopic, message.getCorrelationId(), error);
+                }
+
+                InfoMessage response = new InfoMessage(new FlowInstallResponse(), System.currentTimeMillis(),
+                        message.getCorrelationId());
+                getKafkaProducer().sendMessageAndTrack(replyToTopic, message.getCorrelationId(), response);
+            }
+        }));
     }
 
-    private void installFlow(BaseInstallFlow command) throws FlowCommandException,
+    private CompletableFuture<Long> installFlow(BaseInstallFlow command) throws FlowCommandException,
             SwitchOperationException {
         logger.debug("Processing flow install command {}", command);
         if (Cookie.isDefaultRule(command.getCookie())) {
-            processInstallDefaultFlowByCookie(command.getSwitchId(), command.getCookie());
+            return CompletableFuture.completedFuture(
+                    processInstallDefaultFlowByCookie(command.getSwitchId(), command.getCookie()));
         } else if (command instanceof InstallIngressFlow) {
-            installIngressFlow((InstallIngressFlow) command);
+            return installIngressFlow((InstallIngressFlow) command);
         } else if (command instanceof InstallLldpFlow) {
-            installLldpFlow((InstallLldpFlow) command);
+            return installLldpFlow((InstallLldpFlow) command);
         } else if (command instanceof InstallEgressFlow) {
-            installEgressFlow((InstallEgressFlow) command);
+            return installEgressFlow((InstallEgressFlow) command);
         } else if (command instanceof InstallTransitFlow) {
-            installTransitFlow((InstallTransitFlow) command);
+            return installTransitFlow((InstallTransitFlow) command);
         } else if (command instanceof InstallOneSwitchFlow) {
-            installOneSwitchFlow((InstallOneSwitchFlow) command);
+            return installOneSwitchFlow((InstallOneSwitchFlow) command);
         } else {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.REQUEST_INVALID, "Unsupported command for install.");
@@ -1454,24 +1504,17 @@ class RecordHandler implements Runnable {
 
     }
 
-    private void parseRecord(ConsumerRecord<String, String> record) {
-        if (handleSpeakerCommand()) {
+    private void parseRecord(ConsumerRecord<String, byte[]> record) {
+        decode();
+        if (speakerCommand != null) {
+            handleSpeakerCommand(speakerCommand);
             return;
         }
-
-        CommandMessage message;
-        try {
-            String value = record.value();
-            // TODO: Prior to Message changes, this MAPPER would read Message ..
-            //          but, changed to BaseMessage and got an error wrt "timestamp" ..
-            //          so, need to experiment with why CommandMessage can't be read as
-            //          a BaseMessage
-            message = MAPPER.readValue(value, CommandMessage.class);
-        } catch (Exception exception) {
-            logger.error("error parsing record '{}'", record.value(), exception);
+        if (commandMessage == null) {
             return;
         }
 
+        CommandMessage message = commandMessage;
         // Process the message within the message correlation context.
         try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
             if (logger.isDebugEnabled()) {
@@ -1488,36 +1531,90 @@ class RecordHandler implements Runnable {
         }
     }
 
-    private boolean handleSpeakerCommand() {
+    private void handleSpeakerCommand(SpeakerCommand speakerCommand) {
+        try (CorrelationContextClosable closable =
+                     CorrelationContext.create(speakerCommand.getMessageContext().getCorrelationId())) {
+            KafkaTopicFactory kafkaTopicFactory = new KafkaTopicFactory(context);
+            String replyKey = speakerCommand.getReplyKey() != null ? speakerCommand.getReplyKey() : record.key();
+
+            trackOperation(speakerCommand.execute(context.getModuleContext())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            logger.error("Error occurred while trying to execute OF command", error.getCause());
+                        } else {
+                            getKafkaProducer().sendMessageAndTrack(kafkaTopicFactory.getTopic(response),
+                                    replyKey, response);
+                        }
+                    }));
+        }
+    }
+
+    private void decode() {
         try {
-            SpeakerCommand speakerCommand = MAPPER.readValue(record.value(), SpeakerCommand.class);
-
-            try (CorrelationContextClosable closable =
-                         CorrelationContext.create(speakerCommand.getMessageContext().getCorrelationId())) {
-                KafkaTopicFactory kafkaTopicFactory = new KafkaTopicFactory(context);
-
-                speakerCommand.execute(context.getModuleContext())
-                        .whenComplete((response, error) -> {
-                            if (error != null) {
-                                logger.error("Error occurred while trying to execute OF command", error.getCause());
-                            } else {
-                                getKafkaProducer().sendMessageAndTrack(kafkaTopicFactory.getTopic(response),
-                                        record.key(), response);
-                            }
-                        });
-            }
+            speakerCommand = decodeRecord(SpeakerCommand.class);
+            return;
         } catch (JsonMappingException e) {
             logger.trace("Received deprecated command message");
-            return false;
         } catch (IOException e) {
-            logger.error("Error while parsing record {}", record.value(), e);
+            logger.error("Error while parsing record {}", describeRecordValue(), e);
+            return;
+        }
+
+        try {
+            // TODO: Prior to Message changes, this MAPPER would read Message ..
+            //          but, changed to BaseMessage and got an error wrt "timestamp" ..
+            //          so, need to experiment with why CommandMessage can't be read as
+            //          a BaseMessage
+            commandMessage = decodeRecord(CommandMessage.class);
+        } catch (Exception exception) {
+            logger.error("error parsing record '{}'", describeRecordValue(), exception);
+        }
+    }
+
+    private <T> T decodeRecord(Class<T> type) throws IOException {
+        return CODEC.decode(record.value(), getRecordFormat(), type);
+    }
+
+    private MessageFormat getRecordFormat() throws IOException {
+        Header header = record.headers().lastHeader(MessageFormat.HEADER);
+        try {
+            return MessageFormat.fromHeader(header != null ? header.value() : null);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private String describeRecordValue() {
+        try {
+            if (getRecordFormat() == MessageFormat.JSON) {
+                return new String(record.value(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            // fall through to the generic description
         }
-        return true;
+        return format("<%d bytes of binary data>", record.value().length);
     }
 
     @Override
     public void run() {
-        parseRecord(record);
+        try {
+            parseRecord(record);
+        } finally {
+            CompletableFuture.allOf(pendingOperations.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((ignored, error) -> completion.complete(null));
+        }
+    }
+
+    /**
+     * Gets the future which is completed when the record is handled: the switch operations started by the handler
+     * are finished and their replies are sent. The operations are completed asynchronously after {@link #run}.
+     */
+    CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    private void trackOperation(CompletableFuture<?> operation) {
+        pendingOperations.add(operation);
     }
 
     private boolean dispatch(CommandContext commandContext, CommandMessage message) {
@@ -1553,7 +1650,7 @@ class RecordHandler implements Runnable {
             this.context = context;
         }
 
-        public RecordHandler produce(ConsumerRecord<String, String> record) {
+        public RecordHandler produce(ConsumerRecord<String, byte[]> record) {
             return new RecordHandler(context, dispatchers, record);
         }
     }
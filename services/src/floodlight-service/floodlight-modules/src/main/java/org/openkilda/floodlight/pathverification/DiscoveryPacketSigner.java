@@ -0,0 +1,128 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs and verifies discovery packets with an HMAC-SHA256 truncated to {@link #SIGNATURE_SIZE} bytes.
+ * <p/>
+ * The signed fields are the source switch, the source port, the packet id and the send timestamp, so the signature
+ * is a fixed size binary value, unlike the JWT token. Both signing and verification work on caller provided arrays
+ * and per thread buffers, so they don't allocate anything per packet.
+ */
+class DiscoveryPacketSigner {
+    static final String ALGORITHM = "HmacSHA256";
+    static final int SIGNATURE_SIZE = 16;
+
+    // dpid (8), port (2), flags (1), packet id (8), timestamp (8)
+    private static final int INPUT_SIZE = 27;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final ThreadLocal<byte[]> input = ThreadLocal.withInitial(() -> new byte[INPUT_SIZE]);
+    private final ThreadLocal<byte[]> digest;
+
+    DiscoveryPacketSigner(String secret) throws GeneralSecurityException {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("Empty discovery packet secret");
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+
+        // Fail fast on a missing algorithm or an unusable key instead of failing on each packet.
+        int macLength = makeMac().getMacLength();
+        mac = ThreadLocal.withInitial(this::makeMacUnchecked);
+        digest = ThreadLocal.withInitial(() -> new byte[macLength]);
+    }
+
+    /**
+     * Writes the signature of the fields into the {@code target} array starting at {@code offset}.
+     */
+    void sign(long dpid, short port, byte flags, long packetId, long timestamp, byte[] target, int offset) {
+        byte[] value = compute(dpid, port, flags, packetId, timestamp);
+        System.arraycopy(value, 0, target, offset, SIGNATURE_SIZE);
+    }
+
+    /**
+     * Checks the signature stored in the {@code source} array starting at {@code offset}.
+     */
+    boolean verify(long dpid, short port, byte flags, long packetId, long timestamp, byte[] source, int offset) {
+        if (source.length - offset < SIGNATURE_SIZE) {
+            return false;
+        }
+
+        byte[] value = compute(dpid, port, flags, packetId, timestamp);
+        int diff = 0;
+        // constant time comparison
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            diff |= value[i] ^ source[offset + i];
+        }
+        return diff == 0;
+    }
+
+    private byte[] compute(long dpid, short port, byte flags, long packetId, long timestamp) {
+        byte[] buffer = input.get();
+        putLong(buffer, 0, dpid);
+        buffer[8] = (byte) (port >>> 8);
+        buffer[9] = (byte) port;
+        buffer[10] = flags;
+        putLong(buffer, 11, packetId);
+        putLong(buffer, 19, timestamp);
+
+        byte[] result = digest.get();
+        Mac instance = mac.get();
+        instance.update(buffer, 0, INPUT_SIZE);
+        try {
+            instance.doFinal(result, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    static void putLong(byte[] buffer, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            buffer[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    static long getLong(byte[] buffer, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    private Mac makeMac() throws GeneralSecurityException {
+        Mac instance = Mac.getInstance(ALGORITHM);
+        instance.init(key);
+        return instance;
+    }
+
+    private Mac makeMacUnchecked() {
+        try {
+            return makeMac();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
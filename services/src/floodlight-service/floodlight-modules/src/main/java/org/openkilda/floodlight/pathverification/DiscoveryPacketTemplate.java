@@ -0,0 +1,104 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import static org.openkilda.floodlight.pathverification.DiscoveryPacket.OPTIONAL_LLDPTV_PACKET_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.ETHERNET_HEADER_SIZE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.IP_V4_HEADER_SIZE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.ORGANIZATIONALLY_UNIQUE_IDENTIFIER;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.SIGNATURE_OPTIONAL_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.TIMESTAMP_OPTIONAL_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.UDP_HEADER_SIZE;
+
+import lombok.Getter;
+
+import java.net.SocketAddress;
+
+/**
+ * Serialized discovery frame of a switch port. Only the timestamp, the packet id and the signature differ between
+ * the discovery packets sent via the same port, so they are patched into a copy of the template instead of building
+ * and serializing the whole Ethernet/IPv4/UDP/LLDP stack for each packet.
+ */
+class DiscoveryPacketTemplate {
+    private static final int UDP_CHECKSUM_OFFSET = (ETHERNET_HEADER_SIZE + IP_V4_HEADER_SIZE) / 8 + 6;
+    private static final int LLDP_OFFSET = (ETHERNET_HEADER_SIZE + IP_V4_HEADER_SIZE + UDP_HEADER_SIZE) / 8;
+
+    private final byte[] frame;
+    private final long dpid;
+    private final short port;
+    private final int timestampOffset;
+    private final int signatureOffset;
+
+    @Getter
+    private final SocketAddress switchAddress;
+
+    DiscoveryPacketTemplate(byte[] frame, long dpid, short port, SocketAddress switchAddress) {
+        this.frame = frame;
+        this.dpid = dpid;
+        this.port = port;
+        this.switchAddress = switchAddress;
+
+        int timestamp = -1;
+        int signature = -1;
+        int offset = LLDP_OFFSET;
+        while (offset + 2 <= frame.length) {
+            int header = ((frame[offset] & 0xff) << 8) | (frame[offset + 1] & 0xff);
+            int type = header >>> 9;
+            int length = header & 0x1ff;
+            int value = offset + 2;
+            if (type == 0) {
+                break;
+            }
+            if (type == OPTIONAL_LLDPTV_PACKET_TYPE && length >= LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES
+                    && frame[value] == ORGANIZATIONALLY_UNIQUE_IDENTIFIER[0]
+                    && frame[value + 1] == ORGANIZATIONALLY_UNIQUE_IDENTIFIER[1]
+                    && frame[value + 2] == ORGANIZATIONALLY_UNIQUE_IDENTIFIER[2]) {
+                if (frame[value + 3] == TIMESTAMP_OPTIONAL_TYPE) {
+                    timestamp = value + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES;
+                } else if (frame[value + 3] == SIGNATURE_OPTIONAL_TYPE) {
+                    signature = value + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES;
+                }
+            }
+            offset = value + length;
+        }
+        if (timestamp < 0 || signature < 0) {
+            throw new IllegalArgumentException("Discovery frame has no timestamp or signature TLV");
+        }
+        timestampOffset = timestamp;
+        signatureOffset = signature;
+
+        // The payload is patched per packet, so the UDP checksum of the template is meaningless. Zero means
+        // "no checksum" for UDP over IPv4.
+        frame[UDP_CHECKSUM_OFFSET] = 0;
+        frame[UDP_CHECKSUM_OFFSET + 1] = 0;
+    }
+
+    /**
+     * Makes the discovery frame with the timestamp and the packet id, signed by the signer.
+     */
+    byte[] render(long timestamp, Long packetId, DiscoveryPacketSigner signer) {
+        byte[] data = frame.clone();
+        DiscoveryPacketSigner.putLong(data, timestampOffset, timestamp);
+
+        byte flags = PathVerificationService.signatureFlags(packetId);
+        long id = packetId != null ? packetId : 0L;
+        data[signatureOffset] = flags;
+        DiscoveryPacketSigner.putLong(data, signatureOffset + 1, id);
+        signer.sign(dpid, port, flags, id, timestamp, data, signatureOffset + 9);
+        return data;
+    }
+}
@@ -57,6 +57,7 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import lombok.Value;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
@@ -96,13 +97,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class PathVerificationService implements IFloodlightModule, IPathVerificationService, IInputTranslator {
@@ -123,6 +127,8 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     public static final byte TOKEN_OPTIONAL_TYPE = 0x03;
     public static final byte SWITCH_T0_OPTIONAL_TYPE = 0x04;
     public static final byte SWITCH_T1_OPTIONAL_TYPE = 0x05;
+    public static final byte SIGNATURE_OPTIONAL_TYPE = 0x06;
+    public static final byte SIGNATURE_FLAG_PACKET_ID = 0x01;
     public static final int ETHERNET_HEADER_SIZE = 112; // 48 dst mac, 48 src mac, 16 ether type
     public static final int IP_V4_HEADER_SIZE = 160; /*
                                                       * 4 version, 4 IHL, 8 Type of service, 16 length, 16 ID,
@@ -136,6 +142,10 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     public static final int ROUND_TRIP_LATENCY_TIMESTAMP_SIZE = 64;  // 24 bits OUI, 8 bits optional type
     public static final int LLDP_TLV_HEADER_SIZE = 16;               // 7 type, 9 length
     public static final int LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES = 4; // 24 bits OUI, 8 bits optional type
+    // 24 bits OUI, 8 bits optional type, 8 bits flags, 64 bits packet id, truncated HMAC
+    public static final int SIGNATURE_TLV_LENGTH = LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + 1 + 8
+                                                   + DiscoveryPacketSigner.SIGNATURE_SIZE;
+    private static final int SIGNATURE_OFFSET = SIGNATURE_TLV_LENGTH - DiscoveryPacketSigner.SIGNATURE_SIZE;
 
     public static final int ROUND_TRIP_LATENCY_T0_OFFSET = ETHERNET_HEADER_SIZE
                                                          + IP_V4_HEADER_SIZE
@@ -165,6 +175,11 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     private double islBandwidthQuotient = 1.0;
     private Algorithm algorithm;
     private JWTVerifier verifier;
+    private DiscoveryPacketSigner signer;
+    private boolean legacyJwtSignature;
+
+    private final Map<DiscoveryPacketTemplateKey, DiscoveryPacketTemplate> discoveryPacketTemplates =
+            new ConcurrentHashMap<>();
 
     /**
      * IFloodlightModule Methods.
@@ -221,6 +236,7 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         config = provider.getConfiguration(PathVerificationServiceConfig.class);
 
         islBandwidthQuotient = config.getIslBandwidthQuotient();
+        legacyJwtSignature = config.isLegacyJwtSignatureEnabled();
 
         initAlgorithm(config.getHmac256Secret());
     }
@@ -230,7 +246,8 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         try {
             algorithm = Algorithm.HMAC256(secret);
             verifier = JWT.require(algorithm).build();
-        } catch (UnsupportedEncodingException e) {
+            signer = new DiscoveryPacketSigner(secret);
+        } catch (UnsupportedEncodingException | GeneralSecurityException | IllegalArgumentException e) {
             logger.error("Ivalid secret", e);
             throw new FloodlightModuleException("Invalid secret for HMAC256");
         }
@@ -350,104 +367,16 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
      */
     OFPacketOut generateDiscoveryPacket(IOFSwitch srcSw, OFPort port, boolean sign, Long packetId) {
         try {
-            byte[] dpidArray = new byte[8];
-            ByteBuffer dpidBb = ByteBuffer.wrap(dpidArray);
-
-            DatapathId dpid = srcSw.getId();
-            dpidBb.putLong(dpid.getLong());
-            byte[] chassisId = new byte[]{4, 0, 0, 0, 0, 0, 0};
-            System.arraycopy(dpidArray, 2, chassisId, 1, 6);
-            // Set the optionalTLV to the full SwitchID
-            byte[] dpidTlvValue = Arrays.concatenate(
-                    ORGANIZATIONALLY_UNIQUE_IDENTIFIER,
-                    new byte[] {REMOTE_SWITCH_OPTIONAL_TYPE, 0, 0, 0, 0, 0, 0, 0, 0});
-            System.arraycopy(dpidArray, 0, dpidTlvValue, LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES, 8);
-
-            // Set src mac to be able to detect the origin of the packet.
-            // NB: previously we set port's address instead of switch (some switches declare unique address per port)
-            byte[] srcMac = new byte[6];
-            System.arraycopy(dpidArray, 2, srcMac, 0, 6);
-
-            byte[] portId = new byte[]{2, 0, 0};
-            ByteBuffer portBb = ByteBuffer.wrap(portId, 1, 2);
-            portBb.putShort(port.getShortPortNumber());
-
-            byte[] ttlValue = new byte[]{0, 0x78};
-            DiscoveryPacket dp = DiscoveryPacket.builder()
-                    .chassisId(makeIdLldptvPacket(chassisId, CHASSIS_ID_LLDPTV_PACKET_TYPE))
-                    .portId(makeIdLldptvPacket(portId, PORT_ID_LLDPTV_PACKET_TYPE))
-                    .ttl(makeIdLldptvPacket(ttlValue, TTL_LLDPTV_PACKET_TYPE))
-                    .build();
-
-            // Add TLV for t0, this will be overwritten by the switch if it supports switch timestamps
-            dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T0_OPTIONAL_TYPE));
-
-            // Add TLV for t1, this will be overwritten by the switch if it supports switch timestamps
-            dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T1_OPTIONAL_TYPE));
-
-            LLDPTLV dpidTlv = makeIdLldptvPacket(dpidTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-            dp.getOptionalTlvList().add(dpidTlv);
-
-            // Add T0 based on format from Floodlight LLDP
-            long time = System.currentTimeMillis();
-            long swLatency = srcSw.getLatency().getValue();
-            byte[] timestampTlvValue = ByteBuffer.allocate(Long.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
-                    .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
-                    .put(TIMESTAMP_OPTIONAL_TYPE) // 0x01 is what we'll use to differentiate DPID 0x00 from time 0x01
-                    .putLong(time + swLatency /* account for our switch's one-way latency */)
-                    .array();
-
-            LLDPTLV timestampTlv = makeIdLldptvPacket(timestampTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-
-            dp.getOptionalTlvList().add(timestampTlv);
-
-            // Type
-            byte[] typeTlvValue = ByteBuffer.allocate(Integer.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
-                    .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
-                    .put(PATH_ORDINAL_OPTIONAL_TYPE)
-                    .putInt(PathType.ISL.ordinal()).array();
-            LLDPTLV typeTlv = makeIdLldptvPacket(typeTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-            dp.getOptionalTlvList().add(typeTlv);
-
-            if (sign) {
-                Builder builder = JWT.create()
-                        .withClaim("dpid", dpid.getLong())
-                        .withClaim("ts", time + swLatency);
-                if (packetId != null) {
-                    builder.withClaim("id", packetId);
-                }
-                String token = builder.sign(algorithm);
+            // Add T0 based on format from Floodlight LLDP, account for our switch's one-way latency
+            long timestamp = System.currentTimeMillis() + srcSw.getLatency().getValue();
 
-                byte[] tokenBytes = token.getBytes(Charset.forName("UTF-8"));
-
-                byte[] tokenTlvValue = ByteBuffer.allocate(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + tokenBytes.length)
-                        .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
-                        .put(TOKEN_OPTIONAL_TYPE)
-                        .put(tokenBytes).array();
-                LLDPTLV tokenTlv = makeIdLldptvPacket(tokenTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-
-                dp.getOptionalTlvList().add(tokenTlv);
+            byte[] data;
+            if (sign && !legacyJwtSignature) {
+                data = getDiscoveryPacketTemplate(srcSw, port).render(timestamp, packetId, signer);
+            } else {
+                data = makeDiscoveryFrame(srcSw, port, timestamp, sign, packetId).serialize();
             }
 
-            MacAddress dstMac = MacAddress.of(config.getVerificationBcastPacketDst());
-            IPv4Address dstIp = IPv4Address.of(DISCOVERY_PACKET_IP_DST);
-            IPv4 l3 = new IPv4()
-                    .setSourceAddress(
-                            IPv4Address.of(((InetSocketAddress) srcSw.getInetAddress()).getAddress().getAddress()))
-                    .setDestinationAddress(dstIp).setTtl((byte) 64).setProtocol(IpProtocol.UDP);
-
-            UDP l4 = new UDP();
-            l4.setSourcePort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
-            l4.setDestinationPort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
-
-
-            Ethernet l2 = new Ethernet().setSourceMACAddress(MacAddress.of(srcMac))
-                    .setDestinationMACAddress(dstMac).setEtherType(EthType.IPv4);
-            l2.setPayload(l3);
-            l3.setPayload(l4);
-            l4.setPayload(dp);
-
-            byte[] data = l2.serialize();
             OFPacketOut.Builder pob = srcSw.getOFFactory().buildPacketOut()
                     .setBufferId(OFBufferId.NO_BUFFER).setActions(getDiscoveryActions(srcSw, port))
                     .setData(data);
@@ -460,6 +389,142 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return null;
     }
 
+    private DiscoveryPacketTemplate getDiscoveryPacketTemplate(IOFSwitch srcSw, OFPort port) {
+        DiscoveryPacketTemplateKey key = new DiscoveryPacketTemplateKey(srcSw.getId(), port);
+        SocketAddress switchAddress = srcSw.getInetAddress();
+
+        DiscoveryPacketTemplate template = discoveryPacketTemplates.get(key);
+        // The switch IP address is a part of the frame, so the template is rebuilt if the switch reconnects from
+        // another address.
+        if (template == null || !Objects.equals(template.getSwitchAddress(), switchAddress)) {
+            byte[] frame = makeDiscoveryFrame(srcSw, port, 0L, true, null).serialize();
+            template = new DiscoveryPacketTemplate(
+                    frame, srcSw.getId().getLong(), port.getShortPortNumber(), switchAddress);
+            discoveryPacketTemplates.put(key, template);
+        }
+        return template;
+    }
+
+    private Ethernet makeDiscoveryFrame(IOFSwitch srcSw, OFPort port, long timestamp, boolean sign, Long packetId) {
+        byte[] dpidArray = new byte[8];
+        ByteBuffer dpidBb = ByteBuffer.wrap(dpidArray);
+
+        DatapathId dpid = srcSw.getId();
+        dpidBb.putLong(dpid.getLong());
+        byte[] chassisId = new byte[]{4, 0, 0, 0, 0, 0, 0};
+        System.arraycopy(dpidArray, 2, chassisId, 1, 6);
+        // Set the optionalTLV to the full SwitchID
+        byte[] dpidTlvValue = Arrays.concatenate(
+                ORGANIZATIONALLY_UNIQUE_IDENTIFIER,
+                new byte[] {REMOTE_SWITCH_OPTIONAL_TYPE, 0, 0, 0, 0, 0, 0, 0, 0});
+        System.arraycopy(dpidArray, 0, dpidTlvValue, LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES, 8);
+
+        // Set src mac to be able to detect the origin of the packet.
+        // NB: previously we set port's address instead of switch (some switches declare unique address per port)
+        byte[] srcMac = new byte[6];
+        System.arraycopy(dpidArray, 2, srcMac, 0, 6);
+
+        byte[] portId = new byte[]{2, 0, 0};
+        ByteBuffer portBb = ByteBuffer.wrap(portId, 1, 2);
+        portBb.putShort(port.getShortPortNumber());
+
+        byte[] ttlValue = new byte[]{0, 0x78};
+        DiscoveryPacket dp = DiscoveryPacket.builder()
+                .chassisId(makeIdLldptvPacket(chassisId, CHASSIS_ID_LLDPTV_PACKET_TYPE))
+                .portId(makeIdLldptvPacket(portId, PORT_ID_LLDPTV_PACKET_TYPE))
+                .ttl(makeIdLldptvPacket(ttlValue, TTL_LLDPTV_PACKET_TYPE))
+                .build();
+
+        // Add TLV for t0, this will be overwritten by the switch if it supports switch timestamps
+        dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T0_OPTIONAL_TYPE));
+
+        // Add TLV for t1, this will be overwritten by the switch if it supports switch timestamps
+        dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T1_OPTIONAL_TYPE));
+
+        LLDPTLV dpidTlv = makeIdLldptvPacket(dpidTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+        dp.getOptionalTlvList().add(dpidTlv);
+
+        byte[] timestampTlvValue = ByteBuffer.allocate(Long.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
+                .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                .put(TIMESTAMP_OPTIONAL_TYPE) // 0x01 is what we'll use to differentiate DPID 0x00 from time 0x01
+                .putLong(timestamp)
+                .array();
+
+        LLDPTLV timestampTlv = makeIdLldptvPacket(timestampTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+
+        dp.getOptionalTlvList().add(timestampTlv);
+
+        // Type
+        byte[] typeTlvValue = ByteBuffer.allocate(Integer.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
+                .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                .put(PATH_ORDINAL_OPTIONAL_TYPE)
+                .putInt(PathType.ISL.ordinal()).array();
+        LLDPTLV typeTlv = makeIdLldptvPacket(typeTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+        dp.getOptionalTlvList().add(typeTlv);
+
+        if (sign) {
+            dp.getOptionalTlvList().add(
+                    makeSignatureTlv(dpid.getLong(), port.getShortPortNumber(), timestamp, packetId));
+        }
+
+        if (sign && legacyJwtSignature) {
+            Builder builder = JWT.create()
+                    .withClaim("dpid", dpid.getLong())
+                    .withClaim("ts", timestamp);
+            if (packetId != null) {
+                builder.withClaim("id", packetId);
+            }
+            String token = builder.sign(algorithm);
+
+            byte[] tokenBytes = token.getBytes(Charset.forName("UTF-8"));
+
+            byte[] tokenTlvValue = ByteBuffer.allocate(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + tokenBytes.length)
+                    .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                    .put(TOKEN_OPTIONAL_TYPE)
+                    .put(tokenBytes).array();
+            LLDPTLV tokenTlv = makeIdLldptvPacket(tokenTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+
+            dp.getOptionalTlvList().add(tokenTlv);
+        }
+
+        MacAddress dstMac = MacAddress.of(config.getVerificationBcastPacketDst());
+        IPv4Address dstIp = IPv4Address.of(DISCOVERY_PACKET_IP_DST);
+        IPv4 l3 = new IPv4()
+                .setSourceAddress(
+                        IPv4Address.of(((InetSocketAddress) srcSw.getInetAddress()).getAddress().getAddress()))
+                .setDestinationAddress(dstIp).setTtl((byte) 64).setProtocol(IpProtocol.UDP);
+
+        UDP l4 = new UDP();
+        l4.setSourcePort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
+        l4.setDestinationPort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
+
+
+        Ethernet l2 = new Ethernet().setSourceMACAddress(MacAddress.of(srcMac))
+                .setDestinationMACAddress(dstMac).setEtherType(EthType.IPv4);
+        l2.setPayload(l3);
+        l3.setPayload(l4);
+        l4.setPayload(dp);
+
+        return l2;
+    }
+
+    private LLDPTLV makeSignatureTlv(long dpid, short port, long timestamp, Long packetId) {
+        byte flags = signatureFlags(packetId);
+        long id = packetId != null ? packetId : 0L;
+        byte[] value = ByteBuffer.allocate(SIGNATURE_TLV_LENGTH)
+                .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                .put(SIGNATURE_OPTIONAL_TYPE)
+                .put(flags)
+                .putLong(id)
+                .array();
+        signer.sign(dpid, port, flags, id, timestamp, value, SIGNATURE_OFFSET);
+        return makeIdLldptvPacket(value, OPTIONAL_LLDPTV_PACKET_TYPE);
+    }
+
+    static byte signatureFlags(Long packetId) {
+        return packetId != null ? SIGNATURE_FLAG_PACKET_ID : 0;
+    }
+
     private LLDPTLV makeIdLldptvPacket(byte[] data, byte type) {
         return new LLDPTLV().setType(type).setLength((short) data.length).setValue(data);
     }
@@ -644,7 +709,13 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     DiscoveryPacketData parseDiscoveryPacket(DiscoveryPacket discoveryPacket, long switchLatency) {
         ByteBuffer portBb = ByteBuffer.wrap(discoveryPacket.getPortId().getValue());
         portBb.position(1);
-        OFPort remotePort = OFPort.of(portBb.getShort());
+        short remotePortNumber = portBb.getShort();
+        OFPort remotePort = OFPort.of(remotePortNumber);
+        DatapathId remoteSwitchId = null;
+        long sendTime = 0;
+        byte[] signature = null;
+        boolean signed = false;
+        boolean forged = false;
 
         DiscoveryPacketData.DiscoveryPacketDataBuilder builder = DiscoveryPacketData.builder();
         builder.remotePort(remotePort);
@@ -655,10 +726,11 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         for (LLDPTLV lldptlv : discoveryPacket.getOptionalTlvList()) {
             if (matchOptionalLldptlv(lldptlv, REMOTE_SWITCH_OPTIONAL_TYPE, 12)) {
                 ByteBuffer dpidBb = ByteBuffer.wrap(lldptlv.getValue());
-                builder.remoteSwitchId(DatapathId.of(dpidBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)));
+                remoteSwitchId = DatapathId.of(dpidBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES));
+                builder.remoteSwitchId(remoteSwitchId);
             } else if (matchOptionalLldptlv(lldptlv, TIMESTAMP_OPTIONAL_TYPE, 12)) {
                 ByteBuffer tsBb = ByteBuffer.wrap(lldptlv.getValue()); // skip OpenFlow OUI (4 bytes above)
-                long sendTime = tsBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES);
+                sendTime = tsBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES);
                 builder.timestamp(sendTime + switchLatency); // include the RX switch latency to "subtract" it
             } else if (matchOptionalLldptlv(lldptlv, PATH_ORDINAL_OPTIONAL_TYPE, 8)) {
                 ByteBuffer typeBb = ByteBuffer.wrap(lldptlv.getValue());
@@ -682,14 +754,34 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
                     if (!idClaim.isNull()) {
                         builder.packetId(idClaim.asLong());
                     }
-                    builder.signed(true);
+                    signed = true;
                 } catch (JWTVerificationException e) {
                     logger.error("Packet verification failed", e);
-                    builder.signed(false);
+                    forged = true;
                 }
+            } else if (matchOptionalLldptlv(lldptlv, SIGNATURE_OPTIONAL_TYPE, SIGNATURE_TLV_LENGTH)) {
+                signature = lldptlv.getValue();
             }
         }
 
+        if (signature != null) {
+            int offset = LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES;
+            byte flags = signature[offset];
+            long packetId = DiscoveryPacketSigner.getLong(signature, offset + 1);
+            if (remoteSwitchId != null && signer.verify(remoteSwitchId.getLong(), remotePortNumber, flags, packetId,
+                    sendTime, signature, SIGNATURE_OFFSET)) {
+                if ((flags & SIGNATURE_FLAG_PACKET_ID) != 0) {
+                    builder.packetId(packetId);
+                }
+                signed = true;
+            } else {
+                logger.error("Packet verification failed: invalid signature from {}-{}", remoteSwitchId, remotePort);
+                forged = true;
+            }
+        }
+        // the packet signed by both the token and the signature during the rollover must pass both checks
+        builder.signed(signed && !forged);
+
         return builder.build();
     }
 
@@ -739,4 +831,10 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     private long getAvailableBandwidth(long speed) {
         return (long) (speed * islBandwidthQuotient);
     }
+
+    @Value
+    private static class DiscoveryPacketTemplateKey {
+        private DatapathId switchId;
+        private OFPort port;
+    }
 }
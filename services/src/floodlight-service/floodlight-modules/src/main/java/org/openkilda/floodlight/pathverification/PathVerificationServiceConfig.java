@@ -38,4 +38,12 @@ public interface PathVerificationServiceConfig {
     @Key("verification-bcast-packet-dst")
     @Default("00:26:E1:FF:FF:FF")
     String getVerificationBcastPacketDst();
+
+    /**
+     * Adds the JWT token to the signed discovery packets, so the instances which don't know the binary signature
+     * still accept them. Intended for the rolling upgrade only.
+     */
+    @Key("legacy-jwt-signature-enabled")
+    @Default("false")
+    boolean isLegacyJwtSignatureEnabled();
 }
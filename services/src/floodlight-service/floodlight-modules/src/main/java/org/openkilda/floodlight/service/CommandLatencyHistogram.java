@@ -0,0 +1,82 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service;
+
+import org.openkilda.floodlight.service.CommandProcessorService.CommandTypeStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power of two buckets in microseconds. Percentiles are reported as the upper bound
+ * of the bucket, i.e. with up to 2x over estimation, which is enough to spot a slow command type.
+ */
+class CommandLatencyHistogram {
+    private static final int BUCKETS_COUNT = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long latencyNanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        int bucket = Math.min(BUCKETS_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        sumMicros.add(micros);
+
+        long max = maxMicros.get();
+        while (max < micros && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    CommandTypeStats makeStats() {
+        long total = count.sum();
+        if (total == 0) {
+            return new CommandTypeStats(0, 0, 0, 0, 0);
+        }
+
+        long[] snapshot = new long[BUCKETS_COUNT];
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return new CommandTypeStats(
+                total, toMillis(sumMicros.sum() / total),
+                toMillis(percentile(snapshot, total, 0.5)), toMillis(percentile(snapshot, total, 0.99)),
+                toMillis(maxMicros.get()));
+    }
+
+    private static long percentile(long[] snapshot, long total, double rank) {
+        long threshold = (long) Math.ceil(total * rank);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (threshold <= seen) {
+                // bucket i holds values below 2^i
+                return i == 0 ? 0 : 1L << i;
+            }
+        }
+        return 1L << (snapshot.length - 1);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -18,11 +18,9 @@ package org.openkilda.floodlight.service;
 import org.openkilda.floodlight.KildaCore;
 import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.command.Command;
-import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.command.CommandWrapper;
-import org.openkilda.floodlight.command.PendingCommandSubmitter;
-import org.openkilda.floodlight.utils.CommandContextFactory;
 
+import lombok.Value;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.slf4j.Logger;
@@ -30,33 +28,38 @@ import org.slf4j.LoggerFactory;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CommandProcessorService implements IService {
     private static final Logger log = LoggerFactory.getLogger(CommandProcessorService.class);
 
-    private static final int FUTURE_COMPLETE_CHECK_INTERVAL = 200;
+    private static final int REJECTED_PUSH_INTERVAL = 200;
     private static final long REJECTED_REPORT_INTERVAL = 1000;
     private static final long REJECTED_ERROR_LIMIT = 1024;
 
     private final KildaCore kildaCore;
-    private final CommandContextFactory commandContextFactory;
 
     private ThreadPoolExecutor executor;
 
-    private LinkedList<ProcessorTask> tasks = new LinkedList<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Map<String, CommandLatencyHistogram> latencyByType = new ConcurrentHashMap<>();
+
     private final LinkedList<Runnable> rejectedQueue = new LinkedList<>();
     private long lastRejectCountReportedAt = 0;
 
-    public CommandProcessorService(KildaCore kildaCore, CommandContextFactory commandContextFactory) {
+    public CommandProcessorService(KildaCore kildaCore) {
         this.kildaCore = kildaCore;
-        this.commandContextFactory = commandContextFactory;
     }
 
     /**
@@ -78,33 +81,32 @@ public class CommandProcessorService implements IService {
                 new RejectedExecutor(this));
         executor.prestartAllCoreThreads();
 
-        scheduleFutureCheckTrigger(moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor());
+        scheduleRejectedPushTrigger(moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor());
     }
 
     public void process(Command command) {
         processLazy(command);
-        verifyPendingStatus();
     }
 
     /**
-     * Execute command and initiate completion check.
+     * Execute commands.
      */
     public void process(List<Command> commands) {
         for (Command entry : commands) {
             this.processLazy(entry);
         }
-        verifyPendingStatus();
     }
 
     /**
-     * Execute command without intermediate completion check.
+     * Execute command, the command's successor (if any) is executed as soon as the command is completed.
      */
     public void processLazy(Command command) {
+        final String type = command.getClass().getName();
         command = wrapCommand(command);
         if (command.isOneShot()) {
-            executeOneShot(command);
+            executeOneShot(command, type);
         } else {
-            executeChainResult(command);
+            executeChainResult(command, type);
         }
     }
 
@@ -114,35 +116,83 @@ public class CommandProcessorService implements IService {
      * <p>Initiator will receive exception returned by future object (if it will raise one). I.e. this interface
      * allow to wait for some background task to complete, without occupy any working thread.
      */
-    public synchronized void submitPending(Command initiator, Future<Command> successor) {
-        tasks.add(new ProcessorTask(initiator, successor));
+    public void submitPending(Command initiator, CompletableFuture<Command> successor) {
+        pendingCount.incrementAndGet();
+        successor.whenComplete((result, error) -> {
+            pendingCount.decrementAndGet();
+            handleChainResult(initiator, result, error);
+        });
     }
 
-    public synchronized void markCompleted(ProcessorTask task) { }
+    /**
+     * Make the snapshot of the executor queues state and of the command latencies (time between the submit and
+     * the completion of the command) grouped by the command type.
+     */
+    public ProcessorStats getStats() {
+        Map<String, CommandTypeStats> commands = new TreeMap<>();
+        latencyByType.forEach((type, histogram) -> commands.put(type, histogram.makeStats()));
+
+        int rejectedQueueSize;
+        synchronized (rejectedQueue) {
+            rejectedQueueSize = rejectedQueue.size();
+        }
+        return new ProcessorStats(
+                executor.getActiveCount(), executor.getPoolSize(), executor.getQueue().size(), rejectedQueueSize,
+                pendingCount.get(), commands);
+    }
 
     private Command wrapCommand(Command target) {
         return new CommandWrapper(target);
     }
 
-    private void executeOneShot(Command command) {
+    private void executeOneShot(Command command, String type) {
+        final long submitTime = System.nanoTime();
         executor.execute(() -> {
             try {
                 command.call();
             } catch (Exception e) {
                 command.exceptional(e);
+            } finally {
+                recordLatency(type, submitTime);
+            }
+        });
+    }
+
+    private void executeChainResult(Command command, String type) {
+        final long submitTime = System.nanoTime();
+        CompletableFuture<Command> successor = new CompletableFuture<>();
+        submitPending(command, successor);
+        executor.execute(() -> {
+            try {
+                successor.complete(command.call());
+            } catch (Exception e) {
+                successor.completeExceptionally(e);
+            } finally {
+                recordLatency(type, submitTime);
             }
         });
     }
 
-    private void executeChainResult(Command command) {
-        Future<Command> successor = executor.submit(command);
-        synchronized (this) {
-            tasks.addLast(new ProcessorTask(command, successor));
+    private void handleChainResult(Command initiator, Command result, Throwable error) {
+        Command successor = result;
+        try {
+            if (error != null) {
+                successor = initiator.exceptional(unwrapError(error));
+            }
+        } catch (Exception e) {
+            log.error(String.format("Unhandled exception into %s.exceptional(): %s",
+                    initiator.getClass().getName(), e.getMessage()), e);
+            return;
+        }
+
+        if (successor != null) {
+            processLazy(successor);
         }
     }
 
-    private synchronized void reSubmitPending(List<ProcessorTask> pending) {
-        tasks.addAll(pending);
+    private void recordLatency(String type, long submitTime) {
+        latencyByType.computeIfAbsent(type, key -> new CommandLatencyHistogram())
+                .record(System.nanoTime() - submitTime);
     }
 
     private void handleExecutorReject(Runnable command) {
@@ -151,11 +201,6 @@ public class CommandProcessorService implements IService {
         }
     }
 
-    private void timerTrigger() {
-        pushRejected();
-        verifyPendingStatus();
-    }
-
     private void pushRejected() {
         if (executor.isShutdown()) {
             return;
@@ -179,25 +224,6 @@ public class CommandProcessorService implements IService {
         reportQueueStatus(count);
     }
 
-    private void verifyPendingStatus() {
-        LinkedList<ProcessorTask> checkList = rotatePendingCommands();
-        if (checkList.size() == 0) {
-            return;
-        }
-
-        try {
-            CommandContext context = commandContextFactory.produce();
-            VerifyBatch verifyBatch = new VerifyBatch(this, checkList);
-            PendingCommandSubmitter checkCommands = new PendingCommandSubmitter(context, verifyBatch);
-            processLazy(checkCommands);
-        } catch (Throwable e) {
-            synchronized (this) {
-                tasks.addAll(checkList);
-            }
-            throw e;
-        }
-    }
-
     private void reportQueueStatus(int rejectedQueueSize) {
         if (0 < rejectedQueueSize) {
             long now = System.currentTimeMillis();
@@ -219,49 +245,35 @@ public class CommandProcessorService implements IService {
         }
     }
 
-    private synchronized LinkedList<ProcessorTask> rotatePendingCommands() {
-        LinkedList<ProcessorTask> current = tasks;
-        tasks = new LinkedList<>();
-        return current;
-    }
-
-    private void scheduleFutureCheckTrigger(ScheduledExecutorService scheduler) {
+    private void scheduleRejectedPushTrigger(ScheduledExecutorService scheduler) {
         scheduler.scheduleAtFixedRate(
-                this::timerTrigger,
-                FUTURE_COMPLETE_CHECK_INTERVAL, FUTURE_COMPLETE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+                this::pushRejected, REJECTED_PUSH_INTERVAL, REJECTED_PUSH_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
-    public static class VerifyBatch implements AutoCloseable {
-        private CommandProcessorService commandProcessor;
-        private final LinkedList<ProcessorTask> tasksBatch;
-
-        VerifyBatch(CommandProcessorService commandProcessor, LinkedList<ProcessorTask> tasksBatch) {
-            this.commandProcessor = commandProcessor;
-            this.tasksBatch = tasksBatch;
-        }
-
-        @Override
-        public void close() {
-            commandProcessor.reSubmitPending(tasksBatch);
-        }
-
-        public CommandProcessorService getCommandProcessor() {
-            return commandProcessor;
-        }
-
-        public List<ProcessorTask> getTasksBatch() {
-            return tasksBatch;
+    private static Throwable unwrapError(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
         }
+        return error;
     }
 
-    public static class ProcessorTask {
-        public final Command initiator;
-        public final Future<Command> pendingSuccessor;
+    @Value
+    public static class ProcessorStats {
+        private int activeWorkers;
+        private int poolSize;
+        private int queueSize;
+        private int rejectedQueueSize;
+        private int pendingCommands;
+        private Map<String, CommandTypeStats> commands;
+    }
 
-        public ProcessorTask(Command initiator, Future<Command> pendingSuccessor) {
-            this.initiator = initiator;
-            this.pendingSuccessor = pendingSuccessor;
-        }
+    @Value
+    public static class CommandTypeStats {
+        private long count;
+        private double meanMillis;
+        private double p50Millis;
+        private double p99Millis;
+        private double maxMillis;
     }
 
     private static class RejectedExecutor implements RejectedExecutionHandler {
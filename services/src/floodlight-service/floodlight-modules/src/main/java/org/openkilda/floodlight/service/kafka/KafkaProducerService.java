@@ -17,11 +17,12 @@ package org.openkilda.floodlight.service.kafka;
 
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
@@ -31,8 +32,11 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class KafkaProducerService implements IKafkaProducerService {
 
@@ -41,13 +45,16 @@ public class KafkaProducerService implements IKafkaProducerService {
             String.format("%s.DISCO", KafkaProducerService.class.getName()));
 
     private int failedSendMessageCounter;
-    private Producer<String, String> producer;
+    private Producer<String, byte[]> producer;
+    private Set<String> binaryTopics = Collections.emptySet();
     private final Map<String, AbstractWorker> workersMap = new HashMap<>();
-    private final ObjectMapper jsonObjectMapper = new ObjectMapper();
+    private final MessageCodec codec = new MessageCodec(new ObjectMapper());
 
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
-        producer = moduleContext.getServiceImpl(KafkaUtilityService.class).makeProducer();
+        KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
+        producer = kafkaUtility.makeProducer();
+        binaryTopics = kafkaUtility.getBinaryTopics();
     }
 
     /**
@@ -102,25 +109,31 @@ public class KafkaProducerService implements IKafkaProducerService {
         return sendStatus;
     }
 
-    protected SendStatus produce(ProducerRecord<String, String> record, Callback callback) {
-        logger.debug("Send kafka message: {} <== key:{} value:{}", record.topic(), record.key(), record.value());
+    protected SendStatus produce(ProducerRecord<String, byte[]> record, Callback callback) {
         return getWorker(record.topic())
                 .send(record, callback);
     }
 
-    private ProducerRecord<String, String> encode(String topic, Message payload) {
+    private ProducerRecord<String, byte[]> encode(String topic, Message payload) {
         return encode(topic, null, payload);
     }
 
-    private ProducerRecord<String, String> encode(String topic, String key, Object payload) {
-        return new ProducerRecord<>(topic, key, encodeValue(payload));
+    private ProducerRecord<String, byte[]> encode(String topic, String key, Object payload) {
+        logger.debug("Send kafka message: {} <== key:{} value:{}", topic, key, payload);
+
+        MessageFormat format = binaryTopics.contains(topic) ? MessageFormat.BINARY : MessageFormat.JSON;
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, encodeValue(payload, format));
+        if (format != MessageFormat.JSON) {
+            record.headers().add(MessageFormat.HEADER, format.getHeaderValue());
+        }
+        return record;
     }
 
-    private String encodeValue(Object message) {
-        String encoded;
+    private byte[] encodeValue(Object message, MessageFormat format) {
+        byte[] encoded;
         try {
-            encoded = jsonObjectMapper.writeValueAsString(message);
-        } catch (JsonProcessingException e) {
+            encoded = codec.encode(message, format);
+        } catch (IOException e) {
             throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
         }
 
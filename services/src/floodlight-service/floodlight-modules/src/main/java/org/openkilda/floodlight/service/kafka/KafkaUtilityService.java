@@ -18,14 +18,18 @@ package org.openkilda.floodlight.service.kafka;
 import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.service.IService;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 
 import java.util.Properties;
+import java.util.Set;
 
 public class KafkaUtilityService implements IService {
     private final KafkaChannel owner;
@@ -37,17 +41,37 @@ public class KafkaUtilityService implements IService {
     /**
      * Create new kafka-consumer and apply setting from {@link KafkaConsumerSetup} argument.
      */
-    public Consumer<String, String> makeConsumer(KafkaConsumerSetup setup) {
+    public Consumer<String, byte[]> makeConsumer(KafkaConsumerSetup setup) {
         Properties config = setup.applyConfig(owner.getConfig().consumerProperties());
-        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config);
+        KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(config);
         setup.applyInstance(consumer);
         return consumer;
     }
 
-    public Producer<String, String> makeProducer() {
+    /**
+     * Creates the consumer subscribed to the setup's topics, the listener is notified about the partition
+     * assignment changes.
+     */
+    public Consumer<String, byte[]> makeConsumer(KafkaConsumerSetup setup, ConsumerRebalanceListener listener) {
+        Properties config = setup.applyConfig(owner.getConfig().consumerProperties());
+        KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(config);
+        setup.applyInstance(consumer, listener);
+        return consumer;
+    }
+
+    public Producer<String, byte[]> makeProducer() {
         return new KafkaProducer<>(owner.getConfig().producerProperties());
     }
 
+    /**
+     * Returns the topics to be written in the binary format.
+     */
+    public Set<String> getBinaryTopics() {
+        String topics = owner.getConfig().getBinaryTopics();
+        return ImmutableSet.copyOf(Splitter.on(',').trimResults().omitEmptyStrings().split(
+                topics != null ? topics : ""));
+    }
+
     public KafkaChannel getKafkaChannel() {
         return owner;
     }
@@ -15,46 +15,78 @@
 
 package org.openkilda.floodlight.service.of;
 
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.command.InputDispatchCommand;
 import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.utils.CommandContextFactory;
+import org.openkilda.floodlight.utils.CorrelationContext;
+import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosable;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
+import org.openkilda.floodlight.utils.SerialLane;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFMessageListener;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.debugcounter.IDebugCounter;
+import net.floodlightcontroller.debugcounter.IDebugCounterService;
 import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Dispatches OF messages received from switches to the registered {@link IInputTranslator}s.
+ *
+ * <p>PACKET_IN messages come at a high rate (discovery, LLDP, round-trip latency, ping), so they bypass the generic
+ * command processor: each translator has a set of lanes with a bounded lock-free queue, a lane is selected by the
+ * switch id and the commands produced by the translator are executed right in the lane. So PACKET_INs of one switch
+ * are handled in order by each translator, and a PACKET_IN storm is limited by the queue capacity instead of piling
+ * up in the command processor. Dropped PACKET_INs are counted by the {@code kilda-input/packet-in-dropped} debug
+ * counter.
+ */
 public class InputService implements IService, IOFMessageListener {
     private static Logger log = LoggerFactory.getLogger(InputService.class);
 
+    private static final String DEBUG_COUNTER_MODULE = "kilda-input";
+
     private final HashMap<OFType, List<IInputTranslator>> translators = new HashMap<>();
+    private final KildaCore kildaCore;
     private final CommandContextFactory commandContextFactory;
 
+    private volatile List<TranslatorLanes> packetInLanes = Collections.emptyList();
+    private ExecutorService packetInExecutor;
+    private int packetInLanesCount;
+    private int packetInQueueCapacity;
+    private IDebugCounter packetInDroppedCounter;
+
     private final Set<String> mustHandleBefore = ImmutableSet.of();
     private final Set<String> mustHandleAfter = ImmutableSet.of();
 
     private IFloodlightProviderService flProviderService;
     private CommandProcessorService commandProcessor;
 
-    public InputService(CommandContextFactory commandContextFactory) {
+    public InputService(KildaCore kildaCore, CommandContextFactory commandContextFactory) {
+        this.kildaCore = kildaCore;
         this.commandContextFactory = commandContextFactory;
     }
 
@@ -65,6 +97,24 @@ public class InputService implements IService, IOFMessageListener {
     public void setup(FloodlightModuleContext moduleContext) {
         flProviderService = moduleContext.getServiceImpl(IFloodlightProviderService.class);
         commandProcessor = moduleContext.getServiceImpl(CommandProcessorService.class);
+
+        KildaCoreConfig config = kildaCore.getConfig();
+        log.info("config - packet-in workers = {}", config.getPacketInWorkersCount());
+        log.info("config - packet-in queue capacity = {}", config.getPacketInQueueCapacity());
+
+        packetInLanesCount = config.getPacketInWorkersCount();
+        packetInQueueCapacity = config.getPacketInQueueCapacity();
+
+        IDebugCounterService debugCounterService = moduleContext.getServiceImpl(IDebugCounterService.class);
+        debugCounterService.registerModule(DEBUG_COUNTER_MODULE);
+        packetInDroppedCounter = debugCounterService.registerCounter(
+                DEBUG_COUNTER_MODULE, "packet-in-dropped", "PACKET_IN messages dropped because the queue is full",
+                IDebugCounterService.MetaData.DROP);
+
+        packetInExecutor = Executors.newFixedThreadPool(packetInLanesCount, new ThreadFactoryBuilder()
+                .setNameFormat("packet-in-%d")
+                .setDaemon(true)
+                .build());
     }
 
     /**
@@ -77,6 +127,11 @@ public class InputService implements IService, IOFMessageListener {
                     (stored, toAdd) -> Stream.of(stored, toAdd)
                             .flatMap(Collection::stream)
                             .collect(Collectors.toList()));
+            if (ofType == OFType.PACKET_IN) {
+                List<TranslatorLanes> lanes = new ArrayList<>(packetInLanes);
+                lanes.add(new TranslatorLanes(inputTranslator));
+                packetInLanes = lanes;
+            }
             if (queue.size() == 1) {
                 activateSubscription(flProviderService, ofType);
             }
@@ -87,25 +142,59 @@ public class InputService implements IService, IOFMessageListener {
     @NewCorrelationContextRequired
     public Command receive(IOFSwitch sw, OFMessage message, FloodlightContext context) {
         final OfInput input = new OfInput(sw, message, context);  // must be constructed as early as possible
-        final String packetIdentity = String.format(
-                "(dpId: %s, xId: %s, version: %s, type: %s)",
-                sw.getId(), message.getXid(), message.getVersion(), message.getType());
 
-        log.debug("{} - receive message {}", getClass().getCanonicalName(), packetIdentity);
+        if (log.isDebugEnabled()) {
+            log.debug("{} - receive message {}", getClass().getCanonicalName(), formatPacketIdentity(sw, message));
+        }
         try {
             handle(input);
         } catch (Exception e) {
-            log.error(String.format("Unhandled exception during processing %s", packetIdentity), e);
+            log.error(String.format("Unhandled exception during processing %s", formatPacketIdentity(sw, message)), e);
         }
         return Command.CONTINUE;
     }
 
     private void handle(OfInput input) {
+        if (input.getType() == OFType.PACKET_IN) {
+            int keyHash = input.getDpId().hashCode();
+            for (TranslatorLanes entry : packetInLanes) {
+                entry.dispatch(keyHash, input);
+            }
+            return;
+        }
+
         final CommandContext commandContext = commandContextFactory.produce();
         List<IInputTranslator> queue = translators.get(input.getType());
         commandProcessor.processLazy(new InputDispatchCommand(commandContext, commandProcessor, queue, input));
     }
 
+    private void execute(IInputTranslator translator, OfInput input) {
+        CommandContext commandContext = commandContextFactory.produce();
+        org.openkilda.floodlight.command.Command command = translator.makeCommand(commandContext, input);
+        if (command == null) {
+            return;
+        }
+        if (!command.isOneShot()) {
+            commandProcessor.processLazy(command);
+            return;
+        }
+
+        try (CorrelationContextClosable closable = CorrelationContext.create(commandContext.getCorrelationId())) {
+            org.openkilda.floodlight.command.Command successor = command.call();
+            if (successor != null) {
+                commandProcessor.processLazy(successor);
+            }
+        } catch (Exception e) {
+            command.exceptional(e);
+        }
+    }
+
+    private static String formatPacketIdentity(IOFSwitch sw, OFMessage message) {
+        return String.format(
+                "(dpId: %s, xId: %s, version: %s, type: %s)",
+                sw.getId(), message.getXid(), message.getVersion(), message.getType());
+    }
+
     private void activateSubscription(IFloodlightProviderService flProviderService, OFType... desiredTypes) {
         for (OFType target : desiredTypes) {
             log.debug("{} activate subscription for OFMessage with OFType.{}", this.getClass().getName(), target);
@@ -131,4 +220,63 @@ public class InputService implements IService, IOFMessageListener {
         log.debug("listener ordering BEFORE constraint: {} vs {} - {}", getClass().getName(), name, isMatch);
         return isMatch;
     }
+
+    private class TranslatorLanes {
+        private final Lane[] lanes;
+
+        TranslatorLanes(IInputTranslator translator) {
+            lanes = new Lane[packetInLanesCount];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new Lane(translator);
+            }
+        }
+
+        void dispatch(int keyHash, OfInput input) {
+            lanes[Math.floorMod(keyHash, lanes.length)].add(input);
+        }
+    }
+
+    private class Lane extends SerialLane<OfInput> {
+        private final IInputTranslator translator;
+        private final MpscRing<OfInput> queue;
+        private final AtomicLong dropped = new AtomicLong();
+
+        Lane(IInputTranslator translator) {
+            super(packetInExecutor);
+            this.translator = translator;
+            this.queue = new MpscRing<>(packetInQueueCapacity);
+        }
+
+        @Override
+        protected void enqueue(OfInput input) {
+            if (!queue.offer(input)) {
+                dropped.incrementAndGet();
+                packetInDroppedCounter.increment();
+            }
+        }
+
+        @Override
+        protected OfInput poll() {
+            return queue.poll();
+        }
+
+        @Override
+        protected boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        protected void beforeRun() {
+            long droppedCount = dropped.getAndSet(0);
+            if (droppedCount > 0) {
+                log.warn("{} PACKET_IN messages dropped by {} - the queue is full",
+                        droppedCount, translator.getClass().getName());
+            }
+        }
+
+        @Override
+        protected void handle(OfInput input) {
+            execute(translator, input);
+        }
+    }
 }
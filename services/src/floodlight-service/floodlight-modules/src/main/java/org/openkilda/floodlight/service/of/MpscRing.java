@@ -0,0 +1,103 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.of;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * <p>Each slot has a sequence number, producers claim a slot by CAS on the tail, publish the element and then the
+ * slot's sequence. The consumer owns the head, so {@link #poll} needs no CAS at all. Slots are allocated once, the
+ * queue doesn't allocate anything per element.
+ *
+ * <p>{@link #offer} can be called from any thread, {@link #poll} must be called by one thread at a time.
+ */
+class MpscRing<T> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+    private final AtomicLongArray sequence;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head = 0;
+
+    MpscRing(int capacity) {
+        checkArgument(capacity > 0, "capacity must be positive");
+        checkArgument(capacity <= 1 << 30, "capacity is too big");
+
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = this.capacity - 1;
+        buffer = new AtomicReferenceArray<>(this.capacity);
+        sequence = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the element to the tail of the queue, returns false if the queue is full.
+     */
+    boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequence.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, element);
+                    sequence.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // the slot is still occupied by the element added one lap ago
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the head element of the queue, returns null if the queue is empty.
+     */
+    T poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequence.get(index) != position + 1) {
+            return null;
+        }
+
+        T element = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequence.lazySet(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,184 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.session;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.error.SwitchWriteException;
+import org.openkilda.floodlight.service.IService;
+import org.openkilda.floodlight.utils.CorrelationContext;
+import org.openkilda.messaging.MessageContext;
+
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups OF messages written to the same switch within a short time window into one {@link Session}.
+ *
+ * <p>Instead of a barrier (or no confirmation at all) per command, the whole batch is closed by a single barrier
+ * request. Each message still gets its own CompletableFuture, so an error response from the switch is reported to
+ * the command which sent the failed message only.
+ */
+public class SwitchWriteCoalescer implements IService {
+    private static final Logger log = LoggerFactory.getLogger(SwitchWriteCoalescer.class);
+
+    private final KildaCore kildaCore;
+
+    private final Map<DatapathId, Batch> pendingBatches = new ConcurrentHashMap<>();
+
+    private SessionService sessionService;
+    private ScheduledExecutorService scheduler;
+    private long windowMillis;
+    private int maxBatchSize;
+
+    public SwitchWriteCoalescer(KildaCore kildaCore) {
+        this.kildaCore = kildaCore;
+    }
+
+    @Override
+    public void setup(FloodlightModuleContext moduleContext) {
+        sessionService = moduleContext.getServiceImpl(SessionService.class);
+        scheduler = moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+
+        KildaCoreConfig config = kildaCore.getConfig();
+        windowMillis = config.getWriteBatchWindowMillis();
+        maxBatchSize = config.getWriteBatchMaxSize();
+    }
+
+    /**
+     * Queue OF message to be written to the switch with the next batch.
+     *
+     * <p>The returned future is completed when the switch has processed the batch's barrier request, or
+     * exceptionally if the switch responds with an error on this message or the batch can't be written.
+     */
+    public CompletableFuture<Optional<OFMessage>> write(IOFSwitch sw, OFMessage message) {
+        CompletableFuture<Optional<OFMessage>> future = new CompletableFuture<>();
+        DatapathId dpId = sw.getId();
+
+        while (true) {
+            Batch batch = pendingBatches.computeIfAbsent(dpId, key -> new Batch(sw));
+            boolean flushNow;
+            synchronized (batch) {
+                if (batch.taken) {
+                    // flushed right after the lookup, retry with a new one
+                    continue;
+                }
+
+                batch.add(message, future);
+                flushNow = windowMillis <= 0 || batch.size() >= maxBatchSize;
+                if (flushNow) {
+                    batch.taken = true;
+                } else if (batch.size() == 1) {
+                    scheduler.schedule(() -> flushIfPending(batch), windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            if (flushNow) {
+                pendingBatches.remove(dpId, batch);
+                flush(batch);
+            }
+            return future;
+        }
+    }
+
+    private void flushIfPending(Batch batch) {
+        synchronized (batch) {
+            if (batch.taken) {
+                return;
+            }
+            batch.taken = true;
+        }
+        pendingBatches.remove(batch.sw.getId(), batch);
+        flush(batch);
+    }
+
+    private void flush(Batch batch) {
+        log.debug("Write batch of {} OF messages into {}", batch.size(), batch.sw.getId());
+
+        Session session;
+        try {
+            session = sessionService.open(batch.context, batch.sw);
+        } catch (IllegalStateException e) {
+            batch.failFrom(0, e);
+            return;
+        }
+
+        try (Session closable = session) {
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<Optional<OFMessage>> target = batch.futures.get(i);
+                try {
+                    closable.write(batch.messages.get(i)).whenComplete((response, error) -> {
+                        if (error != null) {
+                            target.completeExceptionally(error);
+                        } else {
+                            target.complete(response);
+                        }
+                    });
+                } catch (Exception e) {
+                    // the session reverts the messages written so far on close
+                    batch.failFrom(i, e);
+                    break;
+                }
+            }
+        } catch (SwitchWriteException e) {
+            log.error("Unable to close OF session for the write batch into {}: {}", batch.sw.getId(), e.getMessage());
+        }
+    }
+
+    private static class Batch {
+        private final IOFSwitch sw;
+        private final MessageContext context;
+
+        private final List<OFMessage> messages = new ArrayList<>();
+        private final List<CompletableFuture<Optional<OFMessage>>> futures = new ArrayList<>();
+        private boolean taken = false;
+
+        Batch(IOFSwitch sw) {
+            this.sw = sw;
+            // messages of many commands share the session, so it is tagged with the first one's correlation id
+            this.context = new MessageContext(CorrelationContext.getId());
+        }
+
+        void add(OFMessage message, CompletableFuture<Optional<OFMessage>> future) {
+            messages.add(message);
+            futures.add(future);
+        }
+
+        int size() {
+            return messages.size();
+        }
+
+        void failFrom(int index, Throwable error) {
+            for (int i = index; i < futures.size(); i++) {
+                futures.get(i).completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.web;
+
+import org.openkilda.floodlight.service.CommandProcessorService;
+import org.openkilda.floodlight.service.CommandProcessorService.ProcessorStats;
+
+import org.restlet.resource.Get;
+import org.restlet.resource.ServerResource;
+
+public class CommandProcessorStatsResource extends ServerResource {
+    /**
+     * Gets the command processor queues depth and the latency histograms of the command types.
+     * @return the command processor stats.
+     */
+    @Get("json")
+    public ProcessorStats getStats() {
+        CommandProcessorService commandProcessor = (CommandProcessorService) getContext().getAttributes()
+                .get(CommandProcessorService.class.getCanonicalName());
+        return commandProcessor.getStats();
+    }
+}
@@ -15,12 +15,18 @@
 
 package org.openkilda.floodlight.statistics;
 
+import org.openkilda.floodlight.statistics.StatsPollScheduler.SwitchPollStats;
+import org.openkilda.model.SwitchId;
+
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 
+import java.util.Map;
 import java.util.Set;
 
 public interface IStatisticsService extends IFloodlightService {
     void processStatistics(FloodlightModuleContext context, Set<DatapathId> excludeSwitches);
+
+    Map<SwitchId, SwitchPollStats> getPollStats();
 }
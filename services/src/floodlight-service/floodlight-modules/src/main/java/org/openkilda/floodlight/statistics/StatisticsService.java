@@ -17,12 +17,15 @@ package org.openkilda.floodlight.statistics;
 
 import static java.lang.String.format;
 
+import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.converter.OfFlowStatsMapper;
 import org.openkilda.floodlight.converter.OfMeterStatsMapper;
 import org.openkilda.floodlight.converter.OfPortStatsMapper;
 import org.openkilda.floodlight.converter.OfTableStatsMapper;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.floodlight.statistics.StatsPollScheduler.SwitchPollStats;
+import org.openkilda.floodlight.statistics.web.StatisticsServiceWebRoutable;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosable;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
@@ -43,14 +46,19 @@ import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMeterStatsReply;
 import org.projectfloodlight.openflow.protocol.OFMeterStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFPortStatsReply;
 import org.projectfloodlight.openflow.protocol.OFPortStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFStatsReply;
+import org.projectfloodlight.openflow.protocol.OFTableStatsEntry;
 import org.projectfloodlight.openflow.protocol.OFTableStatsReply;
 import org.projectfloodlight.openflow.protocol.OFTableStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFVersion;
@@ -65,11 +73,16 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
  * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka.
+ * The polls of the switches are planned by {@link StatsPollScheduler}.
  */
 public class StatisticsService implements IStatisticsService, IFloodlightModule {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
@@ -77,6 +90,8 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
     private IOFSwitchService switchService;
     private IKafkaProducerService producerService;
+    private ScheduledExecutorService scheduledExecutor;
+    private StatsPollScheduler pollScheduler;
     private String statisticsTopic;
     private String region;
 
@@ -96,6 +111,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
                 IFloodlightProviderService.class,
                 IOFSwitchService.class,
                 IThreadPoolService.class,
+                IRestApiService.class,
                 KafkaUtilityService.class,
                 IKafkaProducerService.class);
     }
@@ -104,11 +120,16 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
     public void init(FloodlightModuleContext context) {
         switchService = context.getServiceImpl(IOFSwitchService.class);
         producerService = context.getServiceImpl(IKafkaProducerService.class);
+        scheduledExecutor = context.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+
+        FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(context, this);
+        pollScheduler = new StatsPollScheduler(provider.getConfiguration(StatisticsServiceConfig.class));
     }
 
     @Override
     public void startUp(FloodlightModuleContext floodlightModuleContext) {
-
+        floodlightModuleContext.getServiceImpl(IRestApiService.class)
+                .addRestletRoutable(new StatisticsServiceWebRoutable());
     }
 
     /**
@@ -127,35 +148,56 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         statisticsTopic = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getStatsTopic();
         region = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getRegion();
 
-        switchService.getAllSwitchMap().values()
-                .stream()
-                .filter(it -> !excludeSwitches.contains(it.getId()))
-                .forEach(iofSwitch -> {
-                    try {
-                        gatherPortStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherFlowStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
-                    }
-
-
-                    try {
-                        gatherMeterStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherTableStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
-                    }
-                });
+        Map<SwitchId, DatapathId> switches = switchService.getAllSwitchMap().keySet().stream()
+                .filter(it -> !excludeSwitches.contains(it))
+                .collect(Collectors.toMap(it -> new SwitchId(it.getLong()), Function.identity()));
+
+        pollScheduler.planCycle(switches.keySet()).forEach((switchId, delay) ->
+                scheduledExecutor.schedule(() -> pollSwitch(switches.get(switchId)), delay, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public Map<SwitchId, SwitchPollStats> getPollStats() {
+        return pollScheduler.getPollStats();
+    }
+
+    private void pollSwitch(DatapathId dpId) {
+        IOFSwitch iofSwitch = switchService.getActiveSwitch(dpId);
+        if (iofSwitch == null) {
+            logger.debug("Skip stats polling of switch {}, it is not active anymore", dpId);
+            return;
+        }
+
+        try {
+            gatherPortStats(iofSwitch);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
+        }
+
+        if (iofSwitch.getOFFactory().getVersion().compareTo(OFVersion.OF_13) >= 0) {
+            // Flow and meter stats are requested once the table stats show that the switch tables have changed.
+            try {
+                gatherTableStats(iofSwitch);
+            } catch (Exception e) {
+                logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
+            }
+        } else {
+            gatherFlowAndMeterStats(iofSwitch);
+        }
+    }
+
+    private void gatherFlowAndMeterStats(IOFSwitch iofSwitch) {
+        try {
+            gatherFlowStats(iofSwitch);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
+        }
+
+        try {
+            gatherMeterStats(iofSwitch);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
+        }
     }
 
     @NewCorrelationContextRequired
@@ -171,8 +213,9 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         logger.trace("Getting port stats for switch={}", iofSwitch.getId());
 
         Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest),
-                new RequestCallback<>(data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId),
-                        "port", CorrelationContext.getId()));
+                new RequestCallback<OFPortStatsReply>(
+                        data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId),
+                        "port", switchId, reply -> reply.getEntries().size()));
     }
 
     @NewCorrelationContextRequired
@@ -190,8 +233,9 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
             logger.trace("Getting flow stats for switch={}", iofSwitch.getId());
 
             Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest),
-                    new RequestCallback<>(data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId),
-                            "flow", CorrelationContext.getId()));
+                    new RequestCallback<OFFlowStatsReply>(
+                            data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId),
+                            "flow", switchId, reply -> reply.getEntries().size()));
         }
     }
 
@@ -222,8 +266,22 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
                         .build();
             };
 
-            RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, "table",
-                    CorrelationContext.getId());
+            Consumer<List<OFTableStatsReply>> followUp = response -> {
+                List<OFTableStatsEntry> entries = response.stream()
+                        .map(OFTableStatsReply::getEntries)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList());
+                long activeFlows = entries.stream().mapToLong(OFTableStatsEntry::getActiveCount).sum();
+                long matchedPackets = entries.stream().mapToLong(entry -> entry.getMatchedCount().getValue()).sum();
+                if (pollScheduler.onTableStats(switchId, activeFlows, matchedPackets)) {
+                    gatherFlowAndMeterStats(iofSwitch);
+                } else {
+                    logger.trace("Skip flow and meter stats for switch={}, its tables haven't changed", switchId);
+                }
+            };
+
+            RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, "table", switchId,
+                    reply -> reply.getEntries().size(), followUp);
             Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback);
         }
     }
@@ -243,8 +301,9 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
             logger.trace("Getting meter stats for switch={}", iofSwitch.getId());
 
             Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest),
-                    new RequestCallback<>(data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId),
-                            "meter", CorrelationContext.getId()));
+                    new RequestCallback<OFMeterStatsReply>(
+                            data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId),
+                            "meter", switchId, reply -> reply.getEntries().size()));
         }
     }
 
@@ -252,21 +311,41 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         private Function<List<T>, InfoData> transform;
         private String type;
         private final String correlationId;
+        private final SwitchId switchId;
+        private final ToIntFunction<T> entriesCount;
+        private final Consumer<List<T>> followUp;
+        private final long requestTime = System.currentTimeMillis();
+
+        RequestCallback(Function<List<T>, InfoData> transform, String type, SwitchId switchId,
+                        ToIntFunction<T> entriesCount) {
+            this(transform, type, switchId, entriesCount, data -> { });
+        }
 
-        RequestCallback(Function<List<T>, InfoData> transform, String type, String correlationId) {
+        RequestCallback(Function<List<T>, InfoData> transform, String type, SwitchId switchId,
+                        ToIntFunction<T> entriesCount, Consumer<List<T>> followUp) {
             this.transform = transform;
             this.type = type;
-            this.correlationId = correlationId;
+            this.correlationId = CorrelationContext.getId();
+            this.switchId = switchId;
+            this.entriesCount = entriesCount;
+            this.followUp = followUp;
         }
 
         @Override
         public void onSuccess(List<T> data) {
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
+                long now = System.currentTimeMillis();
+                int entries = data.stream().mapToInt(entriesCount).sum();
+                pollScheduler.onReply(switchId, type, now - requestTime, entries);
+                logger.debug("Got {} stats for switch={}: {} entries in {} ms",
+                        type, switchId, entries, now - requestTime);
 
                 InfoMessage infoMessage = new InfoMessage(transform.apply(data),
-                        System.currentTimeMillis(), correlationId, Destination.WFM_STATS, region);
+                        now, correlationId, Destination.WFM_STATS, region);
                 producerService.sendMessageAndTrack(statisticsTopic, infoMessage);
+
+                followUp.accept(data);
             }
         }
 
@@ -0,0 +1,57 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import javax.validation.constraints.Min;
+
+public interface StatisticsServiceConfig {
+    /**
+     * The statistics polling interval in seconds, the switches are spread over it.
+     */
+    @Key("interval")
+    @Default("60")
+    @Min(1)
+    int getInterval();
+
+    @Key("time-slots")
+    @Default("10")
+    @Min(1)
+    int getTimeSlots();
+
+    /**
+     * Each such number of active flows in the switch tables adds one interval to the switch polling period.
+     */
+    @Key("large-table-flows-count")
+    @Default("1000")
+    @Min(1)
+    long getLargeTableFlowsCount();
+
+    @Key("max-poll-period")
+    @Default("4")
+    @Min(1)
+    int getMaxPollPeriod();
+
+    /**
+     * How many polls in a row flow and meter stats may be skipped because the switch tables haven't changed.
+     */
+    @Key("max-skipped-polls")
+    @Default("10")
+    @Min(0)
+    int getMaxSkippedPolls();
+}
@@ -0,0 +1,165 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import org.openkilda.model.SwitchId;
+
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plans the statistics polling of the switches.
+ * <p/>
+ * The polling interval is split into time slots and each switch is bound to a slot, so the stats requests are spread
+ * over the interval instead of being sent to all switches at once. Switches with large flow tables or slow replies
+ * are polled less frequently, every few intervals. Flow and meter stats are skipped (up to a limit) while the table
+ * stats show the same active flows and matched packets counts, i.e. the flow counters can't have changed.
+ */
+public class StatsPollScheduler {
+    private static final double LATENCY_SMOOTHING = 0.3;
+
+    private final long slotMillis;
+    private final int timeSlots;
+    private final long largeTableFlowsCount;
+    private final int maxPollPeriod;
+    private final int maxSkippedPolls;
+
+    private final Map<SwitchId, SwitchPollState> states = new ConcurrentHashMap<>();
+    private long cycle;
+
+    public StatsPollScheduler(StatisticsServiceConfig config) {
+        this(config.getInterval() * 1000L, config.getTimeSlots(), config.getLargeTableFlowsCount(),
+                config.getMaxPollPeriod(), config.getMaxSkippedPolls());
+    }
+
+    StatsPollScheduler(long intervalMillis, int timeSlots, long largeTableFlowsCount, int maxPollPeriod,
+                       int maxSkippedPolls) {
+        this.slotMillis = intervalMillis / timeSlots;
+        this.timeSlots = timeSlots;
+        this.largeTableFlowsCount = largeTableFlowsCount;
+        this.maxPollPeriod = maxPollPeriod;
+        this.maxSkippedPolls = maxSkippedPolls;
+    }
+
+    /**
+     * Starts the next polling cycle.
+     *
+     * @return the delays in milliseconds of the polls of the switches which are due in this cycle.
+     */
+    public synchronized Map<SwitchId, Long> planCycle(Collection<SwitchId> switches) {
+        states.keySet().retainAll(switches);
+
+        Map<SwitchId, Long> delays = new HashMap<>();
+        for (SwitchId switchId : switches) {
+            SwitchPollState state = states.computeIfAbsent(switchId, key -> new SwitchPollState());
+            int slot = getTimeSlot(switchId);
+            if ((cycle + slot) % state.getPollPeriod() == 0) {
+                delays.put(switchId, slot * slotMillis);
+            }
+        }
+        cycle++;
+        return delays;
+    }
+
+    /**
+     * Handles the table stats of the switch.
+     *
+     * @return true if the flow and meter stats must be requested.
+     */
+    public boolean onTableStats(SwitchId switchId, long activeFlows, long matchedPackets) {
+        SwitchPollState state = states.get(switchId);
+        return state == null || state.updateTables(activeFlows, matchedPackets);
+    }
+
+    /**
+     * Records the latency and the number of entries of a stats reply.
+     */
+    public void onReply(SwitchId switchId, String type, long latencyMillis, int entries) {
+        SwitchPollState state = states.get(switchId);
+        if (state != null) {
+            state.updateReply(type, latencyMillis, entries);
+        }
+    }
+
+    /**
+     * Gets the polling stats of the switches.
+     */
+    public Map<SwitchId, SwitchPollStats> getPollStats() {
+        Map<SwitchId, SwitchPollStats> result = new HashMap<>();
+        states.forEach((switchId, state) -> result.put(switchId, state.toStats(getTimeSlot(switchId))));
+        return result;
+    }
+
+    private int getTimeSlot(SwitchId switchId) {
+        return Math.floorMod(Long.hashCode(switchId.toLong()), timeSlots);
+    }
+
+    private class SwitchPollState {
+        private long activeFlows = -1;
+        private long matchedPackets = -1;
+        private int skippedPolls;
+        private double latencyMillis;
+        private final Map<String, Integer> replyEntries = new HashMap<>();
+
+        synchronized int getPollPeriod() {
+            long period = 1 + Math.max(activeFlows, 0) / largeTableFlowsCount;
+            if (latencyMillis > slotMillis) {
+                period++;
+            }
+            return (int) Math.min(period, maxPollPeriod);
+        }
+
+        synchronized boolean updateTables(long activeFlows, long matchedPackets) {
+            // Some switches don't count the matched packets, so the changes of the flow counters can't be detected.
+            boolean changed = this.activeFlows != activeFlows || this.matchedPackets != matchedPackets
+                    || (matchedPackets == 0 && activeFlows > 0);
+            this.activeFlows = activeFlows;
+            this.matchedPackets = matchedPackets;
+
+            if (changed || skippedPolls >= maxSkippedPolls) {
+                skippedPolls = 0;
+                return true;
+            }
+            skippedPolls++;
+            return false;
+        }
+
+        synchronized void updateReply(String type, long latencyMillis, int entries) {
+            this.latencyMillis = this.latencyMillis == 0 ? latencyMillis
+                    : LATENCY_SMOOTHING * latencyMillis + (1 - LATENCY_SMOOTHING) * this.latencyMillis;
+            replyEntries.put(type, entries);
+        }
+
+        synchronized SwitchPollStats toStats(int timeSlot) {
+            return new SwitchPollStats(timeSlot, getPollPeriod(), Math.round(latencyMillis), skippedPolls,
+                    Collections.unmodifiableMap(new HashMap<>(replyEntries)));
+        }
+    }
+
+    @Value
+    public static class SwitchPollStats {
+        private int timeSlot;
+        private int pollPeriod;
+        private long latencyMillis;
+        private int skippedPolls;
+        private Map<String, Integer> replyEntries;
+    }
+}
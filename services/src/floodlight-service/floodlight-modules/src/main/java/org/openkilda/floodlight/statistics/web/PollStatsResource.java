@@ -0,0 +1,41 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics.web;
+
+import org.openkilda.floodlight.statistics.IStatisticsService;
+import org.openkilda.floodlight.statistics.StatsPollScheduler.SwitchPollStats;
+
+import org.restlet.resource.Get;
+import org.restlet.resource.ServerResource;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class PollStatsResource extends ServerResource {
+    /**
+     * Gets the statistics polling stats (time slot, poll period, reply latency and size) of the switches.
+     * @return the map of the polling stats by switch id.
+     */
+    @Get("json")
+    public Map<String, SwitchPollStats> getPollStats() {
+        IStatisticsService statisticsService = (IStatisticsService) getContext().getAttributes()
+                .get(IStatisticsService.class.getCanonicalName());
+
+        Map<String, SwitchPollStats> response = new TreeMap<>();
+        statisticsService.getPollStats().forEach((switchId, stats) -> response.put(switchId.toString(), stats));
+        return response;
+    }
+}
@@ -35,6 +35,7 @@ import org.projectfloodlight.openflow.types.MacAddress;
 import java.net.InetAddress;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface ISwitchManager extends IFloodlightService {
     /**
@@ -277,13 +278,12 @@ public interface ISwitchManager extends IFloodlightService {
      * @param encapsulationType flow encapsulation type
      * @param enableLldp        if True LLDP packets will be send to LLDP rule
      * @param multiTable multitable pipeline flag
-     * @return transaction id
+     * @return future of transaction id, completed when the switch has processed the flow
      * @throws SwitchOperationException Switch not found
      */
-    long installIngressFlow(DatapathId dpid, DatapathId dstDpid, String flowId, Long cookie, int inputPort,
-                            int outputPort, int inputVlanId,
-                            int transitTunnelId, OutputVlanType outputVlanType, long meterId,
-                            FlowEncapsulationType encapsulationType, boolean enableLldp, boolean multiTable)
+    CompletableFuture<Long> installIngressFlow(DatapathId dpid, DatapathId dstDpid, String flowId, Long cookie,
+            int inputPort, int outputPort, int inputVlanId, int transitTunnelId, OutputVlanType outputVlanType,
+            long meterId, FlowEncapsulationType encapsulationType, boolean enableLldp, boolean multiTable)
             throws SwitchOperationException;
 
     /**
@@ -294,11 +294,11 @@ public interface ISwitchManager extends IFloodlightService {
      * @param tunnelId          vlan or vni to match packet
      * @param encapsulationType flow encapsulation type
      * @param multiTable        switch operations mode
-     * @return transaction id
+     * @return future of transaction id, completed when the switch has processed the flow
      * @throws SwitchOperationException Switch not found
      */
-    long installLldpIngressFlow(DatapathId dpid, Long cookie, int inputPort, int tunnelId, long meterId,
-                                FlowEncapsulationType encapsulationType, boolean multiTable)
+    CompletableFuture<Long> installLldpIngressFlow(DatapathId dpid, Long cookie, int inputPort, int tunnelId,
+            long meterId, FlowEncapsulationType encapsulationType, boolean multiTable)
             throws SwitchOperationException;
 
     /**
@@ -313,13 +313,12 @@ public interface ISwitchManager extends IFloodlightService {
      * @param outputVlanType type of action to apply to the outputVlanId if greater than 0
      * @param encapsulationType flow encapsulation type
      * @param multiTable multitable pipeline flag
-     * @return transaction id
+     * @return future of transaction id, completed when the switch has processed the flow
      * @throws SwitchOperationException Switch not found
      */
-    long installEgressFlow(DatapathId dpid, String flowId, Long cookie, int inputPort, int outputPort,
-                           int transitTunnelId, int outputVlanId, OutputVlanType outputVlanType,
-                           FlowEncapsulationType encapsulationType,
-                           boolean multiTable)
+    CompletableFuture<Long> installEgressFlow(DatapathId dpid, String flowId, Long cookie, int inputPort,
+            int outputPort, int transitTunnelId, int outputVlanId, OutputVlanType outputVlanType,
+            FlowEncapsulationType encapsulationType, boolean multiTable)
             throws SwitchOperationException;
 
     /**
@@ -332,11 +331,11 @@ public interface ISwitchManager extends IFloodlightService {
      * @param transitTunnelId vlan or vni to match on inputPort
      * @param encapsulationType flow encapsulation type
      * @param multiTable multitable pipeline flag
-     * @return transaction id
+     * @return future of transaction id, completed when the switch has processed the flow
      * @throws SwitchOperationException Switch not found
      */
-    long installTransitFlow(DatapathId dpid, String flowId, Long cookie, int inputPort, int outputPort,
-                            int transitTunnelId, FlowEncapsulationType encapsulationType, boolean multiTable)
+    CompletableFuture<Long> installTransitFlow(DatapathId dpid, String flowId, Long cookie, int inputPort,
+            int outputPort, int transitTunnelId, FlowEncapsulationType encapsulationType, boolean multiTable)
             throws SwitchOperationException;
 
     /**
@@ -351,13 +350,12 @@ public interface ISwitchManager extends IFloodlightService {
      * @param outputVlanType type of action to apply to the outputVlanId if greater than 0
      * @param enableLldp     if True LLDP packets will be send to LLDP rule
      * @param multiTable multitable pipeline flag
-     * @return transaction id
+     * @return future of transaction id, completed when the switch has processed the flow
      * @throws SwitchOperationException Switch not found
      */
-    long installOneSwitchFlow(final DatapathId dpid, final String flowId, final Long cookie,
-                                                      final int inputPort, final int outputPort, int inputVlanId,
-                                                      int outputVlanId, final OutputVlanType outputVlanType,
-                                                      final long meterId, boolean enableLldp, boolean multiTable)
+    CompletableFuture<Long> installOneSwitchFlow(final DatapathId dpid, final String flowId, final Long cookie,
+            final int inputPort, final int outputPort, int inputVlanId, int outputVlanId,
+            final OutputVlanType outputVlanType, final long meterId, boolean enableLldp, boolean multiTable)
             throws SwitchOperationException;
 
     /**
@@ -57,6 +57,7 @@ import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.service.FeatureDetectorService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.floodlight.service.session.SwitchWriteCoalescer;
 import org.openkilda.floodlight.switchmanager.web.SwitchManagerWebRoutable;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
@@ -89,6 +90,7 @@ import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import net.floodlightcontroller.util.FlowModUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.projectfloodlight.openflow.protocol.OFActionType;
@@ -160,8 +162,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -217,10 +222,15 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     // 0x1FFF lead to rule reject during install attempt on accton based switches.
     private static short OF10_VLAN_MASK = 0x0FFF;
 
+    // same as the barrier reply timeout of the not batched writes
+    private static final long WRITE_BATCH_TIMEOUT_SECONDS = 10;
+
     private IOFSwitchService ofSwitchService;
     private IKafkaProducerService producerService;
     private SwitchTrackingService switchTracking;
     private FeatureDetectorService featureDetectorService;
+    private SwitchWriteCoalescer writeCoalescer;
+    private ScheduledExecutorService writeTimeoutScheduler;
 
     private ConnectModeRequest.Mode connectMode;
     private SwitchManagerConfig config;
@@ -284,6 +294,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         producerService = context.getServiceImpl(IKafkaProducerService.class);
         switchTracking = context.getServiceImpl(SwitchTrackingService.class);
         featureDetectorService = context.getServiceImpl(FeatureDetectorService.class);
+        writeCoalescer = context.getServiceImpl(SwitchWriteCoalescer.class);
+        if (writeCoalescer != null) {
+            writeTimeoutScheduler = context.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+        }
         FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(context, this);
         config = provider.getConfiguration(SwitchManagerConfig.class);
         String connectModeProperty = config.getConnectMode();
@@ -408,10 +422,9 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      * {@inheritDoc}
      */
     @Override
-    public long installIngressFlow(DatapathId dpid, DatapathId dstDpid, String flowId, Long cookie, int inputPort,
-                                   int outputPort, int inputVlanId, int transitTunnelId, OutputVlanType outputVlanType,
-                                   long meterId, FlowEncapsulationType encapsulationType,
-                                   boolean enableLldp, boolean multiTable)
+    public CompletableFuture<Long> installIngressFlow(DatapathId dpid, DatapathId dstDpid, String flowId, Long cookie,
+            int inputPort, int outputPort, int inputVlanId, int transitTunnelId, OutputVlanType outputVlanType,
+            long meterId, FlowEncapsulationType encapsulationType, boolean enableLldp, boolean multiTable)
             throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
@@ -449,7 +462,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         if (featureDetectorService.detectSwitch(sw).contains(SwitchFeature.RESET_COUNTS_FLAG)) {
             builder.setFlags(ImmutableSet.of(OFFlowModFlags.RESET_COUNTS));
         }
-        return pushFlow(sw, "--InstallIngressFlow--", builder.build());
+        return pushFlowBatched(sw, "--InstallIngressFlow--", builder.build());
     }
 
     private List<OFInstruction> createIngressFlowInstructions(
@@ -478,8 +491,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      * {@inheritDoc}
      */
     @Override
-    public long installLldpIngressFlow(DatapathId dpid, Long cookie, int inputPort, int tunnelId,
-                                       long meterId, FlowEncapsulationType encapsulationType, boolean multiTable)
+    public CompletableFuture<Long> installLldpIngressFlow(DatapathId dpid, Long cookie, int inputPort, int tunnelId,
+            long meterId, FlowEncapsulationType encapsulationType, boolean multiTable)
             throws SwitchNotFoundException, OfInstallException {
 
         ArrayList<OFAction> actionList = new ArrayList<>();
@@ -513,17 +526,16 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         if (featureDetectorService.detectSwitch(sw).contains(SwitchFeature.RESET_COUNTS_FLAG)) {
             builder.setFlags(ImmutableSet.of(OFFlowModFlags.RESET_COUNTS));
         }
-        return pushFlow(sw, "--InstallLldpIngressFlow--", builder.build());
+        return pushFlowBatched(sw, "--InstallLldpIngressFlow--", builder.build());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public long installEgressFlow(DatapathId dpid, String flowId, Long cookie, int inputPort, int outputPort,
-                                  int transitTunnelId, int outputVlanId, OutputVlanType outputVlanType,
-                                  FlowEncapsulationType encapsulationType,
-                                  boolean multiTable) throws SwitchOperationException {
+    public CompletableFuture<Long> installEgressFlow(DatapathId dpid, String flowId, Long cookie, int inputPort,
+            int outputPort, int transitTunnelId, int outputVlanId, OutputVlanType outputVlanType,
+            FlowEncapsulationType encapsulationType, boolean multiTable) throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
@@ -544,15 +556,15 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setInstructions(ImmutableList.of(actions))
                 .build();
 
-        return pushFlow(sw, "--InstallEgressFlow--", flowMod);
+        return pushFlowBatched(sw, "--InstallEgressFlow--", flowMod);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public long installTransitFlow(DatapathId dpid, String flowId, Long cookie, int inputPort, int outputPort,
-                                   int transitTunnelId, FlowEncapsulationType encapsulationType, boolean multiTable)
+    public CompletableFuture<Long> installTransitFlow(DatapathId dpid, String flowId, Long cookie, int inputPort,
+            int outputPort, int transitTunnelId, FlowEncapsulationType encapsulationType, boolean multiTable)
             throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
@@ -574,16 +586,16 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setMatch(match)
                 .build();
 
-        return pushFlow(sw, flowId, flowMod);
+        return pushFlowBatched(sw, flowId, flowMod);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public long installOneSwitchFlow(DatapathId dpid, String flowId, Long cookie, int inputPort, int outputPort,
-                                     int inputVlanId, int outputVlanId, OutputVlanType outputVlanType, long meterId,
-                                     boolean enableLldp, boolean multiTable) throws SwitchOperationException {
+    public CompletableFuture<Long> installOneSwitchFlow(DatapathId dpid, String flowId, Long cookie, int inputPort,
+            int outputPort, int inputVlanId, int outputVlanId, OutputVlanType outputVlanType, long meterId,
+            boolean enableLldp, boolean multiTable) throws SwitchOperationException {
         // TODO: As per other locations, how different is this to IngressFlow? Why separate code path?
         //          As with any set of tests, the more we test the same code path, the better.
         //          Based on brief glance, this looks 90% the same as IngressFlow.
@@ -625,7 +637,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             builder.setFlags(ImmutableSet.of(OFFlowModFlags.RESET_COUNTS));
         }
 
-        return pushFlow(sw, flowId, builder.build());
+        return pushFlowBatched(sw, flowId, builder.build());
     }
 
     /**
@@ -1784,11 +1796,14 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
         OFMeterMod meterMod = buildMeterMode(sw, OFMeterModCommand.ADD, bandwidth, burstSize, meterId, flags);
 
-        pushFlow(sw, "--InstallMeter--", meterMod);
-
         // All cases when we're installing meters require that we wait until the command is processed and
         // the meter is installed.
-        sendBarrierRequest(sw);
+        if (writeCoalescer != null) {
+            waitBatched(sw, meterMod, pushFlowBatched(sw, "--InstallMeter--", meterMod));
+        } else {
+            pushFlow(sw, "--InstallMeter--", meterMod);
+            sendBarrierRequest(sw);
+        }
     }
 
     private void modifyMeter(IOFSwitch sw, long bandwidth, long burstSize, long meterId, Set<OFMeterFlags> flags)
@@ -2349,6 +2364,60 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return flowMod.getXid();
     }
 
+    /**
+     * Pushes a flow modification command to the switch as a part of the switch's current write batch. The returned
+     * future is completed when the batch's barrier is processed, so the caller is not blocked while the batch is
+     * collected and written. Falls back to {@link #pushFlow} if the write coalescer is not available.
+     *
+     * @param sw open flow switch descriptor
+     * @param flowId flow name, for logging
+     * @param flowMod command to send
+     * @return future of OF transaction Id, completed exceptionally with {@link OfInstallException} if the switch
+     *     rejects the command, the batch can't be written or the barrier isn't received in time
+     * @throws OfInstallException if the command can't be written by the not batched fallback
+     */
+    private CompletableFuture<Long> pushFlowBatched(final IOFSwitch sw, final String flowId, final OFMessage flowMod)
+            throws OfInstallException {
+        if (writeCoalescer == null) {
+            return CompletableFuture.completedFuture(pushFlow(sw, flowId, flowMod));
+        }
+
+        logger.info("installing {} flow (batched): {}", flowId, flowMod);
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        TimeoutException timeoutError = new TimeoutException(
+                format("No barrier reply within %d seconds", WRITE_BATCH_TIMEOUT_SECONDS));
+        ScheduledFuture<?> timeout = writeTimeoutScheduler.schedule(
+                () -> result.completeExceptionally(new OfInstallException(sw.getId(), flowMod, timeoutError)),
+                WRITE_BATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        writeCoalescer.write(sw, flowMod).whenComplete((reply, error) -> {
+            timeout.cancel(false);
+            if (error == null) {
+                result.complete(flowMod.getXid());
+            } else {
+                result.completeExceptionally(new OfInstallException(sw.getId(), flowMod, error));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for the batched write, for the commands the caller must not proceed without (i.e. meters).
+     */
+    private void waitBatched(IOFSwitch sw, OFMessage message, CompletableFuture<Long> write)
+            throws OfInstallException {
+        try {
+            write.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OfInstallException) {
+                throw (OfInstallException) e.getCause();
+            }
+            throw new OfInstallException(sw.getId(), message, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OfInstallException(sw.getId(), message, e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
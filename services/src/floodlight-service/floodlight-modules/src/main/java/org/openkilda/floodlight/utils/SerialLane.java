@@ -0,0 +1,100 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handles the queued items one by one on a shared executor, the lanes sharing the executor run in parallel. The lane
+ * occupies an executor thread only while it has queued items.
+ * <p/>
+ * The subclass provides the queue: {@link #enqueue} is called by any thread, while {@link #poll} and {@link #handle}
+ * are never called concurrently.
+ */
+public abstract class SerialLane<T> implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(SerialLane.class);
+
+    // release the thread periodically, so a busy lane doesn't starve the others queued on the executor
+    private static final int MAX_ITEMS_PER_RUN = 64;
+
+    private final Executor executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    protected SerialLane(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the item and schedules the lane if it's idle.
+     */
+    public void add(T item) {
+        enqueue(item);
+        schedule();
+    }
+
+    protected abstract void enqueue(T item);
+
+    protected abstract T poll();
+
+    protected abstract boolean isEmpty();
+
+    protected abstract void handle(T item);
+
+    /**
+     * Called on each run of the lane before the queued items are handled.
+     */
+    protected void beforeRun() {
+        // No-op
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            beforeRun();
+
+            T item;
+            for (int i = 0; i < MAX_ITEMS_PER_RUN && (item = poll()) != null; i++) {
+                try {
+                    handle(item);
+                } catch (Exception e) {
+                    log.error(String.format("Unhandled exception during processing %s", item), e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+
+        // items left after the limit or added after the last poll but before the lane was released
+        if (!isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -15,96 +15,168 @@
 
 package org.openkilda.floodlight.kafka;
 
-import static org.easymock.EasyMock.anyObject;
-import static org.easymock.EasyMock.mock;
-
-import org.openkilda.floodlight.kafka.Consumer.KafkaOffsetRegistry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.easymock.EasyMock;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
-import java.util.Map;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaOffsetRegistryTest {
+    private static final TopicPartition PARTITION = new TopicPartition("test", 1);
+
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+    @Before
+    public void setUp() {
+        consumer.assign(Collections.singleton(PARTITION));
+    }
+
     @Test
-    public void shouldNotCommitRightOnAdd() {
+    public void shouldNotCommitRightOnComplete() {
         // given
-        @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        EasyMock.replay(consumer);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
         // when
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
+        registry.complete(record);
+        registry.commitIfIntervalPassed();
 
         // then
-        EasyMock.verify(consumer);
+        assertNull(consumer.committed(PARTITION));
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    public void shouldCommitOnAddIfIntervalPassed() throws InterruptedException {
+    public void shouldCommitIfIntervalPassed() throws InterruptedException {
         // given
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        consumer.commitSync(anyObject(Map.class));
-        EasyMock.expectLastCall();
-        EasyMock.replay(consumer);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 1L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 1L);
 
         // when
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        registry.add(record);
+        registry.complete(record);
         TimeUnit.MILLISECONDS.sleep(10);
+        registry.commitIfIntervalPassed();
 
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        // then
+        assertEquals(2, consumer.committed(PARTITION).offset());
+    }
+
+    @Test
+    public void shouldNotCommitDispatchedRecords() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        // when
+        registry.add(new ConsumerRecord<>("test", 1, 1, "key", "value"));
+        registry.commitOffsets();
 
         // then
-        EasyMock.verify(consumer);
+        assertNull(consumer.committed(PARTITION));
+        assertEquals(1, registry.getPendingCount(PARTITION));
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    public void shouldCommitOffsetsIfRequested() {
+    public void shouldCommitOnlyCompletedWatermark() {
         // given
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        consumer.commitSync(anyObject(Map.class));
-        EasyMock.expectLastCall();
-        EasyMock.replay(consumer);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        ConsumerRecord<String, String> first = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        ConsumerRecord<String, String> second = new ConsumerRecord<>("test", 1, 2, "key2", "value");
+        ConsumerRecord<String, String> third = new ConsumerRecord<>("test", 1, 3, "key3", "value");
+        registry.add(first);
+        registry.add(second);
+        registry.add(third);
 
         // when
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.complete(third);
+        registry.complete(first);
+        registry.commitOffsets();
+
+        // then the second record holds back the commit of the third one
+        assertEquals(2, consumer.committed(PARTITION).offset());
+        assertEquals(2, registry.getPendingCount(PARTITION));
+
+        // when
+        registry.complete(second);
         registry.commitOffsets();
 
         // then
-        EasyMock.verify(consumer);
+        assertEquals(4, consumer.committed(PARTITION).offset());
+        assertEquals(0, registry.getPendingCount(PARTITION));
     }
 
     @Test
     public void failTryingToAddRecordWithOutdatedOffset() {
         // given
-        @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 10, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
 
         expectedException.expect(IllegalArgumentException.class);
 
         // when
         ConsumerRecord<String, String> outdated = new ConsumerRecord<>("test", 1, 1, "key2", "value2");
-        registry.addAndCommit(outdated);
+        registry.add(outdated);
 
         // then an IllegalArgumentException is thrown
     }
+
+    @Test
+    public void shouldAcceptOutdatedOffsetAfterReset() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 10, "key", "value");
+        registry.add(record);
+
+        // when the partition is assigned again after a rebalance
+        registry.reset(Collections.singleton(PARTITION));
+        ConsumerRecord<String, String> redelivered = new ConsumerRecord<>("test", 1, 1, "key2", "value2");
+        registry.add(redelivered);
+
+        // then
+        assertEquals(1, registry.getPendingCount(PARTITION));
+
+        // when the record dispatched before the rebalance is completed
+        registry.complete(record);
+        registry.complete(redelivered);
+        registry.commitOffsets();
+
+        // then
+        assertEquals(2, consumer.committed(PARTITION).offset());
+    }
+
+    @Test
+    public void shouldIgnoreLateCompletionOfPreviousAssignment() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        registry.add(record);
+
+        // when the same offset is re-read after a rebalance and the previous record is completed late
+        registry.reset(Collections.singleton(PARTITION));
+        ConsumerRecord<String, String> redelivered = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        registry.add(redelivered);
+        registry.complete(record);
+        registry.commitOffsets();
+
+        // then the redelivered record still holds back the commit
+        assertNull(consumer.committed(PARTITION));
+        assertEquals(1, registry.getPendingCount(PARTITION));
+    }
 }
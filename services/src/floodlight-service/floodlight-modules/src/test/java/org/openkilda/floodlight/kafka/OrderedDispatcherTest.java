@@ -0,0 +1,104 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class OrderedDispatcherTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldKeepOrderPerKey() throws InterruptedException {
+        OrderedDispatcher dispatcher = new OrderedDispatcher(executor, 3);
+        int keys = 10;
+        int tasksPerKey = 500;
+        Map<Integer, List<Integer>> results = new HashMap<>();
+        for (int key = 0; key < keys; key++) {
+            results.put(key, Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        CountDownLatch done = new CountDownLatch(keys * tasksPerKey);
+        for (int i = 0; i < tasksPerKey; i++) {
+            for (int key = 0; key < keys; key++) {
+                int sequence = i;
+                List<Integer> result = results.get(key);
+                dispatcher.dispatch(key, () -> {
+                    result.add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> result : results.values()) {
+            assertEquals(tasksPerKey, result.size());
+            for (int i = 0; i < tasksPerKey; i++) {
+                assertEquals(i, (int) result.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldRunDifferentLanesInParallel() throws InterruptedException {
+        OrderedDispatcher dispatcher = new OrderedDispatcher(executor, 2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.dispatch(0, () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        dispatcher.dispatch(1, done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        blocked.countDown();
+    }
+
+    @Test
+    public void shouldContinueAfterFailedTask() throws InterruptedException {
+        OrderedDispatcher dispatcher = new OrderedDispatcher(executor, 1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.dispatch(0, () -> {
+            throw new IllegalStateException("test");
+        });
+        dispatcher.dispatch(0, done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+}
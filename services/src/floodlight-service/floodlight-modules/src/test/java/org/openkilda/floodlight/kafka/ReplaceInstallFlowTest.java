@@ -72,6 +72,7 @@ import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.types.DatapathId;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -311,7 +312,8 @@ public class ReplaceInstallFlowTest {
                          final OFFlowAdd reverseFlowCommand, final OFMeterMod reverseMeterCommand)
             throws InterruptedException {
         // construct kafka message
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("", 0, 0, "", value);
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(
+                "", 0, 0, "", value.getBytes(StandardCharsets.UTF_8));
 
         // create parser instance
         ConsumerContext kafkaContext = new ConsumerContext(context);
@@ -0,0 +1,66 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DiscoveryPacketSignerTest {
+    private static final long DPID = 0x112233445566L;
+    private static final short PORT = 7;
+    private static final byte FLAGS = 0x01;
+    private static final long PACKET_ID = 42L;
+    private static final long TIMESTAMP = 1550000000000L;
+
+    @Test
+    public void shouldVerifyOwnSignature() throws Exception {
+        DiscoveryPacketSigner signer = new DiscoveryPacketSigner("secret");
+        byte[] packet = new byte[DiscoveryPacketSigner.SIGNATURE_SIZE + 3];
+        signer.sign(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP, packet, 3);
+
+        assertTrue(signer.verify(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP, packet, 3));
+        assertTrue(new DiscoveryPacketSigner("secret").verify(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP, packet, 3));
+    }
+
+    @Test
+    public void shouldRejectModifiedFields() throws Exception {
+        DiscoveryPacketSigner signer = new DiscoveryPacketSigner("secret");
+        byte[] signature = new byte[DiscoveryPacketSigner.SIGNATURE_SIZE];
+        signer.sign(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP, signature, 0);
+
+        assertFalse(signer.verify(DPID + 1, PORT, FLAGS, PACKET_ID, TIMESTAMP, signature, 0));
+        assertFalse(signer.verify(DPID, (short) (PORT + 1), FLAGS, PACKET_ID, TIMESTAMP, signature, 0));
+        assertFalse(signer.verify(DPID, PORT, (byte) 0, PACKET_ID, TIMESTAMP, signature, 0));
+        assertFalse(signer.verify(DPID, PORT, FLAGS, PACKET_ID + 1, TIMESTAMP, signature, 0));
+        assertFalse(signer.verify(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP + 1, signature, 0));
+        assertFalse(signer.verify(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP, signature, 1));
+    }
+
+    @Test
+    public void shouldRejectSignatureOfAnotherSecret() throws Exception {
+        byte[] signature = new byte[DiscoveryPacketSigner.SIGNATURE_SIZE];
+        new DiscoveryPacketSigner("secret").sign(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP, signature, 0);
+
+        assertFalse(new DiscoveryPacketSigner("secret2").verify(DPID, PORT, FLAGS, PACKET_ID, TIMESTAMP, signature, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmptySecret() throws Exception {
+        new DiscoveryPacketSigner("");
+    }
+}
@@ -0,0 +1,140 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.floodlight.FloodlightTestCase;
+import org.openkilda.floodlight.service.FeatureDetectorService;
+
+import net.floodlightcontroller.core.IFloodlightProviderService;
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.internal.IOFSwitchService;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.packet.Ethernet;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFDescStatsReply;
+import org.projectfloodlight.openflow.protocol.OFPortDesc;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.OFPort;
+
+import java.net.InetSocketAddress;
+
+public class DiscoveryPacketTemplateTest extends FloodlightTestCase {
+    private static final long DPID = 0x112233445566L;
+    private static final long TIMESTAMP = 1550000000000L;
+    private static final InetSocketAddress SWITCH_ADDRESS = new InetSocketAddress("192.168.10.1", 200);
+
+    private PathVerificationService pvs;
+    private IOFSwitch sw;
+    private DiscoveryPacketSigner signer;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        FloodlightModuleContext fmc = new FloodlightModuleContext();
+        fmc.addService(IFloodlightProviderService.class, mockFloodlightProvider);
+        fmc.addService(FeatureDetectorService.class, featureDetectorService);
+        fmc.addService(IOFSwitchService.class, getMockSwitchService());
+
+        pvs = new PathVerificationService();
+
+        fmc.addConfigParam(pvs, "isl_bandwidth_quotient", "0.0");
+        fmc.addConfigParam(pvs, "hmac256-secret", "secret");
+        fmc.addConfigParam(pvs, "bootstrap-servers", "");
+
+        pvs.init(fmc);
+
+        OFPortDesc portDescription = EasyMock.createMock(OFPortDesc.class);
+        OFDescStatsReply swDescription = factory.buildDescStatsReply().build();
+
+        sw = buildMockIoFSwitch(DPID, portDescription, factory, swDescription, SWITCH_ADDRESS);
+        replay(sw);
+
+        signer = new DiscoveryPacketSigner("secret");
+    }
+
+    @Test
+    public void shouldPatchTimestampAndPacketIdOfEachPort() {
+        for (short port : new short[] {1, 7, 0x7ff0}) {
+            DiscoveryPacketTemplate template = makeTemplate(port);
+
+            DiscoveryPacketData data = parse(template.render(TIMESTAMP, 42L, signer));
+            assertEquals(DatapathId.of(DPID), data.getRemoteSwitchId());
+            assertEquals(OFPort.of(port), data.getRemotePort());
+            assertEquals(TIMESTAMP, data.getTimestamp());
+            assertEquals(Long.valueOf(42L), data.getPacketId());
+            assertTrue(data.isSigned());
+        }
+    }
+
+    @Test
+    public void shouldNotKeepValuesOfPreviousRender() {
+        DiscoveryPacketTemplate template = makeTemplate((short) 3);
+        template.render(TIMESTAMP, 42L, signer);
+
+        DiscoveryPacketData data = parse(template.render(TIMESTAMP + 1, null, signer));
+        assertEquals(OFPort.of(3), data.getRemotePort());
+        assertEquals(TIMESTAMP + 1, data.getTimestamp());
+        assertNull(data.getPacketId());
+        assertTrue(data.isSigned());
+    }
+
+    @Test
+    public void shouldNotAcceptFrameRenderedForAnotherPort() {
+        byte[] frame = makeTemplate((short) 1).render(TIMESTAMP, 42L, signer);
+        DiscoveryPacketTemplate template = new DiscoveryPacketTemplate(frame, DPID, (short) 2, SWITCH_ADDRESS);
+
+        assertFalse(parse(template.render(TIMESTAMP, 42L, signer)).isSigned());
+    }
+
+    @Test
+    public void shouldGenerateDiscoveryPacketsOfDifferentPortsFromTemplates() {
+        for (int i = 0; i < 2; i++) {
+            for (int port = 1; port <= 3; port++) {
+                long packetId = port * 10 + i;
+                byte[] frame = pvs.generateDiscoveryPacket(sw, OFPort.of(port), true, packetId).getData();
+
+                DiscoveryPacketData data = parse(frame);
+                assertEquals(OFPort.of(port), data.getRemotePort());
+                assertEquals(Long.valueOf(packetId), data.getPacketId());
+                assertTrue(data.isSigned());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnsignedFrame() {
+        byte[] frame = pvs.generateDiscoveryPacket(sw, OFPort.of(1), false, null).getData();
+        new DiscoveryPacketTemplate(frame, DPID, (short) 1, SWITCH_ADDRESS);
+    }
+
+    private DiscoveryPacketTemplate makeTemplate(short port) {
+        byte[] frame = pvs.generateDiscoveryPacket(sw, OFPort.of(port), true, null).getData();
+        return new DiscoveryPacketTemplate(frame, DPID, port, SWITCH_ADDRESS);
+    }
+
+    private DiscoveryPacketData parse(byte[] frame) {
+        Ethernet ethernet = (Ethernet) new Ethernet().deserialize(frame, 0, frame.length);
+        return pvs.parseDiscoveryPacket(pvs.deserialize(ethernet), 0);
+    }
+}
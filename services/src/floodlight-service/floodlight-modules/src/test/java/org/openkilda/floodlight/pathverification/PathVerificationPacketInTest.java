@@ -33,6 +33,7 @@ import static org.openkilda.floodlight.pathverification.PathVerificationService.
 
 import org.openkilda.floodlight.FloodlightTestCase;
 import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.FeatureDetectorService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
@@ -45,6 +46,8 @@ import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.debugcounter.IDebugCounterService;
+import net.floodlightcontroller.debugcounter.MockDebugCounterService;
 import net.floodlightcontroller.packet.Data;
 import net.floodlightcontroller.packet.Ethernet;
 import net.floodlightcontroller.packet.IPacket;
@@ -86,7 +89,8 @@ public class PathVerificationPacketInTest extends FloodlightTestCase {
     protected FloodlightContext cntx;
     protected OFDescStatsReply swDescription;
     protected PathVerificationService pvs;
-    protected InputService inputService = new InputService(commandContextFactory);
+    protected KildaCore kildaCore = EasyMock.createMock(KildaCore.class);
+    protected InputService inputService = new InputService(kildaCore, commandContextFactory);
     protected IKafkaProducerService producerService = EasyMock.createMock(IKafkaProducerService.class);
 
     protected String sw1HwAddrTarget;
@@ -242,9 +246,14 @@ public class PathVerificationPacketInTest extends FloodlightTestCase {
         fmc.addService(InputService.class, inputService);
         fmc.addService(IKafkaProducerService.class, producerService);
         fmc.addService(FeatureDetectorService.class, featureDetectorService);
-
-        KildaCore kildaCore = EasyMock.createMock(KildaCore.class);
-        fmc.addService(CommandProcessorService.class, new CommandProcessorService(kildaCore, commandContextFactory));
+        fmc.addService(IDebugCounterService.class, new MockDebugCounterService());
+
+        KildaCoreConfig kildaCoreConfig = EasyMock.createMock(KildaCoreConfig.class);
+        expect(kildaCoreConfig.getPacketInWorkersCount()).andStubReturn(1);
+        expect(kildaCoreConfig.getPacketInQueueCapacity()).andStubReturn(16);
+        expect(kildaCore.getConfig()).andStubReturn(kildaCoreConfig);
+        replay(kildaCore, kildaCoreConfig);
+        fmc.addService(CommandProcessorService.class, new CommandProcessorService(kildaCore));
 
         inputService.setup(fmc);
 
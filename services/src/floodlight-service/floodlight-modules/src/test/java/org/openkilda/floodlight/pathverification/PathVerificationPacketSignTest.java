@@ -20,6 +20,11 @@ import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.SIGNATURE_OPTIONAL_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.TOKEN_OPTIONAL_TYPE;
 
 import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.messaging.Message;
@@ -27,9 +32,11 @@ import org.openkilda.messaging.Message;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.packet.Ethernet;
 import net.floodlightcontroller.packet.IPacket;
+import net.floodlightcontroller.packet.LLDPTLV;
 import org.easymock.EasyMock;
 import org.easymock.EasyMockRunner;
 import org.easymock.IAnswer;
@@ -46,6 +53,7 @@ import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
 import java.util.HashMap;
+import java.util.List;
 
 @RunWith(EasyMockRunner.class)
 public class PathVerificationPacketSignTest extends PathVerificationPacketInTest {
@@ -133,4 +141,46 @@ public class PathVerificationPacketSignTest extends PathVerificationPacketInTest
 
         verify(producerService);
     }
+
+    @Test
+    public void testLegacyJwtOnlyPacketAccepted() throws FloodlightModuleException {
+        DiscoveryPacket discoveryPacket = generateLegacyJwtOnlyPacket(42L);
+
+        DiscoveryPacketData data = pvs.parseDiscoveryPacket(discoveryPacket, 0);
+        assertTrue(data.isSigned());
+        assertEquals(Long.valueOf(42L), data.getPacketId());
+    }
+
+    @Test
+    public void testLegacyJwtOnlyPacketInvalidToken() throws FloodlightModuleException {
+        DiscoveryPacket discoveryPacket = generateLegacyJwtOnlyPacket(null);
+
+        pvs.initAlgorithm("secret2");
+        assertFalse(pvs.parseDiscoveryPacket(discoveryPacket, 0).isSigned());
+    }
+
+    /**
+     * Makes the discovery packet the way the instances without the binary signature support do, i.e. it carries the
+     * JWT token only.
+     */
+    private DiscoveryPacket generateLegacyJwtOnlyPacket(Long packetId) throws FloodlightModuleException {
+        FloodlightModuleContext fmc = new FloodlightModuleContext();
+        fmc.addConfigParam(pvs, "hmac256-secret", "secret");
+        fmc.addConfigParam(pvs, "legacy-jwt-signature-enabled", "true");
+        pvs.initConfiguration(fmc);
+
+        OFPacketOut packetOut = pvs.generateDiscoveryPacket(sw1, OFPort.of(1), true, packetId);
+        Ethernet ethernet = (Ethernet) new Ethernet().deserialize(
+                packetOut.getData(), 0, packetOut.getData().length);
+        DiscoveryPacket discoveryPacket = pvs.deserialize(ethernet);
+
+        List<LLDPTLV> optionalTlvs = discoveryPacket.getOptionalTlvList();
+        assertTrue(optionalTlvs.removeIf(tlv -> isOptionalTlv(tlv, SIGNATURE_OPTIONAL_TYPE)));
+        assertTrue(optionalTlvs.stream().anyMatch(tlv -> isOptionalTlv(tlv, TOKEN_OPTIONAL_TYPE)));
+        return discoveryPacket;
+    }
+
+    private static boolean isOptionalTlv(LLDPTLV tlv, byte type) {
+        return tlv.getType() == DiscoveryPacket.OPTIONAL_LLDPTV_PACKET_TYPE && tlv.getValue()[3] == type;
+    }
 }
@@ -0,0 +1,50 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.floodlight.service.CommandProcessorService.CommandTypeStats;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class CommandLatencyHistogramTest {
+    @Test
+    public void empty() {
+        CommandTypeStats stats = new CommandLatencyHistogram().makeStats();
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getMaxMillis(), 0);
+    }
+
+    @Test
+    public void percentiles() {
+        CommandLatencyHistogram histogram = new CommandLatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(50));
+
+        CommandTypeStats stats = histogram.makeStats();
+        assertEquals(100, stats.getCount());
+        // 100us falls into [64, 128) bucket, percentiles are reported as the bucket upper bound
+        assertEquals(0.128, stats.getP50Millis(), 0.0001);
+        assertEquals(0.128, stats.getP99Millis(), 0.0001);
+        assertEquals(50, stats.getMaxMillis(), 0.0001);
+        assertEquals((99 * 100 + 50000) / 100 / 1000.0, stats.getMeanMillis(), 0.0001);
+    }
+}
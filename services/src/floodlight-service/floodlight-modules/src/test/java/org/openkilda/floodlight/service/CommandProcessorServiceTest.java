@@ -0,0 +1,198 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service;
+
+import static org.easymock.EasyMock.anyLong;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.expect;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.command.Command;
+import org.openkilda.floodlight.command.CommandContext;
+
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.easymock.EasyMockSupport;
+import org.easymock.Mock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class CommandProcessorServiceTest extends EasyMockSupport {
+    private static final long AWAIT_SECONDS = 5;
+
+    private final FloodlightModuleContext moduleContext = new FloodlightModuleContext();
+
+    @Mock
+    private KildaCore kildaCore;
+
+    @Mock
+    private KildaCoreConfig kildaCoreConfig;
+
+    @Mock
+    private IThreadPoolService threadPoolService;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    private CommandProcessorService subject;
+
+    @Before
+    public void setUp() {
+        injectMocks(this);
+
+        expect(kildaCore.getConfig()).andStubReturn(kildaCoreConfig);
+        expect(kildaCoreConfig.getCommandPersistentWorkersCount()).andStubReturn(1);
+        expect(kildaCoreConfig.getCommandWorkersLimit()).andStubReturn(2);
+        expect(kildaCoreConfig.getCommandIdleWorkersKeepAliveSeconds()).andStubReturn(60L);
+        expect(kildaCoreConfig.getCommandDeferredRequestsLimit()).andStubReturn(16);
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(scheduler);
+        expect(scheduler.scheduleAtFixedRate(
+                anyObject(Runnable.class), anyLong(), anyLong(), anyObject(TimeUnit.class))).andStubReturn(null);
+        replayAll();
+
+        moduleContext.addService(IThreadPoolService.class, threadPoolService);
+        subject = new CommandProcessorService(kildaCore);
+        subject.setup(moduleContext);
+    }
+
+    @Test
+    public void dispatchSuccessor() throws Exception {
+        RecordingCommand initiator = new RecordingCommand();
+        RecordingCommand successor = new RecordingCommand();
+        CompletableFuture<Command> pending = new CompletableFuture<>();
+
+        subject.submitPending(initiator, pending);
+        Assert.assertEquals(1, subject.getStats().getPendingCommands());
+
+        pending.complete(successor);
+        successor.awaitCall();
+
+        Assert.assertEquals(0, subject.getStats().getPendingCommands());
+        Assert.assertNull(initiator.getError());
+    }
+
+    @Test
+    public void noSuccessor() {
+        RecordingCommand initiator = new RecordingCommand();
+        CompletableFuture<Command> pending = new CompletableFuture<>();
+
+        subject.submitPending(initiator, pending);
+        pending.complete(null);
+
+        Assert.assertEquals(0, subject.getStats().getPendingCommands());
+        Assert.assertNull(initiator.getError());
+    }
+
+    @Test
+    public void handleExceptional() {
+        Throwable error = new NullPointerException("(testing) forced NPE");
+        RecordingCommand initiator = new RecordingCommand();
+        CompletableFuture<Command> pending = new CompletableFuture<>();
+
+        subject.submitPending(initiator, pending);
+        pending.completeExceptionally(new CompletionException("(testing) error wrapper", error));
+
+        Assert.assertSame(error, initiator.getError());
+        Assert.assertEquals(0, subject.getStats().getPendingCommands());
+    }
+
+    @Test
+    public void handleCanceled() {
+        RecordingCommand initiator = new RecordingCommand();
+        CompletableFuture<Command> pending = new CompletableFuture<>();
+
+        subject.submitPending(initiator, pending);
+        pending.cancel(false);
+
+        Assert.assertTrue(initiator.getError() instanceof CancellationException);
+        Assert.assertEquals(0, subject.getStats().getPendingCommands());
+    }
+
+    @Test
+    public void propagateInitiatorFailure() throws Exception {
+        Exception error = new IllegalStateException("(testing) forced error");
+        RecordingCommand recovery = new RecordingCommand();
+        RecordingCommand initiator = new RecordingCommand(false, error, recovery);
+
+        subject.processLazy(initiator);
+        recovery.awaitCall();
+
+        Assert.assertTrue(initiator.isCalled());
+        Assert.assertSame(error, initiator.getError());
+        Assert.assertEquals(0, subject.getStats().getPendingCommands());
+    }
+
+    private class RecordingCommand extends Command {
+        private final boolean oneShot;
+        private final Exception callError;
+        private final Command recovery;
+
+        private final CountDownLatch called = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        RecordingCommand() {
+            this(true, null, null);
+        }
+
+        RecordingCommand(boolean oneShot, Exception callError, Command recovery) {
+            super(new CommandContext(moduleContext));
+            this.oneShot = oneShot;
+            this.callError = callError;
+            this.recovery = recovery;
+        }
+
+        @Override
+        public Command call() throws Exception {
+            called.countDown();
+            if (callError != null) {
+                throw callError;
+            }
+            return null;
+        }
+
+        @Override
+        public Command exceptional(Throwable e) {
+            error = e;
+            return recovery;
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return oneShot;
+        }
+
+        void awaitCall() throws InterruptedException {
+            Assert.assertTrue(called.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        boolean isCalled() {
+            return called.getCount() == 0;
+        }
+
+        Throwable getError() {
+            return error;
+        }
+    }
+}
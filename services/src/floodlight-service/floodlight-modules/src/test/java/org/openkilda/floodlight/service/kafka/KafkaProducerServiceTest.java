@@ -21,6 +21,10 @@ import static org.easymock.EasyMock.getCurrentArguments;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
@@ -33,6 +37,7 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.easymock.EasyMock;
@@ -44,12 +49,14 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 public class KafkaProducerServiceTest extends EasyMockSupport {
     private static final String TOPIC = "A";
+    private static final String BINARY_TOPIC = "B";
     private static final TopicPartition[] partitions = new TopicPartition[]{
             new TopicPartition(TOPIC, 0),
             new TopicPartition(TOPIC, 1)
@@ -59,7 +66,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     private KafkaProducerService subject;
 
     @SuppressWarnings("unchecked")
-    private Producer<String, String> kafkaProducer = (Producer<String, String>) strictMock(Producer.class);
+    private Producer<String, byte[]> kafkaProducer = (Producer<String, byte[]>) strictMock(Producer.class);
 
     @Before
     public void setUp() {
@@ -69,6 +76,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         KafkaUtilityService kafkaUtility = createMock(KafkaUtilityService.class);
         expect(kafkaUtility.makeProducer()).andReturn(kafkaProducer);
+        expect(kafkaUtility.getBinaryTopics()).andReturn(Collections.singleton(BINARY_TOPIC));
         moduleContext.addService(KafkaUtilityService.class, kafkaUtility);
 
         replay(kafkaUtility);
@@ -101,7 +109,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
                 null, null, null, 0, null, null, null, 1, null};
         Assert.assertEquals(sendResults.length, expectedPartitions.length);
 
-        Capture<ProducerRecord<String, String>> sendArguments = Capture.newInstance(CaptureType.ALL);
+        Capture<ProducerRecord<String, byte[]>> sendArguments = Capture.newInstance(CaptureType.ALL);
         setupSendCapture(sendArguments, sendResults);
 
         replay(kafkaProducer);
@@ -130,9 +138,9 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         verify(kafkaProducer);
 
-        List<ProducerRecord<String, String>> values = sendArguments.getValues();
+        List<ProducerRecord<String, byte[]>> values = sendArguments.getValues();
         for (int i = 0; i < values.size(); i++) {
-            ProducerRecord<String, String> record = values.get(i);
+            ProducerRecord<String, byte[]> record = values.get(i);
             Integer partition = expectedPartitions[i];
             Assert.assertEquals(String.format(
                     "%d: Invalid partition argument for message \"%s\" - %s", i, record.value(), record.partition()),
@@ -140,6 +148,34 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
         }
     }
 
+    @Test
+    public void binaryFormat() throws Exception {
+        RecordMetadata[] sendResults = new RecordMetadata[]{
+                new RecordMetadata(partitions[0], -1L, 0L, System.currentTimeMillis(), 0L, 0, 0),
+                new RecordMetadata(partitions[0], -1L, 0L, System.currentTimeMillis(), 0L, 0, 0)
+        };
+        Capture<ProducerRecord<String, byte[]>> sendArguments = Capture.newInstance(CaptureType.ALL);
+        setupSendCapture(sendArguments, sendResults);
+
+        replay(kafkaProducer);
+
+        InfoMessage payload = makePayload();
+        subject.sendMessageAndTrack(TOPIC, payload);
+        subject.sendMessageAndTrack(BINARY_TOPIC, payload);
+
+        verify(kafkaProducer);
+
+        MessageCodec codec = new MessageCodec(Utils.MAPPER);
+        ProducerRecord<String, byte[]> json = sendArguments.getValues().get(0);
+        Assert.assertNull(json.headers().lastHeader(MessageFormat.HEADER));
+        Assert.assertEquals(payload, codec.decode(json.value(), MessageFormat.JSON, Message.class));
+
+        ProducerRecord<String, byte[]> binary = sendArguments.getValues().get(1);
+        Header header = binary.headers().lastHeader(MessageFormat.HEADER);
+        Assert.assertEquals(MessageFormat.BINARY, MessageFormat.fromHeader(header.value()));
+        Assert.assertEquals(payload, codec.decode(binary.value(), MessageFormat.BINARY, Message.class));
+    }
+
     @Test
     public void errorReporting() throws Exception {
         final ExecutionException error = new ExecutionException("Emulate kafka send error", new IOException());
@@ -196,7 +232,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     }
 
     @SuppressWarnings("unchecked")
-    private void setupSendCapture(Capture<ProducerRecord<String, String>> trap, RecordMetadata[] sendResults)
+    private void setupSendCapture(Capture<ProducerRecord<String, byte[]>> trap, RecordMetadata[] sendResults)
             throws Exception {
         for (RecordMetadata metadata : sendResults) {
             Future promise = mock(Future.class);
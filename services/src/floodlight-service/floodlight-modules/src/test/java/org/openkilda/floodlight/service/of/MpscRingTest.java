@@ -0,0 +1,104 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.of;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class MpscRingTest {
+    @Test
+    public void capacityIsRoundedToPowerOfTwo() {
+        assertEquals(1, new MpscRing<Integer>(1).getCapacity());
+        assertEquals(8, new MpscRing<Integer>(5).getCapacity());
+        assertEquals(1024, new MpscRing<Integer>(1024).getCapacity());
+    }
+
+    @Test
+    public void keepsOrderAndRejectsWhenFull() {
+        MpscRing<Integer> ring = new MpscRing<>(4);
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+
+        assertEquals(Integer.valueOf(0), ring.poll());
+        assertTrue(ring.offer(5));
+
+        for (int expected : new int[]{1, 2, 3, 5}) {
+            assertEquals(Integer.valueOf(expected), ring.poll());
+        }
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    public void manyProducers() throws Exception {
+        final int producersCount = 4;
+        final int perProducer = 20000;
+        MpscRing<long[]> ring = new MpscRing<>(64);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producersCount; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    long[] element = new long[]{producer, i};
+                    while (!ring.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+
+        start.countDown();
+        long[] next = new long[producersCount];
+        int received = 0;
+        while (received < producersCount * perProducer) {
+            long[] element = ring.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            // elements of each producer must come in the order they were added
+            assertEquals(next[(int) element[0]]++, element[1]);
+            received++;
+        }
+
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        assertTrue(ring.isEmpty());
+    }
+}
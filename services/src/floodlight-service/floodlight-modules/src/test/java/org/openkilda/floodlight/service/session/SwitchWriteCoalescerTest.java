@@ -0,0 +1,210 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.session;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.error.SessionErrorResponseException;
+import org.openkilda.floodlight.service.of.InputService;
+
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.internal.IOFSwitchService;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMock;
+import org.easymock.EasyMockSupport;
+import org.easymock.Mock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFBadActionCode;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFType;
+import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.OFPort;
+import org.projectfloodlight.openflow.types.U64;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SwitchWriteCoalescerTest extends EasyMockSupport {
+    private static final long WINDOW_MILLIS = 5;
+
+    private final SessionService sessionService = new SessionService();
+    private final FloodlightModuleContext moduleContext = new FloodlightModuleContext();
+
+    private final DatapathId dpId = DatapathId.of(0xfffe000000000001L);
+
+    private final Capture<OFMessage> swWriteMessages = EasyMock.newCapture(CaptureType.ALL);
+    private final Capture<Runnable> scheduledFlush = EasyMock.newCapture(CaptureType.ALL);
+
+    @Mock
+    private InputService inputService;
+
+    @Mock
+    private IOFSwitchService ofSwitchService;
+
+    @Mock
+    private IThreadPoolService threadPoolService;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock
+    private KildaCore kildaCore;
+
+    @Mock
+    private KildaCoreConfig kildaCoreConfig;
+
+    @Before
+    public void setUp() {
+        injectMocks(this);
+
+        inputService.addTranslator(OFType.ERROR, sessionService);
+        inputService.addTranslator(OFType.BARRIER_REPLY, sessionService);
+        ofSwitchService.addOFSwitchListener(anyObject(SwitchEventsTranslator.class));
+
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(scheduler);
+        expect(scheduler.schedule(capture(scheduledFlush), eq(WINDOW_MILLIS), eq(TimeUnit.MILLISECONDS)))
+                .andStubReturn(null);
+        expect(kildaCore.getConfig()).andStubReturn(kildaCoreConfig);
+        expect(kildaCoreConfig.getWriteBatchWindowMillis()).andStubReturn(WINDOW_MILLIS);
+
+        moduleContext.addService(InputService.class, inputService);
+        moduleContext.addService(IOFSwitchService.class, ofSwitchService);
+        moduleContext.addService(IThreadPoolService.class, threadPoolService);
+        moduleContext.addService(SessionService.class, sessionService);
+    }
+
+    @After
+    public void tearDown() {
+        verifyAll();
+    }
+
+    @Test
+    public void flushedByWindow() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        SwitchWriteCoalescer subject = doneWithSetUp(sw, 64);
+
+        CompletableFuture<Optional<OFMessage>> alpha = subject.write(sw, makePacketOut(sw.getOFFactory(), 1));
+        CompletableFuture<Optional<OFMessage>> beta = subject.write(sw, makePacketOut(sw.getOFFactory(), 2));
+        Assert.assertFalse(swWriteMessages.hasCaptured());
+        Assert.assertEquals(1, scheduledFlush.getValues().size());
+
+        scheduledFlush.getValue().run();
+        verifySingleBarrier(2);
+        Assert.assertFalse(alpha.isDone());
+        Assert.assertFalse(beta.isDone());
+
+        completeSessions(sw);
+        Assert.assertFalse(alpha.get().isPresent());
+        Assert.assertFalse(beta.get().isPresent());
+    }
+
+    @Test
+    public void flushedBySize() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        SwitchWriteCoalescer subject = doneWithSetUp(sw, 2);
+
+        CompletableFuture<Optional<OFMessage>> alpha = subject.write(sw, makePacketOut(sw.getOFFactory(), 1));
+        CompletableFuture<Optional<OFMessage>> beta = subject.write(sw, makePacketOut(sw.getOFFactory(), 2));
+        verifySingleBarrier(2);
+
+        // the batch is already written, so the delayed flush must do nothing
+        scheduledFlush.getValue().run();
+        verifySingleBarrier(2);
+
+        completeSessions(sw);
+        Assert.assertTrue(alpha.isDone());
+        Assert.assertTrue(beta.isDone());
+    }
+
+    @Test
+    public void errorReportedPerCommand() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        SwitchWriteCoalescer subject = doneWithSetUp(sw, 2);
+
+        OFFactory ofFactory = sw.getOFFactory();
+        CompletableFuture<Optional<OFMessage>> alpha = subject.write(sw, makePacketOut(ofFactory, 1));
+        CompletableFuture<Optional<OFMessage>> beta = subject.write(sw, makePacketOut(ofFactory, 2));
+
+        OFMessage failed = swWriteMessages.getValues().get(0);
+        sessionService.handleResponse(dpId, ofFactory.errorMsgs().buildBadActionErrorMsg()
+                .setXid(failed.getXid())
+                .setCode(OFBadActionCode.BAD_LEN)
+                .build());
+        completeSessions(sw);
+
+        try {
+            alpha.get();
+            throw new AssertionError("Expect exception to be thrown");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof SessionErrorResponseException);
+        }
+        Assert.assertFalse(beta.get().isPresent());
+    }
+
+    private SwitchWriteCoalescer doneWithSetUp(IOFSwitch sw, int maxBatchSize) {
+        expect(sw.getId()).andStubReturn(dpId);
+        expect(sw.getOFFactory()).andStubReturn(OFFactoryVer13.INSTANCE);
+        expect(sw.getLatency()).andStubReturn(U64.of(50));
+        expect(sw.write(capture(swWriteMessages))).andStubReturn(true);
+        expect(kildaCoreConfig.getWriteBatchMaxSize()).andStubReturn(maxBatchSize);
+        replayAll();
+
+        sessionService.setup(moduleContext);
+        sessionService.switchActivate(dpId);
+
+        SwitchWriteCoalescer subject = new SwitchWriteCoalescer(kildaCore);
+        subject.setup(moduleContext);
+        return subject;
+    }
+
+    private OFMessage makePacketOut(OFFactory ofFactory, int inPort) {
+        return ofFactory.buildPacketOut()
+                .setInPort(OFPort.of(inPort))
+                .build();
+    }
+
+    private void verifySingleBarrier(int messagesCount) {
+        List<OFMessage> requests = swWriteMessages.getValues();
+        Assert.assertEquals(messagesCount + 1, requests.size());
+        for (int i = 0; i < messagesCount; i++) {
+            Assert.assertNotEquals(OFType.BARRIER_REQUEST, requests.get(i).getType());
+        }
+        Assert.assertEquals(OFType.BARRIER_REQUEST, requests.get(messagesCount).getType());
+    }
+
+    private void completeSessions(IOFSwitch sw) {
+        List<OFMessage> requests = swWriteMessages.getValues();
+        OFMessage barrier = requests.get(requests.size() - 1);
+        sessionService.handleResponse(dpId, sw.getOFFactory().buildBarrierReply().setXid(barrier.getXid()).build());
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class StatsPollSchedulerTest {
+    private static final SwitchId SWITCH_ID = new SwitchId(1L);
+
+    @Test
+    public void shouldSpreadSwitchesOverInterval() {
+        StatsPollScheduler scheduler = new StatsPollScheduler(60000, 10, 1000, 4, 10);
+        List<SwitchId> switches = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            switches.add(new SwitchId(i));
+        }
+
+        Map<SwitchId, Long> delays = scheduler.planCycle(switches);
+
+        assertEquals(100, delays.size());
+        Set<Long> distinctDelays = new HashSet<>(delays.values());
+        assertEquals(10, distinctDelays.size());
+        for (Long delay : distinctDelays) {
+            assertEquals(0, delay % 6000);
+            assertTrue(delay < 60000);
+        }
+    }
+
+    @Test
+    public void shouldPollLargeTablesLessFrequently() {
+        StatsPollScheduler scheduler = new StatsPollScheduler(60000, 10, 1000, 4, 10);
+        List<SwitchId> switches = Collections.singletonList(SWITCH_ID);
+
+        scheduler.planCycle(switches);
+        scheduler.onTableStats(SWITCH_ID, 2500, 100);
+        assertEquals(3, scheduler.getPollStats().get(SWITCH_ID).getPollPeriod());
+
+        int polls = 0;
+        for (int i = 0; i < 12; i++) {
+            polls += scheduler.planCycle(switches).size();
+        }
+        assertEquals(4, polls);
+    }
+
+    @Test
+    public void shouldPollSlowSwitchesLessFrequently() {
+        StatsPollScheduler scheduler = new StatsPollScheduler(60000, 10, 1000, 4, 10);
+        scheduler.planCycle(Collections.singletonList(SWITCH_ID));
+
+        scheduler.onReply(SWITCH_ID, "port", 10000, 52);
+
+        StatsPollScheduler.SwitchPollStats stats = scheduler.getPollStats().get(SWITCH_ID);
+        assertEquals(2, stats.getPollPeriod());
+        assertEquals(10000, stats.getLatencyMillis());
+        assertEquals(Integer.valueOf(52), stats.getReplyEntries().get("port"));
+    }
+
+    @Test
+    public void shouldSkipUnchangedTables() {
+        StatsPollScheduler scheduler = new StatsPollScheduler(60000, 10, 1000, 4, 2);
+        scheduler.planCycle(Collections.singletonList(SWITCH_ID));
+
+        assertTrue(scheduler.onTableStats(SWITCH_ID, 10, 100));
+        assertFalse(scheduler.onTableStats(SWITCH_ID, 10, 100));
+        assertFalse(scheduler.onTableStats(SWITCH_ID, 10, 100));
+        // forced poll after max skipped polls
+        assertTrue(scheduler.onTableStats(SWITCH_ID, 10, 100));
+        assertTrue(scheduler.onTableStats(SWITCH_ID, 10, 150));
+        assertTrue(scheduler.onTableStats(SWITCH_ID, 11, 150));
+        // matched packets aren't counted by the switch
+        assertTrue(scheduler.onTableStats(SWITCH_ID, 11, 0));
+        assertTrue(scheduler.onTableStats(SWITCH_ID, 11, 0));
+    }
+}
@@ -48,6 +48,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The GRPC client session.
@@ -61,14 +62,32 @@ public class GrpcSession {
     private String address;
 
     public GrpcSession(String address) {
+        this(address, createChannelBuilder(address).build());
+    }
+
+    /**
+     * Creates the session with the channel which sends keep-alive pings when it's idle, so the connection survives
+     * between the requests of a long-living session.
+     */
+    public GrpcSession(String address, long keepAliveSeconds) {
+        this(address, createChannelBuilder(address)
+                .keepAliveTime(keepAliveSeconds, TimeUnit.SECONDS)
+                .keepAliveWithoutCalls(true)
+                .build());
+    }
+
+    GrpcSession(String address, ManagedChannel channel) {
+        this.address = address;
+        this.channel = channel;
+        this.stub = NoviFlowGrpcGrpc.newStub(channel);
+    }
+
+    private static ManagedChannelBuilder<?> createChannelBuilder(String address) {
         if (!InetAddresses.isInetAddress(address) && !InetAddresses.isUriInetAddress(address)) {
             throw new GrpcRequestFailureException(ErrorCode.ERRNO_23.getCode(), ErrorCode.ERRNO_23.getMessage());
         }
-        this.address = address;
-        this.channel = ManagedChannelBuilder.forAddress(address, PORT)
-                .usePlaintext()
-                .build();
-        this.stub = NoviFlowGrpcGrpc.newStub(channel);
+        return ManagedChannelBuilder.forAddress(address, PORT)
+                .usePlaintext();
     }
 
     /**
@@ -0,0 +1,278 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import org.openkilda.grpc.speaker.exception.GrpcRequestFailureException;
+import org.openkilda.grpc.speaker.model.ErrorCode;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Status;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keeps a logged in {@link GrpcSession} per switch and runs the requests to the switch on it.
+ * <p/>
+ * The session is logged in again when the login is older than the session TTL or when the switch rejects a request
+ * as unauthenticated, i.e. with one of the user related errno codes. At most the configured number of requests are
+ * in flight per switch, the rest wait for their turn. A waiting request is started on the dispatch executor, not on
+ * the thread which completed the previous one. Sessions without requests for the idle timeout are closed.
+ */
+@Slf4j
+public class GrpcSessionPool {
+    /**
+     * The switch replies with these codes to a request on the session whose login is lost, e.g. after the switch
+     * reboot or the user re-creation.
+     */
+    private static final Set<ErrorCode> AUTH_FAILURE_CODES = EnumSet.of(
+            ErrorCode.ERRNO_50, ErrorCode.ERRNO_53, ErrorCode.ERRNO_57, ErrorCode.ERRNO_126);
+
+    private final String user;
+    private final String password;
+    private final long sessionTtlMillis;
+    private final long idleTimeoutMillis;
+    private final int maxInFlightRequests;
+    private final Function<String, GrpcSession> sessionFactory;
+
+    private final Map<String, PooledSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionExecutor;
+    private final ExecutorService dispatchExecutor;
+
+    private final AtomicLong requestsCount = new AtomicLong();
+    private final AtomicLong reusedCount = new AtomicLong();
+    private final AtomicLong latencyNanos = new AtomicLong();
+    private final AtomicLong loginsCount = new AtomicLong();
+
+    public GrpcSessionPool(String user, String password, long sessionTtlMillis, long idleTimeoutMillis,
+                           int maxInFlightRequests, Function<String, GrpcSession> sessionFactory) {
+        this.user = user;
+        this.password = password;
+        this.sessionTtlMillis = sessionTtlMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.sessionFactory = sessionFactory;
+
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("grpc-session-eviction-%d").setDaemon(true).build());
+        long evictionPeriod = Math.max(idleTimeoutMillis / 2, 1);
+        evictionExecutor.scheduleWithFixedDelay(this::evictIdleSessions, evictionPeriod, evictionPeriod,
+                TimeUnit.MILLISECONDS);
+        dispatchExecutor = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("grpc-session-dispatch-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Runs the request on the session of the switch.
+     *
+     * @param address the switch address.
+     * @param request the request, it gets the logged in session.
+     * @return {@link CompletableFuture} with the request result.
+     */
+    public <T> CompletableFuture<T> execute(String address, Function<GrpcSession, CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean submitted = false;
+        while (!submitted) {
+            PooledSession pooled = sessions.compute(address,
+                    (key, current) -> current != null && !current.closed ? current : new PooledSession(key));
+            submitted = pooled.submit(() -> run(pooled, request, result, true));
+        }
+        return result;
+    }
+
+    private <T> void run(PooledSession pooled, Function<GrpcSession, CompletableFuture<T>> request,
+                         CompletableFuture<T> result, boolean retryOnAuthFailure) {
+        long startTime = System.nanoTime();
+        if (pooled.markUsed()) {
+            reusedCount.incrementAndGet();
+        }
+
+        CompletableFuture<T> response;
+        try {
+            response = pooled.login().thenCompose(e -> request.apply(pooled.session));
+        } catch (Exception e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+
+        response.whenComplete((value, error) -> {
+            requestsCount.incrementAndGet();
+            latencyNanos.addAndGet(System.nanoTime() - startTime);
+
+            if (error != null && retryOnAuthFailure && isAuthFailure(error)) {
+                log.info("Request to switch {} is rejected as unauthenticated, logging in again", pooled.address);
+                pooled.resetLogin();
+                run(pooled, request, result, false);
+                return;
+            }
+
+            pooled.release();
+            if (error != null) {
+                result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private static boolean isAuthFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof GrpcRequestFailureException) {
+            Integer code = ((GrpcRequestFailureException) cause).getCode();
+            return code != null && AUTH_FAILURE_CODES.stream().anyMatch(authCode -> authCode.getCode() == code);
+        }
+
+        Status.Code code = Status.fromThrowable(cause).getCode();
+        return code == Status.Code.UNAUTHENTICATED || code == Status.Code.PERMISSION_DENIED;
+    }
+
+    private void evictIdleSessions() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(pooled -> pooled.closeIfIdle(now));
+    }
+
+    /**
+     * Gets the pool stats since the previous call.
+     */
+    public Stats getAndResetStats() {
+        long requests = requestsCount.getAndSet(0);
+        long reused = reusedCount.getAndSet(0);
+        long latency = TimeUnit.NANOSECONDS.toMillis(latencyNanos.getAndSet(0));
+        return new Stats(sessions.size(), requests, requests == 0 ? 0 : (double) reused / requests,
+                requests == 0 ? 0 : (double) latency / requests, loginsCount.getAndSet(0));
+    }
+
+    /**
+     * Closes all sessions.
+     */
+    public void shutdown() {
+        evictionExecutor.shutdownNow();
+        dispatchExecutor.shutdownNow();
+        sessions.values().forEach(PooledSession::close);
+        sessions.clear();
+    }
+
+    private class PooledSession {
+        private final String address;
+        private final GrpcSession session;
+
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int inFlight;
+        private boolean used;
+        private boolean closed;
+        private long lastUsedTime = System.currentTimeMillis();
+
+        private CompletableFuture<?> login;
+        private long loginTime;
+
+        PooledSession(String address) {
+            this.address = address;
+            this.session = sessionFactory.apply(address);
+        }
+
+        /**
+         * Runs the task or queues it when there are too many requests in flight.
+         *
+         * @return false if the session is closed.
+         */
+        boolean submit(Runnable task) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                lastUsedTime = System.currentTimeMillis();
+                if (inFlight >= maxInFlightRequests) {
+                    waiting.add(task);
+                    return true;
+                }
+                inFlight++;
+            }
+            task.run();
+            return true;
+        }
+
+        void release() {
+            Runnable next;
+            synchronized (this) {
+                lastUsedTime = System.currentTimeMillis();
+                next = waiting.poll();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            // The release is called on the completion of the previous request, running the next one right here
+            // would nest the completions of all the waiting requests on one stack.
+            dispatchExecutor.execute(next);
+        }
+
+        synchronized boolean markUsed() {
+            boolean reused = used;
+            used = true;
+            return reused;
+        }
+
+        synchronized CompletableFuture<?> login() {
+            long now = System.currentTimeMillis();
+            if (login == null || login.isCompletedExceptionally() || now - loginTime > sessionTtlMillis) {
+                loginsCount.incrementAndGet();
+                loginTime = now;
+                login = session.login(user, password);
+            }
+            return login;
+        }
+
+        synchronized void resetLogin() {
+            login = null;
+        }
+
+        synchronized boolean closeIfIdle(long now) {
+            if (inFlight == 0 && now - lastUsedTime > idleTimeoutMillis) {
+                log.debug("Close idle gRPC session with switch {}", address);
+                close();
+            }
+            return closed;
+        }
+
+        synchronized void close() {
+            closed = true;
+            session.shutdown();
+        }
+    }
+
+    @Value
+    public static class Stats {
+        private int activeSessions;
+        private long requests;
+        private double reuseRate;
+        private double meanLatencyMillis;
+        private long logins;
+    }
+}
@@ -29,6 +29,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.List;
 
@@ -39,8 +40,10 @@ import java.util.List;
 @Configuration
 @ConfigurationType(name = "kafkaTopicsConfig", value = KafkaTopicsConfig.class)
 @ConfigurationType(name = "kafkaGroupConfig", value = KafkaGrpcSpeakerConfig.class)
+@ConfigurationType(GrpcSessionPoolConfig.class)
 @ConfigurationType(EnvironmentConfig.class)
 @ComponentScan({"org.openkilda.grpc.speaker"})
+@EnableScheduling
 public class AppConfig {
 
     @Bean(CONF4J_CONFIGURATION_VALUE_PROCESSORS)
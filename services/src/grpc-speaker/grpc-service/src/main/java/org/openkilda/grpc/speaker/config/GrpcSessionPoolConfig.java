@@ -0,0 +1,39 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.config;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+@Configuration
+public interface GrpcSessionPoolConfig {
+    @Key("grpc.session.ttl.seconds")
+    @Default("600")
+    long getSessionTtlSeconds();
+
+    @Key("grpc.session.idle.timeout.seconds")
+    @Default("300")
+    long getIdleTimeoutSeconds();
+
+    @Key("grpc.session.max.in.flight.requests")
+    @Default("4")
+    int getMaxInFlightRequests();
+
+    @Key("grpc.channel.keep.alive.seconds")
+    @Default("300")
+    long getKeepAliveSeconds();
+}
@@ -0,0 +1,72 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.messaging;
+
+import org.openkilda.config.KafkaTopicsConfig;
+import org.openkilda.grpc.speaker.client.GrpcSessionPool;
+import org.openkilda.grpc.speaker.service.GrpcSenderService;
+import org.openkilda.messaging.info.Datapoint;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Periodically sends the gRPC session pool stats to OpenTSDB.
+ */
+@Slf4j
+@Component
+public class SessionPoolStatsReporter {
+    private static final Map<String, String> TAGS = Collections.singletonMap("service", "grpc-speaker");
+
+    @Value("${opentsdb.metric.prefix:kilda.}")
+    private String metricPrefix;
+
+    @Autowired
+    private GrpcSenderService service;
+
+    @Autowired
+    private KafkaMessageProducer messageProducer;
+
+    @Autowired
+    private KafkaTopicsConfig topicsConfig;
+
+    /**
+     * Sends the stats collected since the previous report.
+     */
+    @Scheduled(fixedDelayString = "${grpc.session.stats.interval.ms:60000}")
+    public void report() {
+        GrpcSessionPool.Stats stats = service.getAndResetSessionPoolStats();
+        log.debug("gRPC session pool stats: {}", stats);
+
+        long timestamp = System.currentTimeMillis();
+        send("active", timestamp, stats.getActiveSessions());
+        send("requests", timestamp, stats.getRequests());
+        send("reuse.rate", timestamp, stats.getReuseRate());
+        send("latency.mean", timestamp, stats.getMeanLatencyMillis());
+        send("logins", timestamp, stats.getLogins());
+    }
+
+    private void send(String metric, long timestamp, Number value) {
+        messageProducer.send(topicsConfig.getOtsdbTopic(),
+                new Datapoint(metricPrefix + "grpc.session." + metric, timestamp, TAGS, value));
+    }
+}
@@ -18,6 +18,8 @@ package org.openkilda.grpc.speaker.service;
 import static java.lang.String.format;
 
 import org.openkilda.grpc.speaker.client.GrpcSession;
+import org.openkilda.grpc.speaker.client.GrpcSessionPool;
+import org.openkilda.grpc.speaker.config.GrpcSessionPoolConfig;
 import org.openkilda.grpc.speaker.exception.GrpcException;
 import org.openkilda.grpc.speaker.mapper.NoviflowResponseMapper;
 import org.openkilda.grpc.speaker.model.EnableLogMessagesResponse;
@@ -41,7 +43,10 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
  * Performs gRPC calls.
@@ -57,9 +62,33 @@ public class GrpcSenderService {
     private String password;
 
     private NoviflowResponseMapper mapper;
+    private GrpcSessionPoolConfig poolConfig;
+    private GrpcSessionPool sessionPool;
 
-    public GrpcSenderService(@Autowired NoviflowResponseMapper mapper) {
+    public GrpcSenderService(@Autowired NoviflowResponseMapper mapper, @Autowired GrpcSessionPoolConfig poolConfig) {
         this.mapper = mapper;
+        this.poolConfig = poolConfig;
+    }
+
+    @PostConstruct
+    void init() {
+        sessionPool = new GrpcSessionPool(name, password,
+                TimeUnit.SECONDS.toMillis(poolConfig.getSessionTtlSeconds()),
+                TimeUnit.SECONDS.toMillis(poolConfig.getIdleTimeoutSeconds()),
+                poolConfig.getMaxInFlightRequests(),
+                address -> new GrpcSession(address, poolConfig.getKeepAliveSeconds()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sessionPool.shutdown();
+    }
+
+    /**
+     * Gets the gRPC session pool stats since the previous call.
+     */
+    public GrpcSessionPool.Stats getAndResetSessionPoolStats() {
+        return sessionPool.getAndResetStats();
     }
 
     /**
@@ -69,14 +98,11 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<LogicalPort> createLogicalPort(String switchAddress, LogicalPortDto port) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.setLogicalPort(port))
-                .thenCompose(e -> sender.showConfigLogicalPort(port.getLogicalPortNumber()))
+        return sessionPool.execute(switchAddress, sender -> sender.setLogicalPort(port)
+                        .thenCompose(e -> sender.showConfigLogicalPort(port.getLogicalPortNumber())))
                 .thenApply(portOptional -> portOptional
                         .map(mapper::toLogicalPort)
-                        .orElseThrow(() -> new GrpcException(format("Port %s was not created ", port))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                        .orElseThrow(() -> new GrpcException(format("Port %s was not created ", port))));
     }
 
     /**
@@ -86,11 +112,8 @@ public class GrpcSenderService {
      * @return list of logical ports wrapped into {@link CompletableFuture}.
      */
     public CompletableFuture<List<LogicalPort>> dumpLogicalPorts(String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.dumpLogicalPorts())
-                .thenApply(ports -> ports.stream().map(mapper::toLogicalPort).collect(Collectors.toList()))
-                .whenComplete((e, ex) -> sender.shutdown());
+        return sessionPool.execute(switchAddress, GrpcSession::dumpLogicalPorts)
+                .thenApply(ports -> ports.stream().map(mapper::toLogicalPort).collect(Collectors.toList()));
     }
 
     /**
@@ -100,14 +123,11 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<SwitchInfoStatus> getSwitchStatus(String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.showSwitchStatus())
+        return sessionPool.execute(switchAddress, GrpcSession::showSwitchStatus)
                 .thenApply(statusOptional -> statusOptional
                         .map(mapper::toSwitchInfo)
                         .orElseThrow(() ->
-                                new GrpcException(format("Couldn't get status for switch %s", switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                new GrpcException(format("Couldn't get status for switch %s", switchAddress))));
     }
 
     /**
@@ -118,14 +138,11 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<LogicalPort> showConfigLogicalPort(String switchAddress, Integer port) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.showConfigLogicalPort(port))
+        return sessionPool.execute(switchAddress, sender -> sender.showConfigLogicalPort(port))
                 .thenApply(statusOptional -> statusOptional
                         .map(mapper::toLogicalPort)
                         .orElseThrow(() -> new GrpcException(format("Couldn't get logical port %d for switch %s",
-                                port, switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                port, switchAddress))));
     }
 
     /**
@@ -136,14 +153,11 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<GrpcDeleteOperationResponse> deleteConfigLogicalPort(String switchAddress, Integer port) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.deleteLogicalPort(port))
+        return sessionPool.execute(switchAddress, sender -> sender.deleteLogicalPort(port))
                 .thenApply(optional -> optional
                         .map(value -> new GrpcDeleteOperationResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() -> new GrpcException(format("Could not delete logical port %d for switch %s",
-                                port, switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                port, switchAddress))));
     }
 
     /**
@@ -155,14 +169,11 @@ public class GrpcSenderService {
      */
     public CompletableFuture<EnableLogMessagesResponse> enableLogMessages(String switchAddress,
                                                                           LogMessagesDto logMessagesDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.enableLogMessages(logMessagesDto))
+        return sessionPool.execute(switchAddress, sender -> sender.enableLogMessages(logMessagesDto))
                 .thenApply(optional -> optional
                         .map(value -> new EnableLogMessagesResponse(logMessagesDto.getState()))
                         .orElseThrow(() -> new GrpcException(format("Could not set log messages to status: %s",
-                                logMessagesDto.getState().toString()))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                logMessagesDto.getState().toString()))));
     }
 
     /**
@@ -174,14 +185,11 @@ public class GrpcSenderService {
      */
     public CompletableFuture<EnableLogMessagesResponse> enableLogOferror(String switchAddress,
                                                                          LogOferrorsDto logOferrorsDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.enableLogOferrors(logOferrorsDto))
+        return sessionPool.execute(switchAddress, sender -> sender.enableLogOferrors(logOferrorsDto))
                 .thenApply(optional -> optional
                         .map(value -> new EnableLogMessagesResponse(logOferrorsDto.getState()))
                         .orElseThrow(() -> new GrpcException(format("Could not set log OF errors to status: %s",
-                                logOferrorsDto.getState().toString()))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                logOferrorsDto.getState().toString()))));
 
     }
 
@@ -192,14 +200,11 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<RemoteLogServer> showConfigRemoteLogServer(String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.showConfigRemoteLogServer())
+        return sessionPool.execute(switchAddress, GrpcSession::showConfigRemoteLogServer)
                 .thenApply(optional -> optional
                         .map(mapper::toRemoteLogServer)
                         .orElseThrow(() -> new GrpcException(format("Could not to get remote log server for switch: %s",
-                                switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                switchAddress))));
     }
 
     /**
@@ -211,15 +216,12 @@ public class GrpcSenderService {
      */
     public CompletableFuture<RemoteLogServer> setConfigRemoteLogServer(
             String switchAddress, RemoteLogServerDto remoteLogServerDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.setConfigRemoteLogServer(remoteLogServerDto))
-                .thenCompose(e -> sender.showConfigRemoteLogServer())
+        return sessionPool.execute(switchAddress, sender -> sender.setConfigRemoteLogServer(remoteLogServerDto)
+                        .thenCompose(e -> sender.showConfigRemoteLogServer()))
                 .thenApply(optional -> optional
                         .map(mapper::toRemoteLogServer)
                         .orElseThrow(() -> new GrpcException(format("Could not set remote log server for switch %s",
-                                switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                switchAddress))));
     }
 
     /**
@@ -230,14 +232,11 @@ public class GrpcSenderService {
      */
     public CompletableFuture<GrpcDeleteOperationResponse> deleteConfigRemoteLogServer(
             String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.deleteConfigRemoteLogServer())
+        return sessionPool.execute(switchAddress, GrpcSession::deleteConfigRemoteLogServer)
                 .thenApply(optional -> optional
                         .map(value -> new GrpcDeleteOperationResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() -> new GrpcException(format("Could not delete remote log server for switch %s",
-                                switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                switchAddress))));
     }
 
     /**
@@ -250,15 +249,12 @@ public class GrpcSenderService {
      */
     public CompletableFuture<PortConfigSetupResponse> setPortConfig(
             String switchAddress, Integer portNumber, PortConfigDto portConfigDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.setPortConfig(portNumber, portConfigDto))
+        return sessionPool.execute(switchAddress, sender -> sender.setPortConfig(portNumber, portConfigDto))
                 .thenApply(optional -> optional
                         .map(value -> new PortConfigSetupResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() ->
                                 new GrpcException(format("Could not setup port №%d configuration for switch %s",
-                                        portNumber, switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                        portNumber, switchAddress))));
     }
 
     /**
@@ -269,13 +265,10 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<LicenseResponse> setConfigLicense(String switchAddress, LicenseDto licenseDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
-                .thenCompose(e -> sender.setConfigLicense(licenseDto))
+        return sessionPool.execute(switchAddress, sender -> sender.setConfigLicense(licenseDto))
                 .thenApply(optional -> optional
                         .map(value -> new LicenseResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() ->
-                                new GrpcException(format("Could not setup license for switch %s", switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                new GrpcException(format("Could not setup license for switch %s", switchAddress))));
     }
 }
@@ -0,0 +1,96 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import org.openkilda.grpc.speaker.model.ErrorCode;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.noviflow.AuthenticateUser;
+import io.grpc.noviflow.CliReply;
+import io.grpc.noviflow.NoviFlowGrpcGrpc;
+import io.grpc.noviflow.StatusSwitch;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fake of a Noviflow switch gRPC server. It accepts any credentials and, like a real switch, rejects
+ * the switch status requests with a user privilege errno in the reply status until the next login after
+ * {@link #expireLogin()}. {@link #replyWith(ErrorCode)} makes it fail the status requests with the given errno.
+ */
+public class FakeNoviflowSwitch extends NoviFlowGrpcGrpc.NoviFlowGrpcImplBase implements AutoCloseable {
+    private final String name = InProcessServerBuilder.generateName();
+    private final Server server;
+
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger statusRequests = new AtomicInteger();
+    private final AtomicBoolean loggedIn = new AtomicBoolean();
+    private final AtomicInteger replyStatus = new AtomicInteger();
+
+    public FakeNoviflowSwitch() throws IOException {
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(this).build().start();
+    }
+
+    /**
+     * Creates a session connected to the fake switch.
+     */
+    public GrpcSession createSession(String address) {
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        return new GrpcSession(address, channel);
+    }
+
+    public int getLogins() {
+        return logins.get();
+    }
+
+    public int getStatusRequests() {
+        return statusRequests.get();
+    }
+
+    public void expireLogin() {
+        loggedIn.set(false);
+    }
+
+    public void replyWith(ErrorCode errorCode) {
+        replyStatus.set(errorCode.getCode());
+    }
+
+    @Override
+    public void setLoginDetails(AuthenticateUser request, StreamObserver<CliReply> responseObserver) {
+        logins.incrementAndGet();
+        loggedIn.set(true);
+        responseObserver.onNext(CliReply.newBuilder().setReplyStatus(0).build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void showStatusSwitch(StatusSwitch request, StreamObserver<StatusSwitch> responseObserver) {
+        statusRequests.incrementAndGet();
+        int status = loggedIn.get() ? replyStatus.get() : ErrorCode.ERRNO_50.getCode();
+        responseObserver.onNext(StatusSwitch.newBuilder().setReplyStatus(status).build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+    }
+}
@@ -0,0 +1,174 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.openkilda.grpc.speaker.exception.GrpcRequestFailureException;
+import org.openkilda.grpc.speaker.model.ErrorCode;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class GrpcSessionPoolTest {
+    private static final String ADDRESS = "127.0.0.1";
+
+    private FakeNoviflowSwitch fakeSwitch;
+    private final List<GrpcSession> createdSessions = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        fakeSwitch = new FakeNoviflowSwitch();
+    }
+
+    @After
+    public void tearDown() {
+        fakeSwitch.close();
+    }
+
+    @Test
+    public void shouldReuseLoggedInSession() throws Exception {
+        GrpcSessionPool pool = createPool(60000, 60000, 4);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS).isPresent());
+        }
+
+        assertEquals(1, createdSessions.size());
+        assertEquals(1, fakeSwitch.getLogins());
+        GrpcSessionPool.Stats stats = pool.getAndResetStats();
+        assertEquals(5, stats.getRequests());
+        assertEquals(0.8, stats.getReuseRate(), 0.001);
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldLoginAgainWhenRejectedAsUnauthenticated() throws Exception {
+        GrpcSessionPool pool = createPool(60000, 60000, 4);
+        pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS);
+
+        fakeSwitch.expireLogin();
+        assertTrue(pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS).isPresent());
+
+        assertEquals(2, fakeSwitch.getLogins());
+        assertEquals(3, fakeSwitch.getStatusRequests());
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldNotLoginAgainOnNonAuthFailure() throws Exception {
+        GrpcSessionPool pool = createPool(60000, 60000, 4);
+        pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS);
+
+        fakeSwitch.replyWith(ErrorCode.ERRNO_13);
+        try {
+            pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS);
+            fail("The request must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof GrpcRequestFailureException);
+            assertEquals(ErrorCode.ERRNO_13.getCode(), (int) ((GrpcRequestFailureException) e.getCause()).getCode());
+        }
+
+        assertEquals(1, fakeSwitch.getLogins());
+        assertEquals(2, fakeSwitch.getStatusRequests());
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldLoginAgainWhenSessionTtlExpired() throws Exception {
+        GrpcSessionPool pool = createPool(0, 60000, 4);
+        pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS);
+        Thread.sleep(5);
+        pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, fakeSwitch.getLogins());
+        assertEquals(1, createdSessions.size());
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldLimitRequestsInFlight() throws Exception {
+        GrpcSessionPool pool = createPool(60000, 60000, 2);
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<String> response = new CompletableFuture<>();
+            responses.add(response);
+            results.add(pool.execute(ADDRESS, session -> response));
+        }
+
+        // the third request waits until one of the first two is completed
+        assertFalse(results.get(2).isDone());
+        responses.get(2).complete("third");
+        assertFalse(results.get(2).isDone());
+
+        responses.get(0).complete("first");
+        assertEquals("first", results.get(0).get(1, TimeUnit.SECONDS));
+        assertEquals("third", results.get(2).get(1, TimeUnit.SECONDS));
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldRunWaitingRequestsOffTheCompletingThread() throws Exception {
+        GrpcSessionPool pool = createPool(60000, 60000, 1);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        pool.execute(ADDRESS, session -> first);
+
+        int waitingCount = 20000;
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < waitingCount; i++) {
+            results.add(pool.execute(ADDRESS, session -> CompletableFuture.completedFuture("next")));
+        }
+
+        // each waiting request completes immediately, so running them on the completing thread overflows its stack
+        first.complete("first");
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(waitingCount + 1, pool.getAndResetStats().getRequests());
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldCloseIdleSessions() throws Exception {
+        GrpcSessionPool pool = createPool(60000, 20, 4);
+        pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS);
+
+        Thread.sleep(200);
+        pool.execute(ADDRESS, GrpcSession::showSwitchStatus).get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, createdSessions.size());
+        assertEquals(2, fakeSwitch.getLogins());
+        pool.shutdown();
+    }
+
+    private GrpcSessionPool createPool(long sessionTtlMillis, long idleTimeoutMillis, int maxInFlightRequests) {
+        return new GrpcSessionPool("user", "pass", sessionTtlMillis, idleTimeoutMillis, maxInFlightRequests,
+                address -> {
+                    GrpcSession session = fakeSwitch.createSession(address);
+                    createdSessions.add(session);
+                    return session;
+                });
+    }
+}
@@ -48,4 +48,24 @@ public interface TransactionManager {
             throws E;
 
     RetryPolicy makeRetryPolicyBlank();
+
+    /**
+     * Register the callback to be executed if the current transaction is rolled back. The callbacks of nested
+     * transactions are bound to the outermost one, and discarded once it is committed.
+     * <p/>
+     * Must be called within a transaction.
+     *
+     * @param callback the action to undo in-memory changes made along with the transaction.
+     */
+    void registerRollbackCallback(Runnable callback);
+
+    /**
+     * Register the callback to be executed once the current transaction is committed. The callbacks of nested
+     * transactions are bound to the outermost one, and discarded if it is rolled back.
+     * <p/>
+     * Must be called within a transaction.
+     *
+     * @param callback the action to apply in-memory changes made along with the transaction.
+     */
+    void registerCommitCallback(Runnable callback);
 }
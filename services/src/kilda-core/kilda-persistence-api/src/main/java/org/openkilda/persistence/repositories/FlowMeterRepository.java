@@ -35,6 +35,10 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      */
     Collection<FlowMeter> findByPathId(PathId pathId);
 
+    Collection<FlowMeter> findBySwitchId(SwitchId switchId);
+
+    boolean exists(SwitchId switchId, MeterId meterId);
+
     /**
      * Find a meter id which is not assigned to any flow.
      * Use the provided {@code defaultMeterId} as the first candidate.
@@ -22,5 +22,10 @@ public interface Repository<T> {
 
     void createOrUpdate(T entity);
 
+    /**
+     * Create or update all entities at once, so the storage can group the writes of the same entity type.
+     */
+    void createOrUpdateAll(Collection<T> entities);
+
     void delete(T entity);
 }
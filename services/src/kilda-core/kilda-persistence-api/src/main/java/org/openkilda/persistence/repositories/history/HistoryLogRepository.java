@@ -15,8 +15,18 @@
 
 package org.openkilda.persistence.repositories.history;
 
+import org.openkilda.model.history.FlowHistory;
 import org.openkilda.model.history.HistoryLog;
 import org.openkilda.persistence.repositories.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface HistoryLogRepository extends Repository<HistoryLog> {
+    /**
+     * Link already stored FlowHistory entities to the flow events with the same task id in one statement.
+     *
+     * @return task ids having a flow event to link to.
+     */
+    Set<String> createByTaskId(Collection<FlowHistory> flowHistories);
 }
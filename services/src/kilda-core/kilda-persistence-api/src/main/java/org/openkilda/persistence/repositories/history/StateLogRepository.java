@@ -15,8 +15,18 @@
 
 package org.openkilda.persistence.repositories.history;
 
+import org.openkilda.model.history.FlowDump;
 import org.openkilda.model.history.StateLog;
 import org.openkilda.persistence.repositories.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface StateLogRepository extends Repository<StateLog> {
+    /**
+     * Link already stored FlowDump entities to the flow events with the same task id in one statement.
+     *
+     * @return task ids having a flow event to link to.
+     */
+    Set<String> createByTaskId(Collection<FlowDump> flowDumps);
 }
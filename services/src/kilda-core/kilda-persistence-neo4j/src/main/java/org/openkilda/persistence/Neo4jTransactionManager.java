@@ -27,6 +27,9 @@ import org.neo4j.ogm.session.SessionFactory;
 import org.neo4j.ogm.transaction.Transaction;
 import org.neo4j.ogm.transaction.Transaction.Status;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +40,8 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionFactory {
     private static final ThreadLocal<Session> SESSION_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> ROLLBACK_CALLBACKS = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<List<Runnable>> COMMIT_CALLBACKS = ThreadLocal.withInitial(ArrayList::new);
 
     private final SessionFactory sessionFactory;
     private final RetryPolicy retryPolicyBlank;
@@ -90,6 +95,22 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         return new RetryPolicy(retryPolicyBlank);
     }
 
+    @Override
+    public void registerRollbackCallback(Runnable callback) {
+        if (SESSION_HOLDER.get() == null) {
+            throw new PersistenceException("Unable to register rollback callback: there's no active transaction.");
+        }
+        ROLLBACK_CALLBACKS.get().add(callback);
+    }
+
+    @Override
+    public void registerCommitCallback(Runnable callback) {
+        if (SESSION_HOLDER.get() == null) {
+            throw new PersistenceException("Unable to register commit callback: there's no active transaction.");
+        }
+        COMMIT_CALLBACKS.get().add(callback);
+    }
+
     private <T> T execute(RetryPolicy retryPolicy, Callable<T> action) {
         return Failsafe.with(retryPolicy)
                 .onRetry(e -> log.warn("Retrying Neo4j transaction finished with exception", e))
@@ -141,6 +162,7 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         Transaction transaction = currentTx.orElseThrow(
                 () -> new PersistenceException("Unable to commit transaction: there's no active Neo4j transaction."));
 
+        List<Runnable> commitCallbacks = Collections.emptyList();
         try {
             transaction.commit();
             // Complete the transaction.
@@ -154,8 +176,13 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             if (transaction.status() == Status.COMMITTED || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
                 SESSION_HOLDER.remove();
+                ROLLBACK_CALLBACKS.remove();
+                commitCallbacks = COMMIT_CALLBACKS.get();
+                COMMIT_CALLBACKS.remove();
             }
         }
+
+        runCallbacks(commitCallbacks);
     }
 
     /**
@@ -183,6 +210,20 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             if (transaction.status() == Status.ROLLEDBACK || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
                 SESSION_HOLDER.remove();
+                COMMIT_CALLBACKS.remove();
+                List<Runnable> rollbackCallbacks = ROLLBACK_CALLBACKS.get();
+                ROLLBACK_CALLBACKS.remove();
+                runCallbacks(rollbackCallbacks);
+            }
+        }
+    }
+
+    private void runCallbacks(List<Runnable> callbacks) {
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (Exception ex) {
+                log.error("Transaction callback failed", ex);
             }
         }
     }
@@ -76,6 +76,21 @@ public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter>
         return meters;
     }
 
+    @Override
+    public Collection<FlowMeter> findBySwitchId(SwitchId switchId) {
+        Filter switchIdFilter = new Filter(SWITCH_PROPERTY_NAME, ComparisonOperator.EQUALS, switchId);
+
+        return loadAll(switchIdFilter);
+    }
+
+    @Override
+    public boolean exists(SwitchId switchId, MeterId meterId) {
+        Filter switchIdFilter = new Filter(SWITCH_PROPERTY_NAME, ComparisonOperator.EQUALS, switchId);
+        Filter meterIdFilter = new Filter(METER_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, meterId);
+
+        return getSession().count(getEntityType(), switchIdFilter.and(meterIdFilter)) > 0;
+    }
+
     @Override
     public Optional<MeterId> findUnassignedMeterId(SwitchId switchId, MeterId defaultMeterId) {
         Map<String, Object> parameters = ImmutableMap.of(
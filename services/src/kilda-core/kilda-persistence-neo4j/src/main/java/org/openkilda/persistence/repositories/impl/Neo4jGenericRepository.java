@@ -75,8 +75,18 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
 
     @Override
     public void createOrUpdate(T entity) {
+        save(entity);
+    }
+
+    @Override
+    public void createOrUpdateAll(Collection<T> entities) {
+        // OGM compiles new entities of the same type from one save call into a single UNWIND statement.
+        save(entities);
+    }
+
+    private void save(Object entities) {
         try {
-            getSession().save(entity, getDepthCreateUpdateEntity());
+            getSession().save(entities, getDepthCreateUpdateEntity());
         } catch (ClientException ex) {
             if (ex.code().endsWith("ConstraintValidationFailed")) {
                 throw new ConstraintViolationException("Unable to create/update " + getEntityType(), ex);
@@ -15,15 +15,45 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import org.openkilda.model.history.FlowHistory;
 import org.openkilda.model.history.HistoryLog;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.history.HistoryLogRepository;
 
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public class Neo4jHistoryLogRepository extends Neo4jGenericRepository<HistoryLog> implements HistoryLogRepository {
     Neo4jHistoryLogRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
     }
 
+    @Override
+    public Set<String> createByTaskId(Collection<FlowHistory> flowHistories) {
+        List<Map<String, Object>> rows = flowHistories.stream()
+                .map(entity -> {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("task_id", entity.getTaskId());
+                    row.put("entity_id", getSession().resolveGraphIdFor(requireManagedEntity(entity)));
+                    return row;
+                })
+                .collect(Collectors.toList());
+
+        String query = "UNWIND $rows AS row "
+                + "MATCH (event:flow_event {task_id: row.task_id}) "
+                + "MATCH (target:flow_history) WHERE id(target) = row.entity_id "
+                + "CREATE (event)-[:history_log]->(target) "
+                + "RETURN DISTINCT row.task_id AS task_id";
+        return new HashSet<>(queryForStrings(query, ImmutableMap.of("rows", rows), "task_id"));
+    }
+
     @Override
     protected Class<HistoryLog> getEntityType() {
         return HistoryLog.class;
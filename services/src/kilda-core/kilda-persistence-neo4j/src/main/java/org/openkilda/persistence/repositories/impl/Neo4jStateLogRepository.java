@@ -15,15 +15,46 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import org.openkilda.model.history.FlowDump;
 import org.openkilda.model.history.StateLog;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.history.StateLogRepository;
 
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public class Neo4jStateLogRepository extends Neo4jGenericRepository<StateLog> implements StateLogRepository {
     Neo4jStateLogRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
     }
 
+    @Override
+    public Set<String> createByTaskId(Collection<FlowDump> flowDumps) {
+        List<Map<String, Object>> rows = flowDumps.stream()
+                .map(entity -> {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("task_id", entity.getTaskId());
+                    row.put("entity_id", getSession().resolveGraphIdFor(requireManagedEntity(entity)));
+                    row.put("type", entity.getType());
+                    return row;
+                })
+                .collect(Collectors.toList());
+
+        String query = "UNWIND $rows AS row "
+                + "MATCH (event:flow_event {task_id: row.task_id}) "
+                + "MATCH (target:flow_dump) WHERE id(target) = row.entity_id "
+                + "CREATE (event)-[:state_log {type: row.type}]->(target) "
+                + "RETURN DISTINCT row.task_id AS task_id";
+        return new HashSet<>(queryForStrings(query, ImmutableMap.of("rows", rows), "task_id"));
+    }
+
     @Override
     protected Class<StateLog> getEntityType() {
         return StateLog.class;
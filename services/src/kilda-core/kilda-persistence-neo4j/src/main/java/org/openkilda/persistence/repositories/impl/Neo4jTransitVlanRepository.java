@@ -15,6 +15,8 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static java.util.Collections.singleton;
+
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
@@ -34,6 +36,7 @@ import java.util.Optional;
  */
 public class Neo4jTransitVlanRepository extends Neo4jGenericRepository<TransitVlan> implements TransitVlanRepository {
     static final String PATH_ID_PROPERTY_NAME = "path_id";
+    static final String VLAN_PROPERTY_NAME = "vlan";
 
     public Neo4jTransitVlanRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
@@ -57,6 +60,13 @@ public class Neo4jTransitVlanRepository extends Neo4jGenericRepository<TransitVl
         return result;
     }
 
+    @Override
+    public boolean exists(int vlan) {
+        Filter vlanFilter = new Filter(VLAN_PROPERTY_NAME, ComparisonOperator.EQUALS, vlan);
+
+        return getSession().count(getEntityType(), singleton(vlanFilter)) > 0;
+    }
+
     @Override
     public Optional<Integer> findUnassignedTransitVlan(int defaultVlan) {
         Map<String, Object> parameters = ImmutableMap.of(
@@ -29,6 +29,8 @@ import net.jodah.failsafe.RetryPolicy;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Neo4jTransactionManagerTest extends Neo4jBasedTest {
     static final SwitchId TEST_SWITCH_ID = new SwitchId(1);
 
@@ -147,6 +149,88 @@ public class Neo4jTransactionManagerTest extends Neo4jBasedTest {
         assertEquals(0, repository.findAll().size());
     }
 
+    @Test
+    public void shouldRunRollbackCallbackOnRootTxRollback() {
+        AtomicInteger rolledBack = new AtomicInteger();
+
+        // when
+        try {
+            // Start the root Tx.
+            txManager.doInTransaction(() -> {
+                // Start the extended Tx.
+                txManager.doInTransaction(() -> txManager.registerRollbackCallback(rolledBack::incrementAndGet));
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+
+        // then
+        assertEquals(1, rolledBack.get());
+    }
+
+    @Test
+    public void shouldDiscardRollbackCallbackOnCommit() {
+        AtomicInteger rolledBack = new AtomicInteger();
+
+        // when
+        txManager.doInTransaction(() -> txManager.registerRollbackCallback(rolledBack::incrementAndGet));
+        try {
+            txManager.doInTransaction(() -> {
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+
+        // then
+        assertEquals(0, rolledBack.get());
+    }
+
+    @Test
+    public void shouldRunCommitCallbackOnRootTxCommit() {
+        AtomicInteger committed = new AtomicInteger();
+
+        // when
+        // Start the root Tx.
+        txManager.doInTransaction(() -> {
+            // Start the extended Tx.
+            txManager.doInTransaction(() -> txManager.registerCommitCallback(committed::incrementAndGet));
+            // The extended Tx is completed, but the root one is not committed yet.
+            assertEquals(0, committed.get());
+        });
+
+        // then
+        assertEquals(1, committed.get());
+    }
+
+    @Test
+    public void shouldDiscardCommitCallbackOnRollback() {
+        AtomicInteger committed = new AtomicInteger();
+
+        // when
+        try {
+            txManager.doInTransaction(() -> {
+                txManager.registerCommitCallback(committed::incrementAndGet);
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        txManager.doInTransaction(() -> { });
+
+        // then
+        assertEquals(0, committed.get());
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void shouldFailRollbackCallbackRegistrationOutsideOfTx() {
+        txManager.registerRollbackCallback(() -> { });
+    }
+
     @Test(expected = TestCheckedException.class)
     public void shouldPassthroughAndCatchCheckedException() throws TestCheckedException {
         TransactionCallbackWithoutResult<TestCheckedException> callback = () -> {
@@ -16,11 +16,14 @@
 package org.openkilda.persistence.repositories.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.FlowMeter;
 import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.Neo4jBasedTest;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowMeterRepository;
@@ -79,6 +82,19 @@ public class Neo4jFlowMeterRepositoryTest extends Neo4jBasedTest {
         assertEquals(0, meters.size());
     }
 
+    @Test
+    public void shouldFindMetersBySwitchAndCheckExistence() {
+        flowMeterRepository.createOrUpdate(createFlowMeter(1, new PathId(TEST_PATH_ID)));
+        flowMeterRepository.createOrUpdate(createFlowMeter(2, new PathId(TEST_PATH_ID)));
+
+        assertEquals(2, flowMeterRepository.findBySwitchId(theSwitch.getSwitchId()).size());
+        assertEquals(0, flowMeterRepository.findBySwitchId(new SwitchId(2)).size());
+
+        assertTrue(flowMeterRepository.exists(theSwitch.getSwitchId(), new MeterId(2)));
+        assertFalse(flowMeterRepository.exists(theSwitch.getSwitchId(), new MeterId(3)));
+        assertFalse(flowMeterRepository.exists(new SwitchId(2), new MeterId(1)));
+    }
+
     @Test
     public void shouldDeleteFlowMeter() {
         FlowMeter meter = createFlowMeter();
@@ -0,0 +1,95 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+import org.openkilda.model.history.HistoryLog;
+import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+
+import com.google.common.collect.Sets;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class Neo4jHistoryLogRepositoryTest extends Neo4jBasedTest {
+    private static final String TASK_ID = "task-1";
+    private static final String ORPHAN_TASK_ID = "task-2";
+
+    private static TransactionManager transactionManager;
+    private static FlowEventRepository flowEventRepository;
+    private static FlowHistoryRepository flowHistoryRepository;
+    private static HistoryLogRepository historyLogRepository;
+
+    @BeforeClass
+    public static void setUp() {
+        transactionManager = persistenceManager.getTransactionManager();
+        flowEventRepository = new Neo4jFlowEventRepository(neo4jSessionFactory, txManager);
+        flowHistoryRepository = new Neo4jFlowHistoryRepository(neo4jSessionFactory, txManager);
+        historyLogRepository = new Neo4jHistoryLogRepository(neo4jSessionFactory, txManager);
+    }
+
+    @Test
+    public void shouldLinkFlowHistoryToFlowEventByTaskId() {
+        FlowHistory first = buildFlowHistory(TASK_ID, "first");
+        FlowHistory second = buildFlowHistory(TASK_ID, "second");
+        FlowHistory orphan = buildFlowHistory(ORPHAN_TASK_ID, "orphan");
+
+        FlowEvent event = FlowEvent.builder()
+                .taskId(TASK_ID)
+                .flowId("flow-1")
+                .timestamp(Instant.now())
+                .action("create")
+                .build();
+        List<FlowHistory> histories = Arrays.asList(first, second, orphan);
+
+        Set<String> linked = transactionManager.doInTransaction(() -> {
+            flowEventRepository.createOrUpdateAll(Collections.singletonList(event));
+            flowHistoryRepository.createOrUpdateAll(histories);
+            return historyLogRepository.createByTaskId(histories);
+        });
+
+        assertEquals(Sets.newHashSet(TASK_ID), linked);
+        assertEquals(3, flowHistoryRepository.findAll().size());
+
+        Collection<HistoryLog> logs = historyLogRepository.findAll();
+        assertEquals(2, logs.size());
+        for (HistoryLog entry : logs) {
+            assertEquals(TASK_ID, entry.getFlowEvent().getTaskId());
+            assertEquals(TASK_ID, entry.getFlowHistory().getTaskId());
+        }
+    }
+
+    private FlowHistory buildFlowHistory(String taskId, String action) {
+        return FlowHistory.builder()
+                .taskId(taskId)
+                .action(action)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.history.FlowDump;
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.StateLog;
+import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.StateLogRepository;
+
+import com.google.common.collect.Sets;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public class Neo4jStateLogRepositoryTest extends Neo4jBasedTest {
+    private static final String TASK_ID = "task-1";
+
+    private static TransactionManager transactionManager;
+    private static FlowEventRepository flowEventRepository;
+    private static FlowStateRepository flowStateRepository;
+    private static StateLogRepository stateLogRepository;
+
+    @BeforeClass
+    public static void setUp() {
+        transactionManager = persistenceManager.getTransactionManager();
+        flowEventRepository = new Neo4jFlowEventRepository(neo4jSessionFactory, txManager);
+        flowStateRepository = new Neo4jFlowStateRepository(neo4jSessionFactory, txManager);
+        stateLogRepository = new Neo4jStateLogRepository(neo4jSessionFactory, txManager);
+    }
+
+    @Test
+    public void shouldLinkFlowDumpToFlowEventByTaskIdWithType() {
+        FlowDump before = buildFlowDump("stateBefore");
+        FlowDump after = buildFlowDump("stateAfter");
+
+        FlowEvent event = FlowEvent.builder()
+                .taskId(TASK_ID)
+                .flowId("flow-1")
+                .timestamp(Instant.now())
+                .action("update")
+                .build();
+        List<FlowDump> dumps = Arrays.asList(before, after);
+
+        Set<String> linked = transactionManager.doInTransaction(() -> {
+            flowEventRepository.createOrUpdate(event);
+            flowStateRepository.createOrUpdateAll(dumps);
+            return stateLogRepository.createByTaskId(dumps);
+        });
+
+        assertEquals(Sets.newHashSet(TASK_ID), linked);
+
+        Collection<StateLog> logs = stateLogRepository.findAll();
+        assertEquals(2, logs.size());
+        for (StateLog entry : logs) {
+            assertEquals(TASK_ID, entry.getFlowEvent().getTaskId());
+            assertEquals(entry.getFlowDump().getType(), entry.getType());
+        }
+    }
+
+    private FlowDump buildFlowDump(String type) {
+        return FlowDump.builder()
+                .taskId(TASK_ID)
+                .flowId("flow-1")
+                .type(type)
+                .build();
+    }
+}
@@ -16,6 +16,8 @@
 package org.openkilda.persistence.repositories.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
@@ -53,6 +55,19 @@ public class Neo4jTransitVlanRepositoryTest extends Neo4jBasedTest {
         assertEquals(TEST_FLOW_ID, foundVlan.getFlowId());
     }
 
+    @Test
+    public void shouldCheckTransitVlanExistence() {
+        TransitVlan vlan = TransitVlan.builder()
+                .vlan(1)
+                .pathId(new PathId(TEST_FLOW_ID + "_path"))
+                .flowId(TEST_FLOW_ID)
+                .build();
+        transitVlanRepository.createOrUpdate(vlan);
+
+        assertTrue(transitVlanRepository.exists(1));
+        assertFalse(transitVlanRepository.exists(2));
+    }
+
     @Test
     public void shouldDeleteFlowMeter() {
         TransitVlan vlan = TransitVlan.builder()
@@ -16,6 +16,8 @@
 package org.openkilda.persistence.repositories.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.PathId;
 import org.openkilda.model.Vxlan;
@@ -53,6 +55,19 @@ public class Neo4jVxlanRepositoryTest extends Neo4jBasedTest {
         assertEquals(TEST_FLOW_ID, foundVxlan.getFlowId());
     }
 
+    @Test
+    public void shouldCheckVxlanExistence() {
+        Vxlan vxlan = Vxlan.builder()
+                .vni(1)
+                .pathId(new PathId(TEST_FLOW_ID + "_path"))
+                .flowId(TEST_FLOW_ID)
+                .build();
+        vxlanRepository.createOrUpdate(vxlan);
+
+        assertTrue(vxlanRepository.exists(1));
+        assertFalse(vxlanRepository.exists(2));
+    }
+
     @Test
     public void shouldDeleteVxlan() {
         Vxlan vxlan = Vxlan.builder()
@@ -16,10 +16,13 @@
 package org.openkilda.pce;
 
 import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.BatchNetwork;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -39,11 +42,22 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private NetworkSnapshotCache networkSnapshotCache;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(config, repositoryFactory, new NetworkSnapshotCache(config, repositoryFactory));
+    }
+
+    /**
+     * Constructs the factory, which reads active ISLs from the passed {@link NetworkSnapshotCache} if network
+     * snapshot is enabled ({@link PathComputerConfig#isNetworkSnapshotEnabled()}).
+     */
+    public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory,
+                                   NetworkSnapshotCache networkSnapshotCache) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.networkSnapshotCache = networkSnapshotCache;
     }
 
     /**
@@ -70,7 +84,7 @@ public class AvailableNetworkFactory {
             Flow flow, List<PathId> reusePathsResources, BuildStrategy buildStrategy) throws RecoverableException {
         AvailableNetwork network = new AvailableNetwork();
         try {
-            // Reads all active links from the database and creates representation of the network.
+            // Reads all active links from the database (or the snapshot) and creates representation of the network.
             Collection<Isl> links = getAvailableIsls(buildStrategy, flow);
             links.forEach(network::addLink);
 
@@ -84,6 +98,63 @@ public class AvailableNetworkFactory {
             throw new RecoverableException("An error from neo4j", e);
         }
 
+        fillDiversityWeights(network, flow, reusePathsResources);
+        return network;
+    }
+
+    /**
+     * Gets a {@link AvailableNetwork} over the batch view of the network.
+     *
+     * @param flow                        the flow, for which {@link AvailableNetwork} is constructing.
+     * @param reusePathsResources         reuse resources already allocated by paths.
+     * @param batchNetwork                the view of the network shared by the batch.
+     * @return {@link AvailableNetwork} instance
+     */
+    public AvailableNetwork getAvailableNetwork(Flow flow, List<PathId> reusePathsResources,
+                                                BatchNetwork batchNetwork) throws RecoverableException {
+        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
+        AvailableNetwork network = new AvailableNetwork();
+        try {
+            getAvailableIsls(batchNetwork, buildStrategy, flow).forEach(network::addLink);
+
+            if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
+                // The in-memory counterpart of IslRepository.findActiveAndOccupiedByFlowPathWithAvailableBandwidth.
+                for (PathId pathId : reusePathsResources) {
+                    flowPathRepository.findById(pathId)
+                            .ifPresent(flowPath -> addOccupiedLinks(network, batchNetwork, flow, flowPath));
+                }
+            }
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+
+        fillDiversityWeights(network, flow, reusePathsResources);
+        return network;
+    }
+
+    /**
+     * Gets a view of the network to be shared by a batch of path computations.
+     */
+    public BatchNetwork getBatchNetwork() throws RecoverableException {
+        try {
+            return new BatchNetwork(config.isNetworkSnapshotEnabled()
+                    ? networkSnapshotCache.getSnapshot() : networkSnapshotCache.loadSnapshot());
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+    }
+
+    private void addOccupiedLinks(AvailableNetwork network, BatchNetwork batchNetwork, Flow flow,
+                                  FlowPath flowPath) {
+        for (PathSegment segment : flowPath.getSegments()) {
+            batchNetwork.findActive(segment.getSrcSwitch().getSwitchId(), segment.getSrcPort(),
+                    segment.getDestSwitch().getSwitchId(), segment.getDestPort(), flow.getEncapsulationType())
+                    .filter(isl -> isl.getAvailableBandwidth() + flowPath.getBandwidth() >= flow.getBandwidth())
+                    .ifPresent(network::addLink);
+        }
+    }
+
+    private void fillDiversityWeights(AvailableNetwork network, Flow flow, List<PathId> reusePathsResources) {
         if (flow.getGroupId() != null) {
             log.info("Filling AvailableNetwork diverse weighs for group with id {}", flow.getGroupId());
 
@@ -99,11 +170,13 @@ public class AvailableNetworkFactory {
                             .ifPresent(flowPath ->
                                     network.processDiversitySegments(flowPath.getSegments(), config)));
         }
-
-        return network;
     }
 
     private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
+        if (config.isNetworkSnapshotEnabled()) {
+            return getAvailableIsls(new BatchNetwork(networkSnapshotCache.getSnapshot()), buildStrategy, flow);
+        }
+
         if (buildStrategy == BuildStrategy.COST) {
             return flow.isIgnoreBandwidth() ? islRepository.findAllActive() :
                     islRepository.findActiveWithAvailableBandwidth(flow.getBandwidth(), flow.getEncapsulationType());
@@ -116,6 +189,19 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<Isl> getAvailableIsls(BatchNetwork network, BuildStrategy buildStrategy, Flow flow) {
+        if (buildStrategy == BuildStrategy.COST) {
+            return flow.isIgnoreBandwidth() ? network.findAllActive() :
+                    network.findActiveWithAvailableBandwidth(flow.getBandwidth(), flow.getEncapsulationType());
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            return flow.isIgnoreBandwidth() ? network.findAllActive() :
+                    network.findSymmetricActiveWithAvailableBandwidth(flow.getBandwidth(),
+                            flow.getEncapsulationType());
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+    }
+
     public enum BuildStrategy {
         /**
          * WeightStrategy based on cost of links.
@@ -13,20 +13,20 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.kafka;
+package org.openkilda.pce;
 
-import org.openkilda.messaging.info.InfoData;
-import org.openkilda.wfm.topology.utils.SerializationUtils;
+import org.openkilda.pce.exception.UnroutableFlowException;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.Value;
 
-import java.io.IOException;
+import java.util.Map;
 
-@Slf4j
-public class InfoDataDeserializer extends Deserializer<InfoData> {
+/**
+ * The result of a batch path computation: the found paths and the failures, both by flow id.
+ */
+@Value
+public class BatchPathResult {
+    private Map<String, PathPair> paths;
 
-    @Override
-    protected InfoData jsonDecode(byte[] data) throws IOException {
-        return SerializationUtils.MAPPER.readValue(data, InfoData.class);
-    }
+    private Map<String, UnroutableFlowException> failures;
 }
@@ -0,0 +1,182 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.pce.impl.NetworkSnapshot;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Holds {@link NetworkSnapshot} shared across path computations. The snapshot is loaded from the repository once
+ * and then is kept current by ISL and bandwidth updates reported to the cache. Changes made by other components are
+ * picked up by a full reload once the snapshot becomes older than the configured max age.
+ * <p/>
+ * The bandwidth updates are reported only by the bolts of the worker, so all the bolts of the worker must use
+ * the same {@link #getShared} instance. Allocations made by the other workers are not seen until the next reload,
+ * thus a path computed over the snapshot must be re-validated against the repository on allocation and
+ * the snapshot must be invalidated if the validation fails.
+ * <p/>
+ * Readers never block: they get the current immutable snapshot, while updates replace it with a new version.
+ */
+@Slf4j
+public class NetworkSnapshotCache {
+    private final IslRepository islRepository;
+    private final SwitchPropertiesRepository switchPropertiesRepository;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private static NetworkSnapshotCache shared;
+
+    private volatile NetworkSnapshot snapshot;
+    private long lastVersion = -1;
+
+    /**
+     * Gets the instance shared by all the users within the JVM (i.e. the storm worker), creates it on the first call.
+     */
+    public static synchronized NetworkSnapshotCache getShared(PathComputerConfig config,
+                                                              RepositoryFactory repositoryFactory) {
+        if (shared == null) {
+            shared = new NetworkSnapshotCache(config, repositoryFactory);
+        }
+        return shared;
+    }
+
+    public NetworkSnapshotCache(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(repositoryFactory, Duration.ofSeconds(config.getNetworkSnapshotMaxAgeSeconds()), Clock.systemUTC());
+    }
+
+    NetworkSnapshotCache(RepositoryFactory repositoryFactory, Duration maxAge, Clock clock) {
+        this.islRepository = repositoryFactory.createIslRepository();
+        this.switchPropertiesRepository = repositoryFactory.createSwitchPropertiesRepository();
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the current snapshot, loads it from the repository if it is missing or expired.
+     */
+    public NetworkSnapshot getSnapshot() {
+        NetworkSnapshot current = snapshot;
+        if (current == null || isExpired(current)) {
+            current = reload();
+        }
+        return current;
+    }
+
+    /**
+     * Re-reads the ISL from the repository and applies it to the snapshot. Should be called on ISL status and cost
+     * changes.
+     */
+    public synchronized void refreshIsl(SwitchId srcSwitch, int srcPort, SwitchId destSwitch, int destPort) {
+        if (snapshot == null) {
+            return;
+        }
+
+        Optional<Isl> isl = islRepository.findByEndpoints(srcSwitch, srcPort, destSwitch, destPort);
+        if (isl.isPresent()) {
+            replace(snapshot.withIsl(isl.get()));
+        } else {
+            // Removed ISLs are rare, there is no need to optimize them.
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Applies the new available bandwidth of the ISL to the snapshot.
+     */
+    public synchronized void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId destSwitch,
+                                                      int destPort, long availableBandwidth) {
+        if (snapshot != null) {
+            replace(snapshot.withAvailableBandwidth(srcSwitch, srcPort, destSwitch, destPort, availableBandwidth));
+        }
+    }
+
+    /**
+     * Drops the snapshot, so it will be reloaded on the next request. Should be called on switch status or switch
+     * properties changes.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Drops the snapshot if it was loaded before the specified time, so the changes made up to that time will be
+     * seen on the next request. A burst of requests caused by the same network event results in a single reload.
+     */
+    public synchronized void invalidateIfLoadedBefore(Instant time) {
+        if (snapshot != null && snapshot.getLoadTime().isBefore(time)) {
+            snapshot = null;
+        }
+    }
+
+    private synchronized NetworkSnapshot reload() {
+        // Another thread may have reloaded the snapshot while this one was waiting for the lock.
+        NetworkSnapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+
+        NetworkSnapshot loaded = load(lastVersion + 1);
+        replace(loaded);
+        log.debug("Network snapshot version {} has been loaded with {} ISLs", loaded.getVersion(), loaded.size());
+        return loaded;
+    }
+
+    /**
+     * Loads a new snapshot from the repository, the cached one (if any) is kept intact.
+     */
+    public NetworkSnapshot loadSnapshot() {
+        return load(0);
+    }
+
+    private NetworkSnapshot load(long version) {
+        Collection<Isl> activeIsls = islRepository.findAllActive();
+        Map<SwitchId, Set<FlowEncapsulationType>> supportedEncapsulations = new HashMap<>();
+        for (SwitchProperties properties : switchPropertiesRepository.findAll()) {
+            if (properties.getSupportedTransitEncapsulation() != null) {
+                supportedEncapsulations.put(properties.getSwitchObj().getSwitchId(),
+                        properties.getSupportedTransitEncapsulation());
+            }
+        }
+
+        return NetworkSnapshot.create(version, Instant.now(clock), activeIsls, supportedEncapsulations);
+    }
+
+    private void replace(NetworkSnapshot updated) {
+        snapshot = updated;
+        lastVersion = updated.getVersion();
+    }
+
+    private boolean isExpired(NetworkSnapshot current) {
+        return current.getLoadTime().plus(maxAge).isBefore(Instant.now(clock));
+    }
+}
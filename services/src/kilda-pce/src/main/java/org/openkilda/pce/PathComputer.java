@@ -24,6 +24,7 @@ import org.openkilda.pce.exception.UnroutableFlowException;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents computation operations on flow path.
@@ -52,6 +53,17 @@ public interface PathComputer {
     PathPair getPath(Flow flow, List<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException;
 
+    /**
+     * Gets paths for a batch of flows. All the flows are computed over the same view of the network, which takes
+     * into account the bandwidth of the paths found for the preceding flows of the batch.
+     *
+     * @param flows the flows in priority order: the preceding flows have the first pick of the bandwidth.
+     * @param reusePathsResources the paths whose resources (bandwidth) can be reused, by flow id.
+     * @return {@link BatchPathResult} with the paths and the failures by flow id.
+     */
+    BatchPathResult getPaths(List<Flow> flows, Map<String, List<PathId>> reusePathsResources)
+            throws RecoverableException;
+
     /**
      * Gets N best paths.
      *
@@ -44,7 +44,24 @@ public interface PathComputerConfig extends Serializable {
     @Default("COST")
     String getStrategy();
 
+    @Key("finder.strategy")
+    @Default("BFS")
+    String getFinderStrategy();
+
     @Key("network.strategy")
     @Default("COST")
     String getNetworkStrategy();
+
+    /**
+     * Whether path computations use the cached network snapshot instead of reading the ISLs on each request.
+     * The snapshot is shared within a worker only, so with several workers the path may be computed over
+     * a stale view of the network. Such paths are rejected on allocation and recomputed over a reloaded snapshot.
+     */
+    @Key("network.snapshot.enabled")
+    @Default("false")
+    boolean isNetworkSnapshotEnabled();
+
+    @Key("network.snapshot.max.age.seconds")
+    @Default("30")
+    int getNetworkSnapshotMaxAgeSeconds();
 }
@@ -16,6 +16,8 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 import org.openkilda.pce.model.WeightFunction;
 
@@ -43,9 +45,7 @@ public class PathComputerFactory {
      */
     public PathComputer getPathComputer(WeightStrategy weightStrategy) {
         return new InMemoryPathComputer(availableNetworkFactory,
-                new BestCostAndShortestPathFinder(
-                        config.getMaxAllowedDepth(),
-                        getWeightFunctionByStrategy(weightStrategy)));
+                getPathFinder(getWeightFunctionByStrategy(weightStrategy)));
     }
 
     /**
@@ -57,6 +57,23 @@ public class PathComputerFactory {
         return getPathComputer(WeightStrategy.from(config.getStrategy()));
     }
 
+    /**
+     * Returns path finder for the configured finder strategy ({@link PathComputerConfig#getFinderStrategy()}).
+     *
+     * @param weightFunction the edge weight computing function.
+     * @return path finder.
+     */
+    @VisibleForTesting
+    public PathFinder getPathFinder(WeightFunction weightFunction) {
+        switch (FinderStrategy.from(config.getFinderStrategy())) {
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), weightFunction);
+            case BFS:
+            default:
+                return new BestCostAndShortestPathFinder(config.getMaxAllowedDepth(), weightFunction);
+        }
+    }
+
     /**
      * Returns weight computing function for passed strategy.
      *
@@ -96,4 +113,27 @@ public class PathComputerFactory {
             }
         }
     }
+
+    /**
+     * FinderStrategy defines the algorithm used to find a path over {@link org.openkilda.pce.impl.AvailableNetwork}.
+     */
+    public enum FinderStrategy {
+        /**
+         * Breadth first search, see {@link BestCostAndShortestPathFinder}.
+         */
+        BFS,
+
+        /**
+         * Dijkstra over indexed network, see {@link DijkstraPathFinder}. Gives the same results as BFS.
+         */
+        DIJKSTRA;
+
+        private static FinderStrategy from(String strategy) {
+            try {
+                return valueOf(strategy.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("FinderStrategy %s is not supported", strategy));
+            }
+        }
+    }
 }
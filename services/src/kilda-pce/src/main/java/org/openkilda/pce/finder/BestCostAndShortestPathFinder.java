@@ -61,8 +61,8 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class BestCostAndShortestPathFinder implements PathFinder {
-    private final int allowedDepth;
-    private final WeightFunction weightFunction;
+    protected final int allowedDepth;
+    protected final WeightFunction weightFunction;
 
     /**
      * Constructs the finder with the specified limit on path depth.
@@ -240,7 +240,7 @@ public class BestCostAndShortestPathFinder implements PathFinder {
      *
      * @return An ordered list that represents the path from start to end, or an empty list
      */
-    private List<Edge> getPath(Node start, Node end) {
+    protected List<Edge> getPath(Node start, Node end) {
         long bestCost = Integer.MAX_VALUE; // Need to be long because it stores sum of ints.
         SearchNode bestPath = null;
 
@@ -0,0 +1,402 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Dijkstra based implementation of {@link BestCostAndShortestPathFinder}. The search runs over an int-indexed copy of
+ * the network ({@link IndexedGraph}) with a binary heap of search labels, and the path is restored from parent
+ * pointers instead of copying it on every step.
+ * <p/>
+ * The result is the same as the one of {@link BestCostAndShortestPathFinder}: the cheapest path within the allowed
+ * depth, on ties the path with fewer hops, and then the path which goes through the switches with lower ids first
+ * (that's the order the breadth first search visits them in).
+ * <p/>
+ * To respect the allowed depth, a node may be settled more than once: a label is discarded only when the node was
+ * already settled by a label with the same or lower number of hops (it can't be cheaper, as labels are settled in the
+ * order of their cost).
+ * <p/>
+ * N best paths are found by the same Yen's algorithm, but the spur searches don't modify the network: removed nodes
+ * and edges are masked in the indexed graph, the edges to remove are taken from a prefix tree of the found paths,
+ * and the potential paths are kept in a heap and deduplicated by their edge indexes.
+ */
+public class DijkstraPathFinder extends BestCostAndShortestPathFinder {
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param weightFunction  the edge weight computing function.
+     */
+    public DijkstraPathFinder(int allowedDepth, WeightFunction weightFunction) {
+        super(allowedDepth, weightFunction);
+    }
+
+    /**
+     * Find N (or less) best paths. To find N paths Yen's algorithm is used.
+     * <p/>
+     * Potential paths are chosen by the maximal available bandwidth and then by the minimal cost, same as
+     * {@link BestCostAndShortestPathFinder} does, remaining ties are resolved by the number of hops and the ids of
+     * the switches.
+     *
+     * @return an list of N (or less) best paths.
+     */
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count)
+            throws UnroutableFlowException {
+        Node start = network.getSwitch(startSwitchId);
+        Node end = network.getSwitch(endSwitchId);
+        if (start == null || end == null) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start == null ? startSwitchId : endSwitchId));
+        }
+
+        // Spur paths may go deeper than the allowed depth counting from the start, so take the whole component.
+        IndexedGraph graph = IndexedGraph.reachableFrom(start, Integer.MAX_VALUE, weightFunction);
+        int endIndex = graph.indexOf(end);
+        if (start.equals(end) || endIndex < 0) {
+            List<List<Edge>> result = new ArrayList<>();
+            result.add(new ArrayList<>());
+            return result;
+        }
+
+        Search search = new Search(graph);
+        Label firstLabel = search.find(graph.indexOf(start), endIndex);
+        if (firstLabel == null) {
+            List<List<Edge>> result = new ArrayList<>();
+            result.add(new ArrayList<>());
+            return result;
+        }
+
+        int[] firstPath = toEdgeIndexes(firstLabel);
+        List<int[]> bestPaths = new ArrayList<>();
+        bestPaths.add(firstPath);
+        SpurTreeNode spurTree = new SpurTreeNode();
+        spurTree.add(firstPath);
+
+        Set<PathKey> knownPaths = new HashSet<>();
+        knownPaths.add(new PathKey(firstPath));
+        PriorityQueue<Candidate> potentialKthShortestPaths = new PriorityQueue<>(DijkstraPathFinder::compareCandidates);
+
+        for (int k = 1; k < count; k++) {
+            int[] bestPath = bestPaths.get(k - 1);
+
+            // The tree node of the root path, its children are the edges the found paths leave the spur node by.
+            SpurTreeNode rootNode = spurTree;
+            long rootCost = 0;
+            long rootAvailableBandwidth = Long.MAX_VALUE;
+            for (int i = 0; i < bestPath.length; i++) {
+                int spurNode = graph.edgeSource(bestPath[i]);
+
+                search.unmaskEdges();
+                for (int edge : rootNode.children.keySet()) {
+                    search.maskEdge(edge);
+                }
+
+                Label spurLabel = search.find(spurNode, endIndex);
+                if (spurLabel != null) {
+                    int[] totalPath = Arrays.copyOf(bestPath, i + spurLabel.hops);
+                    long cost = rootCost;
+                    long availableBandwidth = rootAvailableBandwidth;
+                    for (Label current = spurLabel; current.parent != null; current = current.parent) {
+                        totalPath[i + current.hops - 1] = current.edge;
+                        Edge edge = graph.getEdge(current.edge);
+                        cost += edge.getCost();
+                        availableBandwidth = Math.min(availableBandwidth, edge.getAvailableBandwidth());
+                    }
+
+                    if (knownPaths.add(new PathKey(totalPath))) {
+                        potentialKthShortestPaths.add(new Candidate(totalPath, availableBandwidth, cost));
+                    }
+                }
+
+                // The spur node becomes a part of the root path for the next spur node.
+                search.maskNode(spurNode);
+                Edge rootEdge = graph.getEdge(bestPath[i]);
+                rootCost += rootEdge.getCost();
+                rootAvailableBandwidth = Math.min(rootAvailableBandwidth, rootEdge.getAvailableBandwidth());
+                rootNode = rootNode.children.get(bestPath[i]);
+            }
+            for (int edge : bestPath) {
+                search.unmaskNode(graph.edgeSource(edge));
+            }
+
+            Candidate newBestPath = potentialKthShortestPaths.poll();
+            if (newBestPath == null) {
+                break;
+            }
+            bestPaths.add(newBestPath.edges);
+            spurTree.add(newBestPath.edges);
+        }
+
+        List<List<Edge>> result = new ArrayList<>(bestPaths.size());
+        for (int[] path : bestPaths) {
+            List<Edge> edges = new ArrayList<>(path.length);
+            for (int edge : path) {
+                edges.add(graph.getEdge(edge));
+            }
+            result.add(edges);
+        }
+        return result;
+    }
+
+    @Override
+    protected List<Edge> getPath(Node start, Node end) {
+        if (start.equals(end)) {
+            return new ArrayList<>();
+        }
+
+        IndexedGraph graph = IndexedGraph.reachableFrom(start, allowedDepth, weightFunction);
+        int endIndex = graph.indexOf(end);
+        if (endIndex < 0) {
+            return new ArrayList<>();
+        }
+
+        Label label = new Search(graph).find(graph.indexOf(start), endIndex);
+        return label != null ? toPath(graph, label) : new ArrayList<>();
+    }
+
+    private static List<Edge> toPath(IndexedGraph graph, Label label) {
+        List<Edge> path = new ArrayList<>(label.hops);
+        for (Label current = label; current.parent != null; current = current.parent) {
+            path.add(graph.getEdge(current.edge));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static int[] toEdgeIndexes(Label label) {
+        int[] path = new int[label.hops];
+        for (Label current = label; current.parent != null; current = current.parent) {
+            path[current.hops - 1] = current.edge;
+        }
+        return path;
+    }
+
+    private static int compareLabels(Label first, Label second) {
+        int result = Long.compare(first.cost, second.cost);
+        if (result == 0) {
+            result = Integer.compare(first.hops, second.hops);
+        }
+        if (result == 0) {
+            result = compareRoutes(first, second);
+        }
+        return result;
+    }
+
+    /**
+     * Compares the routes of two labels with the same number of hops by the switches they go through. Labels form
+     * a tree, so it's enough to find the nearest common ancestor and compare the nodes right after it.
+     */
+    private static int compareRoutes(Label first, Label second) {
+        while (first.parent != second.parent) {
+            first = first.parent;
+            second = second.parent;
+        }
+        int result = Integer.compare(first.node, second.node);
+        return result != 0 ? result : Integer.compare(first.edge, second.edge);
+    }
+
+    private static int compareCandidates(Candidate first, Candidate second) {
+        int result = Long.compare(second.availableBandwidth, first.availableBandwidth);
+        if (result == 0) {
+            result = Long.compare(first.cost, second.cost);
+        }
+        if (result == 0) {
+            result = Integer.compare(first.edges.length, second.edges.length);
+        }
+        if (result == 0) {
+            // Edges are indexed in the order of their source switch ids.
+            for (int i = 0; i < first.edges.length && result == 0; i++) {
+                result = Integer.compare(first.edges[i], second.edges[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Single source search over the indexed graph. The search state is reused between the searches, nodes and edges
+     * can be masked to exclude them from the following searches.
+     */
+    private final class Search {
+        final IndexedGraph graph;
+        final int[] settledHops;
+        final boolean[] maskedNodes;
+        final int[] maskedEdges;
+        final PriorityQueue<Label> toVisit = new PriorityQueue<>(DijkstraPathFinder::compareLabels);
+        int edgeMaskVersion = 1;
+
+        Search(IndexedGraph graph) {
+            this.graph = graph;
+            this.settledHops = new int[graph.size()];
+            this.maskedNodes = new boolean[graph.size()];
+            this.maskedEdges = new int[graph.edgesCount()];
+        }
+
+        void maskNode(int node) {
+            maskedNodes[node] = true;
+        }
+
+        void unmaskNode(int node) {
+            maskedNodes[node] = false;
+        }
+
+        void maskEdge(int edge) {
+            maskedEdges[edge] = edgeMaskVersion;
+        }
+
+        void unmaskEdges() {
+            edgeMaskVersion++;
+        }
+
+        /**
+         * Finds the best path from the start to the end node within the allowed depth.
+         *
+         * @return the label of the end node, or null if there's no path.
+         */
+        Label find(int start, int end) {
+            Arrays.fill(settledHops, Integer.MAX_VALUE);
+            toVisit.clear();
+            toVisit.add(new Label(start, -1, 0, graph.getNode(start).getStaticWeight(), null));
+
+            while (!toVisit.isEmpty()) {
+                Label current = toVisit.poll();
+
+                if (current.node == end) {
+                    // The first reached label of the end node is the best one. Keep the same cost limit as
+                    // BestCostAndShortestPathFinder has.
+                    return current.cost < Integer.MAX_VALUE ? current : null;
+                }
+
+                if (current.hops >= settledHops[current.node]) {
+                    continue;
+                }
+                settledHops[current.node] = current.hops;
+
+                if (current.hops >= allowedDepth) {
+                    continue;
+                }
+
+                int nextHops = current.hops + 1;
+                for (int edge = graph.firstEdge(current.node); edge < graph.lastEdge(current.node); edge++) {
+                    int target = graph.edgeTarget(edge);
+                    if (nextHops < settledHops[target] && !maskedNodes[target]
+                            && maskedEdges[edge] != edgeMaskVersion) {
+                        toVisit.add(new Label(target, edge, nextHops, current.cost + graph.edgeWeight(edge),
+                                current));
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private static final class Label {
+        final int node;
+        final int edge;
+        final int hops;
+        final long cost; // Need to be long because it stores sum of ints.
+        final Label parent;
+
+        Label(int node, int edge, int hops, long cost, Label parent) {
+            this.node = node;
+            this.edge = edge;
+            this.hops = hops;
+            this.cost = cost;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * A potential k-th shortest path.
+     */
+    private static final class Candidate {
+        final int[] edges;
+        final long availableBandwidth;
+        final long cost;
+
+        Candidate(int[] edges, long availableBandwidth, long cost) {
+            this.edges = edges;
+            this.availableBandwidth = availableBandwidth;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Path fingerprint: the hash is calculated once, the edge indexes are compared only on hash collisions.
+     */
+    private static final class PathKey {
+        final int[] edges;
+        final int hash;
+
+        PathKey(int[] edges) {
+            this.edges = edges;
+            this.hash = Arrays.hashCode(edges);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PathKey)) {
+                return false;
+            }
+            PathKey that = (PathKey) other;
+            return hash == that.hash && Arrays.equals(edges, that.edges);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Prefix tree of the found paths: the children of a tree node are the edges the found paths with the same root
+     * path continue by.
+     */
+    private static final class SpurTreeNode {
+        final Map<Integer, SpurTreeNode> children = new HashMap<>();
+
+        void add(int[] path) {
+            SpurTreeNode current = this;
+            for (int edge : path) {
+                current = current.children.computeIfAbsent(edge, ignore -> new SpurTreeNode());
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Int-indexed (CSR) view of the part of the network reachable from a start node. Nodes are indexed in the order of
+ * their switch ids, so comparing two indexes is the same as comparing switch ids.
+ */
+final class IndexedGraph {
+    private final Node[] nodes;
+    private final Map<Node, Integer> indexes;
+
+    private final int[] firstEdge;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final long[] edgeWeight;
+    private final Edge[] edges;
+
+    private IndexedGraph(Node[] nodes, Map<Node, Integer> indexes, int[] firstEdge, int[] edgeSource,
+                         int[] edgeTarget, long[] edgeWeight, Edge[] edges) {
+        this.nodes = nodes;
+        this.indexes = indexes;
+        this.firstEdge = firstEdge;
+        this.edgeSource = edgeSource;
+        this.edgeTarget = edgeTarget;
+        this.edgeWeight = edgeWeight;
+        this.edges = edges;
+    }
+
+    /**
+     * Builds the graph from the nodes reachable from the start node within the specified number of hops. The weight
+     * of each edge includes the static weight of its destination node.
+     */
+    static IndexedGraph reachableFrom(Node start, int maxDepth, WeightFunction weightFunction) {
+        Map<Node, Integer> depths = new HashMap<>();
+        Deque<Node> toVisit = new ArrayDeque<>();
+        depths.put(start, 0);
+        toVisit.add(start);
+
+        int edgesCount = 0;
+        while (!toVisit.isEmpty()) {
+            Node current = toVisit.poll();
+            int depth = depths.get(current);
+            if (depth >= maxDepth) {
+                continue;
+            }
+            for (Edge edge : current.getOutgoingLinks()) {
+                edgesCount++;
+                if (depths.putIfAbsent(edge.getDestSwitch(), depth + 1) == null) {
+                    toVisit.add(edge.getDestSwitch());
+                }
+            }
+        }
+
+        List<Node> sortedNodes = new ArrayList<>(depths.keySet());
+        sortedNodes.sort(Comparator.comparing(Node::getSwitchId));
+        Node[] nodes = sortedNodes.toArray(new Node[0]);
+        Map<Node, Integer> indexes = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indexes.put(nodes[i], i);
+        }
+
+        int[] firstEdge = new int[nodes.length + 1];
+        int[] edgeSource = new int[edgesCount];
+        int[] edgeTarget = new int[edgesCount];
+        long[] edgeWeight = new long[edgesCount];
+        Edge[] edges = new Edge[edgesCount];
+
+        int position = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            firstEdge[i] = position;
+            if (depths.get(nodes[i]) >= maxDepth) {
+                continue;
+            }
+            for (Edge edge : nodes[i].getOutgoingLinks()) {
+                edges[position] = edge;
+                edgeSource[position] = i;
+                edgeTarget[position] = indexes.get(edge.getDestSwitch());
+                edgeWeight[position] = edge.getFullWeight(weightFunction) + edge.getDestSwitch().getStaticWeight();
+                position++;
+            }
+        }
+        firstEdge[nodes.length] = position;
+
+        return new IndexedGraph(nodes, indexes, firstEdge, edgeSource, edgeTarget, edgeWeight, edges);
+    }
+
+    int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns index of the node or -1 if the node is not a part of the graph.
+     */
+    int indexOf(Node node) {
+        Integer index = indexes.get(node);
+        return index != null ? index : -1;
+    }
+
+    Node getNode(int node) {
+        return nodes[node];
+    }
+
+    int edgesCount() {
+        return edges.length;
+    }
+
+    int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    int lastEdge(int node) {
+        return firstEdge[node + 1];
+    }
+
+    int edgeSource(int edge) {
+        return edgeSource[edge];
+    }
+
+    int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    long edgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    Edge getEdge(int edge) {
+        return edges[edge];
+    }
+}
@@ -0,0 +1,130 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.impl.NetworkSnapshot.LinkKey;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A view of {@link NetworkSnapshot} which keeps track of the bandwidth reserved by the paths computed earlier in the
+ * same batch of path computations. The ISLs returned by the view have their available bandwidth reduced by these
+ * reservations, so later computations in the batch don't get paths which will fail bandwidth allocation.
+ * <p/>
+ * The view isn't thread-safe, it's intended to be used by a single batch.
+ */
+public class BatchNetwork {
+    private final NetworkSnapshot snapshot;
+    private final Map<LinkKey, Long> reservedBandwidth = new HashMap<>();
+
+    public BatchNetwork(NetworkSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Gets all active ISLs.
+     */
+    public Collection<Isl> findAllActive() {
+        if (reservedBandwidth.isEmpty()) {
+            return snapshot.findAllActive();
+        }
+
+        return snapshot.findAllActive().stream()
+                .map(this::applyReservation)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets active ISLs with enough available bandwidth between switches supporting the encapsulation type.
+     */
+    public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                            FlowEncapsulationType flowEncapsulationType) {
+        if (reservedBandwidth.isEmpty()) {
+            return snapshot.findActiveWithAvailableBandwidth(requiredBandwidth, flowEncapsulationType);
+        }
+
+        return snapshot.findAllActive().stream()
+                .filter(isl -> getAvailableBandwidth(isl) >= requiredBandwidth)
+                .filter(isl -> snapshot.isEncapsulationSupported(isl, flowEncapsulationType))
+                .map(this::applyReservation)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets active ISLs which have the reverse ISL, both with enough available bandwidth, between switches supporting
+     * the encapsulation type.
+     */
+    public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                     FlowEncapsulationType flowEncapsulationType) {
+        if (reservedBandwidth.isEmpty()) {
+            return snapshot.findSymmetricActiveWithAvailableBandwidth(requiredBandwidth, flowEncapsulationType);
+        }
+
+        return snapshot.findAllActive().stream()
+                .filter(isl -> getAvailableBandwidth(isl) >= requiredBandwidth)
+                .filter(isl -> {
+                    Isl reverse = snapshot.getIsl(LinkKey.of(isl).reverse());
+                    return reverse != null && getAvailableBandwidth(reverse) >= requiredBandwidth;
+                })
+                .filter(isl -> snapshot.isEncapsulationSupported(isl, flowEncapsulationType))
+                .map(this::applyReservation)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the active ISL between switches supporting the encapsulation type.
+     */
+    public Optional<Isl> findActive(SwitchId srcSwitch, int srcPort, SwitchId destSwitch, int destPort,
+                                    FlowEncapsulationType flowEncapsulationType) {
+        return Optional.ofNullable(snapshot.getIsl(new LinkKey(srcSwitch, srcPort, destSwitch, destPort)))
+                .filter(isl -> snapshot.isEncapsulationSupported(isl, flowEncapsulationType))
+                .map(this::applyReservation);
+    }
+
+    /**
+     * Reserves the bandwidth on the ISLs of the path.
+     */
+    public void reserve(Path path, long bandwidth) {
+        for (Path.Segment segment : path.getSegments()) {
+            LinkKey key = new LinkKey(segment.getSrcSwitchId(), segment.getSrcPort(),
+                    segment.getDestSwitchId(), segment.getDestPort());
+            reservedBandwidth.merge(key, bandwidth, Long::sum);
+        }
+    }
+
+    private long getAvailableBandwidth(Isl isl) {
+        return isl.getAvailableBandwidth() - reservedBandwidth.getOrDefault(LinkKey.of(isl), 0L);
+    }
+
+    private Isl applyReservation(Isl isl) {
+        Long reserved = reservedBandwidth.get(LinkKey.of(isl));
+        if (reserved == null) {
+            return isl;
+        }
+
+        Isl copy = NetworkSnapshot.detach(isl);
+        copy.setAvailableBandwidth(isl.getAvailableBandwidth() - reserved);
+        return copy;
+    }
+}
@@ -24,6 +24,7 @@ import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
@@ -37,8 +38,10 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -87,6 +90,35 @@ public class InMemoryPathComputer implements PathComputer {
         return convertToPathPair(flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId(), biPath);
     }
 
+    @Override
+    public BatchPathResult getPaths(List<Flow> flows, Map<String, List<PathId>> reusePathsResources)
+            throws RecoverableException {
+        BatchNetwork batchNetwork = availableNetworkFactory.getBatchNetwork();
+
+        Map<String, PathPair> paths = new LinkedHashMap<>();
+        Map<String, UnroutableFlowException> failures = new LinkedHashMap<>();
+        for (Flow flow : flows) {
+            List<PathId> reusePaths = reusePathsResources.getOrDefault(flow.getFlowId(), emptyList());
+            try {
+                PathPair pathPair = getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePaths,
+                        batchNetwork), flow);
+
+                // The resources of the reused paths are released only after the new paths are allocated, so the whole
+                // bandwidth is reserved even on the ISLs shared with the reused paths.
+                if (!flow.isIgnoreBandwidth()) {
+                    batchNetwork.reserve(pathPair.getForward(), flow.getBandwidth());
+                    batchNetwork.reserve(pathPair.getReverse(), flow.getBandwidth());
+                }
+                paths.put(flow.getFlowId(), pathPair);
+            } catch (UnroutableFlowException e) {
+                log.debug("Failed to find path for flow {} in batch: {}", flow.getFlowId(), e.getMessage());
+                failures.put(flow.getFlowId(), e);
+            }
+        }
+
+        return new BatchPathResult(paths, failures);
+    }
+
     @Override
     public List<Path> getNPaths(SwitchId srcSwitchId, SwitchId dstSwitchId, int count,
                                 FlowEncapsulationType flowEncapsulationType)
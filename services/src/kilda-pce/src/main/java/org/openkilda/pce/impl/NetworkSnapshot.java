@@ -0,0 +1,196 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static java.util.Collections.emptySet;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable versioned copy of the active part of the network: active ISLs between active switches along with the
+ * transit encapsulation types supported by the switches. Every change produces a new snapshot (copy-on-write), so a
+ * snapshot can be used by many path computations at once.
+ * <p/>
+ * The find methods are in-memory counterparts of the {@link org.openkilda.persistence.repositories.IslRepository}
+ * queries used to build {@link AvailableNetwork}.
+ */
+public final class NetworkSnapshot {
+    @Getter
+    private final long version;
+    @Getter
+    private final Instant loadTime;
+
+    private final Map<LinkKey, Isl> links;
+    private final Map<SwitchId, Set<FlowEncapsulationType>> supportedEncapsulations;
+
+    private NetworkSnapshot(long version, Instant loadTime, Map<LinkKey, Isl> links,
+                            Map<SwitchId, Set<FlowEncapsulationType>> supportedEncapsulations) {
+        this.version = version;
+        this.loadTime = loadTime;
+        this.links = links;
+        this.supportedEncapsulations = supportedEncapsulations;
+    }
+
+    /**
+     * Creates a snapshot from the active ISLs and the switch encapsulation capabilities.
+     */
+    public static NetworkSnapshot create(long version, Instant loadTime, Collection<Isl> activeIsls,
+                                         Map<SwitchId, Set<FlowEncapsulationType>> supportedEncapsulations) {
+        Map<LinkKey, Isl> links = new HashMap<>(activeIsls.size() * 2);
+        for (Isl isl : activeIsls) {
+            Isl copy = detach(isl);
+            links.put(LinkKey.of(copy), copy);
+        }
+        return new NetworkSnapshot(version, loadTime, Collections.unmodifiableMap(links),
+                Collections.unmodifiableMap(new HashMap<>(supportedEncapsulations)));
+    }
+
+    public int size() {
+        return links.size();
+    }
+
+    /**
+     * Returns a new snapshot with the ISL added or replaced. Inactive ISLs or ISLs between inactive switches are
+     * removed from the snapshot.
+     */
+    public NetworkSnapshot withIsl(Isl isl) {
+        Map<LinkKey, Isl> updated = new HashMap<>(links);
+        if (isActive(isl)) {
+            Isl copy = detach(isl);
+            updated.put(LinkKey.of(copy), copy);
+        } else {
+            updated.remove(LinkKey.of(isl));
+        }
+        return new NetworkSnapshot(version + 1, loadTime, Collections.unmodifiableMap(updated),
+                supportedEncapsulations);
+    }
+
+    /**
+     * Returns a new snapshot with the updated available bandwidth of the ISL, or the same snapshot if the ISL is not
+     * a part of it.
+     */
+    public NetworkSnapshot withAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId destSwitch, int destPort,
+                                                  long availableBandwidth) {
+        LinkKey key = new LinkKey(srcSwitch, srcPort, destSwitch, destPort);
+        Isl current = links.get(key);
+        if (current == null || current.getAvailableBandwidth() == availableBandwidth) {
+            return this;
+        }
+
+        Isl copy = detach(current);
+        copy.setAvailableBandwidth(availableBandwidth);
+        Map<LinkKey, Isl> updated = new HashMap<>(links);
+        updated.put(key, copy);
+        return new NetworkSnapshot(version + 1, loadTime, Collections.unmodifiableMap(updated),
+                supportedEncapsulations);
+    }
+
+    /**
+     * Gets all active ISLs.
+     */
+    public Collection<Isl> findAllActive() {
+        return links.values();
+    }
+
+    /**
+     * Gets active ISLs with enough available bandwidth between switches supporting the encapsulation type.
+     */
+    public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                            FlowEncapsulationType flowEncapsulationType) {
+        return links.values().stream()
+                .filter(isl -> isl.getAvailableBandwidth() >= requiredBandwidth)
+                .filter(isl -> isEncapsulationSupported(isl, flowEncapsulationType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets active ISLs which have the reverse ISL, both with enough available bandwidth, between switches supporting
+     * the encapsulation type.
+     */
+    public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                     FlowEncapsulationType flowEncapsulationType) {
+        return links.values().stream()
+                .filter(isl -> isl.getAvailableBandwidth() >= requiredBandwidth)
+                .filter(isl -> {
+                    Isl reverse = links.get(LinkKey.of(isl).reverse());
+                    return reverse != null && reverse.getAvailableBandwidth() >= requiredBandwidth;
+                })
+                .filter(isl -> isEncapsulationSupported(isl, flowEncapsulationType))
+                .collect(Collectors.toList());
+    }
+
+    Isl getIsl(LinkKey key) {
+        return links.get(key);
+    }
+
+    boolean isEncapsulationSupported(Isl isl, FlowEncapsulationType flowEncapsulationType) {
+        return supportedEncapsulations.getOrDefault(isl.getSrcSwitch().getSwitchId(), emptySet())
+                .contains(flowEncapsulationType)
+                && supportedEncapsulations.getOrDefault(isl.getDestSwitch().getSwitchId(), emptySet())
+                .contains(flowEncapsulationType);
+    }
+
+    private static boolean isActive(Isl isl) {
+        return isl.getStatus() == IslStatus.ACTIVE
+                && isl.getSrcSwitch().getStatus() == SwitchStatus.ACTIVE
+                && isl.getDestSwitch().getStatus() == SwitchStatus.ACTIVE;
+    }
+
+    /**
+     * Copies the ISL, so the snapshot doesn't hold persistence managed entities.
+     */
+    static Isl detach(Isl isl) {
+        Isl copy = isl.toBuilder()
+                .srcSwitch(Switch.builder().switchId(isl.getSrcSwitch().getSwitchId()).build())
+                .destSwitch(Switch.builder().switchId(isl.getDestSwitch().getSwitchId()).build())
+                .build();
+        copy.setIslConfig(isl.getIslConfig());
+        return copy;
+    }
+
+    @Value
+    static class LinkKey {
+        SwitchId srcSwitch;
+        int srcPort;
+        SwitchId destSwitch;
+        int destPort;
+
+        static LinkKey of(Isl isl) {
+            return new LinkKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        }
+
+        LinkKey reverse() {
+            return new LinkKey(destSwitch, destPort, srcSwitch, srcPort);
+        }
+    }
+}
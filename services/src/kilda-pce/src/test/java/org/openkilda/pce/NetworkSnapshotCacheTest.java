@@ -0,0 +1,166 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.impl.NetworkSnapshot;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+public class NetworkSnapshotCacheTest {
+    private static final SwitchId SWITCH_1 = new SwitchId("00:01");
+    private static final SwitchId SWITCH_2 = new SwitchId("00:02");
+
+    private IslRepository islRepository;
+    private SwitchPropertiesRepository switchPropertiesRepository;
+    private RepositoryFactory repositoryFactory;
+
+    @Before
+    public void setUp() {
+        islRepository = mock(IslRepository.class);
+        switchPropertiesRepository = mock(SwitchPropertiesRepository.class);
+        repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+        when(repositoryFactory.createSwitchPropertiesRepository()).thenReturn(switchPropertiesRepository);
+
+        Switch srcSwitch = Switch.builder().switchId(SWITCH_1).status(SwitchStatus.ACTIVE).build();
+        Switch dstSwitch = Switch.builder().switchId(SWITCH_2).status(SwitchStatus.ACTIVE).build();
+        Isl isl = Isl.builder()
+                .srcSwitch(srcSwitch).srcPort(1)
+                .destSwitch(dstSwitch).destPort(1)
+                .status(IslStatus.ACTIVE)
+                .availableBandwidth(1000)
+                .build();
+        when(islRepository.findAllActive()).thenReturn(singletonList(isl));
+        when(switchPropertiesRepository.findAll()).thenReturn(singletonList(SwitchProperties.builder()
+                .switchObj(srcSwitch)
+                .supportedTransitEncapsulation(Collections.singleton(FlowEncapsulationType.TRANSIT_VLAN))
+                .build()));
+    }
+
+    @Test
+    public void shouldLoadSnapshotOnceAndApplyBandwidthUpdates() {
+        NetworkSnapshotCache cache = new NetworkSnapshotCache(repositoryFactory, Duration.ofMinutes(1),
+                Clock.systemUTC());
+
+        NetworkSnapshot snapshot = cache.getSnapshot();
+        assertSame(snapshot, cache.getSnapshot());
+        verify(islRepository, times(1)).findAllActive();
+
+        cache.updateAvailableBandwidth(SWITCH_1, 1, SWITCH_2, 1, 10);
+        NetworkSnapshot updated = cache.getSnapshot();
+        assertEquals(snapshot.getVersion() + 1, updated.getVersion());
+        assertThat(updated.findAllActive().iterator().next().getAvailableBandwidth(), Matchers.is(10L));
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldReloadExpiredSnapshot() {
+        Instant now = Instant.now();
+        MutableClock clock = new MutableClock(now);
+        NetworkSnapshotCache cache = new NetworkSnapshotCache(repositoryFactory, Duration.ofSeconds(30), clock);
+
+        NetworkSnapshot snapshot = cache.getSnapshot();
+        clock.instant = now.plusSeconds(31);
+        NetworkSnapshot reloaded = cache.getSnapshot();
+
+        assertNotSame(snapshot, reloaded);
+        assertEquals(snapshot.getVersion() + 1, reloaded.getVersion());
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    public void shouldReloadInvalidatedSnapshot() {
+        NetworkSnapshotCache cache = new NetworkSnapshotCache(repositoryFactory, Duration.ofMinutes(1),
+                Clock.systemUTC());
+
+        cache.getSnapshot();
+        cache.invalidate();
+        cache.getSnapshot();
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    public void shouldReloadSnapshotLoadedBeforeSpecifiedTime() {
+        Instant now = Instant.now();
+        MutableClock clock = new MutableClock(now);
+        NetworkSnapshotCache cache = new NetworkSnapshotCache(repositoryFactory, Duration.ofMinutes(1), clock);
+
+        NetworkSnapshot snapshot = cache.getSnapshot();
+        cache.invalidateIfLoadedBefore(now.minusSeconds(1));
+        assertSame(snapshot, cache.getSnapshot());
+
+        clock.instant = now.plusSeconds(2);
+        cache.invalidateIfLoadedBefore(now.plusSeconds(1));
+        NetworkSnapshot reloaded = cache.getSnapshot();
+        assertNotSame(snapshot, reloaded);
+
+        // The requests made before the reload don't drop the reloaded snapshot.
+        cache.invalidateIfLoadedBefore(now.plusSeconds(1));
+        assertSame(reloaded, cache.getSnapshot());
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    private static class MutableClock extends Clock {
+        Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
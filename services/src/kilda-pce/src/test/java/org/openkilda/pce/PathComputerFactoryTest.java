@@ -15,10 +15,15 @@
 
 package org.openkilda.pce;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import org.openkilda.pce.PathComputerFactory.WeightStrategy;
+import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
 import org.junit.Test;
@@ -26,12 +31,28 @@ import org.junit.Test;
 public class PathComputerFactoryTest {
     @Test
     public void shouldCreateAnInstance() {
-        PathComputerFactory factory = new PathComputerFactory(
-                mock(PathComputerConfig.class), mock(AvailableNetworkFactory.class));
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getFinderStrategy()).thenReturn("BFS");
+        PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
         PathComputer pathComputer = factory.getPathComputer(WeightStrategy.COST);
         assertTrue(pathComputer instanceof InMemoryPathComputer);
     }
 
+    @Test
+    public void shouldCreateFinderByStrategy() {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
+
+        when(config.getFinderStrategy()).thenReturn("bfs");
+        PathFinder pathFinder = factory.getPathFinder(factory.getWeightFunctionByStrategy(WeightStrategy.COST));
+        assertTrue(pathFinder instanceof BestCostAndShortestPathFinder);
+        assertFalse(pathFinder instanceof DijkstraPathFinder);
+
+        when(config.getFinderStrategy()).thenReturn("dijkstra");
+        pathFinder = factory.getPathFinder(factory.getWeightFunctionByStrategy(WeightStrategy.COST));
+        assertTrue(pathFinder instanceof DijkstraPathFinder);
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void shouldNotCreateNonCostPathComputer() {
         PathComputerFactory factory = new PathComputerFactory(
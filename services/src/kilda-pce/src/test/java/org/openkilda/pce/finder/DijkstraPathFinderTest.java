@@ -0,0 +1,296 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class DijkstraPathFinderTest {
+
+    private static final int ALLOWED_DEPTH = 35;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> (long) edge.getCost();
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+
+    @Test
+    public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(2, WEIGHT_FUNCTION);
+        List<Edge> forwardPath = finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4).getLeft();
+        assertThat(forwardPath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, forwardPath.get(1).getSrcSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldChooseDeeperOverExpensive() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(4, WEIGHT_FUNCTION);
+        List<Edge> forwardPath = finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4).getLeft();
+        assertThat(forwardPath, Matchers.hasSize(4));
+        assertEquals(SWITCH_ID_5, forwardPath.get(3).getSrcSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldChooseLowerSwitchIdsOnTie() throws UnroutableFlowException {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW3---SW5
+         *    |           |
+         *    +----SW2----+
+         *
+         *   All ISLs have equal cost, SW1-SW2-SW5 is the path BFS finds first.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_5, 2, 2, 100);
+        network.reduceByWeight(WEIGHT_FUNCTION);
+
+        List<Edge> forwardPath = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION)
+                .findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5).getLeft();
+        assertThat(forwardPath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, forwardPath.get(0).getDestSwitch().getSwitchId());
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void failToFindPathToUnreachableSwitch() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 1, 1, 100);
+
+        new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION).findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4);
+    }
+
+    @Test
+    public void shouldFindSamePathsAsBestCostAndShortestPathFinder() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            long seed = random.nextLong();
+            int allowedDepth = 2 + random.nextInt(6);
+
+            AvailableNetwork expectedNetwork = buildRandomNetwork(seed, 4);
+            AvailableNetwork actualNetwork = buildRandomNetwork(seed, 4);
+            PathFinder expectedFinder = new BestCostAndShortestPathFinder(allowedDepth, WEIGHT_FUNCTION);
+            PathFinder actualFinder = new DijkstraPathFinder(allowedDepth, WEIGHT_FUNCTION);
+
+            for (int src = 0; src < 12; src++) {
+                for (int dst = 0; dst < 12; dst++) {
+                    if (src == dst) {
+                        continue;
+                    }
+                    SwitchId srcSwitch = new SwitchId(src + 1);
+                    SwitchId dstSwitch = new SwitchId(dst + 1);
+                    String message = String.format("seed %d, depth %d, %s -> %s",
+                            seed, allowedDepth, srcSwitch, dstSwitch);
+                    assertEquals(message,
+                            findPath(expectedFinder, expectedNetwork, srcSwitch, dstSwitch),
+                            findPath(actualFinder, actualNetwork, srcSwitch, dstSwitch));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindSameNPathsAsBestCostAndShortestPathFinder() throws UnroutableFlowException {
+        Random random = new Random(24);
+        for (int round = 0; round < 20; round++) {
+            long seed = random.nextLong();
+
+            // Potential paths of equal cost are chosen in the set iteration order by BestCostAndShortestPathFinder,
+            // so use a wide range of costs to make ties rare and compare the costs in order and the paths as a set.
+            AvailableNetwork expectedNetwork = buildRandomNetwork(seed, 1000);
+            AvailableNetwork actualNetwork = buildRandomNetwork(seed, 1000);
+            PathFinder expectedFinder = new BestCostAndShortestPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+            PathFinder actualFinder = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+
+            SwitchId srcSwitch = new SwitchId(1 + random.nextInt(6));
+            SwitchId dstSwitch = new SwitchId(7 + random.nextInt(6));
+            if (expectedNetwork.getSwitch(srcSwitch) == null || expectedNetwork.getSwitch(dstSwitch) == null) {
+                continue;
+            }
+            List<List<Edge>> expectedPaths =
+                    expectedFinder.findNPathsBetweenSwitches(expectedNetwork, srcSwitch, dstSwitch, 10);
+            List<List<Edge>> actualPaths =
+                    actualFinder.findNPathsBetweenSwitches(actualNetwork, srcSwitch, dstSwitch, 10);
+            String message = String.format("seed %d, %s -> %s", seed, srcSwitch, dstSwitch);
+            assertEquals(message, getCosts(expectedPaths), getCosts(actualPaths));
+            assertEquals(message, new HashSet<>(expectedPaths), new HashSet<>(actualPaths));
+        }
+    }
+
+    @Test
+    public void shouldFindDistinctNPathsWithoutNetworkModification() throws UnroutableFlowException {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            long seed = random.nextLong();
+            AvailableNetwork network = buildRandomNetwork(seed, 4);
+            SwitchId srcSwitch = new SwitchId(1 + random.nextInt(6));
+            SwitchId dstSwitch = new SwitchId(7 + random.nextInt(6));
+            if (network.getSwitch(srcSwitch) == null || network.getSwitch(dstSwitch) == null) {
+                continue;
+            }
+            Map<SwitchId, Set<Edge>> linksBefore = getOutgoingLinks(network);
+
+            List<List<Edge>> paths = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION)
+                    .findNPathsBetweenSwitches(network, srcSwitch, dstSwitch, 500);
+
+            String message = String.format("seed %d, %s -> %s", seed, srcSwitch, dstSwitch);
+            assertEquals(message, paths.size(), new HashSet<>(paths).size());
+            for (List<Edge> path : paths) {
+                if (path.isEmpty()) {
+                    continue;
+                }
+                Set<SwitchId> visited = new HashSet<>();
+                visited.add(srcSwitch);
+                SwitchId current = srcSwitch;
+                for (Edge edge : path) {
+                    assertEquals(message, current, edge.getSrcSwitch().getSwitchId());
+                    current = edge.getDestSwitch().getSwitchId();
+                    assertTrue(message, visited.add(current));
+                }
+                assertEquals(message, dstSwitch, current);
+            }
+            assertEquals(message, linksBefore, getOutgoingLinks(network));
+        }
+    }
+
+    private List<Long> getCosts(List<List<Edge>> paths) {
+        return paths.stream()
+                .map(path -> path.stream().mapToLong(Edge::getCost).sum())
+                .collect(Collectors.toList());
+    }
+
+    private Map<SwitchId, Set<Edge>> getOutgoingLinks(AvailableNetwork network) {
+        Map<SwitchId, Set<Edge>> result = new HashMap<>();
+        for (int i = 0; i < 12; i++) {
+            Node node = network.getSwitch(new SwitchId(i + 1));
+            if (node != null) {
+                result.put(node.getSwitchId(), new HashSet<>(node.getOutgoingLinks()));
+            }
+        }
+        return result;
+    }
+
+    private Pair<List<Edge>, List<Edge>> findPath(PathFinder finder, AvailableNetwork network,
+                                                  SwitchId srcSwitch, SwitchId dstSwitch) {
+        try {
+            return finder.findPathInNetwork(network, srcSwitch, dstSwitch);
+        } catch (UnroutableFlowException e) {
+            return null;
+        }
+    }
+
+    private AvailableNetwork buildRandomNetwork(long seed, int costBound) {
+        // Small costs produce a lot of ties, which is the interesting case for the comparison.
+        Random random = new Random(seed);
+        AvailableNetwork network = new AvailableNetwork();
+        for (int src = 0; src < 12; src++) {
+            for (int dst = src + 1; dst < 12; dst++) {
+                if (random.nextInt(4) == 0) {
+                    addBidirectionalLink(network, new SwitchId(src + 1), new SwitchId(dst + 1),
+                            dst + 1, src + 1, random.nextInt(costBound));
+                }
+            }
+        }
+        network.reduceByWeight(WEIGHT_FUNCTION);
+
+        for (int i = 0; i < 12; i++) {
+            if (network.getSwitch(new SwitchId(i + 1)) != null && random.nextInt(5) == 0) {
+                network.getSwitch(new SwitchId(i + 1)).setDiversityWeight(random.nextInt(3));
+            }
+        }
+        return network;
+    }
+
+    private AvailableNetwork buildLongAndExpensivePathsNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2~~~SW4
+         *          |     |
+         *         SW3---SW5
+         *
+         *   SW2 - SW4 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 10000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 7, 8, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 9, 10, 100);
+
+        network.reduceByWeight(WEIGHT_FUNCTION);
+        return network;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        IslConfig islConfig = IslConfig.builder()
+                .underMaintenanceCostRaise(1000)
+                .unstableCostRaise(1000)
+                .unstableIslTimeout(Duration.ofSeconds(120))
+                .build();
+
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .latency(1)
+                .build();
+        isl.setIslConfig(islConfig);
+        network.addLink(isl);
+    }
+}
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.config.provider.ConfigurationProvider;
 import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
@@ -34,6 +35,7 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
@@ -56,6 +58,7 @@ import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.persistence.repositories.impl.Neo4jSessionFactory;
 import org.openkilda.persistence.spi.PersistenceProvider;
 
+import com.google.common.collect.ImmutableMap;
 import org.hamcrest.Matchers;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -67,6 +70,8 @@ import org.junit.rules.ExpectedException;
 import org.neo4j.ogm.testutil.TestServer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -596,6 +601,71 @@ public class InMemoryPathComputerTest {
         assertEquals(diversePath, path2);
     }
 
+    @Test
+    public void shouldReserveBandwidthOfPrecedingFlowsInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20);
+
+        Switch srcSwitch = switchRepository.findById(new SwitchId("00:01")).get();
+        Switch destSwitch = switchRepository.findById(new SwitchId("00:04")).get();
+
+        List<Flow> flows = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            flows.add(new TestFlowBuilder()
+                    .flowId("flow-" + i)
+                    .srcSwitch(srcSwitch)
+                    .destSwitch(destSwitch)
+                    .bandwidth(600)
+                    .build());
+        }
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchPathResult result = pathComputer.getPaths(flows, Collections.emptyMap());
+
+        // The first flow takes the cheapest path B, there is not enough bandwidth left for the second one on it.
+        assertEquals(new SwitchId("00:02"),
+                result.getPaths().get("flow-1").getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                result.getPaths().get("flow-2").getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                result.getPaths().get("flow-2").getReverse().getSegments().get(1).getSrcSwitchId());
+        assertEquals(2, result.getPaths().size());
+        assertTrue(result.getFailures().containsKey("flow-3"));
+    }
+
+    @Test
+    public void shouldReuseFlowResourcesInBatch() throws RecoverableException {
+        String flowId = "flow-A1:01-A1:03";
+        long bandwidth = 1000;
+
+        createLinearTopoWithFlowSegments(10, "A1:", 1, 0L, flowId, bandwidth);
+
+        Flow flow = new TestFlowBuilder()
+                .flowId(flowId)
+                .srcSwitch(switchRepository.findById(new SwitchId("A1:01")).get())
+                .destSwitch(switchRepository.findById(new SwitchId("A1:03")).get())
+                .bandwidth(bandwidth)
+                .ignoreBandwidth(false)
+                .build();
+        // The resources of the old paths are already taken by the first flow of the batch.
+        Flow anotherFlow = new TestFlowBuilder()
+                .flowId("another-" + flowId)
+                .srcSwitch(flow.getSrcSwitch())
+                .destSwitch(flow.getDestSwitch())
+                .bandwidth(bandwidth)
+                .ignoreBandwidth(false)
+                .build();
+        List<PathId> oldPaths = flowRepository.findById(flowId)
+                .orElseThrow(() -> new AssertionError("Flow not found")).getFlowPathIds();
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchPathResult result = pathComputer.getPaths(Arrays.asList(flow, anotherFlow),
+                ImmutableMap.of(flowId, oldPaths, anotherFlow.getFlowId(), oldPaths));
+
+        assertThat(result.getPaths().get(flowId).getForward().getSegments(), Matchers.hasSize(2));
+        assertThat(result.getPaths().get(flowId).getReverse().getSegments(), Matchers.hasSize(2));
+        assertTrue(result.getFailures().containsKey(anotherFlow.getFlowId()));
+    }
+
     private void addPathSegments(FlowPath flowPath, Path path) {
         path.getSegments().forEach(segment ->
                 addPathSegment(flowPath, switchRepository.findById(segment.getSrcSwitchId()).get(),
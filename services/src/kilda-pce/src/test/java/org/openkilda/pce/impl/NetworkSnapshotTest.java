@@ -0,0 +1,105 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+public class NetworkSnapshotTest {
+    private static final SwitchId SWITCH_1 = new SwitchId("00:01");
+    private static final SwitchId SWITCH_2 = new SwitchId("00:02");
+    private static final SwitchId SWITCH_3 = new SwitchId("00:03");
+
+    private static final Map<SwitchId, Set<FlowEncapsulationType>> ENCAPSULATIONS = ImmutableMap.of(
+            SWITCH_1, Sets.newHashSet(FlowEncapsulationType.TRANSIT_VLAN, FlowEncapsulationType.VXLAN),
+            SWITCH_2, Sets.newHashSet(FlowEncapsulationType.TRANSIT_VLAN, FlowEncapsulationType.VXLAN),
+            SWITCH_3, Collections.singleton(FlowEncapsulationType.TRANSIT_VLAN));
+
+    @Test
+    public void shouldFilterByBandwidthAndEncapsulation() {
+        NetworkSnapshot snapshot = NetworkSnapshot.create(0, Instant.now(), asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 1000),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 100),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 1, 1000),
+                buildIsl(SWITCH_3, 1, SWITCH_2, 2, 1000)), ENCAPSULATIONS);
+
+        assertThat(snapshot.findAllActive(), Matchers.hasSize(4));
+        assertThat(snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN),
+                Matchers.hasSize(3));
+        assertThat(snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.VXLAN),
+                Matchers.hasSize(1));
+
+        Collection<Isl> symmetric =
+                snapshot.findSymmetricActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN);
+        assertThat(symmetric, Matchers.hasSize(2));
+        symmetric.forEach(isl -> assertThat(isl.getSrcSwitch().getSwitchId(), Matchers.not(SWITCH_1)));
+    }
+
+    @Test
+    public void shouldCopyOnWrite() {
+        NetworkSnapshot snapshot = NetworkSnapshot.create(0, Instant.now(), asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 1000),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 1000)), ENCAPSULATIONS);
+
+        NetworkSnapshot updated = snapshot.withAvailableBandwidth(SWITCH_1, 1, SWITCH_2, 1, 100);
+        assertEquals(1, updated.getVersion());
+        assertThat(updated.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN),
+                Matchers.hasSize(1));
+        assertThat(snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN),
+                Matchers.hasSize(2));
+
+        assertSame(updated, updated.withAvailableBandwidth(SWITCH_1, 1, SWITCH_2, 1, 100));
+        assertSame(updated, updated.withAvailableBandwidth(SWITCH_1, 5, SWITCH_2, 5, 100));
+
+        Isl inactive = buildIsl(SWITCH_2, 1, SWITCH_1, 1, 1000);
+        inactive.setStatus(IslStatus.INACTIVE);
+        NetworkSnapshot withoutIsl = updated.withIsl(inactive);
+        assertEquals(2, withoutIsl.getVersion());
+        assertThat(withoutIsl.findAllActive(), Matchers.hasSize(1));
+        assertThat(updated.findAllActive(), Matchers.hasSize(2));
+    }
+
+    private Isl buildIsl(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort, long availableBandwidth) {
+        return Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcSwitch).status(SwitchStatus.ACTIVE).build())
+                .srcPort(srcPort)
+                .destSwitch(Switch.builder().switchId(dstSwitch).status(SwitchStatus.ACTIVE).build())
+                .destPort(dstPort)
+                .status(IslStatus.ACTIVE)
+                .availableBandwidth(availableBandwidth)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predefined strings of the binary message format: envelope field names and type ids of the most frequent messages.
+ * The list is append only, never remove or reorder its entries: each record carries the number of entries known to
+ * its writer, so the readers with the same or a longer list resolve its references. Any other change requires a new
+ * {@link BinaryTokenStream#VERSION}. The strings missing here are still encoded, just inline.
+ */
+final class BinaryDictionary {
+    private static final List<String> STRINGS = ImmutableList.of(
+            // envelope
+            "clazz",
+            "payload",
+            "timestamp",
+            "correlation_id",
+            "destination",
+            "region",
+            "route",
+            "message_id",
+            "total_messages",
+            "message_context",
+            "switch_id",
+            "stats",
+            // destinations
+            "CONTROLLER",
+            "WFM",
+            "WFM_STATS",
+            "TOPOLOGY_ENGINE",
+            "NORTHBOUND",
+            // type ids
+            "org.openkilda.messaging.info.InfoMessage",
+            "org.openkilda.messaging.command.CommandMessage",
+            "org.openkilda.messaging.error.ErrorMessage",
+            "org.openkilda.messaging.info.ChunkedInfoMessage",
+            "org.openkilda.messaging.info.stats.FlowStatsData",
+            "org.openkilda.messaging.info.stats.PortStatsData",
+            "org.openkilda.messaging.info.stats.MeterStatsData",
+            "org.openkilda.messaging.info.stats.MeterConfigStatsData",
+            "org.openkilda.messaging.info.stats.SwitchTableStatsData",
+            "org.openkilda.messaging.info.event.IslInfoData",
+            "org.openkilda.messaging.info.event.PortInfoData",
+            "org.openkilda.messaging.info.event.SwitchInfoData",
+            "org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation",
+            "org.openkilda.messaging.command.discovery.DiscoverIslCommandData",
+            "org.openkilda.messaging.command.flow.InstallIngressFlow",
+            "org.openkilda.messaging.command.flow.InstallEgressFlow",
+            "org.openkilda.messaging.command.flow.InstallTransitFlow",
+            "org.openkilda.messaging.command.flow.InstallOneSwitchFlow",
+            "org.openkilda.messaging.command.flow.RemoveFlow",
+            "org.openkilda.messaging.command.stats.StatsRequest",
+            "org.openkilda.messaging.info.flow.FlowResponse");
+
+    private static final Map<String, Integer> INDEXES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < STRINGS.size(); i++) {
+            INDEXES.put(STRINGS.get(i), i);
+        }
+    }
+
+    private BinaryDictionary() {}
+
+    static int size() {
+        return STRINGS.size();
+    }
+
+    static List<String> head(int size) {
+        return STRINGS.subList(0, size);
+    }
+
+    static Integer indexOf(String value) {
+        return INDEXES.get(value);
+    }
+}
@@ -0,0 +1,368 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of a jackson token stream.
+ * <p/>
+ * Record layout (all integers are varints, signed ones are zigzag encoded):
+ * <pre>
+ * MAGIC VERSION DICTIONARY_SIZE
+ * tokens: tag, tag specific payload
+ * </pre>
+ * Field names and strings up to {@link #MAX_INTERNED_LENGTH} chars are written once per record, either as
+ * a reference into {@link BinaryDictionary} or as a literal which gets the next free dictionary index, all the
+ * following occurrences are written as references.
+ * <p/>
+ * DICTIONARY_SIZE is the number of {@link BinaryDictionary} entries known to the writer, the literal indexes start
+ * right after them. So a reader resolves the records of a writer with the same or a shorter dictionary, and rejects
+ * the records which refer to entries it doesn't know yet.
+ */
+final class BinaryTokenStream {
+    static final byte MAGIC = 1;
+    static final byte VERSION = 2;
+
+    static final int MAX_INTERNED_LENGTH = 64;
+
+    private static final byte TAG_START_OBJECT = 1;
+    private static final byte TAG_END_OBJECT = 2;
+    private static final byte TAG_START_ARRAY = 3;
+    private static final byte TAG_END_ARRAY = 4;
+    private static final byte TAG_FIELD_NAME_REF = 5;
+    private static final byte TAG_FIELD_NAME = 6;
+    private static final byte TAG_STRING_REF = 7;
+    private static final byte TAG_STRING = 8;
+    private static final byte TAG_STRING_RAW = 9;
+    private static final byte TAG_INTEGER = 10;
+    private static final byte TAG_BIG_INTEGER = 11;
+    private static final byte TAG_DOUBLE = 12;
+    private static final byte TAG_BIG_DECIMAL = 13;
+    private static final byte TAG_TRUE = 14;
+    private static final byte TAG_FALSE = 15;
+    private static final byte TAG_NULL = 16;
+    private static final byte TAG_BINARY = 17;
+
+    private BinaryTokenStream() {}
+
+    /**
+     * Encodes all the tokens of the parser.
+     */
+    static byte[] write(JsonParser tokens) throws IOException {
+        Writer out = new Writer();
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.writeVarLong(BinaryDictionary.size());
+        for (JsonToken token = tokens.nextToken(); token != null; token = tokens.nextToken()) {
+            switch (token) {
+                case START_OBJECT:
+                    out.write(TAG_START_OBJECT);
+                    break;
+                case END_OBJECT:
+                    out.write(TAG_END_OBJECT);
+                    break;
+                case START_ARRAY:
+                    out.write(TAG_START_ARRAY);
+                    break;
+                case END_ARRAY:
+                    out.write(TAG_END_ARRAY);
+                    break;
+                case FIELD_NAME:
+                    out.writeInterned(TAG_FIELD_NAME_REF, TAG_FIELD_NAME, tokens.getCurrentName());
+                    break;
+                case VALUE_STRING:
+                    String value = tokens.getText();
+                    if (value.length() <= MAX_INTERNED_LENGTH) {
+                        out.writeInterned(TAG_STRING_REF, TAG_STRING, value);
+                    } else {
+                        out.write(TAG_STRING_RAW);
+                        out.writeString(value);
+                    }
+                    break;
+                case VALUE_NUMBER_INT:
+                    writeInteger(out, tokens);
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    writeFloat(out, tokens);
+                    break;
+                case VALUE_TRUE:
+                    out.write(TAG_TRUE);
+                    break;
+                case VALUE_FALSE:
+                    out.write(TAG_FALSE);
+                    break;
+                case VALUE_NULL:
+                    out.write(TAG_NULL);
+                    break;
+                case VALUE_EMBEDDED_OBJECT:
+                    writeEmbedded(out, tokens.getEmbeddedObject());
+                    break;
+                default:
+                    throw new IOException(format("Unsupported token %s", token));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the record encoded by {@link #write}.
+     */
+    static TokenBuffer read(byte[] data, ObjectCodec codec) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        TokenBuffer tokens = new TokenBuffer(codec, false);
+        try {
+            if (buffer.get() != MAGIC) {
+                throw new IOException("Not a binary message record");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException(format("Unsupported binary message record version %d", version));
+            }
+
+            int dictionarySize = readVarInt(buffer);
+            if (dictionarySize > BinaryDictionary.size()) {
+                throw new IOException(format("Binary message record refers to %d dictionary entries, only %d are known",
+                        dictionarySize, BinaryDictionary.size()));
+            }
+            List<String> dictionary = new ArrayList<>(BinaryDictionary.head(dictionarySize));
+            while (buffer.hasRemaining()) {
+                byte tag = buffer.get();
+                switch (tag) {
+                    case TAG_START_OBJECT:
+                        tokens.writeStartObject();
+                        break;
+                    case TAG_END_OBJECT:
+                        tokens.writeEndObject();
+                        break;
+                    case TAG_START_ARRAY:
+                        tokens.writeStartArray();
+                        break;
+                    case TAG_END_ARRAY:
+                        tokens.writeEndArray();
+                        break;
+                    case TAG_FIELD_NAME_REF:
+                        tokens.writeFieldName(lookup(dictionary, readVarInt(buffer)));
+                        break;
+                    case TAG_FIELD_NAME:
+                        tokens.writeFieldName(intern(dictionary, readString(buffer)));
+                        break;
+                    case TAG_STRING_REF:
+                        tokens.writeString(lookup(dictionary, readVarInt(buffer)));
+                        break;
+                    case TAG_STRING:
+                        tokens.writeString(intern(dictionary, readString(buffer)));
+                        break;
+                    case TAG_STRING_RAW:
+                        tokens.writeString(readString(buffer));
+                        break;
+                    case TAG_INTEGER:
+                        long value = unzigzag(readVarLong(buffer));
+                        if (value == (int) value) {
+                            tokens.writeNumber((int) value);
+                        } else {
+                            tokens.writeNumber(value);
+                        }
+                        break;
+                    case TAG_BIG_INTEGER:
+                        tokens.writeNumber(new BigInteger(readString(buffer)));
+                        break;
+                    case TAG_DOUBLE:
+                        tokens.writeNumber(Double.longBitsToDouble(buffer.getLong()));
+                        break;
+                    case TAG_BIG_DECIMAL:
+                        tokens.writeNumber(new BigDecimal(readString(buffer)));
+                        break;
+                    case TAG_TRUE:
+                        tokens.writeBoolean(true);
+                        break;
+                    case TAG_FALSE:
+                        tokens.writeBoolean(false);
+                        break;
+                    case TAG_NULL:
+                        tokens.writeNull();
+                        break;
+                    case TAG_BINARY:
+                        byte[] bytes = new byte[readLength(buffer)];
+                        buffer.get(bytes);
+                        tokens.writeBinary(bytes);
+                        break;
+                    default:
+                        throw new IOException(format("Unknown token tag %d in binary message record", tag));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Buffer underflow, illegal position or dictionary index: the record is corrupted.
+            throw new IOException("Malformed binary message record", e);
+        }
+        return tokens;
+    }
+
+    private static void writeInteger(Writer out, JsonParser tokens) throws IOException {
+        NumberType type = tokens.getNumberType();
+        if (type == NumberType.INT || type == NumberType.LONG) {
+            out.write(TAG_INTEGER);
+            out.writeVarLong(zigzag(tokens.getLongValue()));
+        } else {
+            out.write(TAG_BIG_INTEGER);
+            out.writeString(tokens.getBigIntegerValue().toString());
+        }
+    }
+
+    private static void writeFloat(Writer out, JsonParser tokens) throws IOException {
+        NumberType type = tokens.getNumberType();
+        if (type == NumberType.DOUBLE || type == NumberType.FLOAT) {
+            out.write(TAG_DOUBLE);
+            out.writeLong(Double.doubleToLongBits(tokens.getDoubleValue()));
+        } else {
+            out.write(TAG_BIG_DECIMAL);
+            out.writeString(tokens.getDecimalValue().toString());
+        }
+    }
+
+    private static void writeEmbedded(Writer out, Object value) throws IOException {
+        if (value == null) {
+            out.write(TAG_NULL);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.write(TAG_BINARY);
+            out.writeVarLong(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else {
+            throw new IOException(format("Unsupported embedded value of type %s", value.getClass().getName()));
+        }
+    }
+
+    private static String lookup(List<String> dictionary, int index) throws IOException {
+        if (index < dictionary.size()) {
+            return dictionary.get(index);
+        }
+        throw new IOException(format("Invalid dictionary reference %d in binary message record", index));
+    }
+
+    private static String intern(List<String> dictionary, String value) {
+        dictionary.add(value);
+        return value;
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = readLength(buffer);
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in binary message record");
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        long value = readVarLong(buffer);
+        if (value < 0 || Integer.MAX_VALUE < value) {
+            throw new IOException(format("Invalid length or index %d in binary message record", value));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads the length of a string or binary value, rejects the one which does not fit into the rest of the record
+     * before anything is allocated for it.
+     */
+    private static int readLength(ByteBuffer buffer) throws IOException {
+        int length = readVarInt(buffer);
+        if (buffer.remaining() < length) {
+            throw new IOException(format("Length %d exceeds %d remaining bytes of binary message record",
+                    length, buffer.remaining()));
+        }
+        return length;
+    }
+
+    private static class Writer extends ByteArrayOutputStream {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        Writer() {
+            super(256);
+        }
+
+        void writeInterned(byte refTag, byte literalTag, String value) {
+            Integer index = BinaryDictionary.indexOf(value);
+            if (index == null) {
+                index = dictionary.get(value);
+            }
+            if (index != null) {
+                write(refTag);
+                writeVarLong(index);
+            } else {
+                dictionary.put(value, BinaryDictionary.size() + dictionary.size());
+                write(literalTag);
+                writeString(value);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+    }
+}
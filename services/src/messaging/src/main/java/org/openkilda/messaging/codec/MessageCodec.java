@@ -0,0 +1,75 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes kafka record values in any of {@link MessageFormat}s.
+ * <p/>
+ * The binary format is the same token stream the {@link ObjectMapper} produces for JSON, so all the existing
+ * jackson annotations, polymorphic type info included, are applied as is. Field names, type ids and short strings
+ * are replaced by references into {@link BinaryDictionary}, numbers are written as varints or raw IEEE 754 bits
+ * instead of text.
+ */
+public class MessageCodec {
+    private final ObjectMapper mapper;
+
+    public MessageCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Encodes the value in the given format.
+     */
+    public byte[] encode(Object value, MessageFormat format) throws IOException {
+        switch (format) {
+            case JSON:
+                return mapper.writeValueAsBytes(value);
+            case BINARY:
+                TokenBuffer tokens = new TokenBuffer(mapper, false);
+                mapper.writeValue(tokens, value);
+                try (JsonParser parser = tokens.asParser()) {
+                    return BinaryTokenStream.write(parser);
+                }
+            default:
+                throw new IOException(format("Unsupported message format %s", format));
+        }
+    }
+
+    /**
+     * Decodes the value encoded in the given format.
+     */
+    public <T> T decode(byte[] data, MessageFormat format, Class<T> type) throws IOException {
+        switch (format) {
+            case JSON:
+                return mapper.readValue(data, type);
+            case BINARY:
+                TokenBuffer tokens = BinaryTokenStream.read(data, mapper);
+                try (JsonParser parser = tokens.asParser()) {
+                    return mapper.readValue(parser, type);
+                }
+            default:
+                throw new IOException(format("Unsupported message format %s", format));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.lang.String.format;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Wire format of a kafka record value. The format is negotiated by the {@link #HEADER} record header, the records
+ * without this header are JSON records.
+ * <p/>
+ * {@link #JSON} and {@link #BINARY} are the formats of messages, supported by {@link MessageCodec}.
+ * {@link #DATAPOINT_BATCH} records are batches of OpenTSDB datapoints in their own encoding, written and read by
+ * the OpenTSDB topic bolts only.
+ */
+public enum MessageFormat {
+    JSON,
+    BINARY,
+    DATAPOINT_BATCH;
+
+    public static final String HEADER = "kilda.format";
+
+    private final byte[] headerValue = name().toLowerCase().getBytes(StandardCharsets.UTF_8);
+
+    public byte[] getHeaderValue() {
+        return headerValue.clone();
+    }
+
+    /**
+     * Resolves the format by the {@link #HEADER} record header value, the missing header means JSON.
+     */
+    public static MessageFormat fromHeader(byte[] value) {
+        if (value == null) {
+            return JSON;
+        }
+        for (MessageFormat entry : values()) {
+            if (Arrays.equals(entry.headerValue, value)) {
+                return entry;
+            }
+        }
+        throw new IllegalArgumentException(
+                format("Unknown message format \"%s\"", new String(value, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Resolves the format by its configuration name, i.e. "json" or "binary".
+     */
+    public static MessageFormat fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
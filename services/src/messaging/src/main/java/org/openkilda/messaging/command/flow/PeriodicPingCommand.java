@@ -0,0 +1,49 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.flow;
+
+import org.openkilda.messaging.command.CommandData;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Notifies the ping topology that the flow was changed. With {@code enable} set the flow is re-read and registered
+ * for periodic pings if they are enabled for it, otherwise the flow is removed from periodic pings.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PeriodicPingCommand extends CommandData {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("flow_id")
+    private String flowId;
+
+    @JsonProperty("enable")
+    private boolean enable;
+
+    @JsonCreator
+    public PeriodicPingCommand(@NonNull @JsonProperty("flow_id") String flowId,
+                               @JsonProperty("enable") boolean enable) {
+        this.flowId = flowId;
+        this.enable = enable;
+    }
+}
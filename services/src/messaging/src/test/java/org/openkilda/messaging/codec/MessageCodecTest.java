@@ -0,0 +1,221 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.ChunkedInfoMessage;
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MessageCodecTest {
+    private final MessageCodec codec = new MessageCodec(MAPPER);
+
+    @Test
+    public void shouldEncodeStatsMessageShorterThanJson() throws IOException {
+        List<FlowStatsEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entries.add(new FlowStatsEntry(0, 0x4000000000000000L + i, 1000L * i, 64000L * i, i, i + 1));
+        }
+        InfoMessage message = new InfoMessage(
+                new FlowStatsData(new SwitchId(1), entries), System.currentTimeMillis(), "stats-request", "region");
+
+        byte[] json = codec.encode(message, MessageFormat.JSON);
+        byte[] binary = codec.encode(message, MessageFormat.BINARY);
+
+        assertTrue(binary.length * 2 < json.length);
+        assertSameJson(message, codec.decode(binary, MessageFormat.BINARY, Message.class));
+        assertSameJson(message, codec.decode(json, MessageFormat.JSON, Message.class));
+    }
+
+    @Test
+    public void shouldDecodeAllValueTypes() throws IOException {
+        Datapoint datapoint = new Datapoint("test.metric", Long.MAX_VALUE,
+                ImmutableMap.of("key", Strings.repeat("long tag value ", 10), "switchid", "00:00:00:00:00:00:00:01"),
+                -0.125D);
+        InfoMessage message = new InfoMessage(datapoint, 0, "correlation-é");
+
+        InfoMessage decoded = (InfoMessage) codec.decode(
+                codec.encode(message, MessageFormat.BINARY), MessageFormat.BINARY, Message.class);
+
+        assertEquals(message, decoded);
+        assertEquals(datapoint, decoded.getData());
+    }
+
+    @Test
+    public void shouldDecodeEnvelopes() throws IOException {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new CommandMessage(new PeriodicPingCommand("flow", true), 1, "command"));
+        messages.add(new ChunkedInfoMessage(
+                new FlowStatsData(new SwitchId(2), new ArrayList<>()), 2, "chunked", 1, 3));
+        messages.add(new ErrorMessage(
+                new ErrorData(ErrorType.NOT_FOUND, "error", null), 3, "error"));
+
+        for (Message message : messages) {
+            Message decoded = codec.decode(
+                    codec.encode(message, MessageFormat.BINARY), MessageFormat.BINARY, Message.class);
+            assertEquals(message.getClass(), decoded.getClass());
+            assertSameJson(message, decoded);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectMalformedRecord() throws IOException {
+        byte[] binary = codec.encode(new CommandMessage(new PeriodicPingCommand("flow", true), 1, "command"),
+                MessageFormat.BINARY);
+        byte[] truncated = new byte[binary.length / 2];
+        System.arraycopy(binary, 0, truncated, 0, truncated.length);
+        codec.decode(truncated, MessageFormat.BINARY, Message.class);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectBinaryLengthBeyondRecord() throws IOException {
+        // TAG_BINARY with Integer.MAX_VALUE length
+        decodeWithLength((byte) 17, Integer.MAX_VALUE);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectStringLengthBeyondRecord() throws IOException {
+        // TAG_STRING_RAW one byte longer than the rest of the record
+        decodeWithLength((byte) 9, 2, (byte) 'a');
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectJsonRecordAsBinary() throws IOException {
+        byte[] json = codec.encode(new CommandMessage(new PeriodicPingCommand("flow", true), 1, "command"),
+                MessageFormat.JSON);
+        codec.decode(json, MessageFormat.BINARY, Message.class);
+    }
+
+    @Test
+    public void shouldResolveFormatByHeader() {
+        assertEquals(MessageFormat.JSON, MessageFormat.fromHeader(null));
+        assertEquals(MessageFormat.BINARY, MessageFormat.fromHeader(MessageFormat.BINARY.getHeaderValue()));
+        assertEquals(MessageFormat.JSON, MessageFormat.fromHeader(MessageFormat.JSON.getHeaderValue()));
+        assertArrayEquals("binary".getBytes(StandardCharsets.UTF_8), MessageFormat.BINARY.getHeaderValue());
+        assertEquals(MessageFormat.BINARY, MessageFormat.fromName(" binary"));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotDecodeDatapointBatchAsMessage() throws IOException {
+        codec.decode(new byte[] {0, 2, 0, 0}, MessageFormat.DATAPOINT_BATCH, Message.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownFormat() {
+        MessageFormat.fromHeader("smile".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldKeepDictionaryAppendOnly() {
+        // The records written with these entries must stay readable: never remove, reorder or change them.
+        List<String> released = ImmutableList.of(
+                "clazz", "payload", "timestamp", "correlation_id", "destination", "region", "route", "message_id",
+                "total_messages", "message_context", "switch_id", "stats",
+                "CONTROLLER", "WFM", "WFM_STATS", "TOPOLOGY_ENGINE", "NORTHBOUND",
+                "org.openkilda.messaging.info.InfoMessage",
+                "org.openkilda.messaging.command.CommandMessage",
+                "org.openkilda.messaging.error.ErrorMessage",
+                "org.openkilda.messaging.info.ChunkedInfoMessage",
+                "org.openkilda.messaging.info.stats.FlowStatsData",
+                "org.openkilda.messaging.info.stats.PortStatsData",
+                "org.openkilda.messaging.info.stats.MeterStatsData",
+                "org.openkilda.messaging.info.stats.MeterConfigStatsData",
+                "org.openkilda.messaging.info.stats.SwitchTableStatsData",
+                "org.openkilda.messaging.info.event.IslInfoData",
+                "org.openkilda.messaging.info.event.PortInfoData",
+                "org.openkilda.messaging.info.event.SwitchInfoData",
+                "org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation",
+                "org.openkilda.messaging.command.discovery.DiscoverIslCommandData",
+                "org.openkilda.messaging.command.flow.InstallIngressFlow",
+                "org.openkilda.messaging.command.flow.InstallEgressFlow",
+                "org.openkilda.messaging.command.flow.InstallTransitFlow",
+                "org.openkilda.messaging.command.flow.InstallOneSwitchFlow",
+                "org.openkilda.messaging.command.flow.RemoveFlow",
+                "org.openkilda.messaging.command.stats.StatsRequest",
+                "org.openkilda.messaging.info.flow.FlowResponse");
+        assertTrue(BinaryDictionary.size() >= released.size());
+        assertEquals(released, BinaryDictionary.head(released.size()));
+    }
+
+    @Test
+    public void shouldDecodeRecordOfWriterWithShorterDictionary() throws IOException {
+        // {"clazz": "clazz", "x": "x"} written with 1 dictionary entry, so "x" gets index 1.
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.write(BinaryTokenStream.MAGIC);
+        record.write(BinaryTokenStream.VERSION);
+        record.write(new byte[] {1, 1, 5, 0, 7, 0, 6, 1, 'x', 7, 1, 2}, 0, 12);
+
+        JsonNode decoded = codec.decode(record.toByteArray(), MessageFormat.BINARY, JsonNode.class);
+        assertEquals(MAPPER.readTree("{\"clazz\": \"clazz\", \"x\": \"x\"}"), decoded);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectRecordOfWriterWithLongerDictionary() throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.write(BinaryTokenStream.MAGIC);
+        record.write(BinaryTokenStream.VERSION);
+        record.write(BinaryDictionary.size() + 1);
+        record.write(new byte[] {1, 2}, 0, 2);
+        codec.decode(record.toByteArray(), MessageFormat.BINARY, JsonNode.class);
+    }
+
+    private void decodeWithLength(byte tag, int length, byte... payload) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.write(BinaryTokenStream.MAGIC);
+        record.write(BinaryTokenStream.VERSION);
+        record.write(0);
+        record.write(tag);
+        for (long value = length; ; value >>>= 7) {
+            if (value < 0x80) {
+                record.write((int) value);
+                break;
+            }
+            record.write((int) (value & 0x7F) | 0x80);
+        }
+        record.write(payload, 0, payload.length);
+        codec.decode(record.toByteArray(), MessageFormat.BINARY, Message.class);
+    }
+
+    private static void assertSameJson(Object expected, Object actual) throws IOException {
+        assertEquals(MAPPER.readTree(MAPPER.writeValueAsBytes(expected)),
+                MAPPER.readTree(MAPPER.writeValueAsBytes(actual)));
+    }
+}
@@ -16,7 +16,6 @@
 package org.openkilda.helper;
 
 import org.openkilda.auth.context.ServerContext;
-import org.openkilda.auth.model.RequestContext;
 import org.openkilda.constants.HttpError;
 import org.openkilda.constants.IAuthConstants;
 import org.openkilda.exception.ExternalSystemException;
@@ -59,6 +58,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.io.IOException;
 import java.net.URI;
@@ -66,6 +66,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.UUID;
 
 import javax.net.ssl.SSLContext;
 
@@ -101,7 +102,7 @@ public class RestClientManager {
         HttpResponse httpResponse = null;
 
         try {
-            RequestContext requestContext = serverContext.getRequestContext();
+            String correlationId = getCorrelationId();
 
             HttpClient client = HttpClients.createDefault();
             HttpUriRequest httpUriRequest = null;
@@ -130,7 +131,7 @@ public class RestClientManager {
                 if (!StringUtil.isNullOrEmpty(basicAuth)) {
                     LOGGER.debug("[invoke] Setting authorization in header as " + IAuthConstants.Header.AUTHORIZATION);
                     httpUriRequest.setHeader(IAuthConstants.Header.AUTHORIZATION, basicAuth);
-                    httpUriRequest.setHeader(IAuthConstants.Header.CORRELATION_ID, requestContext.getCorrelationId());
+                    httpUriRequest.setHeader(IAuthConstants.Header.CORRELATION_ID, correlationId);
                 }
             }
             if (HttpMethod.POST.equals(httpMethod) || HttpMethod.PUT.equals(httpMethod) 
@@ -140,8 +141,7 @@ public class RestClientManager {
                 // Setting POST/PUT related headers
                 httpEntityEnclosingRequest.setHeader(HttpHeaders.CONTENT_TYPE, contentType);
                 httpEntityEnclosingRequest.setHeader(IAuthConstants.Header.AUTHORIZATION, basicAuth);
-                httpEntityEnclosingRequest.setHeader(IAuthConstants.Header.CORRELATION_ID,
-                        requestContext.getCorrelationId());
+                httpEntityEnclosingRequest.setHeader(IAuthConstants.Header.CORRELATION_ID, correlationId);
                 // Setting request payload
                 httpEntityEnclosingRequest.setEntity(new StringEntity(payload));
                 httpResponse = client.execute(httpEntityEnclosingRequest);
@@ -153,8 +153,7 @@ public class RestClientManager {
                 // Setting DELETE related headers
                 httpEntityEnclosingRequest.setHeader(HttpHeaders.CONTENT_TYPE, contentType);
                 httpEntityEnclosingRequest.setHeader(IAuthConstants.Header.AUTHORIZATION, basicAuth);
-                httpEntityEnclosingRequest.setHeader(IAuthConstants.Header.CORRELATION_ID,
-                        requestContext.getCorrelationId());
+                httpEntityEnclosingRequest.setHeader(IAuthConstants.Header.CORRELATION_ID, correlationId);
                 // Setting request payload
                 
                 httpEntityEnclosingRequest.setEntity(new StringEntity(payload));
@@ -276,6 +275,51 @@ public class RestClientManager {
         return headersMap;
     }
     
+    private String getCorrelationId() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            // the call is made outside of the http request, e.g. by the background cache refresh
+            return UUID.randomUUID().toString();
+        }
+        return serverContext.getRequestContext().getCorrelationId();
+    }
+
+    /**
+     * Gets the content of the valid response.
+     *
+     * @param response the response
+     * @return the response content or null if the response has no content
+     */
+    public String getResponseContent(final HttpResponse response) {
+        if (response.getStatusLine().getStatusCode() == HttpStatus.NO_CONTENT.value()) {
+            return null;
+        }
+        try {
+            return IoUtil.toString(response.getEntity().getContent());
+        } catch (IOException e) {
+            throw new RestCallFailedException(e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the response list from the response content.
+     *
+     * @param <T> the generic type
+     * @param content the response content
+     * @param responseClass the response class
+     * @return the response list
+     */
+    public <T> List<T> getResponseList(final String content, final Class<T> responseClass) {
+        if (content == null) {
+            return null;
+        }
+        try {
+            return mapper.readValue(content,
+                    TypeFactory.defaultInstance().constructCollectionType(List.class, responseClass));
+        } catch (IOException e) {
+            throw new RestCallFailedException(e.getMessage());
+        }
+    }
+
     /**
      * Gets the response list.
      *
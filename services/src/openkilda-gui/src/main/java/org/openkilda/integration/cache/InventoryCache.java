@@ -0,0 +1,124 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.cache;
+
+import org.openkilda.constants.IConstants.StorageType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * The Class InventoryCache.
+ *
+ * <p>Refresh ahead caches of the switch, ISL and flow inventories read from Northbound, the responses are cached by
+ * the request url. The integration services invalidate the caches on GUI initiated changes.
+ */
+@Component
+public class InventoryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InventoryCache.class);
+
+    private static final int REFRESH_QUEUE_SIZE = 64;
+
+    @Value("${inventory.cache.switches.ttl.seconds:30}")
+    private long switchesTtlSeconds;
+
+    @Value("${inventory.cache.links.ttl.seconds:30}")
+    private long linksTtlSeconds;
+
+    @Value("${inventory.cache.flows.ttl.seconds:30}")
+    private long flowsTtlSeconds;
+
+    @Value("${inventory.cache.switch.names.ttl.seconds:300}")
+    private long switchNamesTtlSeconds;
+
+    @Value("${inventory.cache.refresh.ahead.percent:75}")
+    private int refreshAheadPercent;
+
+    @Value("${inventory.cache.refresh.threads:2}")
+    private int refreshThreads;
+
+    private ExecutorService refreshExecutor;
+
+    private RefreshAheadCache<String, String> switches;
+    private RefreshAheadCache<String, String> links;
+    private RefreshAheadCache<String, String> flows;
+    private RefreshAheadCache<StorageType, Map<String, String>> switchNames;
+
+    /**
+     * Creates the caches.
+     */
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // discard the refresh if all threads are busy, the value will be loaded on request after the expiration
+        refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        switches = create("switches", switchesTtlSeconds);
+        links = create("links", linksTtlSeconds);
+        flows = create("flows", flowsTtlSeconds);
+        switchNames = create("switch names", switchNamesTtlSeconds);
+        LOGGER.info("Inventory cache TTL: switches " + switchesTtlSeconds + "s, links " + linksTtlSeconds
+                + "s, flows " + flowsTtlSeconds + "s, switch names " + switchNamesTtlSeconds + "s");
+    }
+
+    /**
+     * Stops the background refresh.
+     */
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public RefreshAheadCache<String, String> getSwitches() {
+        return switches;
+    }
+
+    public RefreshAheadCache<String, String> getLinks() {
+        return links;
+    }
+
+    public RefreshAheadCache<String, String> getFlows() {
+        return flows;
+    }
+
+    public RefreshAheadCache<StorageType, Map<String, String>> getSwitchNames() {
+        return switchNames;
+    }
+
+    private <K, V> RefreshAheadCache<K, V> create(final String name, final long ttlSeconds) {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        return new RefreshAheadCache<>(name, ttlMillis, ttlMillis * refreshAheadPercent / 100, refreshExecutor);
+    }
+}
@@ -0,0 +1,187 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.cache;
+
+import org.openkilda.integration.exception.IntegrationException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The Class RefreshAheadCache.
+ *
+ * <p>Keeps loaded values for the TTL. A value requested after the refresh ahead time is returned as is and reloaded
+ * in the background, so frequently requested values are never loaded on the request thread. An expired value is
+ * loaded on the request thread, concurrent requests for the same key wait for the single load. Null values are not
+ * cached. The TTL of zero disables the cache.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class RefreshAheadCache<K, V> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final String name;
+    private final long ttlMillis;
+    private final long refreshAheadMillis;
+    private final Executor executor;
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Instantiates a new refresh ahead cache.
+     *
+     * @param name the cache name used in logs
+     * @param ttlMillis the time to keep the value
+     * @param refreshAheadMillis the value age after which the value is reloaded in the background
+     * @param executor the executor of background reloads
+     */
+    public RefreshAheadCache(final String name, final long ttlMillis, final long refreshAheadMillis,
+            final Executor executor) {
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        this.refreshAheadMillis = Math.min(refreshAheadMillis, ttlMillis);
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the cached value or loads it.
+     *
+     * @param key the key
+     * @param loader the loader of the value
+     * @return the value
+     */
+    public V get(final K key, final Supplier<V> loader) {
+        if (ttlMillis <= 0) {
+            return loader.get();
+        }
+
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now < entry.loadedAt + ttlMillis) {
+            if (entry.loadedAt + refreshAheadMillis <= now && entry.refreshing.compareAndSet(false, true)) {
+                refreshAhead(key, loader, entry);
+            }
+            return entry.value;
+        }
+        return load(key, loader);
+    }
+
+    /**
+     * Removes the cached value of the key.
+     *
+     * @param key the key
+     */
+    public void invalidate(final K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private V load(final K key, final Supplier<V> loader) {
+        CompletableFuture<V> request = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, request);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V value = loadAndStore(key, loader);
+            request.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, request);
+        }
+    }
+
+    private void refreshAhead(final K key, final Supplier<V> loader, final Entry<V> entry) {
+        try {
+            executor.execute(() -> {
+                try {
+                    loadAndStore(key, loader);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Error occurred while refreshing " + name + " cache", e);
+                } finally {
+                    // the entry stays cached if the refreshed value is null or is dropped by an invalidation
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Refresh of " + name + " cache is rejected", e);
+            entry.refreshing.set(false);
+        }
+    }
+
+    private V loadAndStore(final K key, final Supplier<V> loader) {
+        long loadGeneration = generation.get();
+        long loadedAt = System.currentTimeMillis();
+        V value = loader.get();
+        // the value loaded before the invalidation can be outdated already
+        if (value != null && loadGeneration == generation.get()) {
+            entries.put(key, new Entry<>(value, loadedAt));
+        }
+        return value;
+    }
+
+    private V await(final CompletableFuture<V> request) {
+        try {
+            return request.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IntegrationException(e.getCause());
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(final V value, final long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
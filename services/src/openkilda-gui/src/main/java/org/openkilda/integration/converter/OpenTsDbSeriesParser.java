@@ -0,0 +1,141 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.converter;
+
+import org.openkilda.integration.model.response.OpenTsDbSeries;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Class OpenTsDbSeriesParser.
+ *
+ * <p>Parses the OpenTSDB query response with the streaming parser, data points go directly into primitive arrays
+ * without building the intermediate tree or the boxed map of each series.
+ */
+@Component
+public class OpenTsDbSeriesParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Parses the OpenTSDB query response.
+     *
+     * @param json the query response
+     * @return the series
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public List<OpenTsDbSeries> parse(final String json) throws IOException {
+        List<OpenTsDbSeries> result = new ArrayList<>();
+        if (json == null || json.isEmpty()) {
+            return result;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "OpenTSDB response must be an array");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                result.add(parseSeries(parser));
+            }
+        }
+        return result;
+    }
+
+    private OpenTsDbSeries parseSeries(final JsonParser parser) throws IOException {
+        String metric = null;
+        Map<String, String> tags = new HashMap<>();
+        long[] timestamps = new long[0];
+        double[] values = new double[0];
+        int size = 0;
+        boolean sorted = true;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("metric".equals(field)) {
+                metric = parser.getValueAsString();
+            } else if ("tags".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    tags.put(name, parser.getValueAsString());
+                }
+            } else if ("dps".equals(field) && token == JsonToken.START_OBJECT) {
+                timestamps = new long[16];
+                values = new double[16];
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    long timestamp = Long.parseLong(parser.getCurrentName());
+                    parser.nextToken();
+                    if (size == timestamps.length) {
+                        timestamps = Arrays.copyOf(timestamps, size * 2);
+                        values = Arrays.copyOf(values, size * 2);
+                    }
+                    sorted &= size == 0 || timestamps[size - 1] <= timestamp;
+                    timestamps[size] = timestamp;
+                    values[size] = readValue(parser);
+                    size++;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        timestamps = Arrays.copyOf(timestamps, size);
+        values = Arrays.copyOf(values, size);
+        if (!sorted) {
+            sort(timestamps, values);
+        }
+        return new OpenTsDbSeries(metric, tags, timestamps, values);
+    }
+
+    private static double readValue(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT
+                || parser.getCurrentToken() == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        // OpenTSDB writes NaN and infinity as strings or nulls
+        return parser.getValueAsDouble(Double.NaN);
+    }
+
+    private static void sort(final long[] timestamps, final double[] values) {
+        Integer[] order = new Integer[timestamps.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (left, right) -> Long.compare(timestamps[left], timestamps[right]));
+
+        long[] sortedTimestamps = new long[order.length];
+        double[] sortedValues = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedTimestamps[i] = timestamps[order[i]];
+            sortedValues[i] = values[order[i]];
+        }
+        System.arraycopy(sortedTimestamps, 0, timestamps, 0, order.length);
+        System.arraycopy(sortedValues, 0, values, 0, order.length);
+    }
+}
@@ -0,0 +1,83 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.model.response;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The Class OpenTsDbSeries.
+ *
+ * <p>One series of the OpenTSDB query result. Data points are kept in primitive arrays ordered by timestamp.
+ */
+public class OpenTsDbSeries {
+
+    private final String metric;
+    private final Map<String, String> tags;
+    private final long[] timestamps;
+    private final double[] values;
+
+    /**
+     * Instantiates a new series.
+     *
+     * @param metric the metric
+     * @param tags the tags
+     * @param timestamps the timestamps
+     * @param values the values
+     */
+    public OpenTsDbSeries(final String metric, final Map<String, String> tags, final long[] timestamps,
+            final double[] values) {
+        this.metric = metric;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.timestamps = timestamps;
+        this.values = values;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getTag(final String name) {
+        return tags.get(name);
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long[] getTimestamps() {
+        return Arrays.copyOf(timestamps, timestamps.length);
+    }
+
+    public double[] getValues() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    /**
+     * Gets the value of the latest data point.
+     *
+     * @return the latest value or NaN if the series is empty
+     */
+    public double getLatestValue() {
+        return values.length == 0 ? Double.NaN : values[values.length - 1];
+    }
+}
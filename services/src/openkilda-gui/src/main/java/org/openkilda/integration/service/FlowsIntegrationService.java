@@ -17,6 +17,7 @@ package org.openkilda.integration.service;
 
 import org.openkilda.constants.IConstants;
 import org.openkilda.helper.RestClientManager;
+import org.openkilda.integration.cache.InventoryCache;
 import org.openkilda.integration.converter.FlowConverter;
 import org.openkilda.integration.converter.FlowPathConverter;
 import org.openkilda.integration.exception.IntegrationException;
@@ -74,6 +75,9 @@ public class FlowsIntegrationService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private InventoryCache inventoryCache;
+
     /**
      * Gets the flows.
      *
@@ -152,18 +156,21 @@ public class FlowsIntegrationService {
      * @return the all flow list
      */
     public List<Flow> getAllFlowList() {
+        String url = applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_FLOW;
         try {
-            HttpResponse response = restClientManager.invoke(
-                    applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_FLOW, HttpMethod.GET, "", "",
-                    applicationService.getAuthHeader());
-            if (RestClientManager.isValidResponse(response)) {
-                return restClientManager.getResponseList(response, Flow.class);
-            }
+            String content = inventoryCache.getFlows().get(url, () -> {
+                HttpResponse response = restClientManager.invoke(url, HttpMethod.GET, "", "",
+                        applicationService.getAuthHeader());
+                if (RestClientManager.isValidResponse(response)) {
+                    return restClientManager.getResponseContent(response);
+                }
+                return null;
+            });
+            return restClientManager.getResponseList(content, Flow.class);
         } catch (InvalidResponseException e) {
             LOGGER.error("Error occurred while getting all flow list", e);
             throw new InvalidResponseException(e.getCode(), e.getResponse());
         }
-        return null;
     }
 
     /**
@@ -194,6 +201,8 @@ public class FlowsIntegrationService {
         } catch (IOException e) {
             LOGGER.warn("Error occurred while rerouting flow by id:" + flowId, e);
             throw new IntegrationException(e);
+        } finally {
+            invalidateFlows();
         }
     }
 
@@ -265,6 +274,8 @@ public class FlowsIntegrationService {
         } catch (JsonProcessingException e) {
             LOGGER.error("Error occurred while creating flow", e);
             throw new IntegrationException(e);
+        } finally {
+            invalidateFlows();
         }
         return null;
     }
@@ -292,6 +303,8 @@ public class FlowsIntegrationService {
         } catch (JsonProcessingException | UnsupportedEncodingException e) {
             LOGGER.warn("Error occurred while updating flow:" + flowId, e);
             throw new IntegrationException(e.getMessage(), e);
+        } finally {
+            invalidateFlows();
         }
         return null;
     }
@@ -318,6 +331,8 @@ public class FlowsIntegrationService {
         } catch (UnsupportedEncodingException e) {
             LOGGER.warn("Error occurred while deleting flow:" + flowId, e);
             throw new IntegrationException(e);
+        } finally {
+            invalidateFlows();
         }
     }
     
@@ -343,6 +358,8 @@ public class FlowsIntegrationService {
         } catch (IOException e) {
             LOGGER.warn("Error occurred while resync flow by id:" + flowId, e);
             throw new IntegrationException(e);
+        } finally {
+            invalidateFlows();
         }
     }
     
@@ -372,4 +389,12 @@ public class FlowsIntegrationService {
             throw new IntegrationException(e);
         }
     }
+
+    /**
+     * Invalidates the cached flows and links, since flow changes also change the available bandwidth of the links.
+     */
+    private void invalidateFlows() {
+        inventoryCache.getFlows().invalidateAll();
+        inventoryCache.getLinks().invalidateAll();
+    }
 }
@@ -65,6 +65,9 @@ public class StatsIntegrationService {
     @Autowired
     private ApplicationProperties applicationProperties;
 
+    @Autowired
+    private StatsQueryCache statsQueryCache;
+
     /**
      * Gets the stats.
      *
@@ -91,17 +94,14 @@ public class StatsIntegrationService {
 
         LOGGER.info("Inside getStats: switchId: " + switchId);
         try {
-            String payload = getOpenTsdbRequestBody(startDate, endDate, downsample, switchId, port, flowId, srcSwitch,
+            List<Query> queries = getQueries(startDate, endDate, downsample, switchId, port, flowId, srcSwitch,
                     srcPort, dstSwitch, dstPort, statsType, metric, direction);
+            String payload = getRequest(startDate, endDate, queries);
 
             LOGGER.info("Inside getStats: startDate: " + startDate + ": endDate: " + endDate + ": payload: " + payload);
 
-            HttpResponse response = restClientManager.invoke(
-                    applicationProperties.getOpenTsdbBaseUrl() + IConstants.OpenTsDbUrl.OPEN_TSDB_QUERY,
-                    HttpMethod.POST, payload, "application/json", "");
-            if (RestClientManager.isValidResponse(response)) {
-                return IoUtil.toString(response.getEntity().getContent());
-            }
+            return statsQueryCache.get(JsonUtil.toString(queries), startDate, endDate, downsample,
+                    () -> queryOpenTsdb(payload));
         } catch (InvalidResponseException e) {
             LOGGER.error("Error occurred while getting stats", e);
             throw new InvalidResponseException(e.getCode(), e.getResponse());
@@ -109,6 +109,15 @@ public class StatsIntegrationService {
             LOGGER.warn("Error occurred while getting stats", e);
             throw new IntegrationException(e);
         }
+    }
+
+    private String queryOpenTsdb(final String payload) throws IOException {
+        HttpResponse response = restClientManager.invoke(
+                applicationProperties.getOpenTsdbBaseUrl() + IConstants.OpenTsDbUrl.OPEN_TSDB_QUERY,
+                HttpMethod.POST, payload, "application/json", "");
+        if (RestClientManager.isValidResponse(response)) {
+            return IoUtil.toString(response.getEntity().getContent());
+        }
         return null;
     }
 
@@ -208,17 +217,6 @@ public class StatsIntegrationService {
         return date.replaceFirst("-", "/").replaceFirst("-", "/");
     }
 
-    private String getOpenTsdbRequestBody(final String startDate, final String endDate, final String downsample,
-            final List<String> switchIds, final String port, final String flowId, final String srcSwitch,
-            final String srcPort, final String dstSwitch, final String dstPort, final StatsType statsType,
-            final String metric, final String direction) throws JsonProcessingException {
-        LOGGER.info("Inside getOpenTsdbRequestBody :");
-
-        List<Query> queries = getQueries(startDate, endDate, downsample, switchIds, port, flowId, srcSwitch, srcPort,
-                dstSwitch, dstPort, statsType, metric, direction);
-        return getRequest(startDate, endDate, queries);
-    }
-
     private String getRequest(final String startDate, final String endDate, final List<Query> queryList)
             throws JsonProcessingException {
         IslStats islStatsRequest = new IslStats();
@@ -0,0 +1,236 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.service;
+
+import org.openkilda.integration.exception.IntegrationException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The Class StatsQueryCache.
+ *
+ * <p>Caches OpenTSDB responses by the normalized query and the start/end time bucket. The bucket size and the TTL are
+ * the downsample interval (clamped to the configured bounds), so page reloads within one downsample interval don't go
+ * to OpenTSDB again. Identical queries that are in flight at the same time are sent only once.
+ */
+@Component
+public class StatsQueryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatsQueryCache.class);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm:ss");
+
+    private static final Pattern DOWNSAMPLE_PATTERN = Pattern.compile("^0*(\\d+)(ms|s|m|h|d)");
+
+    @Value("${opentsdb.query.cache.ttl.min.seconds:10}")
+    private long minTtlSeconds;
+
+    @Value("${opentsdb.query.cache.ttl.max.seconds:300}")
+    private long maxTtlSeconds;
+
+    @Value("${opentsdb.query.cache.max.entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, CachedResult> cache = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached result of the query or loads it. Concurrent calls with the same key wait for the single
+     * load.
+     *
+     * @param query the normalized query
+     * @param startDate the start date
+     * @param endDate the end date
+     * @param downsample the downsample
+     * @param loader the loader which sends the query
+     * @return the query result
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public String get(final String query, final String startDate, final String endDate, final String downsample,
+            final Loader loader) throws IOException {
+        long ttlMillis = getTtlMillis(downsample);
+        String key = query + "|" + toBucket(startDate, ttlMillis) + "|" + toBucket(endDate, ttlMillis);
+
+        String result = lookup(key);
+        if (result != null) {
+            LOGGER.debug("Stats query cache hit: " + key);
+            return result;
+        }
+
+        CompletableFuture<String> request = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, request);
+        if (existing != null) {
+            LOGGER.debug("Waiting for in flight stats query: " + key);
+            return await(existing);
+        }
+
+        try {
+            // the same query could be completed between the cache lookup and the registration above
+            result = lookup(key);
+            if (result == null) {
+                result = loader.load();
+                if (result != null) {
+                    store(key, result, ttlMillis);
+                }
+            }
+            request.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, request);
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private String lookup(final String key) {
+        synchronized (cache) {
+            CachedResult cached = cache.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expireAt < System.currentTimeMillis()) {
+                cache.remove(key);
+                return null;
+            }
+            return cached.value;
+        }
+    }
+
+    private void store(final String key, final String value, final long ttlMillis) {
+        synchronized (cache) {
+            cache.put(key, new CachedResult(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    private String await(final CompletableFuture<String> request) throws IOException {
+        try {
+            return request.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IntegrationException(cause);
+        }
+    }
+
+    /**
+     * Gets the TTL in milliseconds, i.e. the downsample interval limited by the configured bounds.
+     *
+     * @param downsample the downsample, e.g. 30s or 5m
+     * @return the TTL in milliseconds
+     */
+    long getTtlMillis(final String downsample) {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(minTtlSeconds);
+        if (downsample != null) {
+            Matcher matcher = DOWNSAMPLE_PATTERN.matcher(downsample.trim());
+            if (matcher.find()) {
+                long interval = Long.parseLong(matcher.group(1));
+                ttlMillis = toTimeUnit(matcher.group(2)).toMillis(interval);
+            }
+        }
+        return Math.min(Math.max(ttlMillis, TimeUnit.SECONDS.toMillis(minTtlSeconds)),
+                TimeUnit.SECONDS.toMillis(maxTtlSeconds));
+    }
+
+    private static TimeUnit toTimeUnit(final String unit) {
+        switch (unit) {
+            case "ms":
+                return TimeUnit.MILLISECONDS;
+            case "s":
+                return TimeUnit.SECONDS;
+            case "m":
+                return TimeUnit.MINUTES;
+            case "h":
+                return TimeUnit.HOURS;
+            default:
+                return TimeUnit.DAYS;
+        }
+    }
+
+    /**
+     * Floors the date to the bucket size. Dates that are not in the absolute GUI format (e.g. relative dates) are used
+     * as is.
+     */
+    private static String toBucket(final String date, final long bucketMillis) {
+        if (date == null) {
+            return "";
+        }
+        try {
+            long millis = LocalDateTime.parse(date, DATE_FORMAT).toInstant(ZoneOffset.UTC).toEpochMilli();
+            return String.valueOf(millis / bucketMillis);
+        } catch (DateTimeParseException e) {
+            return date;
+        }
+    }
+
+    /**
+     * Sends the query when it's not found in the cache.
+     */
+    public interface Loader {
+        String load() throws IOException;
+    }
+
+    private static final class CachedResult {
+        private final String value;
+        private final long expireAt;
+
+        private CachedResult(final String value, final long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.openkilda.constants.IConstants.StorageType;
 import org.openkilda.dao.entity.SwitchNameEntity;
 import org.openkilda.dao.repository.SwitchNameRepository;
 import org.openkilda.helper.RestClientManager;
+import org.openkilda.integration.cache.InventoryCache;
 import org.openkilda.integration.converter.FlowConverter;
 import org.openkilda.integration.converter.IslLinkConverter;
 import org.openkilda.integration.exception.ContentNotFoundException;
@@ -60,7 +61,9 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -101,17 +104,23 @@ public class SwitchIntegrationService {
     @Autowired
     private SwitchNameRepository switchNameRepository;
 
+    @Autowired
+    private InventoryCache inventoryCache;
+
+    private long switchNameFileLastModified;
+
+    private Map<String, String> switchNameFileContent;
+
     /**
      * Gets the switches.
      *
      * @return the switches
      */
     public List<SwitchInfo> getSwitches() {
-        HttpResponse response = restClientManager.invoke(
-                applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_SWITCHES, HttpMethod.GET, "", "",
-                applicationService.getAuthHeader());
-        if (RestClientManager.isValidResponse(response)) {
-            List<SwitchInfo> switchesResponse = restClientManager.getResponseList(response, SwitchInfo.class);
+        String url = applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_SWITCHES;
+        String content = inventoryCache.getSwitches().get(url, () -> getContent(url));
+        if (content != null) {
+            List<SwitchInfo> switchesResponse = restClientManager.getResponseList(content, SwitchInfo.class);
             return getSwitchInfoSetName(switchesResponse);
         }
         return null;
@@ -163,18 +172,29 @@ public class SwitchIntegrationService {
      * @return the switch names
      */
     public Map<String, String> getSwitchNames() {
-        Map<String, String> csNames = new HashMap<String, String>();
         if (IConstants.STORAGE_TYPE_FOR_SWITCH_NAME == null) {
             String value = applicationSettingService.getApplicationSetting(ApplicationSetting.SWITCH_NAME_STORAGE_TYPE);
             IConstants.STORAGE_TYPE_FOR_SWITCH_NAME = StorageType.get(value);
         }
 
-        if (IConstants.STORAGE_TYPE_FOR_SWITCH_NAME == StorageType.FILE_STORAGE) {
-            csNames = getCustomSwitchNameFromFile();
-        } else if (IConstants.STORAGE_TYPE_FOR_SWITCH_NAME == StorageType.DATABASE_STORAGE) {
-            csNames = getCustomSwitchNameFromDatabase();
+        StorageType storageType = IConstants.STORAGE_TYPE_FOR_SWITCH_NAME;
+        if (storageType != StorageType.FILE_STORAGE && storageType != StorageType.DATABASE_STORAGE) {
+            return new HashMap<String, String>();
         }
-        return csNames;
+        Map<String, String> csNames = inventoryCache.getSwitchNames().get(storageType, () -> {
+            if (storageType == StorageType.FILE_STORAGE) {
+                return getCustomSwitchNameFromFile();
+            }
+            return getCustomSwitchNameFromDatabase();
+        });
+        return new HashMap<String, String>(csNames);
+    }
+
+    /**
+     * Invalidates the cached switch names, must be called on the switch name change.
+     */
+    public void invalidateSwitchNames() {
+        inventoryCache.getSwitchNames().invalidateAll();
     }
     
     /**
@@ -225,13 +245,8 @@ public class SwitchIntegrationService {
                 .fromHttpUrl(applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_LINKS);
         builder = setLinkProps(keys, builder);
         String fullUri = builder.build().toUriString();
-        HttpResponse response = restClientManager.invoke(fullUri, HttpMethod.GET, "", "",
-                applicationService.getAuthHeader());
-        if (RestClientManager.isValidResponse(response)) {
-            List<IslLink> links = restClientManager.getResponseList(response, IslLink.class);
-            return links;
-        }
-        return null;
+        String content = inventoryCache.getLinks().get(fullUri, () -> getContent(fullUri));
+        return restClientManager.getResponseList(content, IslLink.class);
     }
 
     private Map<String, String> islCostMap(final LinkProps keys) {
@@ -261,14 +276,11 @@ public class SwitchIntegrationService {
                 .fromHttpUrl(applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_LINK_PROPS);
         builder = setLinkProps(keys, builder);
         String fullUri = builder.build().toUriString();
-        HttpResponse response = restClientManager.invoke(fullUri, HttpMethod.GET, "", "",
-                applicationService.getAuthHeader());
         try {
-            if (RestClientManager.isValidResponse(response)) {
-                List<LinkProps> linkPropsResponses = restClientManager.getResponseList(response, LinkProps.class);
-                if (!CollectionUtil.isEmpty(linkPropsResponses)) {
-                    return linkPropsResponses;
-                }
+            String content = inventoryCache.getLinks().get(fullUri, () -> getContent(fullUri));
+            List<LinkProps> linkPropsResponses = restClientManager.getResponseList(content, LinkProps.class);
+            if (!CollectionUtil.isEmpty(linkPropsResponses)) {
+                return linkPropsResponses;
             }
         } catch (InvalidResponseException e) {
             LOGGER.warn("Error occurred while getting isl link props ", e);
@@ -283,13 +295,23 @@ public class SwitchIntegrationService {
      * @return
      */
     @SuppressWarnings("unchecked")
-    public Map<String, String> getCustomSwitchNameFromFile() {
+    public synchronized Map<String, String> getCustomSwitchNameFromFile() {
         Map<String, String> csNames = new HashMap<String, String>();
 
         InputStream inputStream = null;
         String data = null;
         try {
-            inputStream = new URL(applicationProperties.getSwitchDataFilePath()).openStream();
+            URLConnection connection = new URL(applicationProperties.getSwitchDataFilePath()).openConnection();
+            if (switchNameFileContent != null) {
+                connection.setIfModifiedSince(switchNameFileLastModified);
+            }
+            inputStream = connection.getInputStream();
+            long lastModified = connection.getLastModified();
+            if (switchNameFileContent != null && (isNotModified(connection)
+                    || (lastModified != 0 && lastModified == switchNameFileLastModified))) {
+                inputStream.close();
+                return new HashMap<String, String>(switchNameFileContent);
+            }
             if (inputStream != null) {
                 data = IoUtil.toString(inputStream);
 
@@ -297,6 +319,8 @@ public class SwitchIntegrationService {
                     csNames = JsonUtil.toObject(data, HashMap.class);
                 }
             }
+            switchNameFileLastModified = lastModified;
+            switchNameFileContent = lastModified != 0 ? new HashMap<String, String>(csNames) : null;
         } catch (IOException e) {
             LOGGER.warn("Error occurred while getting switch name from file", e);
         }
@@ -304,6 +328,11 @@ public class SwitchIntegrationService {
 
     }
 
+    private boolean isNotModified(final URLConnection connection) throws IOException {
+        return connection instanceof HttpURLConnection
+                && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED;
+    }
+
     /**
      * Gets the custom switch name from database.
      *
@@ -334,6 +363,8 @@ public class SwitchIntegrationService {
         } catch (IOException e) {
             LOGGER.warn("Error occurred while updating isl link props", e);
             throw new IntegrationException(e);
+        } finally {
+            inventoryCache.getLinks().invalidateAll();
         }
     }
 
@@ -417,6 +448,8 @@ public class SwitchIntegrationService {
         } catch (JsonProcessingException e) {
             LOGGER.error("Error occurred while converting configration to string. Switch Id:" + switchId, e);
             throw new IntegrationException(e);
+        } finally {
+            inventoryCache.getLinks().invalidateAll();
         }
         return null;
     }
@@ -512,6 +545,8 @@ public class SwitchIntegrationService {
         } catch (JsonProcessingException e) {
             LOGGER.warn("Error occurred while updating switch:" + switchId, e);
             throw new IntegrationException(e.getMessage(), e);
+        } finally {
+            inventoryCache.getSwitches().invalidateAll();
         }
         return null;
     }
@@ -546,7 +581,9 @@ public class SwitchIntegrationService {
             }
         } catch (JsonProcessingException e) {
             LOGGER.error("Error occurred while updating link", e);
-        }   
+        } finally {
+            inventoryCache.getLinks().invalidateAll();
+        }
         return null;
     }    
         
@@ -569,6 +606,8 @@ public class SwitchIntegrationService {
         } catch (JsonProcessingException e) {
             LOGGER.error("Error occurred while deleting link", e);
             throw new IntegrationException(e);
+        } finally {
+            inventoryCache.getLinks().invalidateAll();
         }
         return null;
     }
@@ -596,6 +635,8 @@ public class SwitchIntegrationService {
         } catch (JsonProcessingException e) {
             LOGGER.error("Error occurred while updating link bandwidth", e);
             throw new IntegrationException(e);
+        } finally {
+            inventoryCache.getLinks().invalidateAll();
         }
         return null;
     }
@@ -641,4 +682,13 @@ public class SwitchIntegrationService {
         }
         return null;
     }
+
+    private String getContent(final String url) {
+        HttpResponse response = restClientManager.invoke(url, HttpMethod.GET, "", "",
+                applicationService.getAuthHeader());
+        if (RestClientManager.isValidResponse(response)) {
+            return restClientManager.getResponseContent(response);
+        }
+        return null;
+    }
 }
@@ -18,10 +18,12 @@ package org.openkilda.service;
 import org.openkilda.constants.IConstants.Metrics;
 import org.openkilda.constants.IConstants.Status;
 import org.openkilda.constants.OpenTsDb.StatsType;
+import org.openkilda.integration.converter.OpenTsDbSeriesParser;
 import org.openkilda.integration.converter.PortConverter;
 import org.openkilda.integration.exception.IntegrationException;
 import org.openkilda.integration.model.response.IslLink;
 import org.openkilda.integration.model.response.IslPath;
+import org.openkilda.integration.model.response.OpenTsDbSeries;
 import org.openkilda.integration.service.StatsIntegrationService;
 import org.openkilda.integration.service.SwitchIntegrationService;
 import org.openkilda.integration.source.store.SwitchStoreService;
@@ -29,14 +31,11 @@ import org.openkilda.integration.source.store.dto.Port;
 import org.openkilda.model.FlowPathStats;
 import org.openkilda.model.PortDiscrepancy;
 import org.openkilda.model.PortInfo;
-import org.openkilda.model.SwitchPortStats;
 import org.openkilda.store.service.StoreService;
 import org.openkilda.utility.ApplicationProperties;
 import org.openkilda.utility.CollectionUtil;
 import org.openkilda.utility.IoUtil;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,8 +48,10 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The Class StatsService.
@@ -78,6 +79,9 @@ public class StatsService {
     @Autowired
     private PortConverter portConverter;
 
+    @Autowired
+    private OpenTsDbSeriesParser openTsDbSeriesParser;
+
     @Autowired
     private ApplicationProperties applicationProperties;
 
@@ -239,13 +243,11 @@ public class StatsService {
      */
     public List<PortInfo> getSwitchPortsStats(String startDate, String endDate, String downSample, String switchId) {
         List<String> switchIds = Arrays.asList(switchId);
-        List<SwitchPortStats> switchPortStats = new ArrayList<SwitchPortStats>();
+        List<OpenTsDbSeries> switchPortStats = new ArrayList<OpenTsDbSeries>();
         try {
             String result = statsIntegrationService.getStats(startDate, endDate, downSample, switchIds, null, null,
                     null, null, null, null, StatsType.SWITCH_PORT, null, null);
-            ObjectMapper mapper = new ObjectMapper();
-            switchPortStats = mapper.readValue(result,
-                    TypeFactory.defaultInstance().constructCollectionLikeType(List.class, SwitchPortStats.class));
+            switchPortStats = openTsDbSeriesParser.parse(result);
         } catch (Exception e) {
             LOGGER.error("Error occurred while retriving switch port stats", e);
         }
@@ -292,17 +294,16 @@ public class StatsService {
 
     private void processInventoryPorts(final List<PortInfo> portStats, final List<Port> inventoryPorts) {
         if (!CollectionUtil.isEmpty(inventoryPorts)) {
+            Map<Integer, PortInfo> portStatsByPortNo = new HashMap<Integer, PortInfo>();
+            for (PortInfo portInfo : portStats) {
+                portStatsByPortNo.putIfAbsent(Integer.parseInt(portInfo.getPortNumber()), portInfo);
+            }
+            Set<Integer> inventoryPortNumbers = new HashSet<Integer>();
             List<PortInfo> discrepancyPorts = new ArrayList<PortInfo>();
             for (Port port : inventoryPorts) {
-                int index = -1;
-                for (PortInfo portInfo : portStats) {
-                    if (port.getPortNumber() == Integer.parseInt(portInfo.getPortNumber())) {
-                        index = portStats.indexOf(portInfo);
-                        break;
-                    }
-                }
-                if (index >= 0) {
-                    PortInfo portInfo = portStats.get(index);
+                inventoryPortNumbers.add(port.getPortNumber());
+                PortInfo portInfo = portStatsByPortNo.get(port.getPortNumber());
+                if (portInfo != null) {
                     portConverter.appendInventoryInfo(portInfo, port);
                     PortDiscrepancy portDiscrepancy = new PortDiscrepancy();
                     portDiscrepancy.setControllerDiscrepancy(false);
@@ -320,14 +321,7 @@ public class StatsService {
             }
 
             for (PortInfo portInfo : portStats) {
-                boolean flag = false;
-                for (Port port : inventoryPorts) {
-                    if (port.getPortNumber() == Integer.parseInt(portInfo.getPortNumber())) {
-                        flag = true;
-                        break;
-                    }
-                }
-                if (!flag) {
+                if (!inventoryPortNumbers.contains(Integer.parseInt(portInfo.getPortNumber()))) {
                     PortDiscrepancy discrepancy = new PortDiscrepancy();
                     discrepancy.setInventoryDiscrepancy(true);
                     discrepancy.setControllerDiscrepancy(false);
@@ -349,18 +343,18 @@ public class StatsService {
      *            the list
      * @return the ports stat
      */
-    private List<PortInfo> getSwitchPortStatsReport(List<SwitchPortStats> switchPortStats, String switchId) {
+    private List<PortInfo> getSwitchPortStatsReport(List<OpenTsDbSeries> switchPortStats, String switchId) {
         Map<String, Map<String, Double>> portStatsByPortNo = new HashMap<String, Map<String, Double>>();
-        for (SwitchPortStats stats : switchPortStats) {
-            String port = stats.getTags().getPort();
+        String metricPrefix = applicationProperties.getOpenTsdbMetricPrefix() + "switch.";
+        for (OpenTsDbSeries stats : switchPortStats) {
+            String port = stats.getTag("port");
 
             if (Integer.parseInt(port) > 0) {
                 if (!portStatsByPortNo.containsKey(port)) {
                     portStatsByPortNo.put(port, new HashMap<String, Double>());
                 }
-                portStatsByPortNo.get(port).put(
-                        stats.getMetric().replace(applicationProperties.getOpenTsdbMetricPrefix() + "switch.", ""),
-                        calculateHighestValue(stats.getDps()));
+                portStatsByPortNo.get(port).put(stats.getMetric().replace(metricPrefix, ""),
+                        calculateHighestValue(stats));
             }
         }
 
@@ -370,22 +364,15 @@ public class StatsService {
     /**
      * Calculate highest value.
      *
-     * @param dps
-     *            the dps
-     * @return the double
+     * @param stats
+     *            the series
+     * @return the value of the latest data point
      */
-    private double calculateHighestValue(Map<String, Double> dps) {
+    private double calculateHighestValue(OpenTsDbSeries stats) {
         double maxVal = 0.0;
-        if (!dps.isEmpty()) {
-            long maxTimestamp = 0;
-            for (String key : dps.keySet()) {
-                long val = Long.parseLong(key);
-                if (maxTimestamp < val) {
-                    maxTimestamp = val;
-                }
-            }
-            maxVal = BigDecimal.valueOf(dps.get(String.valueOf(maxTimestamp))).setScale(2, RoundingMode.HALF_UP)
-                    .doubleValue();
+        double latest = stats.getLatestValue();
+        if (!Double.isNaN(latest) && !Double.isInfinite(latest)) {
+            maxVal = BigDecimal.valueOf(latest).setScale(2, RoundingMode.HALF_UP).doubleValue();
         }
         return maxVal;
     }
@@ -405,14 +392,17 @@ public class StatsService {
         List<IslLink> islLinkPorts = switchIntegrationService.getIslLinkPortsInfo(null);
         String switchIdInfo = null;
         if (islLinkPorts != null) {
+            Map<String, PortInfo> portInfoByPortNo = new HashMap<String, PortInfo>();
+            for (PortInfo portInfo : portInfos) {
+                portInfoByPortNo.put(portInfo.getPortNumber(), portInfo);
+            }
             for (IslLink islLink : islLinkPorts) {
                 for (IslPath islPath : islLink.getPath()) {
                     switchIdInfo = ("SW" + islPath.getSwitchId().replaceAll(":", "")).toUpperCase();
                     if (switchIdInfo.equals(switchid)) {
-                        for (int i = 0; i < portInfos.size(); i++) {
-                            if (portInfos.get(i).getPortNumber().equals(islPath.getPortNo().toString())) {
-                                portInfos.get(i).setAssignmenttype("ISL");
-                            }
+                        PortInfo portInfo = portInfoByPortNo.get(islPath.getPortNo().toString());
+                        if (portInfo != null) {
+                            portInfo.setAssignmenttype("ISL");
                         }
                     }
                 }
@@ -467,6 +467,7 @@ public class SwitchService {
         switchNameEntity.setSwitchName(switchName);
         switchNameEntity.setUpdatedDate(new Date());
         switchNameRepository.save(switchNameEntity);
+        switchIntegrationService.invalidateSwitchNames();
         SwitchInfo switchInfo = new SwitchInfo();
         switchInfo.setSwitchId(switchId);
         switchInfo.setName(switchName);
@@ -0,0 +1,115 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class RefreshAheadCacheTest {
+
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final Executor executor = refreshTasks::add;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<String> loader = () -> "value-" + loads.incrementAndGet();
+
+    @Test
+    public void valueIsCachedForTtl() {
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>("test", 60000, 60000, executor);
+
+        assertEquals("value-1", cache.get("key", loader));
+        assertEquals("value-1", cache.get("key", loader));
+        assertEquals("value-2", cache.get("other", loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void valueIsRefreshedInBackground() {
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>("test", 60000, 0, executor);
+
+        assertEquals("value-1", cache.get("key", loader));
+        // stale value is returned while a single refresh is scheduled
+        assertEquals("value-1", cache.get("key", loader));
+        assertEquals("value-1", cache.get("key", loader));
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.remove(0).run();
+        assertEquals("value-2", cache.get("key", loader));
+    }
+
+    @Test
+    public void refreshIsScheduledAgainAfterNullRefresh() {
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>("test", 60000, 0, executor);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> nullOnRefresh = () -> calls.incrementAndGet() == 2 ? null : loader.get();
+
+        assertEquals("value-1", cache.get("key", nullOnRefresh));
+        cache.get("key", nullOnRefresh);
+        refreshTasks.remove(0).run();
+
+        // the refresh has returned null, so the old value is kept and the next request refreshes it again
+        assertEquals("value-1", cache.get("key", nullOnRefresh));
+        assertEquals(1, refreshTasks.size());
+        refreshTasks.remove(0).run();
+        assertEquals("value-2", cache.get("key", nullOnRefresh));
+    }
+
+    @Test
+    public void invalidatedValueIsLoadedAgain() {
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>("test", 60000, 60000, executor);
+
+        cache.get("key", loader);
+        cache.invalidate("key");
+
+        assertEquals("value-2", cache.get("key", loader));
+    }
+
+    @Test
+    public void valueLoadedDuringInvalidationIsNotCached() {
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>("test", 60000, 60000, executor);
+
+        assertEquals("outdated", cache.get("key", () -> {
+            cache.invalidateAll();
+            return "outdated";
+        }));
+
+        assertEquals("value-1", cache.get("key", loader));
+    }
+
+    @Test
+    public void nullIsNotCached() {
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>("test", 60000, 60000, executor);
+
+        assertNull(cache.get("key", () -> null));
+        assertEquals("value-1", cache.get("key", loader));
+    }
+
+    @Test
+    public void zeroTtlDisablesCache() {
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>("test", 0, 0, executor);
+
+        assertEquals("value-1", cache.get("key", loader));
+        assertEquals("value-2", cache.get("key", loader));
+    }
+}
@@ -0,0 +1,61 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.converter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.integration.model.response.OpenTsDbSeries;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class OpenTsDbSeriesParserTest {
+
+    private final OpenTsDbSeriesParser parser = new OpenTsDbSeriesParser();
+
+    @Test
+    public void parseSeries() throws Exception {
+        String json = "[{\"metric\":\"kilda.switch.rx-bytes\",\"tags\":{\"port\":\"1\",\"switchid\":\"00:01\"},"
+                + "\"aggregateTags\":[],\"dps\":{\"1500000020\":3.5,\"1500000000\":1,\"1500000010\":\"NaN\"}},"
+                + "{\"metric\":\"kilda.switch.state\",\"tags\":{\"port\":\"2\"},\"dps\":{}}]";
+
+        List<OpenTsDbSeries> series = parser.parse(json);
+
+        assertEquals(2, series.size());
+        OpenTsDbSeries first = series.get(0);
+        assertEquals("kilda.switch.rx-bytes", first.getMetric());
+        assertEquals("1", first.getTag("port"));
+        assertEquals("00:01", first.getTag("switchid"));
+        assertArrayEquals(new long[]{1500000000, 1500000010, 1500000020}, first.getTimestamps());
+        assertEquals(1, first.getValues()[0], 0);
+        assertTrue(Double.isNaN(first.getValues()[1]));
+        assertEquals(3.5, first.getLatestValue(), 0);
+
+        OpenTsDbSeries second = series.get(1);
+        assertEquals(0, second.size());
+        assertTrue(Double.isNaN(second.getLatestValue()));
+    }
+
+    @Test
+    public void parseEmptyResponse() throws Exception {
+        assertTrue(parser.parse("[]").isEmpty());
+        assertTrue(parser.parse(null).isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.integration.service;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StatsQueryCacheTest {
+
+    private StatsQueryCache cache;
+
+    @Before
+    public void init() {
+        cache = new StatsQueryCache();
+        ReflectionTestUtils.setField(cache, "minTtlSeconds", 10L);
+        ReflectionTestUtils.setField(cache, "maxTtlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    public void ttlFollowsDownsample() {
+        assertEquals(TimeUnit.SECONDS.toMillis(30), cache.getTtlMillis("30s"));
+        assertEquals(TimeUnit.MINUTES.toMillis(5), cache.getTtlMillis("05m"));
+        assertEquals(TimeUnit.SECONDS.toMillis(10), cache.getTtlMillis("1s"));
+        assertEquals(TimeUnit.SECONDS.toMillis(300), cache.getTtlMillis("1h"));
+        assertEquals(TimeUnit.SECONDS.toMillis(10), cache.getTtlMillis(""));
+    }
+
+    @Test
+    public void sameTimeBucketIsServedFromCache() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        StatsQueryCache.Loader loader = () -> "result-" + calls.incrementAndGet();
+
+        assertEquals("result-1", cache.get("q", "2019-01-01-10:00:00", "2019-01-01-10:05:01", "5m", loader));
+        assertEquals("result-1", cache.get("q", "2019-01-01-10:00:00", "2019-01-01-10:09:59", "5m", loader));
+        assertEquals("result-2", cache.get("q", "2019-01-01-10:00:00", "2019-01-01-10:10:00", "5m", loader));
+        assertEquals("result-3", cache.get("other", "2019-01-01-10:00:00", "2019-01-01-10:10:00", "5m", loader));
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        StatsQueryCache.Loader loader = () -> "result-" + calls.incrementAndGet();
+
+        cache.get("a", "1h-ago", null, "1m", loader);
+        cache.get("b", "1h-ago", null, "1m", loader);
+        cache.get("a", "1h-ago", null, "1m", loader);
+        cache.get("c", "1h-ago", null, "1m", loader);
+
+        assertEquals("result-1", cache.get("a", "1h-ago", null, "1m", loader));
+        assertEquals("result-4", cache.get("b", "1h-ago", null, "1m", loader));
+    }
+
+    @Test
+    public void concurrentQueriesAreCoalesced() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        StatsQueryCache.Loader loader = () -> {
+            calls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "result";
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("q", "1h-ago", null, "1m", loader));
+            while (calls.get() == 0) {
+                Thread.yield();
+            }
+            Future<String> second = executor.submit(() -> cache.get("q", "1h-ago", null, "1m", loader));
+            Future<String> third = executor.submit(() -> cache.get("q", "1h-ago", null, "1m", loader));
+            release.countDown();
+
+            assertEquals("result", first.get());
+            assertEquals("result", second.get());
+            assertEquals("result", third.get());
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -15,41 +15,21 @@
 
 package org.openkilda.wfm.kafka;
 
-import static java.lang.String.format;
-
 import org.openkilda.messaging.AbstractMessage;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.wfm.topology.utils.SerializationUtils;
 
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.kafka.common.errors.SerializationException;
-import org.apache.storm.kafka.spout.SerializableDeserializer;
-
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.util.Map;
-
-@Slf4j
-public class AbstractMessageDeserializer implements SerializableDeserializer<AbstractMessage> {
 
-    @Override
-    public void configure(Map<String, ?> configs, boolean isKey) {
-        // nothing to do
-    }
+public class AbstractMessageDeserializer extends Deserializer<AbstractMessage> {
 
     @Override
-    public AbstractMessage deserialize(String topic, byte[] data) {
-        try {
-            return SerializationUtils.MAPPER.readValue(data, AbstractMessage.class);
-        } catch (IOException e) {
-            log.error(format("Failed to deserialize message: %s from topic %s",
-                    StringUtils.toEncodedString(data, Charset.defaultCharset()), topic), e);
-            throw new SerializationException(e);
-        }
+    protected AbstractMessage jsonDecode(byte[] data) throws IOException {
+        return SerializationUtils.MAPPER.readValue(data, AbstractMessage.class);
     }
 
     @Override
-    public void close() {
-        // nothing to do
+    protected AbstractMessage binaryDecode(byte[] data) throws IOException {
+        return SerializationUtils.CODEC.decode(data, MessageFormat.BINARY, AbstractMessage.class);
     }
 }
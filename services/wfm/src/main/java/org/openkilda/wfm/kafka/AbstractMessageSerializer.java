@@ -15,41 +15,7 @@
 
 package org.openkilda.wfm.kafka;
 
-import static java.lang.String.format;
-
 import org.openkilda.messaging.AbstractMessage;
-import org.openkilda.wfm.topology.utils.SerializationUtils;
-
-import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.common.errors.SerializationException;
-import org.apache.kafka.common.serialization.Serializer;
-
-import java.io.IOException;
-import java.util.Map;
-
-@Slf4j
-public class AbstractMessageSerializer implements Serializer<AbstractMessage> {
-    @Override
-    public void configure(Map<String, ?> configs, boolean isKey) {
-        // nothing to do
-    }
-
-    @Override
-    public byte[] serialize(String topic, AbstractMessage message) {
-        try {
-            byte[] result = null;
-            if (message != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(message);
-            }
-            return result;
-        } catch (IOException e) {
-            log.error(format("Failed to serialize message: %s, for topic: %s", message, topic), e);
-            throw new SerializationException(e.getMessage());
-        }
-    }
 
-    @Override
-    public void close() {
-        // nothing to do
-    }
+public class AbstractMessageSerializer extends Serializer<AbstractMessage> {
 }
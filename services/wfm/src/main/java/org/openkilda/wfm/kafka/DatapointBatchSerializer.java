@@ -0,0 +1,54 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import org.openkilda.messaging.codec.MessageFormat;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.ExtendedSerializer;
+
+import java.util.Map;
+
+/**
+ * Writes {@link DatapointCodec} encoded batches as is and marks them as {@link MessageFormat#DATAPOINT_BATCH} records
+ * by the {@link MessageFormat#HEADER} header.
+ */
+public class DatapointBatchSerializer implements ExtendedSerializer<byte[]> {
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        // No-op
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, byte[] data) {
+        if (data != null) {
+            headers.add(MessageFormat.HEADER, MessageFormat.DATAPOINT_BATCH.getHeaderValue());
+        }
+        return data;
+    }
+
+    @Override
+    public byte[] serialize(String topic, byte[] data) {
+        // no headers, so the format can't be signaled
+        return data;
+    }
+
+    @Override
+    public void close() {
+        // No-op
+    }
+}
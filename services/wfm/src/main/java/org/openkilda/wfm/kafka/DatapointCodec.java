@@ -0,0 +1,235 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a batch of {@link Datapoint}s.
+ * <p/>
+ * Record layout (all integers are varints, signed ones are zigzag encoded):
+ * <pre>
+ * MAGIC VERSION
+ * dictionary size, dictionary strings (length + UTF-8 bytes)
+ * datapoints count, datapoints:
+ *     metric index, time delta to the previous datapoint (signed), tags count, (key index, value index) pairs,
+ *     value type, value (signed varint for integral values, 8 bytes of IEEE 754 bits for the others)
+ * </pre>
+ * The metric names, tag keys and tag values are written once per record into the dictionary and referenced
+ * by index. The records are sent with the {@link org.openkilda.messaging.codec.MessageFormat#DATAPOINT_BATCH} header.
+ */
+@Slf4j
+public final class DatapointCodec {
+    static final byte MAGIC = 0;
+    static final byte VERSION = 2;
+
+    private static final byte VALUE_INTEGRAL = 0;
+    private static final byte VALUE_FLOATING = 1;
+
+    private DatapointCodec() {}
+
+    /**
+     * Encodes the datapoints into a single record. The datapoints without a metric or a value, or with a null tag,
+     * can't be represented in the record, so they are skipped.
+     */
+    public static byte[] encode(Collection<Datapoint> datapoints) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(datapoints.size() * 16);
+
+        int count = 0;
+        long previousTime = 0;
+        for (Datapoint datapoint : datapoints) {
+            if (!isEncodable(datapoint)) {
+                log.warn("Skip datapoint {} with a missing metric, value or tag", datapoint);
+                continue;
+            }
+            count++;
+
+            writeVarLong(body, intern(datapoint.getMetric(), dictionary, strings));
+
+            long time = datapoint.getTime() != null ? datapoint.getTime() : 0;
+            writeVarLong(body, zigzag(time - previousTime));
+            previousTime = time;
+
+            Map<String, String> tags = datapoint.getTags();
+            writeVarLong(body, tags != null ? tags.size() : 0);
+            if (tags != null) {
+                for (Map.Entry<String, String> tag : tags.entrySet()) {
+                    writeVarLong(body, intern(tag.getKey(), dictionary, strings));
+                    writeVarLong(body, intern(tag.getValue(), dictionary, strings));
+                }
+            }
+
+            Number value = datapoint.getValue();
+            if (value instanceof Double || value instanceof Float) {
+                body.write(VALUE_FLOATING);
+                writeFixedLong(body, Double.doubleToLongBits(value.doubleValue()));
+            } else {
+                body.write(VALUE_INTEGRAL);
+                writeVarLong(body, zigzag(value.longValue()));
+            }
+        }
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(body.size() + strings.size() * 16 + 8);
+        record.write(MAGIC);
+        record.write(VERSION);
+        writeVarLong(record, strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(record, bytes.length);
+            record.write(bytes, 0, bytes.length);
+        }
+        writeVarLong(record, count);
+        record.write(body.toByteArray(), 0, body.size());
+        return record.toByteArray();
+    }
+
+    /**
+     * Decodes the record encoded by {@link #encode}.
+     */
+    public static List<Datapoint> decode(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            if (buffer.get() != MAGIC) {
+                throw new IOException("Not a binary datapoint record");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException(format("Unsupported binary datapoint record version %d", version));
+            }
+
+            // each dictionary string, datapoint and tag takes at least one byte, so the sizes are checked against
+            // the rest of the record before allocating
+            String[] strings = new String[readCount(buffer)];
+            for (int i = 0; i < strings.length; i++) {
+                int length = readVarInt(buffer);
+                strings[i] = new String(data, buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            }
+
+            int count = readCount(buffer);
+            List<Datapoint> datapoints = new ArrayList<>(count);
+            long time = 0;
+            for (int i = 0; i < count; i++) {
+                String metric = strings[readVarInt(buffer)];
+                time += unzigzag(readVarLong(buffer));
+
+                int tagsCount = readCount(buffer);
+                Map<String, String> tags = new HashMap<>(tagsCount * 2);
+                for (int j = 0; j < tagsCount; j++) {
+                    tags.put(strings[readVarInt(buffer)], strings[readVarInt(buffer)]);
+                }
+
+                Number value;
+                byte valueType = buffer.get();
+                if (valueType == VALUE_FLOATING) {
+                    value = Double.longBitsToDouble(buffer.getLong());
+                } else if (valueType == VALUE_INTEGRAL) {
+                    value = unzigzag(readVarLong(buffer));
+                } else {
+                    throw new IOException(format("Unknown datapoint value type %d", valueType));
+                }
+
+                datapoints.add(new Datapoint(metric, time, tags, value));
+            }
+            return datapoints;
+        } catch (RuntimeException e) {
+            // Buffer underflow, illegal position or dictionary index: the record is corrupted.
+            throw new IOException("Malformed binary datapoint record", e);
+        }
+    }
+
+    private static boolean isEncodable(Datapoint datapoint) {
+        if (datapoint == null || datapoint.getMetric() == null || datapoint.getValue() == null) {
+            return false;
+        }
+        Map<String, String> tags = datapoint.getTags();
+        return tags == null || tags.entrySet().stream()
+                .allMatch(tag -> tag.getKey() != null && tag.getValue() != null);
+    }
+
+    private static int intern(String value, Map<String, Integer> dictionary, List<String> strings) {
+        return dictionary.computeIfAbsent(value, key -> {
+            strings.add(key);
+            return strings.size() - 1;
+        });
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeFixedLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static long readVarLong(ByteBuffer buffer) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in binary datapoint record");
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        long value = readVarLong(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException(format("Invalid length or index %d in binary datapoint record", value));
+        }
+        return (int) value;
+    }
+
+    private static int readCount(ByteBuffer buffer) throws IOException {
+        int count = readVarInt(buffer);
+        if (count > buffer.remaining()) {
+            throw new IOException(format("Count %d exceeds the binary datapoint record", count));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,53 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads {@link DatapointCodec} batch records, signaled by the {@link MessageFormat#DATAPOINT_BATCH} header, and
+ * legacy JSON datapoint records.
+ */
+@Slf4j
+public class DatapointDeserializer extends Deserializer<List<Datapoint>> {
+
+    @Override
+    protected List<Datapoint> jsonDecode(byte[] data) throws IOException {
+        InfoData infoData = SerializationUtils.MAPPER.readValue(data, InfoData.class);
+        if (infoData instanceof Datapoint) {
+            return Collections.singletonList((Datapoint) infoData);
+        }
+        log.error("Unexpected non datapoint data {}", infoData);
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Datapoint> decode(byte[] data, MessageFormat format) throws IOException {
+        if (format == MessageFormat.DATAPOINT_BATCH) {
+            return DatapointCodec.decode(data);
+        }
+        return super.decode(data, format);
+    }
+}
@@ -17,36 +17,82 @@ package org.openkilda.wfm.kafka;
 
 import static java.lang.String.format;
 
+import org.openkilda.messaging.codec.MessageFormat;
+
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.ExtendedDeserializer;
 import org.apache.storm.kafka.spout.SerializableDeserializer;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Map;
 
+/**
+ * Reads values in the {@link MessageFormat} signaled by the {@link MessageFormat#HEADER} record header, the records
+ * without this header are JSON records.
+ */
 @Slf4j
-public abstract class Deserializer<T> implements SerializableDeserializer<T> {
+public abstract class Deserializer<T> implements SerializableDeserializer<T>, ExtendedDeserializer<T> {
 
     @Override
     public void configure(Map configs, boolean isKey) {
         // No-op
     }
 
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        Header header = headers != null ? headers.lastHeader(MessageFormat.HEADER) : null;
+        MessageFormat format;
+        try {
+            format = MessageFormat.fromHeader(header != null ? header.value() : null);
+        } catch (IllegalArgumentException e) {
+            log.error(format("Failed to deserialize data from topic %s", topic), e);
+            throw new SerializationException(e.getMessage());
+        }
+        return deserialize(topic, data, format);
+    }
+
     @Override
     public T deserialize(String topic, byte[] data) {
+        return deserialize(topic, data, MessageFormat.JSON);
+    }
+
+    private T deserialize(String topic, byte[] data, MessageFormat format) {
         try {
-            return jsonDecode(data);
+            return decode(data, format);
         } catch (IOException e) {
-            log.error(format("Failed to deserialize data: %s from topic %s",
-                    StringUtils.toEncodedString(data, Charset.defaultCharset()), topic), e);
+            if (format == MessageFormat.JSON) {
+                log.error(format("Failed to deserialize data: %s from topic %s",
+                        StringUtils.toEncodedString(data, Charset.defaultCharset()), topic), e);
+            } else {
+                log.error(format("Failed to deserialize %s data (%d bytes) from topic %s",
+                        format, data.length, topic), e);
+            }
             throw new SerializationException(e.getMessage());
         }
     }
 
+    protected T decode(byte[] data, MessageFormat format) throws IOException {
+        switch (format) {
+            case JSON:
+                return jsonDecode(data);
+            case BINARY:
+                return binaryDecode(data);
+            default:
+                throw new IOException(format("%s doesn't support %s records", getClass().getSimpleName(), format));
+        }
+    }
+
     protected abstract T jsonDecode(byte[] data) throws IOException;
 
+    protected T binaryDecode(byte[] data) throws IOException {
+        throw new IOException(format("%s doesn't support binary records", getClass().getSimpleName()));
+    }
+
     @Override
     public void close() {
         // No-op
@@ -16,6 +16,7 @@
 package org.openkilda.wfm.kafka;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -29,4 +30,9 @@ public class MessageDeserializer extends Deserializer<Message> {
     protected Message jsonDecode(byte[] data) throws IOException {
         return SerializationUtils.MAPPER.readValue(data, Message.class);
     }
+
+    @Override
+    protected Message binaryDecode(byte[] data) throws IOException {
+        return SerializationUtils.CODEC.decode(data, MessageFormat.BINARY, Message.class);
+    }
 }
@@ -15,42 +15,7 @@
 
 package org.openkilda.wfm.kafka;
 
-import static java.lang.String.format;
-
 import org.openkilda.messaging.Message;
-import org.openkilda.wfm.topology.utils.SerializationUtils;
-
-import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.common.errors.SerializationException;
-import org.apache.kafka.common.serialization.Serializer;
-
-import java.io.IOException;
-import java.util.Map;
-
-@Slf4j
-public class MessageSerializer implements Serializer<Message> {
-
-    @Override
-    public void configure(Map<String, ?> configs, boolean isKey) {
-        // No-op
-    }
-
-    @Override
-    public byte[] serialize(String topic, Message data) {
-        try {
-            byte[] result = null;
-            if (data != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(data);
-            }
-            return result;
-        } catch (IOException e) {
-            log.error(format("Failed to serialize message: %s, for topic: %s", data, topic), e);
-            throw new SerializationException(e.getMessage());
-        }
-    }
 
-    @Override
-    public void close() {
-        // No-op
-    }
+public class MessageSerializer extends Serializer<Message> {
 }
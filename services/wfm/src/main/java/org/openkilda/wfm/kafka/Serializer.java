@@ -0,0 +1,81 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.ExtendedSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes values in the {@link MessageFormat} set by the {@link #MESSAGE_FORMAT_CONFIG} producer property, JSON by
+ * default. The non JSON records are marked by the {@link MessageFormat#HEADER} header.
+ */
+@Slf4j
+public abstract class Serializer<T> implements ExtendedSerializer<T> {
+    public static final String MESSAGE_FORMAT_CONFIG = "kilda.message.format";
+
+    private MessageFormat format = MessageFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object value = configs.get(MESSAGE_FORMAT_CONFIG);
+        if (value != null) {
+            format = MessageFormat.fromName(value.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, T data) {
+        byte[] result = encode(topic, data, format);
+        if (result != null && format != MessageFormat.JSON) {
+            headers.add(MessageFormat.HEADER, format.getHeaderValue());
+        }
+        return result;
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        // no headers, so the format can't be signaled
+        return encode(topic, data, MessageFormat.JSON);
+    }
+
+    private byte[] encode(String topic, T data, MessageFormat format) {
+        try {
+            byte[] result = null;
+            if (data != null) {
+                result = SerializationUtils.CODEC.encode(data, format);
+            }
+            return result;
+        } catch (IOException e) {
+            log.error(format("Failed to serialize message: %s, for topic: %s", data, topic), e);
+            throw new SerializationException(e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        // No-op
+    }
+}
@@ -31,16 +31,14 @@ public class CookiePool {
     private final TransactionManager transactionManager;
     private final FlowCookieRepository flowCookieRepository;
 
-    private final long minCookie;
-    private final long maxCookie;
+    private final ResourceIdBitmap allocatedCookies;
 
     public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowCookieRepository = repositoryFactory.createFlowCookieRepository();
 
-        this.minCookie = minCookie;
-        this.maxCookie = maxCookie;
+        allocatedCookies = new ResourceIdBitmap(minCookie, maxCookie);
     }
 
     /**
@@ -50,11 +48,11 @@ public class CookiePool {
      */
     public long allocate(String flowId) {
         return transactionManager.doInTransaction(() -> {
-            long availableCookie = flowCookieRepository.findUnassignedCookie(minCookie)
+            long availableCookie = allocatedCookies.allocate(
+                    () -> flowCookieRepository.findAll().stream().mapToLong(FlowCookie::getUnmaskedCookie),
+                    cookie -> flowCookieRepository.findByCookie(cookie).isPresent())
                     .orElseThrow(() -> new ResourceNotAvailableException("No cookie available"));
-            if (availableCookie > maxCookie) {
-                throw new ResourceNotAvailableException("No cookie available");
-            }
+            transactionManager.registerRollbackCallback(() -> allocatedCookies.release(availableCookie));
 
             FlowCookie flowCookie = FlowCookie.builder()
                     .unmaskedCookie(availableCookie)
@@ -74,5 +72,6 @@ public class CookiePool {
                 flowCookieRepository.findByCookie(unmaskedCookie)
                         .ifPresent(flowCookieRepository::delete)
         );
+        allocatedCookies.release(unmaskedCookie);
     }
 }
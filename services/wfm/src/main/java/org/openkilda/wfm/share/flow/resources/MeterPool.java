@@ -34,6 +34,8 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The resource pool is responsible for meter de-/allocation.
@@ -46,6 +48,7 @@ public class MeterPool {
 
     private final MeterId minMeterId;
     private final MeterId maxMeterId;
+    private final Map<SwitchId, ResourceIdBitmap> allocatedMeters = new ConcurrentHashMap<>();
 
     public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -76,15 +79,18 @@ public class MeterPool {
         return transactionManager.doInTransaction(() -> {
             String noMetersErrorMessage = format("No meter available for switch %s", theSwitch);
 
-            MeterId availableMeterId = flowMeterRepository.findUnassignedMeterId(theSwitch.getSwitchId(), minMeterId)
-                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage));
-            if (availableMeterId.compareTo(maxMeterId) > 0) {
-                throw new ResourceNotAvailableException(noMetersErrorMessage);
-            }
+            SwitchId switchId = theSwitch.getSwitchId();
+            ResourceIdBitmap switchMeters = getAllocatedMeters(switchId);
+            MeterId availableMeterId = new MeterId(switchMeters.allocate(
+                    () -> flowMeterRepository.findBySwitchId(switchId).stream()
+                            .mapToLong(meter -> meter.getMeterId().getValue()),
+                    meterId -> flowMeterRepository.exists(switchId, new MeterId(meterId)))
+                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage)));
+            transactionManager.registerRollbackCallback(() -> switchMeters.release(availableMeterId.getValue()));
 
             FlowMeter flowMeter = FlowMeter.builder()
                     .meterId(availableMeterId)
-                    .switchId(theSwitch.getSwitchId())
+                    .switchId(switchId)
                     .flowId(flowId)
                     .pathId(pathId)
                     .build();
@@ -98,13 +104,20 @@ public class MeterPool {
      * Deallocates a meter(s) of the flow path(s).
      */
     public void deallocate(PathId... pathIds) {
-        transactionManager.doInTransaction(() -> {
+        List<FlowMeter> released = transactionManager.doInTransaction(() -> {
             List<FlowMeter> meters = Arrays.stream(pathIds)
                     .map(flowMeterRepository::findByPathId)
                     .flatMap(Collection::stream)
                     .collect(toList());
 
             meters.forEach(flowMeterRepository::delete);
+            return meters;
         });
+        released.forEach(meter -> getAllocatedMeters(meter.getSwitchId()).release(meter.getMeterId().getValue()));
+    }
+
+    private ResourceIdBitmap getAllocatedMeters(SwitchId switchId) {
+        return allocatedMeters.computeIfAbsent(switchId,
+                id -> new ResourceIdBitmap(minMeterId.getValue(), maxMeterId.getValue()));
     }
 }
@@ -0,0 +1,110 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static java.lang.String.format;
+
+import java.util.BitSet;
+import java.util.OptionalLong;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory bitmap of the allocated ids of a resource pool within the [minId, maxId] range. It allows to pick
+ * the lowest unassigned id without querying the resource entities on every allocation.
+ * <p/>
+ * The bitmap knows only about allocations made by this instance, so each picked id is checked against the
+ * repository, and the bitmap is reloaded from the repository when it runs out of ids. The repository unique
+ * constraints remain the final arbiter between concurrent allocators. An id picked within a transaction must be
+ * released by the pool if the transaction is rolled back.
+ */
+public class ResourceIdBitmap {
+    private final long minId;
+    private final int size;
+
+    private final BitSet allocated = new BitSet();
+    private int lowestFreeIndex;
+    private boolean loaded;
+
+    public ResourceIdBitmap(long minId, long maxId) {
+        if (maxId < minId || maxId - minId >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid resource id range [%d, %d]", minId, maxId));
+        }
+
+        this.minId = minId;
+        this.size = (int) (maxId - minId + 1);
+    }
+
+    /**
+     * Picks the lowest id which is not allocated and marks it as allocated.
+     *
+     * @param allocatedIdsLoader provides all ids allocated in the repository, used to (re)load the bitmap.
+     * @param isAllocated checks whether the id is allocated in the repository.
+     * @return the allocated id or {@link OptionalLong#empty()} if there is no id available.
+     */
+    public synchronized OptionalLong allocate(Supplier<LongStream> allocatedIdsLoader, LongPredicate isAllocated) {
+        boolean reloaded = false;
+        if (!loaded) {
+            load(allocatedIdsLoader.get());
+            reloaded = true;
+        }
+
+        while (true) {
+            int index = allocated.nextClearBit(lowestFreeIndex);
+            if (index >= size) {
+                if (reloaded) {
+                    return OptionalLong.empty();
+                }
+                // Ids released by other instances are not visible in the bitmap until it is reloaded.
+                load(allocatedIdsLoader.get());
+                reloaded = true;
+                continue;
+            }
+
+            allocated.set(index);
+            lowestFreeIndex = index + 1;
+
+            long id = minId + index;
+            if (!isAllocated.test(id)) {
+                return OptionalLong.of(id);
+            }
+            // Allocated by another instance: it's marked in the bitmap now, so look further.
+        }
+    }
+
+    /**
+     * Marks the id as not allocated.
+     */
+    public synchronized void release(long id) {
+        if (id < minId || id - minId >= size) {
+            return;
+        }
+
+        int index = (int) (id - minId);
+        allocated.clear(index);
+        lowestFreeIndex = Math.min(lowestFreeIndex, index);
+    }
+
+    private void load(LongStream allocatedIds) {
+        allocated.clear();
+        allocatedIds
+                .filter(id -> id >= minId && id - minId < size)
+                .forEach(id -> allocated.set((int) (id - minId)));
+        lowestFreeIndex = 0;
+        loaded = true;
+    }
+}
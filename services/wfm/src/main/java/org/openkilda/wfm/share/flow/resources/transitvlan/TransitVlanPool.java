@@ -23,6 +23,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -38,16 +39,14 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     private final TransactionManager transactionManager;
     private final TransitVlanRepository transitVlanRepository;
 
-    private final int minTransitVlan;
-    private final int maxTransitVlan;
+    private final ResourceIdBitmap allocatedVlans;
 
     public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         transitVlanRepository = repositoryFactory.createTransitVlanRepository();
 
-        this.minTransitVlan = minTransitVlan;
-        this.maxTransitVlan = maxTransitVlan;
+        allocatedVlans = new ResourceIdBitmap(minTransitVlan, maxTransitVlan);
     }
 
     /**
@@ -61,11 +60,11 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
     private TransitVlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int availableVlan = transitVlanRepository.findUnassignedTransitVlan(minTransitVlan)
+            int availableVlan = (int) allocatedVlans.allocate(
+                    () -> transitVlanRepository.findAll().stream().mapToLong(TransitVlan::getVlan),
+                    vlan -> transitVlanRepository.exists((int) vlan))
                     .orElseThrow(() -> new ResourceNotAvailableException("No vlan available"));
-            if (availableVlan > maxTransitVlan) {
-                throw new ResourceNotAvailableException("No vlan available");
-            }
+            transactionManager.registerRollbackCallback(() -> allocatedVlans.release(availableVlan));
 
             TransitVlan transitVlan = TransitVlan.builder()
                     .vlan(availableVlan)
@@ -85,9 +84,12 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
      */
     @Override
     public void deallocate(PathId pathId) {
-        transactionManager.doInTransaction(() ->
-                transitVlanRepository.findByPathId(pathId, null)
-                        .forEach(transitVlanRepository::delete));
+        Collection<TransitVlan> released = transactionManager.doInTransaction(() -> {
+            Collection<TransitVlan> transitVlans = transitVlanRepository.findByPathId(pathId, null);
+            transitVlans.forEach(transitVlanRepository::delete);
+            return transitVlans;
+        });
+        released.forEach(transitVlan -> allocatedVlans.release(transitVlan.getVlan()));
     }
 
     /**
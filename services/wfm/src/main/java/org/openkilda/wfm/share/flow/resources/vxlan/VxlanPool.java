@@ -23,6 +23,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.VxlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -38,16 +39,14 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     private final TransactionManager transactionManager;
     private final VxlanRepository vxlanRepository;
 
-    private final int minVxlan;
-    private final int maxVxlan;
+    private final ResourceIdBitmap allocatedVxlans;
 
     public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         vxlanRepository = repositoryFactory.createVxlanRepository();
 
-        this.minVxlan = minVxlan;
-        this.maxVxlan = maxVxlan;
+        allocatedVxlans = new ResourceIdBitmap(minVxlan, maxVxlan);
     }
 
     /**
@@ -61,11 +60,11 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
     private VxlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int availableVxlan = vxlanRepository.findUnassignedVxlan(minVxlan)
+            int availableVxlan = (int) allocatedVxlans.allocate(
+                    () -> vxlanRepository.findAll().stream().mapToLong(Vxlan::getVni),
+                    vni -> vxlanRepository.exists((int) vni))
                     .orElseThrow(() -> new ResourceNotAvailableException("No vxlan available"));
-            if (availableVxlan > maxVxlan) {
-                throw new ResourceNotAvailableException("No vxlan available");
-            }
+            transactionManager.registerRollbackCallback(() -> allocatedVxlans.release(availableVxlan));
 
             Vxlan vxlan = Vxlan.builder()
                     .vni(availableVxlan)
@@ -85,9 +84,12 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
      */
     @Override
     public void deallocate(PathId pathId) {
-        transactionManager.doInTransaction(() ->
-                vxlanRepository.findByPathId(pathId, null)
-                        .forEach(vxlanRepository::delete));
+        Collection<Vxlan> released = transactionManager.doInTransaction(() -> {
+            Collection<Vxlan> vxlans = vxlanRepository.findByPathId(pathId, null);
+            vxlans.forEach(vxlanRepository::delete);
+            return vxlans;
+        });
+        released.forEach(vxlan -> allocatedVxlans.release(vxlan.getVni()));
     }
 
     /**
@@ -19,35 +19,78 @@ import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PA
 
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
-import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.history.service.FlowHistoryBatchWriter;
+import org.openkilda.wfm.share.history.service.FlowHistoryConfig;
 
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.util.Map;
 
 public class HistoryBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
-    private transient HistoryService historyService;
+    private final FlowHistoryConfig historyConfig;
+    private transient FlowHistoryBatchWriter historyWriter;
 
-    public HistoryBolt(PersistenceManager persistenceManager) {
+    public HistoryBolt(PersistenceManager persistenceManager, FlowHistoryConfig historyConfig) {
         this.persistenceManager = persistenceManager;
+        this.historyConfig = historyConfig;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        int bucketSize = historyConfig.getMetricsBucketSeconds();
+        context.registerMetric("flow.history.backlog", historyWriter::getBacklogSize, bucketSize);
+        context.registerMetric("flow.history.flush.latency.ms",
+                historyWriter::getAndResetMeanFlushLatencyMs, bucketSize);
+        context.registerMetric("flow.history.dropped", historyWriter::getAndResetDroppedRecords, bucketSize);
     }
 
     @Override
     protected void init() {
-        historyService = new HistoryService(persistenceManager);
+        historyWriter = new FlowHistoryBatchWriter(persistenceManager, historyConfig.getBatchSize());
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, historyConfig.getFlushIntervalSeconds());
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
+        if (TupleUtils.isTick(input)) {
+            historyWriter.flush();
+            return;
+        }
+
         Object payload = input.getValueByField(FIELD_ID_PAYLOAD);
         if (payload instanceof FlowHistoryHolder) {
-            historyService.store((FlowHistoryHolder) payload);
+            historyWriter.add((FlowHistoryHolder) payload);
         } else {
             log.error("Skip undefined payload: {}", payload);
         }
     }
 
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public void cleanup() {
+        historyWriter.flush();
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
 
@@ -0,0 +1,225 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+import org.openkilda.model.history.FlowDump;
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+import org.openkilda.persistence.repositories.history.StateLogRepository;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+import org.openkilda.wfm.share.mappers.HistoryMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Buffers flow history records and writes them into the storage in batches.
+ *
+ * <p>Records are grouped by task id, so the flow events of a batch are created first and all history and dump
+ * records are linked to their events by one statement per entity type instead of the event lookup per record.
+ * The writer is not thread safe, it is expected to be owned by one bolt.
+ */
+@Slf4j
+public class FlowHistoryBatchWriter {
+    private final TransactionManager transactionManager;
+    private final FlowEventRepository flowEventRepository;
+    private final FlowHistoryRepository flowHistoryRepository;
+    private final FlowStateRepository flowStateRepository;
+    private final HistoryLogRepository historyLogRepository;
+    private final StateLogRepository stateLogRepository;
+
+    private final int batchSize;
+
+    private final Map<String, List<FlowHistoryHolder>> pending = new LinkedHashMap<>();
+    private int pendingRecords = 0;
+
+    private long flushCount = 0;
+    private long flushTimeNanos = 0;
+    private long droppedRecords = 0;
+
+    public FlowHistoryBatchWriter(PersistenceManager persistenceManager, int batchSize) {
+        this(persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(), batchSize);
+    }
+
+    public FlowHistoryBatchWriter(TransactionManager transactionManager, RepositoryFactory repositoryFactory,
+                                  int batchSize) {
+        this.transactionManager = transactionManager;
+        flowEventRepository = repositoryFactory.createFlowEventRepository();
+        flowHistoryRepository = repositoryFactory.createFlowHistoryRepository();
+        flowStateRepository = repositoryFactory.createFlowStateRepository();
+        historyLogRepository = repositoryFactory.createHistoryLogRepository();
+        stateLogRepository = repositoryFactory.createStateLogRepository();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Buffer history data, the buffer is written into the storage as soon as it reaches the batch size.
+     *
+     * @param historyHolder holder of history information.
+     */
+    public void add(FlowHistoryHolder historyHolder) {
+        pending.computeIfAbsent(historyHolder.getTaskId(), key -> new ArrayList<>()).add(historyHolder);
+        pendingRecords += 1;
+
+        if (batchSize <= pendingRecords) {
+            flush();
+        }
+    }
+
+    /**
+     * Write all buffered history data into the storage. If the batch fails, the records of each task id are retried
+     * in their own transaction and only the tasks which still fail are dropped, so a broken record can't block the
+     * following ones nor the records of the other tasks.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, List<FlowHistoryHolder>>> tasks = new ArrayList<>(pending.entrySet());
+        int records = pendingRecords;
+        pending.clear();
+        pendingRecords = 0;
+
+        long startTime = System.nanoTime();
+        try {
+            write(tasks);
+        } catch (Exception e) {
+            if (tasks.size() == 1) {
+                log.error("Unable to store {} flow history records", records, e);
+                droppedRecords += records;
+            } else {
+                log.warn("Unable to store {} flow history records, retry each of {} tasks separately",
+                        records, tasks.size(), e);
+                tasks.forEach(this::writeSeparately);
+            }
+        } finally {
+            flushCount += 1;
+            flushTimeNanos += System.nanoTime() - startTime;
+        }
+    }
+
+    public int getBacklogSize() {
+        return pendingRecords;
+    }
+
+    /**
+     * Get mean flush latency in milliseconds since the previous call.
+     */
+    public double getAndResetMeanFlushLatencyMs() {
+        double result = 0;
+        if (flushCount != 0) {
+            result = TimeUnit.NANOSECONDS.toMicros(flushTimeNanos / flushCount) / 1000.0;
+        }
+        flushCount = 0;
+        flushTimeNanos = 0;
+        return result;
+    }
+
+    /**
+     * Get number of records dropped because of storage errors since the previous call.
+     */
+    public long getAndResetDroppedRecords() {
+        long result = droppedRecords;
+        droppedRecords = 0;
+        return result;
+    }
+
+    private void writeSeparately(Map.Entry<String, List<FlowHistoryHolder>> task) {
+        try {
+            write(Collections.singletonList(task));
+        } catch (Exception e) {
+            log.error("Unable to store {} flow history records of the task {}",
+                    task.getValue().size(), task.getKey(), e);
+            droppedRecords += task.getValue().size();
+        }
+    }
+
+    private void write(List<Map.Entry<String, List<FlowHistoryHolder>>> tasks) {
+        // the entities are mapped for each attempt, so a retry doesn't reuse the state of a rolled back transaction
+        List<FlowEvent> events = new ArrayList<>();
+        List<FlowHistory> histories = new ArrayList<>();
+        List<FlowDump> dumps = new ArrayList<>();
+        for (Map.Entry<String, List<FlowHistoryHolder>> entry : tasks) {
+            String taskId = entry.getKey();
+            for (FlowHistoryHolder holder : entry.getValue()) {
+                if (holder.getFlowEventData() != null) {
+                    FlowEvent event = HistoryMapper.INSTANCE.map(holder.getFlowEventData());
+                    event.setTaskId(taskId);
+                    events.add(event);
+                }
+                if (holder.getFlowHistoryData() != null) {
+                    FlowHistory history = HistoryMapper.INSTANCE.map(holder.getFlowHistoryData());
+                    history.setTaskId(taskId);
+                    histories.add(history);
+                }
+                if (holder.getFlowDumpData() != null) {
+                    FlowDump dump = HistoryMapper.INSTANCE.map(holder.getFlowDumpData());
+                    dump.setTaskId(taskId);
+                    dumps.add(dump);
+                }
+            }
+        }
+
+        transactionManager.doInTransaction(() -> write(events, histories, dumps));
+    }
+
+    private void write(List<FlowEvent> events, List<FlowHistory> histories, List<FlowDump> dumps) {
+        if (!events.isEmpty()) {
+            flowEventRepository.createOrUpdateAll(events);
+        }
+
+        if (!histories.isEmpty()) {
+            flowHistoryRepository.createOrUpdateAll(histories);
+            reportNotLinked(histories, historyLogRepository.createByTaskId(histories), FlowHistory::getTaskId);
+        }
+
+        if (!dumps.isEmpty()) {
+            flowStateRepository.createOrUpdateAll(dumps);
+            reportNotLinked(dumps, stateLogRepository.createByTaskId(dumps), FlowDump::getTaskId);
+        }
+    }
+
+    private <T> void reportNotLinked(Collection<T> records, Set<String> linked, Function<T, String> taskIdGetter) {
+        Set<String> notLinked = new TreeSet<>();
+        for (T entry : records) {
+            String taskId = taskIdGetter.apply(entry);
+            if (!linked.contains(taskId)) {
+                notLinked.add(taskId);
+            }
+        }
+        if (!notLinked.isEmpty()) {
+            log.warn("Unable to find related FlowEvent by taskId: {}", notLinked);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import java.io.Serializable;
+
+@Configuration
+public interface FlowHistoryConfig extends Serializable {
+    /**
+     * Max number of flow history records buffered before they are written into the storage.
+     */
+    @Key("flow.history.batch.size")
+    @Default("200")
+    int getBatchSize();
+
+    /**
+     * Max time in seconds a flow history record stays in the buffer.
+     */
+    @Key("flow.history.flush.interval.seconds")
+    @Default("1")
+    int getFlushIntervalSeconds();
+
+    @Key("flow.history.metrics.bucket.seconds")
+    @Default("60")
+    int getMetricsBucketSeconds();
+}
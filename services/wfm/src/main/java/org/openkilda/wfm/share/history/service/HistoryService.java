@@ -19,19 +19,14 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.model.history.FlowDump;
 import org.openkilda.model.history.FlowEvent;
 import org.openkilda.model.history.FlowHistory;
-import org.openkilda.model.history.HistoryLog;
 import org.openkilda.model.history.PortHistory;
-import org.openkilda.model.history.StateLog;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.history.FlowEventRepository;
 import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
 import org.openkilda.persistence.repositories.history.FlowStateRepository;
-import org.openkilda.persistence.repositories.history.HistoryLogRepository;
 import org.openkilda.persistence.repositories.history.PortHistoryRepository;
-import org.openkilda.persistence.repositories.history.StateLogRepository;
-import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.history.model.PortHistoryData;
 import org.openkilda.wfm.share.mappers.HistoryMapper;
 
@@ -40,7 +35,6 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 @Slf4j
 public class HistoryService {
@@ -48,8 +42,6 @@ public class HistoryService {
     private final FlowEventRepository flowEventRepository;
     private final FlowHistoryRepository flowHistoryRepository;
     private final FlowStateRepository flowStateRepository;
-    private final HistoryLogRepository historyLogRepository;
-    private final StateLogRepository stateLogRepository;
     private final PortHistoryRepository portHistoryRepository;
 
     public HistoryService(PersistenceManager persistenceManager) {
@@ -61,80 +53,14 @@ public class HistoryService {
         flowEventRepository = repositoryFactory.createFlowEventRepository();
         flowHistoryRepository = repositoryFactory.createFlowHistoryRepository();
         flowStateRepository = repositoryFactory.createFlowStateRepository();
-        historyLogRepository = repositoryFactory.createHistoryLogRepository();
-        stateLogRepository = repositoryFactory.createStateLogRepository();
         portHistoryRepository = repositoryFactory.createPortHistoryRepository();
     }
 
-    /**
-     * Save history data into data storage.
-     *
-     * @param historyHolder holder of history information.
-     */
-    public void store(FlowHistoryHolder historyHolder) {
-        transactionManager.doInTransaction(() -> {
-            if (historyHolder.getFlowEventData() != null) {
-                FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
-                store(historyHolder.getTaskId(), event);
-            }
-
-            if (historyHolder.getFlowHistoryData() != null) {
-                FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
-                store(historyHolder.getTaskId(), history);
-            }
-
-            if (historyHolder.getFlowDumpData() != null) {
-                FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
-                store(historyHolder.getTaskId(), dump);
-            }
-        });
-    }
-
     public void store(PortHistoryData data) {
         PortHistory entity = HistoryMapper.INSTANCE.map(data);
         portHistoryRepository.createOrUpdate(entity);
     }
 
-    private void store(String taskId, FlowEvent flowEvent) {
-        flowEvent.setTaskId(taskId);
-        flowEventRepository.createOrUpdate(flowEvent);
-    }
-
-    private void store(String taskId, FlowHistory flowHistory) {
-        flowHistory.setTaskId(taskId);
-
-        transactionManager.doInTransaction(() -> {
-            flowHistoryRepository.createOrUpdate(flowHistory);
-            Optional<FlowEvent> flowEvents = flowEventRepository.findByTaskId(taskId);
-            if (flowEvents.isPresent()) {
-                historyLogRepository.createOrUpdate(HistoryLog.builder()
-                        .flowEvent(flowEvents.get())
-                        .flowHistory(flowHistory)
-                        .build());
-            } else {
-                log.warn("Unable to find related FlowEvent by taskId: {}", flowHistory.getTaskId());
-            }
-        });
-    }
-
-    private void store(String taskId, FlowDump flowDump) {
-        flowDump.setTaskId(taskId);
-
-        transactionManager.doInTransaction(() -> {
-            flowStateRepository.createOrUpdate(flowDump);
-            Optional<FlowEvent> flowEvents = flowEventRepository.findByTaskId(taskId);
-            if (flowEvents.isPresent()) {
-                stateLogRepository.createOrUpdate(StateLog.builder()
-                        .flowEvent(flowEvents.get())
-                        .flowDump(flowDump)
-                        .type(flowDump.getType())
-                        .build());
-            } else {
-                log.warn("Unable to find related FlowEvent by taskId: {}", flowDump.getTaskId());
-            }
-        });
-    }
-
     public List<FlowEvent> listFlowEvents(String flowId, Instant timeFrom, Instant timeTo) {
         return new ArrayList<>(flowEventRepository.findByFlowIdAndTimeFrame(flowId, timeFrom, timeTo));
     }
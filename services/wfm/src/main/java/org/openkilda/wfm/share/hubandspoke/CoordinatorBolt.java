@@ -20,23 +20,22 @@ import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.COMMAND_FIELD;
 import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.TIMEOUT_FIELD;
 
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.share.utils.TimingWheel;
+import org.openkilda.wfm.share.utils.TimingWheel.Timeout;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
@@ -46,8 +45,24 @@ public final class CoordinatorBolt extends AbstractBolt {
     public static final String ID = "coordinator.bolt";
     public static final String INCOME_STREAM = "coordinator.command";
 
+    private static final long TIMEOUTS_TICK_MS = 10;
+    private static final int TIMEOUTS_SLOTS = 1024;
+    private static final int METRICS_BUCKET_SECS = 60;
+
     private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private transient TimingWheel<String> timeouts;
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric("coordinator.timeouts.pending", timeouts::size, METRICS_BUCKET_SECS);
+    }
+
+    @Override
+    protected void init() {
+        timeouts = new TimingWheel<>(TIMEOUTS_TICK_MS, TIMEOUTS_SLOTS);
+    }
 
     @Override
     protected void handleInput(Tuple input) {
@@ -82,18 +97,21 @@ public final class CoordinatorBolt extends AbstractBolt {
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.trace("Adding callback for {} with timeout {}", key, timeout);
         long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
 
         Values value = new Values(key, context);
-        callbacks.put(key, Callback.of(taskId, value));
+        Callback replaced = callbacks.put(key, Callback.of(taskId, value, timeouts.schedule(key, triggerTime)));
+        if (replaced != null) {
+            replaced.timeout.cancel();
+        }
     }
 
     @VisibleForTesting
     void cancelCallback(String key) {
-        if (callbacks.remove(key) == null) {
+        Callback callback = callbacks.remove(key);
+        if (callback == null) {
             log.warn("{} is already cancelled", key);
         } else {
+            callback.timeout.cancel();
             log.debug("Request processing of {} is finished", key);
         }
     }
@@ -103,15 +121,10 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
-        }
-
-        outdatedCallbacks.clear();
+        timeouts.advance(currentTime, key -> {
+            Callback callback = callbacks.remove(key);
+            getOutput().emitDirect(callback.taskId, callback.context);
+        });
     }
 
     @Override
@@ -126,7 +139,7 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
+    TimingWheel<String> getTimeouts() {
         return timeouts;
     }
 
@@ -139,5 +152,6 @@ public final class CoordinatorBolt extends AbstractBolt {
     private static class Callback {
         private final int taskId;
         private final Values context;
+        private final Timeout<String> timeout;
     }
 }
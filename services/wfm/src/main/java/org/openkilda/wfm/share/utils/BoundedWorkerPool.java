@@ -0,0 +1,185 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs tasks on a bounded pool of worker threads and hands their results back to the owner thread (e.g. a bolt
+ * executor thread) through a completion queue. The results of tasks submitted with the same ordering key are
+ * handed back in the submission order.
+ * <p/>
+ * {@link #submit}, {@link #drain} and {@link #hasPending} must be called from the owner thread only.
+ *
+ * @param <C> the type of the context passed along with a task to its completion.
+ * @param <R> the type of task results.
+ */
+@Slf4j
+public class BoundedWorkerPool<C, R> {
+    private final ThreadPoolExecutor executor;
+    private final int maxPendingTasks;
+
+    private final Map<String, Deque<Task>> pendingTasks = new HashMap<>();
+    private final Queue<Task> completedTasks = new ConcurrentLinkedQueue<>();
+    private int pendingCount;
+
+    private final AtomicLong executionTimeNanos = new AtomicLong();
+    private final AtomicLong executedCount = new AtomicLong();
+    private long rejectedCount;
+
+    public BoundedWorkerPool(String name, int threads, int maxPendingTasks) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat(name + "-%d").setDaemon(true).build());
+        this.maxPendingTasks = maxPendingTasks;
+    }
+
+    /**
+     * Submits the task for execution.
+     *
+     * @return false if the task was rejected because of too many pending tasks, so the caller should handle it
+     *     by itself.
+     */
+    public boolean submit(String orderingKey, C context, Callable<R> callable) {
+        if (pendingCount >= maxPendingTasks) {
+            rejectedCount++;
+            log.debug("Task for {} is rejected: {} tasks are pending", orderingKey, pendingCount);
+            return false;
+        }
+
+        Task task = new Task(orderingKey, context, callable);
+        pendingTasks.computeIfAbsent(orderingKey, key -> new ArrayDeque<>()).add(task);
+        pendingCount++;
+        executor.execute(task);
+        return true;
+    }
+
+    /**
+     * Passes the completed tasks to the consumer, keeping the submission order for each ordering key.
+     *
+     * @return the number of passed completions.
+     */
+    public int drain(Consumer<Completion<C, R>> consumer) {
+        List<String> completedKeys = new ArrayList<>();
+        Task task;
+        while ((task = completedTasks.poll()) != null) {
+            task.collected = true;
+            completedKeys.add(task.orderingKey);
+        }
+
+        int drained = 0;
+        for (String key : completedKeys) {
+            Deque<Task> tasks = pendingTasks.get(key);
+            while (tasks != null && !tasks.isEmpty() && tasks.peekFirst().collected) {
+                Task head = tasks.pollFirst();
+                pendingCount--;
+                drained++;
+                consumer.accept(new Completion<>(head.context, head.result, head.error));
+            }
+            if (tasks != null && tasks.isEmpty()) {
+                pendingTasks.remove(key);
+            }
+        }
+        return drained;
+    }
+
+    public boolean hasPending() {
+        return pendingCount > 0;
+    }
+
+    /**
+     * Gets the number of tasks waiting for a worker thread.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Gets the mean task execution time since the previous call.
+     */
+    public double getAndResetMeanExecutionTimeMs() {
+        long count = executedCount.getAndSet(0);
+        long nanos = executionTimeNanos.getAndSet(0);
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(nanos) / count / 1000;
+    }
+
+    /**
+     * Gets the number of rejected tasks since the previous call.
+     */
+    public long getAndResetRejectedCount() {
+        long count = rejectedCount;
+        rejectedCount = 0;
+        return count;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private class Task implements Runnable {
+        private final String orderingKey;
+        private final C context;
+        private final Callable<R> callable;
+
+        private volatile R result;
+        private volatile Exception error;
+        private boolean collected;
+
+        Task(String orderingKey, C context, Callable<R> callable) {
+            this.orderingKey = orderingKey;
+            this.context = context;
+            this.callable = callable;
+        }
+
+        @Override
+        public void run() {
+            long startTime = System.nanoTime();
+            try {
+                result = callable.call();
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                executionTimeNanos.addAndGet(System.nanoTime() - startTime);
+                executedCount.incrementAndGet();
+                completedTasks.add(this);
+            }
+        }
+    }
+
+    @Value
+    public static class Completion<C, R> {
+        private C context;
+        private R result;
+        private Exception error;
+    }
+}
@@ -0,0 +1,222 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel, i.e. a timer table with O(1) {@link #schedule} and {@link Timeout#cancel}.
+ * <p/>
+ * Timeouts are spread into the slots by their deadline tick and each slot keeps a doubly linked list of its
+ * timeouts. The wheel doesn't own a clock, it is advanced by the owner's ticks with {@link #advance}, which visits
+ * only the slots of the elapsed ticks. The deadline is checked exactly, so the tick duration affects only the spread
+ * of timeouts over the slots, not the precision. The time unit is up to the owner, it only has to be the same for the
+ * tick duration, the deadlines and the advance time.
+ * <p/>
+ * The wheel is not thread safe, it is expected to be used from the bolt executor thread only.
+ *
+ * @param <T> the type of the timeout payload.
+ */
+public class TimingWheel<T> {
+    private final long tickDuration;
+    private final Slot<T>[] slots;
+    private final int mask;
+
+    private boolean started = false;
+    private long currentTick;
+    private int size = 0;
+
+    /**
+     * Creates the wheel, the number of slots is rounded up to the power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickDuration, int slotsCount) {
+        checkArgument(tickDuration > 0, "tickDuration must be positive");
+        checkArgument(slotsCount > 0 && slotsCount <= 1 << 20, "slotsCount must be in range 1..2^20");
+
+        this.tickDuration = tickDuration;
+        int capacity = slotsCount == 1 ? 1 : Integer.highestOneBit(slotsCount - 1) << 1;
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot<>();
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Creates the wheel with slots for the two periods of the most common delay, e.g. the discovery interval.
+     */
+    public static <T> TimingWheel<T> forPeriod(long period, int slotsPerPeriod) {
+        return new TimingWheel<>(Math.max(1, period / slotsPerPeriod), slotsPerPeriod * 2);
+    }
+
+    /**
+     * Schedules the payload to expire at the deadline. A deadline in the past expires on the next {@link #advance}.
+     */
+    public Timeout<T> schedule(T payload, long deadline) {
+        long tick = toTick(deadline);
+        if (!started) {
+            started = true;
+            currentTick = tick;
+        }
+
+        Timeout<T> timeout = new Timeout<>(this, payload, deadline);
+        slots[(int) (Math.max(tick, currentTick) & mask)].add(timeout);
+        size += 1;
+        return timeout;
+    }
+
+    /**
+     * Expires all the timeouts with deadline less than or equal to the time, the expired payloads are passed to the
+     * handler slot by slot. The handler is called after the wheel is advanced, so it can schedule new timeouts and
+     * cancel the pending ones.
+     */
+    public void advance(long time, Consumer<T> handler) {
+        long tick = toTick(time);
+        if (!started) {
+            started = true;
+            currentTick = tick;
+            return;
+        }
+        if (size == 0) {
+            currentTick = Math.max(currentTick, tick);
+            return;
+        }
+
+        List<T> expired = new ArrayList<>();
+        // the slot of the current tick is visited again on the next advance, it can hold timeouts of the later time
+        long ticksCount = Math.min(Math.max(tick - currentTick + 1, 1), slots.length);
+        for (long i = 0; i < ticksCount; i++) {
+            slots[(int) ((currentTick + i) & mask)].expire(time, expired);
+        }
+        currentTick = Math.max(currentTick, tick);
+
+        for (T payload : expired) {
+            handler.accept(payload);
+        }
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private long toTick(long time) {
+        return Math.floorDiv(time, tickDuration);
+    }
+
+    /**
+     * Handle of the scheduled payload.
+     */
+    public static final class Timeout<T> {
+        private TimingWheel<T> wheel;
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private final T payload;
+        private final long deadline;
+
+        private Timeout(TimingWheel<T> wheel, T payload, long deadline) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Returns true if the timeout is neither cancelled nor expired.
+         */
+        public boolean isPending() {
+            return slot != null;
+        }
+
+        /**
+         * Removes the timeout from the wheel, returns false if it is already cancelled or expired.
+         */
+        public boolean cancel() {
+            if (slot == null) {
+                return false;
+            }
+            slot.remove(this);
+            wheel.size -= 1;
+            wheel = null;
+            return true;
+        }
+    }
+
+    private static final class Slot<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        void expire(long time, List<T> expired) {
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadline <= time) {
+                    timeout.cancel();
+                    expired.add(timeout.payload);
+                }
+                timeout = next;
+            }
+        }
+    }
+}
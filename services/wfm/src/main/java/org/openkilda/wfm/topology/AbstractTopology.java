@@ -21,6 +21,7 @@ import org.openkilda.config.KafkaConfig;
 import org.openkilda.config.naming.KafkaNamingStrategy;
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.config.naming.TopologyNamingStrategy;
 import org.openkilda.wfm.config.provider.MultiPrefixConfigurationProvider;
@@ -29,12 +30,16 @@ import org.openkilda.wfm.error.NameCollisionException;
 import org.openkilda.wfm.kafka.AbstractMessageDeserializer;
 import org.openkilda.wfm.kafka.AbstractMessageSerializer;
 import org.openkilda.wfm.kafka.CustomNamedSubscription;
+import org.openkilda.wfm.kafka.DatapointBatchSerializer;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.kafka.MessageSerializer;
+import org.openkilda.wfm.kafka.Serializer;
 import org.openkilda.wfm.topology.utils.AbstractMessageTranslator;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -57,6 +62,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Represents abstract topology.
@@ -79,6 +85,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
 
     protected final T topologyConfig;
     private final KafkaConfig kafkaConfig;
+    private final Set<String> kafkaBinaryTopics;
 
     protected AbstractTopology(LaunchEnvironment env, Class<T> topologyConfigClass) {
         kafkaNamingStrategy = env.getKafkaNamingStrategy();
@@ -94,6 +101,8 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
 
         topologyConfig = configurationProvider.getConfiguration(topologyConfigClass);
         kafkaConfig = configurationProvider.getConfiguration(KafkaConfig.class);
+        kafkaBinaryTopics = ImmutableSet.copyOf(Splitter.on(',').trimResults().omitEmptyStrings()
+                .split(Optional.ofNullable(kafkaConfig.getBinaryTopics()).orElse("")));
 
         logger.debug("Topology built {}: kafka={}, parallelism={}, workers={}",
                 topologyName, kafkaConfig.getHosts(), topologyConfig.getParallelism(),
@@ -269,6 +278,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
     protected KafkaBolt<String, Message> buildKafkaBolt(final String topic) {
         Properties properties = getKafkaProducerProperties();
         properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageSerializer.class.getName());
+        properties.setProperty(Serializer.MESSAGE_FORMAT_CONFIG, getMessageFormat(topic).name());
 
         return new KafkaBolt<String, Message>()
                 .withProducerProperties(properties)
@@ -285,6 +295,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
     protected KafkaBolt<String, T> buildKafkaBoltWithAbstractMessageSupport(final String topic) {
         Properties properties = getKafkaProducerProperties();
         properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, AbstractMessageSerializer.class.getName());
+        properties.setProperty(Serializer.MESSAGE_FORMAT_CONFIG, getMessageFormat(topic).name());
 
         return new KafkaBolt<String, T>()
                 .withProducerProperties(properties)
@@ -292,6 +303,31 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
     }
 
+    /**
+     * Creates Kafka bolt, that writes the {@link org.openkilda.wfm.kafka.DatapointCodec} encoded batches as is,
+     * marked as {@link MessageFormat#DATAPOINT_BATCH} records.
+     *
+     * @param topic Kafka topic
+     * @return {@link KafkaBolt}
+     */
+    protected KafkaBolt<String, byte[]> buildDatapointBatchKafkaBolt(final String topic) {
+        Properties properties = getKafkaProducerProperties();
+        properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, DatapointBatchSerializer.class.getName());
+
+        return new KafkaBolt<String, byte[]>()
+                .withProducerProperties(properties)
+                .withTopicSelector(new DefaultTopicSelector(topic))
+                .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
+    }
+
+    /**
+     * Returns the format of the records written into the topic by {@link #buildKafkaBolt} and
+     * {@link #buildKafkaBoltWithAbstractMessageSupport}. Message spouts read all the formats.
+     */
+    protected MessageFormat getMessageFormat(String topic) {
+        return kafkaBinaryTopics.contains(topic) ? MessageFormat.BINARY : MessageFormat.JSON;
+    }
+
     protected KafkaSpoutConfig.Builder<String, Message> getKafkaSpoutConfigBuilder(String topic, String spoutId) {
         return getKafkaSpoutConfigBuilder(Collections.singletonList(topic), spoutId);
     }
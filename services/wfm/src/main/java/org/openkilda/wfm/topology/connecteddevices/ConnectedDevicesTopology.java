@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.topology.connecteddevices;
 
+import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_KEY;
+
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
@@ -23,6 +25,9 @@ import org.openkilda.wfm.topology.connecteddevices.bolts.PacketBolt;
 
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.tuple.Fields;
+
+import java.time.Duration;
 
 public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesTopologyConfig> {
     public static final String CONNECTED_DEVICES_SPOUT_ID = "connected-devices-spout";
@@ -48,9 +53,13 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
     }
 
     private void createPacketBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
-        PacketBolt routerBolt = new PacketBolt(persistenceManager);
+        PacketBolt routerBolt = new PacketBolt(persistenceManager,
+                topologyConfig.getLastSeenFlushIntervalSeconds(),
+                Duration.ofSeconds(topologyConfig.getCookieCacheExpirationSeconds()),
+                Duration.ofSeconds(topologyConfig.getDeviceCacheExpirationSeconds()));
+        // floodlight uses the switch id as the record key, so the devices of a switch are cached by one bolt instance
         builder.setBolt(PACKET_BOLT_ID, routerBolt, topologyConfig.getNewParallelism())
-                .shuffleGrouping(CONNECTED_DEVICES_SPOUT_ID);
+                .fieldsGrouping(CONNECTED_DEVICES_SPOUT_ID, new Fields(FIELD_ID_KEY));
     }
 
     private void createSpout(TopologyBuilder builder) {
@@ -30,23 +30,44 @@ import org.openkilda.wfm.topology.connecteddevices.service.PacketService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Slf4j
 public class PacketBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
+    private final int flushIntervalSeconds;
+    private final Duration cookieCacheExpiration;
+    private final Duration deviceCacheExpiration;
     private transient PacketService packetService;
 
-    public PacketBolt(PersistenceManager persistenceManager) {
+    public PacketBolt(PersistenceManager persistenceManager, int flushIntervalSeconds,
+                      Duration cookieCacheExpiration, Duration deviceCacheExpiration) {
         this.persistenceManager = persistenceManager;
+        this.flushIntervalSeconds = flushIntervalSeconds;
+        this.cookieCacheExpiration = cookieCacheExpiration;
+        this.deviceCacheExpiration = deviceCacheExpiration;
     }
 
     @Override
     protected void init() {
-        packetService = new PacketService(persistenceManager);
+        packetService = new PacketService(persistenceManager, cookieCacheExpiration, deviceCacheExpiration);
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, flushIntervalSeconds);
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        if (TupleUtils.isTick(input)) {
+            packetService.flushLastSeen();
+            return;
+        }
+
         Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
 
         if (message instanceof InfoMessage) {
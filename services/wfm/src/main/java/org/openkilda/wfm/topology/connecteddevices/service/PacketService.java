@@ -26,62 +26,194 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.ConnectedDeviceRepository;
 import org.openkilda.persistence.repositories.FlowCookieRepository;
 
+import lombok.AllArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Keeps LLDP connected devices in the DB.
+ *
+ * <p>LLDP neighbours re-announce themselves every few seconds with the same attributes, so the service caches the
+ * known devices and the cookie to flow mapping. A new device or a device with changed attributes is written
+ * immediately, otherwise only the last seen time is updated in the cache and written later by
+ * {@link #flushLastSeen} in one transaction for all the updated devices.
+ */
 @Slf4j
 public class PacketService {
+    public static final Duration DEFAULT_COOKIE_CACHE_EXPIRATION = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_DEVICE_CACHE_EXPIRATION = Duration.ofMinutes(10);
+
     private TransactionManager transactionManager;
     private FlowCookieRepository flowCookieRepository;
     private ConnectedDeviceRepository connectedDeviceRepository;
 
+    private final Duration cookieCacheExpiration;
+    private final Duration deviceCacheExpiration;
+
+    private final Map<Long, CachedFlowId> flowIdByCookie = new HashMap<>();
+    private final Map<DeviceKey, CachedDevice> devices = new HashMap<>();
+    private final Set<DeviceKey> dirtyDevices = new LinkedHashSet<>();
+
     public PacketService(PersistenceManager persistenceManager) {
+        this(persistenceManager, DEFAULT_COOKIE_CACHE_EXPIRATION, DEFAULT_DEVICE_CACHE_EXPIRATION);
+    }
+
+    public PacketService(PersistenceManager persistenceManager, Duration cookieCacheExpiration,
+                         Duration deviceCacheExpiration) {
         transactionManager = persistenceManager.getTransactionManager();
         flowCookieRepository = persistenceManager.getRepositoryFactory().createFlowCookieRepository();
         connectedDeviceRepository = persistenceManager.getRepositoryFactory().createConnectedDeviceRepository();
+        this.cookieCacheExpiration = cookieCacheExpiration;
+        this.deviceCacheExpiration = deviceCacheExpiration;
     }
 
     /**
      * Handle LLDP info data.
      */
     public void handleLldpData(LldpInfoData data) {
-        transactionManager.doInTransaction(() -> {
-            Cookie cookie = new Cookie(data.getCookie());
-            Optional<FlowCookie> flowCookie = flowCookieRepository.findByCookie(cookie.getUnmaskedValue());
-            if (!flowCookie.isPresent()) {
-                log.warn("Couldn't find flow by cookie {}", cookie);
-                return;
-            }
+        Instant now = Instant.now();
+        Cookie cookie = new Cookie(data.getCookie());
+        Optional<String> flowId = lookupFlowId(cookie.getUnmaskedValue(), now);
+        if (!flowId.isPresent()) {
+            log.warn("Couldn't find flow by cookie {}", cookie);
+            return;
+        }
+
+        DeviceKey key = new DeviceKey(flowId.get(), cookie.isMaskedAsForward(), data.getMacAddress(),
+                data.getChassisId(), data.getPortId());
+        DeviceAttributes attributes = new DeviceAttributes(data.getTtl(), data.getPortDescription(),
+                data.getSystemName(), data.getSystemDescription(), data.getSystemCapabilities(),
+                data.getManagementAddress());
 
-            String flowId = flowCookie.get().getFlowId();
-            boolean isForward = cookie.isMaskedAsForward();
+        CachedDevice cached = devices.get(key);
+        if (cached != null && cached.attributes.equals(attributes)) {
+            cached.lastSeen = now;
+            dirtyDevices.add(key);
+            return;
+        }
 
-            Instant now = Instant.now();
+        transactionManager.doInTransaction(() -> {
             ConnectedDevice device = connectedDeviceRepository
                     .findByUniqueFieldCombination(
-                            flowId, isForward, data.getMacAddress(), LLDP, data.getChassisId(), data.getPortId())
+                            key.flowId, key.source, key.macAddress, LLDP, key.chassisId, key.portId)
                     .orElse(ConnectedDevice.builder()
-                            .flowId(flowId)
-                            .source(isForward)
-                            .macAddress(data.getMacAddress())
+                            .flowId(key.flowId)
+                            .source(key.source)
+                            .macAddress(key.macAddress)
                             .timeFirstSeen(now)
                             .type(LLDP)
-                            .chassisId(data.getChassisId())
-                            .portId(data.getPortId())
+                            .chassisId(key.chassisId)
+                            .portId(key.portId)
                             .build());
 
-            device.setTtl(data.getTtl());
-            device.setPortDescription(data.getPortDescription());
-            device.setSystemName(data.getSystemName());
-            device.setSystemDescription(data.getSystemDescription());
-            device.setSystemCapabilities(data.getSystemCapabilities());
-            device.setManagementAddress(data.getManagementAddress());
+            device.setTtl(attributes.ttl);
+            device.setPortDescription(attributes.portDescription);
+            device.setSystemName(attributes.systemName);
+            device.setSystemDescription(attributes.systemDescription);
+            device.setSystemCapabilities(attributes.systemCapabilities);
+            device.setManagementAddress(attributes.managementAddress);
             device.setTimeLastSeen(now);
             device.setType(LLDP);
 
             connectedDeviceRepository.createOrUpdate(device);
         });
+
+        devices.put(key, new CachedDevice(attributes, now));
+        dirtyDevices.remove(key);
+    }
+
+    /**
+     * Writes the last seen time of the devices which were seen since the previous flush in one transaction and
+     * evicts the expired entries of the caches.
+     */
+    public void flushLastSeen() {
+        Instant now = Instant.now();
+        if (!dirtyDevices.isEmpty()) {
+            log.debug("Flush last seen time of {} connected devices", dirtyDevices.size());
+            transactionManager.doInTransaction(() -> {
+                for (DeviceKey key : dirtyDevices) {
+                    CachedDevice cached = devices.get(key);
+                    if (cached == null) {
+                        continue;
+                    }
+                    Optional<ConnectedDevice> device = connectedDeviceRepository.findByUniqueFieldCombination(
+                            key.flowId, key.source, key.macAddress, LLDP, key.chassisId, key.portId);
+                    if (device.isPresent()) {
+                        device.get().setTimeLastSeen(cached.lastSeen);
+                        connectedDeviceRepository.createOrUpdate(device.get());
+                    } else {
+                        // removed together with the flow, the next packet will re-create it
+                        devices.remove(key);
+                    }
+                }
+            });
+            dirtyDevices.clear();
+        }
+
+        Instant deviceExpiration = now.minus(deviceCacheExpiration);
+        devices.values().removeIf(entry -> entry.lastSeen.isBefore(deviceExpiration));
+        Instant cookieExpiration = now.minus(cookieCacheExpiration);
+        for (Iterator<CachedFlowId> iterator = flowIdByCookie.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().loadTime.isBefore(cookieExpiration)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private Optional<String> lookupFlowId(long unmaskedCookie, Instant now) {
+        CachedFlowId cached = flowIdByCookie.get(unmaskedCookie);
+        if (cached != null && !cached.loadTime.isBefore(now.minus(cookieCacheExpiration))) {
+            return Optional.of(cached.flowId);
+        }
+
+        Optional<String> flowId = transactionManager.doInTransaction(() -> {
+            return flowCookieRepository.findByCookie(unmaskedCookie).map(FlowCookie::getFlowId);
+        });
+        if (flowId.isPresent()) {
+            flowIdByCookie.put(unmaskedCookie, new CachedFlowId(flowId.get(), now));
+        } else {
+            flowIdByCookie.remove(unmaskedCookie);
+        }
+        return flowId;
+    }
+
+    @Value
+    private static class DeviceKey {
+        private String flowId;
+        private boolean source;
+        private String macAddress;
+        private String chassisId;
+        private String portId;
+    }
+
+    @Value
+    private static class DeviceAttributes {
+        private Integer ttl;
+        private String portDescription;
+        private String systemName;
+        private String systemDescription;
+        private String systemCapabilities;
+        private String managementAddress;
+    }
+
+    @AllArgsConstructor
+    private static class CachedDevice {
+        private final DeviceAttributes attributes;
+        private Instant lastSeen;
+    }
+
+    @Value
+    private static class CachedFlowId {
+        private String flowId;
+        private Instant loadTime;
     }
 }
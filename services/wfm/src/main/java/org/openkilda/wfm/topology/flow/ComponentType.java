@@ -59,6 +59,11 @@ public enum ComponentType {
      */
     SPEAKER_KAFKA_BOLT,
 
+    /**
+     * Ping kafka bolt. Sends flow changes to ping topology.
+     */
+    PING_KAFKA_BOLT,
+
     /**
      * Cache kafka bolt. Sends flows to cache topology.
      */
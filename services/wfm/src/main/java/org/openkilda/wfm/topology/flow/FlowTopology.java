@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.flow;
 
 import static org.openkilda.wfm.AbstractBolt.FIELD_ID_CONTEXT;
+import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_KEY;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.pce.PathComputerConfig;
@@ -25,6 +26,7 @@ import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.error.NameCollisionException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.history.bolt.HistoryBolt;
+import org.openkilda.wfm.share.history.service.FlowHistoryConfig;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.bolts.CrudBolt;
 import org.openkilda.wfm.topology.flow.bolts.ErrorBolt;
@@ -50,6 +52,7 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
     public static final Fields fieldsFlowIdStatusContext =
             new Fields(Utils.FLOW_ID, FLOW_STATUS_FIELD, FIELD_ID_CONTEXT);
     public static final Fields fieldsMessageFlowId = new Fields(MESSAGE_FIELD, Utils.FLOW_ID);
+    public static final Fields fieldsKeyMessage = new Fields(KEY_FIELD, MESSAGE_FIELD);
     public static final Fields fieldsMessageErrorType = new Fields(MESSAGE_FIELD, ERROR_TYPE_FIELD);
 
     public FlowTopology(LaunchEnvironment env) {
@@ -136,6 +139,13 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 .shuffleGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.DELETE.toString())
                 .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.METER_MODE.toString());
 
+        /*
+         * Bolt sends flow changes to ping topology
+         */
+        KafkaBolt pingKafkaBolt = createKafkaBolt(topologyConfig.getKafkaPingTopic());
+        builder.setBolt(ComponentType.PING_KAFKA_BOLT.toString(), pingKafkaBolt, parallelism)
+                .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.PING.toString());
+
         /*
          * Bolt sends requests back to CrudBolt
          */
@@ -171,9 +181,11 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         /*
          * Bolt saves History data
          */
-        HistoryBolt historyBolt = new HistoryBolt(persistenceManager);
+        FlowHistoryConfig historyConfig = configurationProvider.getConfiguration(FlowHistoryConfig.class);
+        HistoryBolt historyBolt = new HistoryBolt(persistenceManager, historyConfig);
         builder.setBolt(ComponentType.HISTORY_BOLT.toString(), historyBolt, parallelism)
-                .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.HISTORY.toString());
+                .fieldsGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.HISTORY.toString(),
+                        new Fields(FIELD_ID_KEY));
 
         return builder.createTopology();
     }
@@ -97,5 +97,10 @@ public enum StreamType {
     /**
      * Swap endpoint messages.
      */
-    SWAP_ENDPOINT;
+    SWAP_ENDPOINT,
+
+    /**
+     * Periodic ping notifications.
+     */
+    PING;
 }
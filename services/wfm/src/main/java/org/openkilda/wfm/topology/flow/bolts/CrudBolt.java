@@ -31,6 +31,7 @@ import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
 import org.openkilda.messaging.command.flow.MeterModifyCommandRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.command.flow.UpdateFlowPathStatusRequest;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
 import org.openkilda.messaging.ctrl.state.CrudBoltState;
@@ -160,10 +161,11 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.UPDATE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldsMessageFlowId);
-        outputFieldsDeclarer.declareStream(StreamType.METER_MODE.toString(), AbstractTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.METER_MODE.toString(), FlowTopology.fieldsKeyMessage);
         outputFieldsDeclarer.declareStream(StreamType.RESPONSE.toString(), AbstractTopology.fieldMessage);
         outputFieldsDeclarer.declareStream(StreamType.ERROR.toString(), FlowTopology.fieldsMessageErrorType);
         outputFieldsDeclarer.declareStream(StreamType.HISTORY.toString(), MessageKafkaTranslator.STREAM_FIELDS);
+        outputFieldsDeclarer.declareStream(StreamType.PING.toString(), AbstractTopology.fieldMessage);
         // FIXME(dbogun): use proper tuple format
         outputFieldsDeclarer.declareStream(STREAM_ID_CTRL, AbstractTopology.fieldMessage);
     }
@@ -333,6 +335,9 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                     });
 
             logger.info("PUSHed the flow: {}", flow);
+            if (flow.getForward().isPeriodicPings()) {
+                emitPeriodicPingUpdate(flowId, true, message.getCorrelationId(), tuple);
+            }
 
             Values values = new Values(new InfoMessage(
                     new FlowStatusResponse(new FlowIdStatusPayload(flowId, FlowMapper.INSTANCE.map(flowStatus))),
@@ -372,6 +377,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                     });
 
             logger.info("UNPUSHed the flow: {}", flowDto);
+            emitPeriodicPingUpdate(flowId, false, message.getCorrelationId(), tuple);
 
             Values values = new Values(new InfoMessage(
                     new FlowStatusResponse(new FlowIdStatusPayload(flowId, FlowState.DOWN)),
@@ -399,6 +405,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                     new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.DELETE));
 
             logger.info("Deleted the flow: {}", deletedFlow);
+            emitPeriodicPingUpdate(flowId, false, message.getCorrelationId(), tuple);
 
             Values values = new Values(new InfoMessage(new FlowResponse(deletedFlow),
                     message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND, null));
@@ -435,6 +442,9 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                     new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.CREATE));
 
             logger.info("Created the flow: {}", createdFlow);
+            if (createdFlow.getForward().isPeriodicPings()) {
+                emitPeriodicPingUpdate(createdFlow.getForward().getFlowId(), true, message.getCorrelationId(), tuple);
+            }
             saveHistory("Created the flow", "", message.getCorrelationId(), tuple);
             saveDump(createdFlow, DumpType.STATE_AFTER, message.getCorrelationId(), tuple);
 
@@ -479,7 +489,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                 .flowEventData(flowEvent)
                 .taskId(correlationId)
                 .build();
-        outputCollector.emit(StreamType.HISTORY.toString(), tuple, new Values(null, historyHolder,
+        outputCollector.emit(StreamType.HISTORY.toString(), tuple, new Values(correlationId, historyHolder,
                 new CommandContext(correlationId)));
     }
 
@@ -494,7 +504,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                 .flowHistoryData(flowHistory)
                 .taskId(correlationId)
                 .build();
-        outputCollector.emit(StreamType.HISTORY.toString(), tuple, new Values(null, historyHolder,
+        outputCollector.emit(StreamType.HISTORY.toString(), tuple, new Values(correlationId, historyHolder,
                 new CommandContext(correlationId)));
     }
 
@@ -534,7 +544,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                 .flowDumpData(flowDump)
                 .taskId(correlationId)
                 .build();
-        outputCollector.emit(StreamType.HISTORY.toString(), tuple, new Values(null, historyHolder,
+        outputCollector.emit(StreamType.HISTORY.toString(), tuple, new Values(correlationId, historyHolder,
                 new CommandContext(correlationId)));
     }
 
@@ -549,6 +559,9 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                     new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.UPDATE));
 
             logger.warn("Rerouted flow with new path: {}", reroutedFlowPaths.getNewFlowPaths());
+            if (reroutedFlowPaths.isRerouted() && reroutedFlowPaths.getNewFlowPaths().getFlow().isPeriodicPings()) {
+                emitPeriodicPingUpdate(flowId, true, message.getCorrelationId(), tuple);
+            }
             handleReroute(message, tuple, reroutedFlowPaths);
         } catch (FlowNotFoundException e) {
             throw new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
@@ -574,6 +587,16 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, values);
     }
 
+    private void emitPeriodicPingUpdate(String flowId, boolean enable, String correlationId, Tuple tuple) {
+        CommandMessage message = new CommandMessage(new PeriodicPingCommand(flowId, enable),
+                System.currentTimeMillis(), correlationId);
+        try {
+            outputCollector.emit(StreamType.PING.toString(), tuple, new Values(MAPPER.writeValueAsString(message)));
+        } catch (JsonProcessingException e) {
+            logger.error("Unable to serialize {}", message);
+        }
+    }
+
     private void handlePathSwapRequest(CommandMessage message, Tuple tuple) {
         final String errorType = "Could not swap paths";
 
@@ -583,6 +606,9 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         try {
             UnidirectionalFlow flow = flowService.pathSwap(flowId, request.getPathId(),
                     new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.UPDATE));
+            if (flow.isPeriodicPings()) {
+                emitPeriodicPingUpdate(flowId, true, message.getCorrelationId(), tuple);
+            }
 
             Values values = new Values(new InfoMessage(buildFlowResponse(flow),
                     message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND, null));
@@ -625,6 +651,8 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                     new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.UPDATE));
 
             logger.info("Updated the flow: {}", updatedFlow);
+            emitPeriodicPingUpdate(updatedFlow.getForward().getFlowId(), updatedFlow.getForward().isPeriodicPings(),
+                    message.getCorrelationId(), tuple);
             saveHistory("Updated the flow", "", message.getCorrelationId(), tuple);
             saveDump(updatedFlow, DumpType.STATE_AFTER, message.getCorrelationId(), tuple);
 
@@ -709,8 +737,9 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         CommandMessage message = new CommandMessage(request, System.currentTimeMillis(), inMessage.getCorrelationId());
 
         try {
+            // the command is keyed by the switch of the forward meter, the speaker keeps the order of the same keys
             outputCollector.emit(StreamType.METER_MODE.toString(), tuple,
-                    new Values(MAPPER.writeValueAsString(message)));
+                    new Values(fwdSwitchId.toString(), MAPPER.writeValueAsString(message)));
         } catch (JsonProcessingException e) {
             logger.error("Unable to serialize {}", message);
         }
@@ -32,6 +32,7 @@ import org.openkilda.messaging.command.flow.DeleteMeterRequest;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.rule.FlowCommandErrorData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.ComponentType;
@@ -167,7 +168,8 @@ public class TransactionBolt extends AbstractTickRichBolt {
                     CommandMessage message = new CommandMessage(command, System.currentTimeMillis(), correlationId,
                             Destination.CONTROLLER);
                     StreamType streamId = command instanceof BaseInstallFlow ? StreamType.CREATE : StreamType.DELETE;
-                    outputCollector.emit(streamId.toString(), tuple, new Values(MAPPER.writeValueAsString(message)));
+                    outputCollector.emit(streamId.toString(), tuple,
+                            new Values(getSpeakerKey(command), MAPPER.writeValueAsString(message)));
                 } else {
                     CommandMessage message = new CommandMessage(command, System.currentTimeMillis(), correlationId);
                     // Send to the default stream.
@@ -177,6 +179,15 @@ public class TransactionBolt extends AbstractTickRichBolt {
         }
     }
 
+    /**
+     * The speaker keeps the order of the commands with the same record key, so the commands are keyed by switch.
+     */
+    private static String getSpeakerKey(CommandData command) {
+        SwitchId switchId = command instanceof BaseFlow
+                ? ((BaseFlow) command).getSwitchId() : ((DeleteMeterRequest) command).getSwitchId();
+        return switchId != null ? switchId.toString() : null;
+    }
+
     private void onSuccessfulCommand(String flowId, BaseFlow data, Tuple tuple, String correlationId)
             throws UnknownTransactionException, JsonProcessingException, UnknownBatchException {
         UUID transactionId = data.getTransactionId();
@@ -271,8 +282,8 @@ public class TransactionBolt extends AbstractTickRichBolt {
      */
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
-        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldMessage);
-        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldsKeyMessage);
+        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldsKeyMessage);
         outputFieldsDeclarer.declare(FlowTopology.fieldMessage);
         // FIXME(dbogun): use proper tuple format
         outputFieldsDeclarer.declareStream(STREAM_ID_CTRL, AbstractTopology.fieldMessage);
@@ -20,6 +20,7 @@ import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.SPEAKER_WORKER_TO_HUB_CREATE;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.SPEAKER_WORKER_TO_HUB_REROUTE;
 import static org.openkilda.wfm.topology.flowhs.bolts.RouterBolt.FLOW_ID_FIELD;
+import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_KEY;
 
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
@@ -29,6 +30,7 @@ import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.history.bolt.HistoryBolt;
+import org.openkilda.wfm.share.history.service.FlowHistoryConfig;
 import org.openkilda.wfm.share.hubandspoke.CoordinatorBolt;
 import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
 import org.openkilda.wfm.share.hubandspoke.WorkerBolt.Config;
@@ -36,6 +38,7 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flowhs.bolts.FlowCreateHubBolt;
 import org.openkilda.wfm.topology.flowhs.bolts.FlowCreateHubBolt.FlowCreateConfig;
 import org.openkilda.wfm.topology.flowhs.bolts.FlowRerouteHubBolt;
+import org.openkilda.wfm.topology.flowhs.bolts.FlowRerouteHubBolt.PathComputationPoolConfig;
 import org.openkilda.wfm.topology.flowhs.bolts.RouterBolt;
 import org.openkilda.wfm.topology.flowhs.bolts.SpeakerWorkerBolt;
 
@@ -79,6 +82,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         coordinator(tb);
 
         northboundOutput(tb);
+        pingOutput(tb);
 
         history(tb, persistenceManager);
 
@@ -123,9 +127,14 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         int hubTimeout = (int) TimeUnit.SECONDS.toMillis(topologyConfig.getRerouteHubTimeoutSeconds());
         PathComputerConfig pathComputerConfig = configurationProvider.getConfiguration(PathComputerConfig.class);
         FlowResourcesConfig flowResourcesConfig = configurationProvider.getConfiguration(FlowResourcesConfig.class);
+        PathComputationPoolConfig poolConfig = PathComputationPoolConfig.builder()
+                .workers(topologyConfig.getReroutePceWorkers())
+                .maxPendingTasks(topologyConfig.getReroutePceMaxPending())
+                .pollIntervalMs(topologyConfig.getReroutePcePollIntervalMs())
+                .build();
         FlowRerouteHubBolt hubBolt = new FlowRerouteHubBolt(ComponentId.FLOW_ROUTER_BOLT.name(),
                 ComponentId.FLOW_REROUTE_SPEAKER_WORKER.name(), hubTimeout, true,
-                persistenceManager, pathComputerConfig, flowResourcesConfig);
+                persistenceManager, pathComputerConfig, flowResourcesConfig, poolConfig);
         topologyBuilder.setBolt(ComponentId.FLOW_REROUTE_HUB.name(), hubBolt, parallelism)
                 .fieldsGrouping(ComponentId.FLOW_ROUTER_BOLT.name(), ROUTER_TO_FLOW_REROUTE_HUB.name(), FLOW_FIELD)
                 .directGrouping(ComponentId.FLOW_REROUTE_SPEAKER_WORKER.name(),
@@ -200,11 +209,21 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .shuffleGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_NB_RESPONSE_SENDER.name());
     }
 
+    private void pingOutput(TopologyBuilder topologyBuilder) {
+        KafkaBolt pingKafkaBolt = buildKafkaBolt(getConfig().getKafkaPingTopic());
+        topologyBuilder.setBolt(ComponentId.PING_SENDER.name(), pingKafkaBolt, parallelism)
+                .shuffleGrouping(ComponentId.FLOW_CREATE_HUB.name(), Stream.HUB_TO_PING_SENDER.name())
+                .shuffleGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_PING_SENDER.name());
+    }
+
     private void history(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
-        HistoryBolt historyBolt = new HistoryBolt(persistenceManager);
+        FlowHistoryConfig historyConfig = configurationProvider.getConfiguration(FlowHistoryConfig.class);
+        HistoryBolt historyBolt = new HistoryBolt(persistenceManager, historyConfig);
+        // records of one operation must reach the same bolt, so the batch links them to the operation's event
+        Fields keyField = new Fields(FIELD_ID_KEY);
         topologyBuilder.setBolt(ComponentId.HISTORY_BOLT.name(), historyBolt, parallelism)
-                .shuffleGrouping(ComponentId.FLOW_CREATE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name())
-                .shuffleGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name());
+                .fieldsGrouping(ComponentId.FLOW_CREATE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name(), keyField)
+                .fieldsGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name(), keyField);
     }
 
     public enum ComponentId {
@@ -220,6 +239,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
 
         NB_RESPONSE_SENDER("nb.kafka.bolt"),
         SPEAKER_REQUEST_SENDER("speaker.kafka.bolt"),
+        PING_SENDER("ping.kafka.bolt"),
 
         HISTORY_BOLT("flow.history.bolt");
 
@@ -247,7 +267,8 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         SPEAKER_WORKER_TO_HUB_REROUTE,
 
         SPEAKER_WORKER_REQUEST_SENDER,
-        HUB_TO_NB_RESPONSE_SENDER
+        HUB_TO_NB_RESPONSE_SENDER,
+        HUB_TO_PING_SENDER
     }
 
     /**
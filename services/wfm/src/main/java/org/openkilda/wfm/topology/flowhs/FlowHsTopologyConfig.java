@@ -37,6 +37,10 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
         return getKafkaTopics().getFlowHsSpeakerTopic();
     }
 
+    default String getKafkaPingTopic() {
+        return getKafkaTopics().getPingTopic();
+    }
+
     @Key("flow.create.hub.timeout.seconds")
     @Default("30")
     int getCreateHubTimeoutSeconds();
@@ -60,4 +64,16 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
     @Key("flow.reroute.speaker.timeout.seconds")
     @Default("10")
     int getRerouteSpeakerTimeoutSeconds();
+
+    @Key("flow.reroute.pce.workers")
+    @Default("0")
+    int getReroutePceWorkers();
+
+    @Key("flow.reroute.pce.max.pending")
+    @Default("1000")
+    int getReroutePceMaxPending();
+
+    @Key("flow.reroute.pce.poll.interval.ms")
+    @Default("10")
+    int getReroutePcePollIntervalMs();
 }
@@ -17,14 +17,18 @@ package org.openkilda.wfm.topology.flowhs.bolts;
 
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_HISTORY_BOLT;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_RESPONSE_SENDER;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_PING_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SPEAKER_WORKER;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
 import org.openkilda.floodlight.flow.request.SpeakerFlowRequest;
 import org.openkilda.floodlight.flow.response.FlowResponse;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
@@ -69,13 +73,15 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
     @Override
     protected void init() {
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
-        AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
+        NetworkSnapshotCache networkSnapshotCache =
+                NetworkSnapshotCache.getShared(pathComputerConfig, persistenceManager.getRepositoryFactory());
+        AvailableNetworkFactory availableNetworkFactory = new AvailableNetworkFactory(pathComputerConfig,
+                persistenceManager.getRepositoryFactory(), networkSnapshotCache);
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
-        service = new FlowCreateService(this, persistenceManager, pathComputer, resourcesManager,
-                config.getFlowCreationRetriesLimit(), config.getSpeakerCommandRetriesLimit());
+        service = new FlowCreateService(this, persistenceManager, pathComputer, networkSnapshotCache,
+                resourcesManager, config.getFlowCreationRetriesLimit(), config.getSpeakerCommandRetriesLimit());
     }
 
     @Override
@@ -111,6 +117,13 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
         emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(), new Values(currentKey, message));
     }
 
+    @Override
+    public void sendPeriodicPingNotification(String flowId, boolean enabled) {
+        CommandMessage message = new CommandMessage(new PeriodicPingCommand(flowId, enabled),
+                System.currentTimeMillis(), getCommandContext().getCorrelationId());
+        emitWithContext(HUB_TO_PING_SENDER.name(), getCurrentTuple(), new Values(currentKey, message));
+    }
+
     @Override
     public void sendHistoryUpdate(FlowHistoryHolder historyHolder) {
         emitWithContext(Stream.HUB_TO_HISTORY_BOLT.name(), getCurrentTuple(), new Values(currentKey, historyHolder));
@@ -128,6 +141,7 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
         declarer.declareStream(HUB_TO_SPEAKER_WORKER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_NB_RESPONSE_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
     }
 
     @Getter
@@ -17,14 +17,18 @@ package org.openkilda.wfm.topology.flowhs.bolts;
 
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_HISTORY_BOLT;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_RESPONSE_SENDER;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_PING_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SPEAKER_WORKER;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
 import org.openkilda.floodlight.flow.request.SpeakerFlowRequest;
 import org.openkilda.floodlight.flow.response.FlowResponse;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
@@ -34,27 +38,41 @@ import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.hubandspoke.HubBolt;
+import org.openkilda.wfm.share.utils.BoundedWorkerPool;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
+import org.openkilda.wfm.topology.flowhs.fsm.reroute.PrecomputedPath;
 import org.openkilda.wfm.topology.flowhs.service.FlowRerouteHubCarrier;
 import org.openkilda.wfm.topology.flowhs.service.FlowRerouteService;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
+import lombok.Builder;
+import lombok.Value;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
 public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier {
     private final PersistenceManager persistenceManager;
     private final PathComputerConfig pathComputerConfig;
     private final FlowResourcesConfig flowResourcesConfig;
+    private final PathComputationPoolConfig poolConfig;
 
     private transient FlowRerouteService service;
+    private transient BoundedWorkerPool<List<String>, Map<String, PrecomputedPath>> pathComputationPool;
+    private transient String pollKey;
+    private transient boolean pollScheduled;
     private String currentKey;
 
     public FlowRerouteHubBolt(String routerBoltId, String workerBoltId, int timeoutMs, boolean autoAck,
                               PersistenceManager persistenceManager, PathComputerConfig pathComputerConfig,
-                              FlowResourcesConfig flowResourcesConfig) {
+                              FlowResourcesConfig flowResourcesConfig, PathComputationPoolConfig poolConfig) {
         super(HubBolt.Config.builder()
                 .requestSenderComponent(routerBoltId)
                 .workerComponent(workerBoltId)
@@ -65,17 +83,47 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         this.persistenceManager = persistenceManager;
         this.pathComputerConfig = pathComputerConfig;
         this.flowResourcesConfig = flowResourcesConfig;
+        this.poolConfig = poolConfig;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        if (pathComputationPool != null) {
+            int bucketSize = poolConfig.getMetricsBucketSeconds();
+            context.registerMetric("pce.pool.queue.depth", pathComputationPool::getQueueDepth, bucketSize);
+            context.registerMetric("pce.pool.compute.latency.ms",
+                    pathComputationPool::getAndResetMeanExecutionTimeMs, bucketSize);
+            context.registerMetric("pce.pool.rejected", pathComputationPool::getAndResetRejectedCount, bucketSize);
+        }
     }
 
     @Override
     protected void init() {
-        AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
+        NetworkSnapshotCache networkSnapshotCache =
+                NetworkSnapshotCache.getShared(pathComputerConfig, persistenceManager.getRepositoryFactory());
+        AvailableNetworkFactory availableNetworkFactory = new AvailableNetworkFactory(pathComputerConfig,
+                persistenceManager.getRepositoryFactory(), networkSnapshotCache);
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
-        service = new FlowRerouteService(this, persistenceManager, pathComputer, resourcesManager);
+        if (poolConfig.getWorkers() > 0) {
+            pathComputationPool = new BoundedWorkerPool<>("reroute-pce-" + getTaskId(), poolConfig.getWorkers(),
+                    poolConfig.getMaxPendingTasks());
+            pollKey = "reroute-pce-poll-" + getTaskId();
+        }
+        service = new FlowRerouteService(this, persistenceManager, pathComputer, networkSnapshotCache,
+                resourcesManager, pathComputationPool);
+    }
+
+    @Override
+    public void cleanup() {
+        if (pathComputationPool != null) {
+            pathComputationPool.shutdown();
+        }
+        super.cleanup();
     }
 
     @Override
@@ -83,6 +131,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         currentKey = input.getStringByField(MessageKafkaTranslator.FIELD_ID_KEY);
         FlowRerouteRequest request = (FlowRerouteRequest) input.getValueByField(FIELD_ID_PAYLOAD);
         service.handleRequest(currentKey, pullContext(input), request.getFlowId(), request.getPathIds());
+        schedulePathComputationPoll();
     }
 
     @Override
@@ -95,10 +144,30 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
 
     @Override
     public void onTimeout(String key, Tuple tuple) {
+        if (key.equals(pollKey)) {
+            pollScheduled = false;
+            service.submitPathComputations();
+            pathComputationPool.drain(completion -> {
+                for (String requestKey : completion.getContext()) {
+                    currentKey = requestKey;
+                    service.handlePathComputation(requestKey, completion.getResult(), completion.getError());
+                }
+            });
+            schedulePathComputationPoll();
+            return;
+        }
+
         currentKey = key;
         service.handleTimeout(key);
     }
 
+    private void schedulePathComputationPoll() {
+        if (pathComputationPool != null && !pollScheduled && service.hasPendingPathComputations()) {
+            registerCallback(pollKey, poolConfig.getPollIntervalMs());
+            pollScheduled = true;
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         super.declareOutputFields(declarer);
@@ -106,6 +175,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         declarer.declareStream(HUB_TO_SPEAKER_WORKER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_NB_RESPONSE_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
     }
 
     @Override
@@ -120,6 +190,13 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(), new Values(currentKey, message));
     }
 
+    @Override
+    public void sendPeriodicPingNotification(String flowId, boolean enabled) {
+        CommandMessage message = new CommandMessage(new PeriodicPingCommand(flowId, enabled),
+                System.currentTimeMillis(), getCommandContext().getCorrelationId());
+        emitWithContext(HUB_TO_PING_SENDER.name(), getCurrentTuple(), new Values(currentKey, message));
+    }
+
     @Override
     public void sendHistoryUpdate(FlowHistoryHolder historyHolder) {
         emitWithContext(Stream.HUB_TO_HISTORY_BOLT.name(), getCurrentTuple(), new Values(currentKey, historyHolder));
@@ -129,4 +206,22 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
     public void cancelTimeoutCallback(String key) {
         cancelCallback(key);
     }
+
+    @Value
+    @Builder
+    public static class PathComputationPoolConfig implements Serializable {
+        /**
+         * The number of path computation threads, 0 disables the pool so paths are computed on the bolt thread.
+         */
+        private int workers;
+
+        @Builder.Default
+        private int maxPendingTasks = 1000;
+
+        @Builder.Default
+        private int pollIntervalMs = 10;
+
+        @Builder.Default
+        private int metricsBucketSeconds = 60;
+    }
 }
@@ -80,7 +80,10 @@ public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarri
 
     @Override
     public void sendCommand(String key, SpeakerFlowRequest command) {
-        emitWithContext(SPEAKER_WORKER_REQUEST_SENDER.name(), getCurrentTuple(), new Values(key, command));
+        // the speaker keeps the order of the commands with the same record key, so the commands are keyed by switch
+        command.setReplyKey(key);
+        emitWithContext(SPEAKER_WORKER_REQUEST_SENDER.name(), getCurrentTuple(),
+                new Values(command.getSwitchId().toString(), command));
     }
 
     @Override
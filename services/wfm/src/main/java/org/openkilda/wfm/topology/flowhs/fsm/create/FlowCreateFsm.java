@@ -23,6 +23,7 @@ import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.model.PathId;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.CommandContext;
@@ -182,8 +183,8 @@ public final class FlowCreateFsm extends NbTrackableStateMachine<FlowCreateFsm,
 
     public static FlowCreateFsm.Factory factory(PersistenceManager persistenceManager, FlowCreateHubCarrier carrier,
                                                 Config config, FlowResourcesManager resourcesManager,
-                                                PathComputer pathComputer) {
-        return new Factory(persistenceManager, carrier, config, resourcesManager, pathComputer);
+                                                PathComputer pathComputer, NetworkSnapshotCache networkSnapshotCache) {
+        return new Factory(persistenceManager, carrier, config, resourcesManager, pathComputer, networkSnapshotCache);
     }
 
     @Getter
@@ -231,7 +232,8 @@ public final class FlowCreateFsm extends NbTrackableStateMachine<FlowCreateFsm,
         private final Config config;
 
         Factory(PersistenceManager persistenceManager, FlowCreateHubCarrier carrier, Config config,
-                       FlowResourcesManager resourcesManager, PathComputer pathComputer) {
+                       FlowResourcesManager resourcesManager, PathComputer pathComputer,
+                       NetworkSnapshotCache networkSnapshotCache) {
             this.builder = StateMachineBuilderFactory.create(
                     FlowCreateFsm.class, State.class, Event.class, FlowCreateContext.class,
                     String.class, CommandContext.class, FlowCreateHubCarrier.class, Config.class);
@@ -255,7 +257,8 @@ public final class FlowCreateFsm extends NbTrackableStateMachine<FlowCreateFsm,
                     .from(State.FLOW_VALIDATED)
                     .to(State.RESOURCES_ALLOCATED)
                     .on(Event.NEXT)
-                    .perform(new ResourcesAllocationAction(pathComputer, persistenceManager, resourcesManager));
+                    .perform(new ResourcesAllocationAction(pathComputer, networkSnapshotCache,
+                            persistenceManager, resourcesManager));
 
             // there is possibility that during resources allocation we have to revalidate flow again.
             // e.g. if we try to simultaneously create two flows with the same flow id then both threads can go
@@ -419,7 +422,8 @@ public final class FlowCreateFsm extends NbTrackableStateMachine<FlowCreateFsm,
                     .from(State._FAILED)
                     .to(State.RESOURCES_ALLOCATED)
                     .on(Event.RETRY)
-                    .perform(new ResourcesAllocationAction(pathComputer, persistenceManager, resourcesManager));
+                    .perform(new ResourcesAllocationAction(pathComputer, networkSnapshotCache,
+                            persistenceManager, resourcesManager));
 
             builder.transitions()
                     .from(State._FAILED)
@@ -62,6 +62,9 @@ public class CompleteFlowCreateAction extends FlowProcessingAction<FlowCreateFsm
             dashboardLogger.onFlowStatusUpdate(flowId, FlowStatus.UP);
             flowRepository.updateStatus(flowId, FlowStatus.UP);
             log.info("Flow {} successfully created", stateMachine.getFlowId());
+            if (optionalFlow.get().isPeriodicPings()) {
+                stateMachine.getCarrier().sendPeriodicPingNotification(flowId, true);
+            }
             saveHistory(stateMachine, stateMachine.getCarrier(), stateMachine.getFlowId(), "Created successfully");
         } else {
             log.debug("Cannot complete flow {} creation: it was deleted", flowId);
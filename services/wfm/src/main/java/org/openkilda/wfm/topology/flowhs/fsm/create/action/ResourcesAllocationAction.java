@@ -29,12 +29,14 @@ import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.Isl;
 import org.openkilda.model.SwitchId;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.persistence.ConstraintViolationException;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.RecoverablePersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
@@ -79,6 +81,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
     private static final int MAX_TRANSACTION_RETRY_COUNT = 3;
 
     private final PathComputer pathComputer;
+    private final NetworkSnapshotCache networkSnapshotCache;
     private final TransactionManager transactionManager;
     private final FlowResourcesManager resourcesManager;
     private final FlowRepository flowRepository;
@@ -88,9 +91,10 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
     private final FlowPathBuilder flowPathBuilder;
     private final SwitchPropertiesRepository switchPropertiesRepository;
 
-    public ResourcesAllocationAction(PathComputer pathComputer, PersistenceManager persistenceManager,
-                                     FlowResourcesManager resourcesManager) {
+    public ResourcesAllocationAction(PathComputer pathComputer, NetworkSnapshotCache networkSnapshotCache,
+                                     PersistenceManager persistenceManager, FlowResourcesManager resourcesManager) {
         this.pathComputer = pathComputer;
+        this.networkSnapshotCache = networkSnapshotCache;
         this.transactionManager = persistenceManager.getTransactionManager();
         this.resourcesManager = resourcesManager;
         this.flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
@@ -187,6 +191,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
                     .retryOn(RecoverableException.class)
                     .retryOn(ResourceAllocationException.class)
                     .retryOn(TransientException.class)
+                    .retryOn(RecoverablePersistenceException.class)
                     .withMaxRetries(MAX_TRANSACTION_RETRY_COUNT))
                     .onRetry(e -> log.warn("Retrying transaction for resource allocation finished with exception", e))
                     .onRetriesExceeded(e -> log.warn("TX retry attempts exceed with error", e))
@@ -204,6 +209,8 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
                 throw (ResourceAllocationException) cause;
             } else if (cause instanceof FlowNotFoundException) {
                 throw (FlowNotFoundException) cause;
+            } else if (cause instanceof RecoverablePersistenceException) {
+                throw new UnroutableFlowException(cause.getMessage(), flow.getFlowId());
             } else {
                 throw ex;
             }
@@ -286,18 +293,28 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
             log.debug("Updating ISL for the path segment: {}", pathSegment);
 
             updateAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
-                    pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
+                    pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort(), path.isIgnoreBandwidth());
         });
     }
 
-    private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort) {
+    private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
+                                          boolean ignoreBandwidth) {
         long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(srcSwitch, srcPort,
                 dstSwitch, dstPort);
 
         Optional<Isl> matchedIsl = islRepository.findByEndpoints(srcSwitch, srcPort, dstSwitch, dstPort);
         matchedIsl.ifPresent(isl -> {
-            isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
+            long availableBandwidth = isl.getMaxBandwidth() - usedBandwidth;
+            if (availableBandwidth < 0 && !ignoreBandwidth) {
+                // The path was computed over a stale network snapshot, the retry must use a reloaded one.
+                networkSnapshotCache.invalidate();
+                throw new RecoverablePersistenceException(format("ISL %s_%d-%s_%d was overprovisioned",
+                        srcSwitch, srcPort, dstSwitch, dstPort));
+            }
+            isl.setAvailableBandwidth(availableBandwidth);
             islRepository.createOrUpdate(isl);
+            transactionManager.registerCommitCallback(() -> networkSnapshotCache.updateAvailableBandwidth(
+                    srcSwitch, srcPort, dstSwitch, dstPort, availableBandwidth));
         });
     }
 
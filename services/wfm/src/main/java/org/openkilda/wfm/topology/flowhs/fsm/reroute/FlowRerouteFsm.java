@@ -28,6 +28,7 @@ import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.PathId;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.CommandContext;
@@ -96,9 +97,11 @@ public final class FlowRerouteFsm
     private boolean rerouteProtected;
 
     private FlowStatus originalFlowStatus;
+    private Integer flowPriority;
     private FlowEncapsulationType originalEncapsulationType;
 
     private FlowEncapsulationType newEncapsulationType;
+    private PrecomputedPath precomputedPrimaryPath;
     private FlowResources newPrimaryResources;
     private FlowResources newProtectedResources;
     private PathId newPrimaryForwardPath;
@@ -133,7 +136,8 @@ public final class FlowRerouteFsm
     }
 
     private static StateMachineBuilder<FlowRerouteFsm, State, Event, FlowRerouteContext> builder(
-            PersistenceManager persistenceManager, PathComputer pathComputer, FlowResourcesManager resourcesManager) {
+            PersistenceManager persistenceManager, PathComputer pathComputer,
+            NetworkSnapshotCache networkSnapshotCache, FlowResourcesManager resourcesManager) {
         StateMachineBuilder<FlowRerouteFsm, State, Event, FlowRerouteContext> builder =
                 StateMachineBuilderFactory.create(FlowRerouteFsm.class, State.class, Event.class,
                         FlowRerouteContext.class, CommandContext.class, FlowRerouteHubCarrier.class);
@@ -145,7 +149,8 @@ public final class FlowRerouteFsm
         builder.transition().from(State.INITIALIZED).to(State.FINISHED_WITH_ERROR).on(Event.TIMEOUT);
 
         builder.transition().from(State.FLOW_VALIDATED).to(State.PRIMARY_RESOURCES_ALLOCATED).on(Event.NEXT)
-                .perform(new AllocatePrimaryResourcesAction(persistenceManager, pathComputer, resourcesManager,
+                .perform(new AllocatePrimaryResourcesAction(persistenceManager, pathComputer, networkSnapshotCache,
+                        resourcesManager,
                         dashboardLogger));
         builder.transitions().from(State.FLOW_VALIDATED)
                 .toAmong(State.REVERTING_FLOW_STATUS, State.REVERTING_FLOW_STATUS)
@@ -153,7 +158,8 @@ public final class FlowRerouteFsm
 
         builder.transition().from(State.PRIMARY_RESOURCES_ALLOCATED).to(State.PROTECTED_RESOURCES_ALLOCATED)
                 .on(Event.NEXT)
-                .perform(new AllocateProtectedResourcesAction(persistenceManager, pathComputer, resourcesManager,
+                .perform(new AllocateProtectedResourcesAction(persistenceManager, pathComputer, networkSnapshotCache,
+                        resourcesManager,
                         dashboardLogger));
         builder.transition().from(State.PRIMARY_RESOURCES_ALLOCATED).to(State.MARKING_FLOW_DOWN)
                 .on(Event.NO_PATH_FOUND);
@@ -264,7 +270,7 @@ public final class FlowRerouteFsm
                 .perform(new HandleNotRemovedRulesAction());
 
         builder.transition().from(State.OLD_RULES_REMOVED).to(State.OLD_PATHS_REMOVAL_COMPLETED).on(Event.NEXT)
-                .perform(new CompleteFlowPathRemovalAction(persistenceManager));
+                .perform(new CompleteFlowPathRemovalAction(persistenceManager, networkSnapshotCache));
 
         builder.transition().from(State.OLD_PATHS_REMOVAL_COMPLETED).to(State.DEALLOCATING_OLD_RESOURCES)
                 .on(Event.NEXT);
@@ -314,7 +320,8 @@ public final class FlowRerouteFsm
         builder.transitions().from(State.REVERTING_ALLOCATED_RESOURCES)
                 .toAmong(State.RESOURCES_ALLOCATION_REVERTED, State.RESOURCES_ALLOCATION_REVERTED)
                 .onEach(Event.NEXT, Event.ERROR)
-                .perform(new RevertResourceAllocationAction(persistenceManager, resourcesManager));
+                .perform(new RevertResourceAllocationAction(persistenceManager, networkSnapshotCache,
+                        resourcesManager));
         builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED).to(State.REVERTING_FLOW_STATUS).on(Event.NEXT);
         builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED).to(State.REVERTING_FLOW_STATUS)
                 .on(Event.ERROR)
@@ -360,16 +367,18 @@ public final class FlowRerouteFsm
 
     public static FlowRerouteFsm newInstance(CommandContext commandContext, FlowRerouteHubCarrier carrier,
                                              PersistenceManager persistenceManager,
-                                             PathComputer pathComputer, FlowResourcesManager resourcesManager) {
+                                             PathComputer pathComputer, NetworkSnapshotCache networkSnapshotCache,
+                                             FlowResourcesManager resourcesManager) {
         return newInstance(State.INITIALIZED, commandContext, carrier,
-                persistenceManager, pathComputer, resourcesManager);
+                persistenceManager, pathComputer, networkSnapshotCache, resourcesManager);
     }
 
     public static FlowRerouteFsm newInstance(State state, CommandContext commandContext,
                                              FlowRerouteHubCarrier carrier,
                                              PersistenceManager persistenceManager,
-                                             PathComputer pathComputer, FlowResourcesManager resourcesManager) {
-        return builder(persistenceManager, pathComputer, resourcesManager)
+                                             PathComputer pathComputer, NetworkSnapshotCache networkSnapshotCache,
+                                             FlowResourcesManager resourcesManager) {
+        return builder(persistenceManager, pathComputer, networkSnapshotCache, resourcesManager)
                 .newStateMachine(state, commandContext, carrier);
     }
 
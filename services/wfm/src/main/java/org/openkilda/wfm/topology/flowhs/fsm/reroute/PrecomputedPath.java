@@ -0,0 +1,33 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.fsm.reroute;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.pce.PathPair;
+import org.openkilda.pce.exception.UnroutableFlowException;
+
+import lombok.Value;
+
+/**
+ * A primary path computed for a flow before the reroute FSM reaches the resource allocation, along with
+ * the encapsulation type it was computed for. If no path was found, {@code unroutableError} holds the reason.
+ */
+@Value
+public class PrecomputedPath {
+    private FlowEncapsulationType encapsulationType;
+    private PathPair pathPair;
+    private UnroutableFlowException unroutableError;
+}
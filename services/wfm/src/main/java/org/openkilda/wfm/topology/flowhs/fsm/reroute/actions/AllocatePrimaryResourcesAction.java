@@ -19,6 +19,7 @@ import static java.lang.String.format;
 
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.model.Flow;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
@@ -32,15 +33,17 @@ import org.openkilda.wfm.topology.flow.model.FlowPathPair;
 import org.openkilda.wfm.topology.flowhs.exception.FlowProcessingException;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteContext;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm;
+import org.openkilda.wfm.topology.flowhs.fsm.reroute.PrecomputedPath;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class AllocatePrimaryResourcesAction extends BaseResourceAllocationAction {
     public AllocatePrimaryResourcesAction(PersistenceManager persistenceManager, PathComputer pathComputer,
+                                          NetworkSnapshotCache networkSnapshotCache,
                                           FlowResourcesManager resourcesManager,
                                           FlowOperationsDashboardLogger dashboardLogger) {
-        super(persistenceManager, pathComputer, resourcesManager, dashboardLogger);
+        super(persistenceManager, pathComputer, networkSnapshotCache, resourcesManager, dashboardLogger);
     }
 
     @Override
@@ -61,8 +64,20 @@ public class AllocatePrimaryResourcesAction extends BaseResourceAllocationAction
             flow.setEncapsulationType(stateMachine.getNewEncapsulationType());
         }
 
-        log.debug("Finding a new primary path for flow {}", flowId);
-        PathPair potentialPath = pathComputer.getPath(flow, flow.getFlowPathIds());
+        PathPair potentialPath;
+        PrecomputedPath precomputedPath = stateMachine.getPrecomputedPrimaryPath();
+        // The precomputed path is used only once, so a retry makes the path computation again.
+        stateMachine.setPrecomputedPrimaryPath(null);
+        if (precomputedPath != null && precomputedPath.getEncapsulationType() == flow.getEncapsulationType()) {
+            if (precomputedPath.getUnroutableError() != null) {
+                throw precomputedPath.getUnroutableError();
+            }
+            log.debug("Using the precomputed primary path for flow {}", flowId);
+            potentialPath = precomputedPath.getPathPair();
+        } else {
+            log.debug("Finding a new primary path for flow {}", flowId);
+            potentialPath = pathComputer.getPath(flow, flow.getFlowPathIds());
+        }
         boolean newPathFound = isNotSamePath(potentialPath, flow.getForwardPath(), flow.getReversePath());
         if (newPathFound || stateMachine.isRecreateIfSamePath()) {
             if (!newPathFound) {
@@ -23,6 +23,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
@@ -42,9 +43,10 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AllocateProtectedResourcesAction extends BaseResourceAllocationAction {
     public AllocateProtectedResourcesAction(PersistenceManager persistenceManager, PathComputer pathComputer,
+                                            NetworkSnapshotCache networkSnapshotCache,
                                             FlowResourcesManager resourcesManager,
                                             FlowOperationsDashboardLogger dashboardLogger) {
-        super(persistenceManager, pathComputer, resourcesManager, dashboardLogger);
+        super(persistenceManager, pathComputer, networkSnapshotCache, resourcesManager, dashboardLogger);
     }
 
     @Override
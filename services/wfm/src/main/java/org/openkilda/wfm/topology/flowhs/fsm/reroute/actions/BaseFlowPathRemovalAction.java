@@ -19,6 +19,7 @@ import static java.lang.String.format;
 
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowPathRepository;
@@ -48,10 +49,13 @@ abstract class BaseFlowPathRemovalAction extends
     protected final TransactionManager transactionManager;
     protected final FlowPathRepository flowPathRepository;
     private final IslRepository islRepository;
+    private final NetworkSnapshotCache networkSnapshotCache;
 
-    BaseFlowPathRemovalAction(PersistenceManager persistenceManager) {
+    BaseFlowPathRemovalAction(PersistenceManager persistenceManager, NetworkSnapshotCache networkSnapshotCache) {
         super(persistenceManager);
 
+        this.networkSnapshotCache = networkSnapshotCache;
+
         transactionManager = persistenceManager.getTransactionManager();
         flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
@@ -80,7 +84,10 @@ abstract class BaseFlowPathRemovalAction extends
                 dstSwitch, dstPort);
         log.debug("Updating ISL {}_{}-{}_{} with used bandwidth {}", srcSwitch, srcPort, dstSwitch, dstPort,
                 usedBandwidth);
-        islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
+        long islAvailableBandwidth =
+                islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
+        transactionManager.registerCommitCallback(() -> networkSnapshotCache.updateAvailableBandwidth(
+                srcSwitch, srcPort, dstSwitch, dstPort, islAvailableBandwidth));
     }
 
     protected void saveHistory(FlowRerouteFsm stateMachine, String flowId, FlowPath forwardPath, FlowPath reversePath) {
@@ -24,6 +24,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.SwitchId;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
@@ -78,12 +79,14 @@ abstract class BaseResourceAllocationAction extends
     protected final SwitchPropertiesRepository switchPropertiesRepository;
 
     protected final PathComputer pathComputer;
+    protected final NetworkSnapshotCache networkSnapshotCache;
     protected final FlowResourcesManager resourcesManager;
     protected final FlowPathBuilder flowPathBuilder;
     protected final FlowOperationsDashboardLogger dashboardLogger;
 
     BaseResourceAllocationAction(PersistenceManager persistenceManager, PathComputer pathComputer,
-                                 FlowResourcesManager resourcesManager, FlowOperationsDashboardLogger dashboardLogger) {
+                                 NetworkSnapshotCache networkSnapshotCache, FlowResourcesManager resourcesManager,
+                                 FlowOperationsDashboardLogger dashboardLogger) {
         transactionManager = persistenceManager.getTransactionManager();
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
         flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
@@ -91,6 +94,7 @@ abstract class BaseResourceAllocationAction extends
         switchPropertiesRepository = persistenceManager.getRepositoryFactory().createSwitchPropertiesRepository();
 
         this.pathComputer = pathComputer;
+        this.networkSnapshotCache = networkSnapshotCache;
         this.resourcesManager = resourcesManager;
         this.dashboardLogger = dashboardLogger;
 
@@ -232,9 +236,13 @@ abstract class BaseResourceAllocationAction extends
         long islAvailableBandwidth =
                 islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
         if (islAvailableBandwidth < 0) {
+            // The path was computed over a stale network snapshot, the retry must use a reloaded one.
+            networkSnapshotCache.invalidate();
             throw new RecoverablePersistenceException(format("ISL %s_%d-%s_%d was overprovisioned",
                     srcSwitch, srcPort, dstSwitch, dstPort));
         }
+        transactionManager.registerCommitCallback(() -> networkSnapshotCache.updateAvailableBandwidth(
+                srcSwitch, srcPort, dstSwitch, dstPort, islAvailableBandwidth));
     }
 
     protected void saveHistory(FlowRerouteFsm stateMachine, Flow flow,
@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.flowhs.fsm.reroute.actions;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.RecoverablePersistenceException;
@@ -36,8 +37,9 @@ import java.util.stream.Stream;
 public class CompleteFlowPathRemovalAction extends BaseFlowPathRemovalAction {
     private static final int MAX_TRANSACTION_RETRY_COUNT = 3;
 
-    public CompleteFlowPathRemovalAction(PersistenceManager persistenceManager) {
-        super(persistenceManager);
+    public CompleteFlowPathRemovalAction(PersistenceManager persistenceManager,
+                                         NetworkSnapshotCache networkSnapshotCache) {
+        super(persistenceManager, networkSnapshotCache);
     }
 
     @Override
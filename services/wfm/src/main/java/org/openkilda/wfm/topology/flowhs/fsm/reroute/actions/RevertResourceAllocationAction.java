@@ -19,6 +19,7 @@ import static java.lang.String.format;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.persistence.FetchStrategy;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.share.flow.resources.FlowResources;
@@ -45,8 +46,9 @@ public class RevertResourceAllocationAction extends BaseFlowPathRemovalAction {
     private final FlowResourcesManager resourcesManager;
 
     public RevertResourceAllocationAction(PersistenceManager persistenceManager,
+                                          NetworkSnapshotCache networkSnapshotCache,
                                           FlowResourcesManager resourcesManager) {
-        super(persistenceManager);
+        super(persistenceManager, networkSnapshotCache);
 
         this.resourcesManager = resourcesManager;
     }
@@ -58,6 +58,10 @@ public class UpdateFlowStatusAction extends
             return flowStatus;
         });
 
+        if (getFlow(flowId).isPeriodicPings()) {
+            stateMachine.getCarrier().sendPeriodicPingNotification(flowId, true);
+        }
+
         saveHistory(stateMachine, stateMachine.getCarrier(), flowId,
                 format("Set the flow status to %s.", resultStatus));
     }
@@ -105,6 +105,7 @@ public class ValidateFlowAction extends
                 }
 
                 stateMachine.setOriginalFlowStatus(foundFlow.getStatus());
+                stateMachine.setFlowPriority(foundFlow.getPriority());
                 stateMachine.setOriginalEncapsulationType(foundFlow.getEncapsulationType());
                 stateMachine.setRecreateIfSamePath(!foundFlow.isActive() || context.isForceReroute());
 
@@ -30,6 +30,13 @@ public interface FlowCreateHubCarrier extends FlowHistorySupportingCarrier {
      */
     void sendNorthboundResponse(Message message);
 
+    /**
+     * Notifies ping topology about the flow change.
+     * @param flowId the changed flow.
+     * @param enabled whether periodic pings are enabled for the flow.
+     */
+    void sendPeriodicPingNotification(String flowId, boolean enabled);
+
     /**
      * Cancels timeout callback.
      * @param key operation identifier.
@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.flowhs.service;
 
 import org.openkilda.floodlight.flow.response.FlowResponse;
 import org.openkilda.messaging.command.flow.FlowRequest;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.KildaConfigurationRepository;
@@ -44,8 +45,9 @@ public class FlowCreateService {
     private final KildaConfigurationRepository kildaConfigurationRepository;
 
     public FlowCreateService(FlowCreateHubCarrier carrier, PersistenceManager persistenceManager,
-                             PathComputer pathComputer, FlowResourcesManager flowResourcesManager,
-                             int genericRetriesLimit, int speakerCommandRetriesLimit) {
+                             PathComputer pathComputer, NetworkSnapshotCache networkSnapshotCache,
+                             FlowResourcesManager flowResourcesManager, int genericRetriesLimit,
+                             int speakerCommandRetriesLimit) {
         this.carrier = carrier;
         this.kildaConfigurationRepository = persistenceManager.getRepositoryFactory()
                 .createKildaConfigurationRepository();
@@ -54,8 +56,8 @@ public class FlowCreateService {
                 .flowCreationRetriesLimit(genericRetriesLimit)
                 .speakerCommandRetriesLimit(speakerCommandRetriesLimit)
                 .build();
-        this.fsmFactory =
-                FlowCreateFsm.factory(persistenceManager, carrier, fsmConfig, flowResourcesManager, pathComputer);
+        this.fsmFactory = FlowCreateFsm.factory(persistenceManager, carrier, fsmConfig, flowResourcesManager,
+                pathComputer, networkSnapshotCache);
     }
 
     /**
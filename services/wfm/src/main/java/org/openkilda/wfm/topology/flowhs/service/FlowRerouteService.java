@@ -16,22 +16,37 @@
 package org.openkilda.wfm.topology.flowhs.service;
 
 import org.openkilda.floodlight.flow.response.FlowResponse;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.PathId;
+import org.openkilda.pce.BatchPathResult;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
+import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.utils.BoundedWorkerPool;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteContext;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm.Event;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm.State;
+import org.openkilda.wfm.topology.flowhs.fsm.reroute.PrecomputedPath;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @Slf4j
@@ -45,14 +60,36 @@ public class FlowRerouteService {
     private final FlowRerouteHubCarrier carrier;
     private final PersistenceManager persistenceManager;
     private final PathComputer pathComputer;
+    private final NetworkSnapshotCache networkSnapshotCache;
     private final FlowResourcesManager flowResourcesManager;
 
+    private final BoundedWorkerPool<List<String>, Map<String, PrecomputedPath>> pathComputationPool;
+    private final FlowRepository flowRepository;
+    private final Map<String, FlowRerouteContext> queuedRequests = new LinkedHashMap<>();
+    private final Map<String, FlowRerouteContext> pendingRequests = new HashMap<>();
+
+    public FlowRerouteService(FlowRerouteHubCarrier carrier, PersistenceManager persistenceManager,
+                              PathComputer pathComputer, NetworkSnapshotCache networkSnapshotCache,
+                              FlowResourcesManager flowResourcesManager) {
+        this(carrier, persistenceManager, pathComputer, networkSnapshotCache, flowResourcesManager, null);
+    }
+
+    /**
+     * Creates the service which computes primary paths on the pool workers, so the FSMs get the precomputed paths
+     * instead of blocking the caller thread on path computation. The requests queued between
+     * {@link #submitPathComputations} calls are computed as one batch.
+     */
     public FlowRerouteService(FlowRerouteHubCarrier carrier, PersistenceManager persistenceManager,
-                              PathComputer pathComputer, FlowResourcesManager flowResourcesManager) {
+                              PathComputer pathComputer, NetworkSnapshotCache networkSnapshotCache,
+                              FlowResourcesManager flowResourcesManager,
+                              BoundedWorkerPool<List<String>, Map<String, PrecomputedPath>> pathComputationPool) {
         this.carrier = carrier;
         this.persistenceManager = persistenceManager;
         this.pathComputer = pathComputer;
+        this.networkSnapshotCache = networkSnapshotCache;
         this.flowResourcesManager = flowResourcesManager;
+        this.pathComputationPool = pathComputationPool;
+        this.flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
     }
 
     /**
@@ -71,13 +108,94 @@ public class FlowRerouteService {
         }
 
         FlowRerouteFsm fsm = FlowRerouteFsm.newInstance(commandContext, carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
         fsms.put(key, fsm);
 
-        controllerExecutor.fire(fsm, FlowRerouteFsm.Event.NEXT, FlowRerouteContext.builder()
+        // Reroutes are triggered by ISL and switch events, which are not reported to the network snapshot otherwise.
+        // A snapshot loaded before the request was made may miss the event, so it's dropped.
+        networkSnapshotCache.invalidateIfLoadedBefore(Instant.ofEpochMilli(commandContext.getCreateTime()));
+
+        FlowRerouteContext context = FlowRerouteContext.builder()
                 .flowId(flowId)
                 .pathsToReroute(pathsToReroute)
-                .build());
+                .build();
+        if (pathComputationPool == null) {
+            controllerExecutor.fire(fsm, FlowRerouteFsm.Event.NEXT, context);
+        } else {
+            // The flow must pass the validation (which also marks it as in progress) before its path is computed.
+            fsm.fire(FlowRerouteFsm.Event.NEXT, context);
+            if (fsm.getCurrentState() == FlowRerouteFsm.State.FLOW_VALIDATED && fsm.isReroutePrimary()) {
+                log.debug("Path computation for flow {} is queued, key {}", flowId, key);
+                queuedRequests.put(key, context);
+                return;
+            }
+            if (!fsm.isTerminated()) {
+                controllerExecutor.fire(fsm, FlowRerouteFsm.Event.NEXT, context);
+            }
+        }
+
+        removeIfFinished(fsm, key);
+    }
+
+    /**
+     * Submits the queued requests to the path computation pool as one batch. The requests stay queued if the pool
+     * has no room for the batch.
+     */
+    public void submitPathComputations() {
+        if (queuedRequests.isEmpty()) {
+            return;
+        }
+
+        // the flows with higher priority (lower value) take the bandwidth first, the flows with the same priority
+        // keep the order of the requests
+        List<String> keys = new ArrayList<>(queuedRequests.keySet());
+        keys.sort(Comparator.comparing(key -> fsms.get(key).getFlowPriority(),
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<String, PathComputationRequest> batch = new LinkedHashMap<>();
+        for (String key : keys) {
+            FlowRerouteFsm fsm = fsms.get(key);
+            FlowEncapsulationType encapsulationType = Optional.ofNullable(fsm.getNewEncapsulationType())
+                    .orElse(fsm.getOriginalEncapsulationType());
+            batch.put(key, new PathComputationRequest(queuedRequests.get(key).getFlowId(), encapsulationType));
+        }
+        if (pathComputationPool.submit(keys.get(0), keys, () -> computePrimaryPaths(batch))) {
+            log.debug("Path computation for a batch of {} flow(s) is submitted", keys.size());
+            pendingRequests.putAll(queuedRequests);
+            queuedRequests.clear();
+        }
+    }
+
+    /**
+     * Checks whether there are queued requests or path computations to be collected from the pool.
+     */
+    public boolean hasPendingPathComputations() {
+        return !queuedRequests.isEmpty() || pathComputationPool.hasPending();
+    }
+
+    /**
+     * Handles completion of the batch path computation submitted by {@link #submitPathComputations}.
+     *
+     * @param key   command identifier.
+     * @param paths the computed paths by command identifier, or null if the batch computation failed.
+     * @param error the batch path computation error.
+     */
+    public void handlePathComputation(String key, Map<String, PrecomputedPath> paths, Exception error) {
+        FlowRerouteContext context = pendingRequests.remove(key);
+        FlowRerouteFsm fsm = fsms.get(key);
+        if (context == null || fsm == null) {
+            log.warn("Failed to find fsm: path computation completed for non pending fsm with key {}", key);
+            return;
+        }
+
+        if (error != null) {
+            // Let the FSM make the computation by itself and handle the failure in a regular way.
+            log.debug("Path computation for key {} failed: {}", key, error.getMessage());
+        } else {
+            fsm.setPrecomputedPrimaryPath(paths.get(key));
+        }
+
+        controllerExecutor.fire(fsm, FlowRerouteFsm.Event.NEXT, context);
 
         removeIfFinished(fsm, key);
     }
@@ -109,6 +227,8 @@ public class FlowRerouteService {
      */
     public void handleTimeout(String key) {
         log.debug("Handling timeout for {}", key);
+        queuedRequests.remove(key);
+        pendingRequests.remove(key);
         FlowRerouteFsm fsm = fsms.get(key);
         if (fsm == null) {
             log.warn("Failed to find fsm: timeout event for non pending fsm with key {}", key);
@@ -120,6 +240,38 @@ public class FlowRerouteService {
         removeIfFinished(fsm, key);
     }
 
+    /**
+     * Computes the paths of the batch over one view of the network, so the flows don't compete for the same
+     * bandwidth. The requests are computed in the order of the batch, i.e. by the flow priorities. All the paths of
+     * a flow are reused as in the path computation made by the FSM itself, so the results don't depend on whether
+     * the pool is used.
+     */
+    private Map<String, PrecomputedPath> computePrimaryPaths(Map<String, PathComputationRequest> batch)
+            throws RecoverableException {
+        List<Flow> flows = new ArrayList<>();
+        Map<String, List<PathId>> reusePaths = new HashMap<>();
+        for (PathComputationRequest request : batch.values()) {
+            flowRepository.findById(request.getFlowId()).ifPresent(flow -> {
+                // This is for PCE to use proper (updated) encapsulation type.
+                flow.setEncapsulationType(request.getEncapsulationType());
+                flows.add(flow);
+                reusePaths.put(flow.getFlowId(), flow.getFlowPathIds());
+            });
+        }
+
+        BatchPathResult result = pathComputer.getPaths(flows, reusePaths);
+
+        Map<String, PrecomputedPath> paths = new HashMap<>();
+        batch.forEach((key, request) -> {
+            String flowId = request.getFlowId();
+            if (result.getPaths().containsKey(flowId) || result.getFailures().containsKey(flowId)) {
+                paths.put(key, new PrecomputedPath(request.getEncapsulationType(), result.getPaths().get(flowId),
+                        result.getFailures().get(flowId)));
+            }
+        });
+        return paths;
+    }
+
     private void removeIfFinished(FlowRerouteFsm fsm, String key) {
         if (fsm.getCurrentState() == FlowRerouteFsm.State.FINISHED
                 || fsm.getCurrentState() == FlowRerouteFsm.State.FINISHED_WITH_ERROR) {
@@ -129,4 +281,10 @@ public class FlowRerouteService {
             carrier.cancelTimeoutCallback(key);
         }
     }
+
+    @Value
+    private static class PathComputationRequest {
+        private String flowId;
+        private FlowEncapsulationType encapsulationType;
+    }
 }
@@ -25,6 +25,8 @@ import org.openkilda.wfm.topology.isllatency.bolts.IslStatsBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.IslStatusUpdateBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.OneWayLatencyManipulationBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.RouterBolt;
+import org.openkilda.wfm.topology.isllatency.model.IslLatencyOptions;
+import org.openkilda.wfm.topology.isllatency.model.LatencyAggregationType;
 import org.openkilda.wfm.topology.isllatency.model.StreamType;
 
 import org.apache.storm.generated.StormTopology;
@@ -32,6 +34,8 @@ import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
+import java.util.concurrent.TimeUnit;
+
 public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfig> {
     public static final String ISL_STATUS_SPOUT_ID = "isl-status-spout";
     public static final String ISL_LATENCY_SPOUT_ID = "isl-latency-spout";
@@ -90,10 +94,17 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
     }
 
     private void createLatencyBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
+        IslLatencyOptions options = IslLatencyOptions.builder()
+                .aggregationType(LatencyAggregationType.valueOf(
+                        topologyConfig.getLatencyAggregationType().toUpperCase()))
+                .timeRange(TimeUnit.SECONDS.toMillis(topologyConfig.getLatencyUpdateTimeRange()))
+                .windowBuckets(topologyConfig.getLatencyWindowBuckets())
+                .updateInterval(TimeUnit.SECONDS.toMillis(topologyConfig.getLatencyUpdateInterval()))
+                .updateThresholdPercent(topologyConfig.getLatencyUpdateThresholdPercent())
+                .flushBatchSize(topologyConfig.getLatencyFlushBatchSize())
+                .build();
         IslLatencyBolt islLatencyBolt = new IslLatencyBolt(
-                persistenceManager,
-                topologyConfig.getLatencyUpdateInterval(),
-                topologyConfig.getLatencyUpdateTimeRange());
+                persistenceManager, options, topologyConfig.getLatencyFlushInterval());
         builder.setBolt(ISL_LATENCY_BOLT_ID, islLatencyBolt, topologyConfig.getNewParallelism())
                 .fieldsGrouping(ONE_WAY_MANIPULATION_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
                 .fieldsGrouping(CACHE_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS);
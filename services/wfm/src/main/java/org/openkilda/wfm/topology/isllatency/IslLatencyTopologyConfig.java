@@ -42,7 +42,7 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Default("kilda.")
     String getMetricPrefix();
 
-    @Key("latency.update.interval") // how often we send average latency to neo4j in seconds
+    @Key("latency.update.interval") // max age of unchanged average latency stored in neo4j in seconds
     @Default("300")
     @Min(1)
     int getLatencyUpdateInterval();
@@ -52,6 +52,30 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.aggregation.type") // "window" - sliding window average, "ewma" - exponential moving average
+    @Default("window")
+    String getLatencyAggregationType();
+
+    @Key("latency.window.buckets") // sliding window resolution is time range divided by buckets count
+    @Default("20")
+    @Min(1)
+    int getLatencyWindowBuckets();
+
+    @Key("latency.update.threshold.percent") // latency is stored in neo4j if it changed by more than this
+    @Default("5")
+    @Min(0)
+    double getLatencyUpdateThresholdPercent();
+
+    @Key("latency.flush.interval") // how often changed latencies are stored in neo4j in seconds
+    @Default("10")
+    @Min(1)
+    int getLatencyFlushInterval();
+
+    @Key("latency.flush.batch.size") // max ISLs updated in one neo4j transaction
+    @Default("100")
+    @Min(1)
+    int getLatencyFlushBatchSize();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
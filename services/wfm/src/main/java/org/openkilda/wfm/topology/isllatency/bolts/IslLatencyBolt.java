@@ -28,36 +28,61 @@ import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.isllatency.model.IslLatencyOptions;
 import org.openkilda.wfm.topology.isllatency.service.IslLatencyService;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.util.Map;
 
 @Slf4j
 public class IslLatencyBolt extends AbstractBolt {
+    private static final int METRICS_BUCKET_SECS = 60;
+
     private final PersistenceManager persistenceManager;
-    private final long latencyUpdateInterval; // emit data in DB interval
-    private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final IslLatencyOptions options;
+    private final int flushIntervalSeconds;
     private transient IslLatencyService islLatencyService;
 
-    public IslLatencyBolt(PersistenceManager persistenceManager, long latencyUpdateInterval,
-                          long latencyUpdateTimeRange) {
+    public IslLatencyBolt(PersistenceManager persistenceManager, IslLatencyOptions options, int flushIntervalSeconds) {
         this.persistenceManager = persistenceManager;
-        this.latencyUpdateInterval = latencyUpdateInterval;
-        this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.options = options;
+        this.flushIntervalSeconds = flushIntervalSeconds;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric("isl.latency.flush.size", islLatencyService::getLastFlushSize, METRICS_BUCKET_SECS);
+        context.registerMetric("isl.latency.staleness.max", islLatencyService::getMaxStaleness, METRICS_BUCKET_SECS);
+        context.registerMetric("isl.latency.tracked", islLatencyService::getTrackedIslsCount, METRICS_BUCKET_SECS);
     }
 
     @Override
     protected void init() {
         TransactionManager transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
-        islLatencyService = new IslLatencyService(transactionManager, repositoryFactory,
-                latencyUpdateInterval, latencyUpdateTimeRange);
+        islLatencyService = new IslLatencyService(transactionManager, repositoryFactory, options);
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, flushIntervalSeconds);
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        if (TupleUtils.isTick(input)) {
+            islLatencyService.flush();
+            return;
+        }
+
         InfoData data = pullValue(input, LATENCY_DATA_FIELD, InfoData.class);
         long timestamp = getCommandContext().getCreateTime();
 
@@ -0,0 +1,63 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Exponentially weighted moving average of latency. Weight of a measurement decays as {@code exp(-age / timeRange)},
+ * so measurements received at the same time have equal weights and the interval between measurements doesn't skew
+ * the average. The average expires if there were no measurements during {@code timeRange}.
+ */
+public class EwmaLatencyAggregator implements LatencyAggregator {
+    private final double timeRange;
+
+    private double weightedSum;
+    private double weight;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    public EwmaLatencyAggregator(long timeRange) {
+        checkArgument(timeRange > 0, "timeRange must be positive");
+        this.timeRange = timeRange;
+    }
+
+    @Override
+    public void add(long latency, long timestamp) {
+        if (lastTimestamp == Long.MIN_VALUE) {
+            lastTimestamp = timestamp;
+        }
+
+        if (timestamp >= lastTimestamp) {
+            double decay = Math.exp(-(timestamp - lastTimestamp) / timeRange);
+            weightedSum = weightedSum * decay + latency;
+            weight = weight * decay + 1;
+            lastTimestamp = timestamp;
+        } else {
+            // out of order measurement, its weight is decayed relative to the last one
+            double decay = Math.exp(-(lastTimestamp - timestamp) / timeRange);
+            weightedSum += latency * decay;
+            weight += decay;
+        }
+    }
+
+    @Override
+    public long getAverage(long now) {
+        if (weight == 0 || now - lastTimestamp > timeRange) {
+            return -1;
+        }
+        return Math.round(weightedSum / weight);
+    }
+}
@@ -0,0 +1,46 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+@Builder
+public class IslLatencyOptions implements Serializable {
+    private LatencyAggregationType aggregationType;
+
+    /**
+     * Average latency is calculated for this time range (millis).
+     */
+    private long timeRange;
+
+    private int windowBuckets;
+
+    /**
+     * Latency stored in DB is refreshed at least once in this interval (millis), even if it didn't change.
+     */
+    private long updateInterval;
+
+    /**
+     * Latency is stored in DB when it differs from the stored one by more than this percent.
+     */
+    private double updateThresholdPercent;
+
+    private int flushBatchSize;
+}
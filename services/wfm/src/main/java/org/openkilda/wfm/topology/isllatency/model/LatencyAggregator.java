@@ -0,0 +1,32 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+/**
+ * Streaming aggregation of ISL latency measurements. Keeps a constant amount of state per ISL no matter how many
+ * measurements were received.
+ */
+public interface LatencyAggregator {
+    /**
+     * Add latency measured at {@code timestamp} (epoch millis).
+     */
+    void add(long latency, long timestamp);
+
+    /**
+     * Get average latency at {@code now} (epoch millis) or -1 if there are no measurements in the time range.
+     */
+    long getAverage(long now);
+}
@@ -0,0 +1,75 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+/**
+ * Average latency over a sliding time window. The window is split into a ring of buckets, each bucket keeps sum and
+ * count of measurements received during its time slice, so adding a measurement and getting the average don't
+ * depend on the number of measurements. The oldest bucket is dropped as a whole, so the window actually covers
+ * from {@code timeRange - timeRange / bucketsCount} to {@code timeRange}.
+ */
+public class WindowLatencyAggregator implements LatencyAggregator {
+    private final long bucketDuration;
+    private final long[] epochs;
+    private final long[] sums;
+    private final int[] counts;
+
+    public WindowLatencyAggregator(long timeRange, int bucketsCount) {
+        checkArgument(bucketsCount > 0, "bucketsCount must be positive");
+        checkArgument(timeRange >= bucketsCount, "timeRange must be not less than bucketsCount");
+
+        bucketDuration = timeRange / bucketsCount;
+        epochs = new long[bucketsCount];
+        sums = new long[bucketsCount];
+        counts = new int[bucketsCount];
+        Arrays.fill(epochs, Long.MIN_VALUE);
+    }
+
+    @Override
+    public void add(long latency, long timestamp) {
+        long epoch = Math.floorDiv(timestamp, bucketDuration);
+        int index = (int) Math.floorMod(epoch, (long) epochs.length);
+        if (epochs[index] != epoch) {
+            if (epoch < epochs[index]) {
+                // the bucket has already been reused for the newer time slice
+                return;
+            }
+            epochs[index] = epoch;
+            sums[index] = 0;
+            counts[index] = 0;
+        }
+        sums[index] += latency;
+        counts[index]++;
+    }
+
+    @Override
+    public long getAverage(long now) {
+        long oldestEpoch = Math.floorDiv(now, bucketDuration) - epochs.length + 1;
+        long sum = 0;
+        long count = 0;
+        for (int i = 0; i < epochs.length; i++) {
+            if (oldestEpoch <= epochs[i]) {
+                sum += sums[i];
+                count += counts[i];
+            }
+        }
+        return count == 0 ? -1 : sum / count;
+    }
+}
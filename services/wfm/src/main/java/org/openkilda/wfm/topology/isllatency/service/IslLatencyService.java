@@ -20,54 +20,64 @@ import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.model.Isl;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.IslLatencyOptions;
+import org.openkilda.wfm.topology.isllatency.model.LatencyAggregator;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.Instant;
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
+import java.util.Map.Entry;
+import java.util.Optional;
 
+/**
+ * Aggregates ISL latency measurements in memory and periodically stores the average latency in DB. Only ISLs whose
+ * latency changed by more than the threshold, or was stored longer than the update interval ago, are written, in
+ * batches of {@link IslLatencyOptions#getFlushBatchSize()} ISLs per transaction.
+ */
 @Slf4j
 public class IslLatencyService {
-    public static final String ONE_WAY_LATENCY = "one way";
-    public static final String ROUND_TRIP_LATENCY = "round trip";
-    private TransactionManager transactionManager;
-    private IslRepository islRepository;
-    private SwitchRepository switchRepository;
-    private final long latencyUpdateInterval; // emit data in DB interval
-    private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
-
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
-    private Map<IslKey, Instant> nextUpdateTimeMap;
-    private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
+    private final TransactionManager transactionManager;
+    private final IslRepository islRepository;
+    private final SwitchRepository switchRepository;
+    private final IslLatencyOptions options;
+    private final Clock clock;
+
+    private final Map<IslKey, IslLatencyState> isls = new HashMap<>();
+
+    @Getter
+    private int lastFlushSize;
+    @Getter
+    private long maxStaleness;
+
+    public IslLatencyService(TransactionManager transactionManager, RepositoryFactory repositoryFactory,
+                             IslLatencyOptions options) {
+        this(transactionManager, repositoryFactory, options, Clock.systemUTC());
+    }
 
-    public IslLatencyService(TransactionManager transactionManager,
-                             RepositoryFactory repositoryFactory, long latencyUpdateInterval,
-                             long latencyUpdateTimeRange) {
+    @VisibleForTesting
+    IslLatencyService(TransactionManager transactionManager, RepositoryFactory repositoryFactory,
+                      IslLatencyOptions options, Clock clock) {
         this.transactionManager = transactionManager;
-        this.latencyUpdateInterval = latencyUpdateInterval;
-        this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.options = options;
+        this.clock = clock;
         islRepository = repositoryFactory.createIslRepository();
         switchRepository = repositoryFactory.createSwitchRepository();
-        oneWayLatencyStorage = new HashMap<>();
-        roundTripLatencyStorage = new HashMap<>();
-        roundTripLatencyIsSet = new HashSet<>();
-        nextUpdateTimeMap = new HashMap<>();
     }
 
     /**
@@ -89,14 +99,7 @@ public class IslLatencyService {
                 data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
                 destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
 
-        IslKey islKey = new IslKey(data, destination);
-
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
-
-        if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
-            updateRoundTripLatency(data, destination, islKey);
-        }
+        getState(new IslKey(data, destination)).roundTrip.add(data.getLatency(), timestamp);
     }
 
     /**
@@ -106,177 +109,155 @@ public class IslLatencyService {
      * @param timestamp latency timestamp
      */
     public void handleOneWayIslLatency(IslOneWayLatency data, long timestamp) {
-        log.debug("Received one way latency {} for ISL {}_{} ===> {}_{}, Packet Id: {}",
-                data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
-
-        IslKey islKey = new IslKey(data);
-
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
-
-        if (isUpdateRequired(islKey)) {
-            updateOneWayLatencyIfNeeded(data, islKey);
-        }
-    }
-
-    private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
-
-        pollExpiredRecords(roundTripRecords);
-        pollExpiredRecords(oneWayLatencyStorage.get(islKey));
-
-        if (roundTripRecords.isEmpty()) {
-            log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
-                    + "There is no valid latency records. Packet Id: {}",
+        if (data.getLatency() < 0) {
+            log.warn("Received invalid one way latency {} for ISL {}_{} ===> {}_{}. Packet Id: {}",
                     data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                    destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
+                    data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
+            return;
         }
 
-        long averageLatency = calculateAverageLatency(roundTripRecords);
-
-        boolean updated = updateLatencyInDataBase(data, destination, averageLatency);
+        log.debug("Received one way latency {} for ISL {}_{} ===> {}_{}, Packet Id: {}",
+                data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
+                data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
 
-        if (updated) {
-            nextUpdateTimeMap.put(islKey, getNextUpdateTime());
-            roundTripLatencyIsSet.add(islKey);
-        }
+        getState(new IslKey(data)).oneWay.add(data.getLatency(), timestamp);
     }
 
-    private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
-        pollExpiredRecords(oneWayRecords);
-
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
-        pollExpiredRecords(roundTripRecords);
-        if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
-            // next round trip latency packet will update ISL latency
-            return;
-        }
-
-        IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
-        pollExpiredRecords(reverseRoundTripRecords);
-
-        boolean updated;
-        if (reverseRoundTripRecords != null && !reverseRoundTripRecords.isEmpty()) {
-            // reverse ISL has round trip latency records. We can use them for forward ISL
-            long averageReverseLatency = calculateAverageLatency(reverseRoundTripRecords);
-            updated = updateLatencyInDataBase(data, averageReverseLatency);
-        } else {
-            // There are no round trip latency records for both ISL direction. We have to use one way latency records
-            if (oneWayRecords.isEmpty()) {
-                log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
-                                + "There is no valid latency records. Packet Id: {}",
-                        data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                        data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
-                return;
+    /**
+     * Store changed ISL latencies in DB and forget ISLs which have no measurements in the time range.
+     *
+     * @return number of ISLs updated in DB
+     */
+    public int flush() {
+        long now = clock.millis();
+        List<IslLatencyUpdate> updates = new ArrayList<>();
+        Iterator<Entry<IslKey, IslLatencyState>> iterator = isls.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<IslKey, IslLatencyState> entry = iterator.next();
+            IslLatencyState state = entry.getValue();
+            long latency = getAverageLatency(entry.getKey(), state, now);
+            if (latency < 0) {
+                // there are no measurements in the time range
+                iterator.remove();
+            } else if (isUpdateRequired(state, latency, now)) {
+                updates.add(new IslLatencyUpdate(entry.getKey(), state, latency));
             }
-
-            long averageOneWayLatency = calculateAverageLatency(oneWayRecords);
-            updated = updateLatencyInDataBase(data, averageOneWayLatency);
         }
 
-        if (updated) {
-            nextUpdateTimeMap.put(islKey, getNextUpdateTime());
-            roundTripLatencyIsSet.remove(islKey);
+        int written = 0;
+        for (List<IslLatencyUpdate> batch : Lists.partition(updates, options.getFlushBatchSize())) {
+            try {
+                List<IslLatencyUpdate> stored = transactionManager.doInTransaction(() -> storeLatency(batch));
+                for (IslLatencyUpdate update : stored) {
+                    update.state.persistedLatency = update.latency;
+                    update.state.persistedAt = now;
+                }
+                written += stored.size();
+            } catch (PersistenceException e) {
+                log.error("Unable to store latency of {} ISLs: {}", batch.size(), e.getMessage(), e);
+            }
         }
-    }
 
-    private boolean updateLatencyInDataBase(IslOneWayLatency data, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                data.getDstSwitchId(), data.getDstPortNo(), latency, data.getPacketId(), ONE_WAY_LATENCY);
+        lastFlushSize = written;
+        maxStaleness = isls.values().stream()
+                .filter(state -> state.persistedLatency >= 0)
+                .mapToLong(state -> now - state.persistedAt)
+                .max()
+                .orElse(0);
+        log.debug("Stored latency of {} ISLs out of {} tracked", written, isls.size());
+        return written;
     }
 
-    private boolean updateLatencyInDataBase(IslRoundTripLatency data, Endpoint destination, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                destination.getDatapath(), destination.getPortNumber(), latency, data.getPacketId(),
-                ROUND_TRIP_LATENCY);
+    public int getTrackedIslsCount() {
+        return isls.size();
     }
 
-    private boolean updateLatencyInDataBase(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                         long latency, long packetId, String latencyType) {
+    /**
+     * Forward round trip latency is preferred, then reverse round trip latency and then one way latency.
+     */
+    @VisibleForTesting
+    long getAverageLatency(IslKey islKey, IslLatencyState state, long now) {
+        long latency = state.roundTrip.getAverage(now);
         if (latency < 0) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Latency must be positive.",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId);
-            return false;
+            IslLatencyState reverse = isls.get(islKey.getReverse());
+            if (reverse != null) {
+                latency = reverse.roundTrip.getAverage(now);
+            }
         }
-
-        try {
-            updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
-            log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
-                    latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
-        } catch (SwitchNotFoundException | IslNotFoundException e) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId, e.getMessage());
-            return false;
+        if (latency < 0) {
+            latency = state.oneWay.getAverage(now);
         }
-        return true;
+        return latency;
     }
 
     @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
-            return;
-        }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
+    boolean isUpdateRequired(IslLatencyState state, long latency, long now) {
+        if (state.persistedLatency < 0 || options.getUpdateInterval() <= now - state.persistedAt) {
+            return true;
         }
+        double threshold = state.persistedLatency * options.getUpdateThresholdPercent() / 100;
+        return threshold < Math.abs(latency - state.persistedLatency);
     }
 
     @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
-            log.error("Couldn't calculate average latency. Records queue is empty");
-            return -1;
-        }
+    IslLatencyState getState(IslKey islKey) {
+        return isls.computeIfAbsent(islKey, key -> new IslLatencyState(
+                options.getAggregationType().makeAggregator(options.getTimeRange(), options.getWindowBuckets()),
+                options.getAggregationType().makeAggregator(options.getTimeRange(), options.getWindowBuckets())));
+    }
 
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
+    private List<IslLatencyUpdate> storeLatency(List<IslLatencyUpdate> batch) {
+        Map<SwitchId, Switch> switches = new HashMap<>();
+        for (IslLatencyUpdate update : batch) {
+            for (SwitchId switchId : new SwitchId[]{update.islKey.getSrcSwitchId(), update.islKey.getDstSwitchId()}) {
+                if (!switches.containsKey(switchId)) {
+                    switchRepository.findById(switchId).ifPresent(sw -> switches.put(switchId, sw));
+                }
+            }
         }
-        return sum / recordsQueue.size();
-    }
+        switchRepository.lockSwitches(switches.values().toArray(new Switch[0]));
+
+        List<IslLatencyUpdate> stored = new ArrayList<>(batch.size());
+        for (IslLatencyUpdate update : batch) {
+            IslKey key = update.islKey;
+            Optional<Isl> isl = Optional.empty();
+            if (switches.containsKey(key.getSrcSwitchId()) && switches.containsKey(key.getDstSwitchId())) {
+                isl = islRepository.findByEndpoints(
+                        key.getSrcSwitchId(), key.getSrcPort(), key.getDstSwitchId(), key.getDstPort());
+            }
 
-    @VisibleForTesting
-    boolean isUpdateRequired(IslKey islKey) {
-        return Instant.now().isAfter(nextUpdateTimeMap.getOrDefault(islKey, Instant.MIN));
+            if (isl.isPresent()) {
+                isl.get().setLatency(update.latency);
+                islRepository.createOrUpdate(isl.get());
+                stored.add(update);
+                log.debug("Updated latency for ISL {}_{} ===( {} ns )===> {}_{}",
+                        key.getSrcSwitchId(), key.getSrcPort(), update.latency, key.getDstSwitchId(),
+                        key.getDstPort());
+            } else {
+                log.warn("Couldn't update latency for ISL {}_{} ===> {}_{}. ISL or switch not found.",
+                        key.getSrcSwitchId(), key.getSrcPort(), key.getDstSwitchId(), key.getDstPort());
+            }
+        }
+        return stored;
     }
 
     @VisibleForTesting
-    Instant getNextUpdateTime() {
-        return Instant.now().plusSeconds(latencyUpdateInterval);
+    static class IslLatencyState {
+        private final LatencyAggregator roundTrip;
+        private final LatencyAggregator oneWay;
+        private long persistedLatency = -1;
+        private long persistedAt;
+
+        IslLatencyState(LatencyAggregator roundTrip, LatencyAggregator oneWay) {
+            this.roundTrip = roundTrip;
+            this.oneWay = oneWay;
+        }
     }
 
-    /**
-     * Update latency of isl by source and destination endpoint.
-     *
-     * @param srcSwitchId ID of source switch.
-     * @param srcPort source port.
-     * @param dstSwitchId ID of destination switch.
-     * @param dstPort destination port.
-     * @param latency latency to update
-     *
-     * @throws SwitchNotFoundException if src or dst switch is not found
-     * @throws IslNotFoundException if isl is not found
-     */
-    @VisibleForTesting
-    void updateIslLatency(
-            SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long latency)
-            throws SwitchNotFoundException, IslNotFoundException {
-        transactionManager.doInTransaction(() -> {
-            Switch srcSwitch = switchRepository.findById(srcSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(srcSwitchId));
-            Switch dstSwitch = switchRepository.findById(dstSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(dstSwitchId));
-
-            switchRepository.lockSwitches(srcSwitch, dstSwitch);
-            Isl isl = islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort)
-                    .orElseThrow(() -> new IslNotFoundException(srcSwitchId, srcPort, dstSwitchId, dstPort));
-            isl.setLatency(latency);
-            islRepository.createOrUpdate(isl);
-        });
+    @Value
+    private static class IslLatencyUpdate {
+        private IslKey islKey;
+        private IslLatencyState state;
+        private long latency;
     }
 }
@@ -71,6 +71,7 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
     private static final String FLOW_KAFKA_BOLT_NAME = "flow-kafka-bolt";
     private static final String FLOW_HS_KAFKA_BOLT_NAME = "flowhs-kafka-bolt";
     private static final String DISCO_KAFKA_BOLT_NAME = "disco-kafka-bolt";
+    private static final String PING_KAFKA_BOLT_NAME = "ping-kafka-bolt";
     private static final String HISTORY_BOLT_NAME = "history-operations-bolt";
     private static final String NB_SPOUT_ID = "nb-spout";
 
@@ -148,6 +149,7 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
                 .shuffleGrouping(FLOWS_BOLT_NAME, StreamType.ERROR.toString())
                 .shuffleGrouping(FLOWS_BOLT_NAME, StreamType.REROUTE.toString())
                 .shuffleGrouping(FLOWS_BOLT_NAME, StreamType.FLOWHS.toString())
+                .shuffleGrouping(FLOWS_BOLT_NAME, StreamType.PING.toString())
                 .shuffleGrouping(SWITCHES_BOLT_NAME, StreamType.ERROR.toString())
                 .shuffleGrouping(SWITCHES_BOLT_NAME, StreamType.REROUTE.toString())
                 .shuffleGrouping(SWITCHES_BOLT_NAME, StreamType.FLOWHS.toString())
@@ -176,6 +178,10 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         tb.setBolt(FLOW_HS_KAFKA_BOLT_NAME, kafkaFlowHsBolt, parallelism)
                 .shuffleGrouping(MESSAGE_ENCODER_BOLT_NAME, StreamType.FLOWHS.toString());
 
+        KafkaBolt kafkaPingBolt = buildKafkaBolt(topologyConfig.getKafkaPingTopic());
+        tb.setBolt(PING_KAFKA_BOLT_NAME, kafkaPingBolt, parallelism)
+                .shuffleGrouping(MESSAGE_ENCODER_BOLT_NAME, StreamType.PING.toString());
+
         KafkaBolt kafkaDiscoBolt = buildKafkaBolt(topologyConfig.getKafkaDiscoTopic());
         tb.setBolt(DISCO_KAFKA_BOLT_NAME, kafkaDiscoBolt, parallelism)
                 .shuffleGrouping(DISCOVERY_ENCODER_BOLT_NAME);
@@ -41,4 +41,8 @@ public interface NbWorkerTopologyConfig extends AbstractTopologyConfig {
     default String getKafkaDiscoTopic() {
         return getKafkaTopics().getTopoDiscoTopic();
     }
+
+    default String getKafkaPingTopic() {
+        return getKafkaTopics().getPingTopic();
+    }
 }
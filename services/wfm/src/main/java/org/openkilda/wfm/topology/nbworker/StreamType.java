@@ -28,5 +28,6 @@ public enum StreamType {
     VALIDATION,
     DISCO,
     ERROR,
-    HISTORY
+    HISTORY,
+    PING
 }
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.nbworker.bolts;
 import static org.openkilda.model.ConnectedDeviceType.LLDP;
 
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.InfoData;
@@ -93,7 +94,7 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
         } else if (request instanceof GetFlowPathRequest) {
             result = processGetFlowPathRequest((GetFlowPathRequest) request);
         } else if (request instanceof FlowPatchRequest) {
-            result = processFlowPatchRequest((FlowPatchRequest) request);
+            result = processFlowPatchRequest((FlowPatchRequest) request, tuple);
         } else if (request instanceof FlowConnectedDeviceRequest) {
             result = processFlowConnectedDeviceRequest((FlowConnectedDeviceRequest) request);
         } else {
@@ -186,11 +187,16 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
         }
     }
 
-    private List<FlowResponse> processFlowPatchRequest(FlowPatchRequest request) {
+    private List<FlowResponse> processFlowPatchRequest(FlowPatchRequest request, Tuple tuple) {
         FlowDto flowDto = request.getFlow();
 
         try {
             UnidirectionalFlow flow = flowOperationsService.updateFlow(flowDto);
+            if (flow.isPeriodicPings()) {
+                // ping topology keeps the flows with periodic pings in memory, let it reload the patched one
+                getOutput().emit(StreamType.PING.toString(), tuple,
+                        new Values(new PeriodicPingCommand(flow.getFlowId(), true), getCorrelationId()));
+            }
             return Collections.singletonList(new FlowResponse(FlowMapper.INSTANCE.map(flow)));
 
         } catch (FlowNotFoundException e) {
@@ -236,5 +242,7 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
                 new Fields(MessageEncoder.FIELD_ID_PAYLOAD, MessageEncoder.FIELD_ID_CONTEXT));
         declarer.declareStream(StreamType.FLOWHS.toString(),
                 new Fields(MessageEncoder.FIELD_ID_PAYLOAD, MessageEncoder.FIELD_ID_CONTEXT));
+        declarer.declareStream(StreamType.PING.toString(),
+                new Fields(MessageEncoder.FIELD_ID_PAYLOAD, MessageEncoder.FIELD_ID_CONTEXT));
     }
 }
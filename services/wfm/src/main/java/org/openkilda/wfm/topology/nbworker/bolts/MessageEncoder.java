@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.nbworker.bolts;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.MessageData;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.wfm.share.bolt.KafkaEncoder;
 import org.openkilda.wfm.topology.nbworker.StreamType;
@@ -35,7 +36,7 @@ public class MessageEncoder extends KafkaEncoder {
         try {
             Message message = wrap(pullContext(input), payload);
 
-            if (payload instanceof FlowRerouteRequest) {
+            if (payload instanceof FlowRerouteRequest || payload instanceof PeriodicPingCommand) {
                 getOutput().emit(input.getSourceStreamId(), input, new Values(message));
             } else if (payload instanceof ErrorData) {
                 getOutput().emit(StreamType.ERROR.toString(), input, new Values(null, message));
@@ -50,6 +51,7 @@ public class MessageEncoder extends KafkaEncoder {
     public void declareOutputFields(OutputFieldsDeclarer outputManager) {
         outputManager.declareStream(StreamType.FLOWHS.toString(), new Fields("message"));
         outputManager.declareStream(StreamType.REROUTE.toString(), new Fields("message"));
+        outputManager.declareStream(StreamType.PING.toString(), new Fields("message"));
         outputManager.declareStream(StreamType.ERROR.toString(), STREAM_FIELDS);
     }
 }
@@ -16,46 +16,46 @@
 package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.TimingWheel;
+import org.openkilda.wfm.share.utils.TimingWheel.Timeout;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatchListService {
+    private static final int TIMEOUTS_SLOTS_PER_PERIOD = 64;
+
     private final IWatchListCarrier carrier;
     private final long tickPeriod;
 
-    private Set<Endpoint> endpoints = new HashSet<>();
-    private SortedMap<Long, Set<Endpoint>> timeouts = new TreeMap<>();
-
+    private final Map<Endpoint, Timeout<Endpoint>> endpoints = new HashMap<>();
+    private final TimingWheel<Endpoint> timeouts;
 
     public NetworkWatchListService(IWatchListCarrier carrier, long tickPeriod) {
         this.carrier = carrier;
         this.tickPeriod = tickPeriod;
+        timeouts = TimingWheel.forPeriod(tickPeriod, TIMEOUTS_SLOTS_PER_PERIOD);
     }
 
     @VisibleForTesting
     Set<Endpoint> getEndpoints() {
-        return endpoints;
+        return endpoints.keySet();
     }
 
-    @VisibleForTesting
-    SortedMap<Long, Set<Endpoint>> getTimeouts() {
-        return timeouts;
+    public int getPendingTimeouts() {
+        return timeouts.size();
     }
 
     @VisibleForTesting
     void addWatch(Endpoint endpoint, long currentTime) {
-        if (endpoints.add(endpoint)) {
+        if (!endpoints.containsKey(endpoint)) {
             carrier.discoveryRequest(endpoint, currentTime);
-            long key = currentTime + tickPeriod;
-            timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                    .add(endpoint);
+            endpoints.put(endpoint, timeouts.schedule(endpoint, currentTime + tickPeriod));
         }
     }
 
@@ -70,31 +70,20 @@ public class NetworkWatchListService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watch-list service receive REMOVE-WATCH request for {}", endpoint);
         carrier.watchRemoved(endpoint);
-        endpoints.remove(endpoint);
+        Timeout<Endpoint> timeout = endpoints.remove(endpoint);
+        if (timeout != null) {
+            timeout.cancel();
+        }
     }
 
     /**
      * Consume timer tick.
      */
     public void tick(long tickTime) {
-        SortedMap<Long, Set<Endpoint>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            HashSet<Endpoint> renew = new HashSet<>();
-            for (Set<Endpoint> e : range.values()) {
-                for (Endpoint ee : e) {
-                    if (endpoints.contains(ee)) {
-                        carrier.discoveryRequest(ee, tickTime);
-                        renew.add(ee);
-                    }
-                }
-            }
-            range.clear();
-            if (!renew.isEmpty()) {
-                long key = tickTime + tickPeriod;
-                timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                        .addAll(renew);
-            }
-        }
+        timeouts.advance(tickTime, endpoint -> {
+            carrier.discoveryRequest(endpoint, tickTime);
+            endpoints.put(endpoint, timeouts.schedule(endpoint, tickTime + tickPeriod));
+        });
     }
 
     public void tick() {
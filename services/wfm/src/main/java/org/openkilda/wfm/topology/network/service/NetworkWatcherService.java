@@ -19,18 +19,22 @@ import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.share.utils.TimingWheel;
+import org.openkilda.wfm.share.utils.TimingWheel.Timeout;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatcherService {
+    private static final int TIMEOUTS_SLOTS_PER_PERIOD = 64;
+
     private final IWatcherCarrier carrier;
     private final long awaitTime;
     private final Integer taskId;
@@ -38,12 +42,14 @@ public class NetworkWatcherService {
     private long packetNo = 0;
     private Set<Packet> producedPackets = new HashSet<>();
     private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+    private final Map<Endpoint, Map<Packet, Timeout<Packet>>> endpointPackets = new HashMap<>();
+    private final TimingWheel<Packet> timeouts;
 
     public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId) {
         this.carrier = carrier;
         this.awaitTime = awaitTime;
         this.taskId = taskId;
+        timeouts = TimingWheel.forPeriod(awaitTime, TIMEOUTS_SLOTS_PER_PERIOD);
     }
 
     public void addWatch(Endpoint endpoint) {
@@ -56,8 +62,8 @@ public class NetworkWatcherService {
                   endpoint, packet.packetNo, taskId);
 
         producedPackets.add(packet);
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
-                .add(packet);
+        endpointPackets.computeIfAbsent(endpoint, key -> new HashMap<>())
+                .put(packet, timeouts.schedule(packet, currentTime + awaitTime));
 
         DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
                 endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
@@ -72,20 +78,18 @@ public class NetworkWatcherService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watcher service receive REMOVE-watch request for {}", endpoint);
         carrier.clearDiscovery(endpoint);
-        producedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+        Map<Packet, Timeout<Packet>> packets = endpointPackets.remove(endpoint);
+        if (packets != null) {
+            for (Map.Entry<Packet, Timeout<Packet>> entry : packets.entrySet()) {
+                producedPackets.remove(entry.getKey());
+                confirmedPackets.remove(entry.getKey());
+                entry.getValue().cancel();
+            }
+        }
     }
 
     void tick(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
-            }
-            range.clear();
-        }
+        timeouts.advance(tickTime, this::timeoutAction);
     }
 
     public void tick() {
@@ -128,6 +132,7 @@ public class NetworkWatcherService {
         boolean wasProduced = producedPackets.remove(packet);
         boolean wasConfirmed = confirmedPackets.remove(packet);
         if (wasProduced || wasConfirmed) {
+            forgetPacket(packet).cancel();
             carrier.discoveryReceived(packet.endpoint, packet.packetNo, discoveryEvent, now());
         } else {
             log.error("Receive invalid or removed discovery packet on {} id:{} task:{}",
@@ -136,6 +141,7 @@ public class NetworkWatcherService {
     }
 
     private void timeoutAction(Packet packet) {
+        forgetPacket(packet);
         producedPackets.remove(packet);
 
         if (confirmedPackets.remove(packet)) {
@@ -145,6 +151,15 @@ public class NetworkWatcherService {
         }
     }
 
+    private Timeout<Packet> forgetPacket(Packet packet) {
+        Map<Packet, Timeout<Packet>> packets = endpointPackets.get(packet.endpoint);
+        Timeout<Packet> timeout = packets.remove(packet);
+        if (packets.isEmpty()) {
+            endpointPackets.remove(packet.endpoint);
+        }
+        return timeout;
+    }
+
     private long now() {
         return System.nanoTime();
     }
@@ -159,9 +174,8 @@ public class NetworkWatcherService {
         return confirmedPackets;
     }
 
-    @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
-        return timeouts;
+    public int getPendingTimeouts() {
+        return timeouts.size();
     }
 
     @Value(staticConstructor = "of")
@@ -37,11 +37,15 @@ import org.openkilda.wfm.topology.network.storm.bolt.speaker.SpeakerRouter;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watchlist.WatchListHandler;
 
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
     public static final String BOLT_ID = ComponentId.WATCHER.toString();
 
@@ -56,6 +60,8 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
     public static final Fields STREAM_SPEAKER_FIELDS = new Fields(
             KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
+    private static final int METRICS_BUCKET_SECS = 60;
+
     private final NetworkOptions options;
 
     private transient NetworkWatcherService service;
@@ -95,6 +101,13 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
         command.apply(this);
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric("network.watcher.timeouts.pending", service::getPendingTimeouts, METRICS_BUCKET_SECS);
+    }
+
     @Override
     protected void init() {
         service = new NetworkWatcherService(this,
@@ -30,11 +30,15 @@ import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherComm
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherRemoveCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watchlist.command.WatchListCommand;
 
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class WatchListHandler extends AbstractBolt implements IWatchListCarrier {
     public static final String BOLT_ID = ComponentId.WATCH_LIST.toString();
 
@@ -45,6 +49,8 @@ public class WatchListHandler extends AbstractBolt implements IWatchListCarrier
     public static final Fields STREAM_FIELDS = new Fields(FIELD_ID_DATAPATH, FIELD_ID_PORT_NUMBER, FIELD_ID_COMMAND,
             FIELD_ID_CONTEXT);
 
+    private static final int METRICS_BUCKET_SECS = 60;
+
     private final NetworkOptions options;
 
     private transient NetworkWatchListService service;
@@ -74,6 +80,13 @@ public class WatchListHandler extends AbstractBolt implements IWatchListCarrier
         command.apply(this);
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric("network.watch.list.timeouts.pending", service::getPendingTimeouts, METRICS_BUCKET_SECS);
+    }
+
     @Override
     protected void init() {
         service = new NetworkWatchListService(this, options.getDiscoveryInterval());
@@ -15,14 +15,14 @@
 
 package org.openkilda.wfm.topology.opentsdb;
 
-import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.LaunchEnvironment;
-import org.openkilda.wfm.kafka.InfoDataDeserializer;
+import org.openkilda.wfm.kafka.DatapointDeserializer;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.opentsdb.OpenTsdbTopologyConfig.OpenTsdbConfig;
 import org.openkilda.wfm.topology.opentsdb.bolts.DatapointParseBolt;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
-import org.openkilda.wfm.topology.utils.InfoDataTranslator;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.generated.StormTopology;
@@ -35,6 +35,7 @@ import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Apache Storm topology for sending metrics into Open TSDB.
@@ -65,7 +66,8 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
                 .setNumTasks(openTsdbConfig.getDatapointParseBoltWorkers())
                 .shuffleGrouping(OTSDB_SPOUT_ID);
 
-        tb.setBolt(OTSDB_FILTER_BOLT_ID, new OpenTSDBFilterBolt(), openTsdbConfig.getFilterBoltExecutors())
+        OpenTSDBFilterBolt filterBolt = new OpenTSDBFilterBolt(openTsdbConfig.getFilterMaxCardinality());
+        tb.setBolt(OTSDB_FILTER_BOLT_ID, filterBolt, openTsdbConfig.getFilterBoltExecutors())
                 .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields("hash"));
 
         OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient
@@ -90,10 +92,10 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
 
         OpenTsdbConfig openTsdbConfig = topologyConfig.getOpenTsdbConfig();
 
-        //FIXME: We have to use the Message class for messaging.
-        KafkaSpoutConfig<String, InfoData> config = getKafkaSpoutConfigBuilder(otsdbTopic, OTSDB_SPOUT_ID)
-                .setValue(InfoDataDeserializer.class)
-                .setRecordTranslator(new InfoDataTranslator())
+        // Both binary datapoint batches (marked by the format header) and legacy JSON datapoints are accepted.
+        KafkaSpoutConfig<String, List<Datapoint>> config = getKafkaSpoutConfigBuilder(otsdbTopic, OTSDB_SPOUT_ID)
+                .setValue(DatapointDeserializer.class)
+                .setRecordTranslator(new KafkaRecordTranslator<>())
                 .setFirstPollOffsetStrategy(KafkaSpoutConfig.FirstPollOffsetStrategy.UNCOMMITTED_EARLIEST)
                 .build();
 
@@ -20,6 +20,7 @@ import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Converter;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.IgnoreKey;
 import com.sabre.oss.conf4j.annotation.Key;
 
@@ -69,5 +70,9 @@ public interface OpenTsdbTopologyConfig extends AbstractTopologyConfig {
 
         @Key("workers.datapointparserbolt")
         int getDatapointParseBoltWorkers();
+
+        @Key("filter.max.cardinality")
+        @Default("1000000")
+        int getFilterMaxCardinality();
     }
 }
@@ -16,7 +16,6 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
-import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import org.apache.storm.task.OutputCollector;
@@ -25,13 +24,12 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class DatapointParseBolt extends BaseRichBolt {
     private static final Logger LOGGER = LoggerFactory.getLogger(DatapointParseBolt.class);
@@ -44,19 +42,15 @@ public class DatapointParseBolt extends BaseRichBolt {
 
     @Override
     public void execute(Tuple tuple) {
-        InfoData data = (InfoData) tuple.getValueByField(MessageKafkaTranslator.FIELD_ID_PAYLOAD);
-        LOGGER.debug("Processing datapoint: {}", data);
+        @SuppressWarnings("unchecked")
+        List<Datapoint> datapoints = (List<Datapoint>) tuple.getValueByField(MessageKafkaTranslator.FIELD_ID_PAYLOAD);
+        LOGGER.debug("Processing datapoints: {}", datapoints);
         try {
-            if (data instanceof Datapoint) {
-                Datapoint datapoint = (Datapoint) data;
-                List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
-                        .collect(Collectors.toList());
-                collector.emit(stream);
-            } else {
-                LOGGER.error("Unhandled input tuple from {} with data {}", getClass().getName(), data);
+            for (Datapoint datapoint : datapoints) {
+                collector.emit(new Values(datapoint.simpleHashCode(), datapoint));
             }
         } catch (Exception e) {
-            LOGGER.error("Failed process data: {}", data, e);
+            LOGGER.error("Failed process data: {}", datapoints, e);
         } finally {
             collector.ack(tuple);
         }
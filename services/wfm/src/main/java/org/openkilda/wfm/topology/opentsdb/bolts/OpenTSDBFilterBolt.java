@@ -16,8 +16,8 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.topology.opentsdb.storage.DatapointDedupStore;
 
-import lombok.Value;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
 import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
@@ -30,7 +30,6 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -44,24 +43,49 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
     private static final long MUTE_IF_NO_UPDATES_SECS = TimeUnit.MINUTES.toSeconds(10);
     private static final long MUTE_IF_NO_UPDATES_MILLIS = TimeUnit.SECONDS.toMillis(MUTE_IF_NO_UPDATES_SECS);
 
+    /**
+     * The expired datapoints cleanup is spread across this number of ticks, so each tick sweeps only a part of
+     * the storage.
+     */
+    private static final int SWEEP_TICKS = 10;
+    private static final int DEFAULT_MAX_CARDINALITY = 1_000_000;
+    private static final int METRICS_BUCKET_SECS = 60;
+
     private static final Fields DECLARED_FIELDS =
             new Fields(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getMetricField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTimestampField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
 
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
+    private final int maxCardinality;
+
+    private transient DatapointDedupStore storage;
     private OutputCollector collector;
 
+    public OpenTSDBFilterBolt() {
+        this(DEFAULT_MAX_CARDINALITY);
+    }
+
+    public OpenTSDBFilterBolt(int maxCardinality) {
+        this.maxCardinality = maxCardinality;
+    }
+
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        this.storage = new DatapointDedupStore(maxCardinality);
+
+        if (context != null) {
+            context.registerMetric("filter.storage.size", storage::size, METRICS_BUCKET_SECS);
+            context.registerMetric("filter.storage.hit.rate", storage::getAndResetHitRate, METRICS_BUCKET_SECS);
+            context.registerMetric("filter.storage.evictions", storage::getAndResetEvictions, METRICS_BUCKET_SECS);
+        }
     }
     
     @Override
     public Map<String, Object> getComponentConfiguration() {
         Config conf = new Config();
-        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, MUTE_IF_NO_UPDATES_SECS);
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, MUTE_IF_NO_UPDATES_SECS / SWEEP_TICKS);
         return conf;
     }
 
@@ -72,11 +96,9 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         if (isTickTuple(tuple)) {
             // opentsdb using current epoch time (date +%s) in seconds
             long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
-
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("storage after clean tulpe: {}", storage.toString());
-            }
+            int slots = (storage.capacity() + SWEEP_TICKS - 1) / SWEEP_TICKS;
+            int removed = storage.expire(now - MUTE_IF_NO_UPDATES_MILLIS, slots);
+            LOGGER.debug("{} datapoints are removed from storage, storage.size: {}", removed, storage.size());
 
             collector.ack(tuple);
             return;
@@ -89,9 +111,8 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
 
         Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
 
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
-
+        long fingerprint = DatapointDedupStore.fingerprint(datapoint.getMetric(), datapoint.getTags());
+        if (storage.update(fingerprint, datapoint.getTime(), datapoint.getValue(), MUTE_IF_NO_UPDATES_MILLIS)) {
             List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
                     datapoint.getTags()).collect(Collectors.toList());
 
@@ -108,34 +129,6 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         declarer.declare(DECLARED_FIELDS);
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
-        }
-    }
-
-    private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
-
-        if (prevDatapoint != null) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
-            }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
-        }
-        return update;
-    }
-    
     private boolean isTickTuple(Tuple tuple) {
         String sourceComponent = tuple.getSourceComponent();
         String sourceStreamId = tuple.getSourceStreamId();
@@ -143,12 +136,4 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         return Constants.SYSTEM_COMPONENT_ID.equals(sourceComponent)
                 && Constants.SYSTEM_TICK_STREAM_ID.equals(sourceStreamId);
     }
-
-    @Value
-    private static class DatapointKey {
-
-        private String metric;
-
-        private Map<String, String> tags;
-    }
 }
@@ -0,0 +1,241 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.storage;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+
+/**
+ * Keeps the last emitted value and time of each time series (metric + tags) to suppress repeated datapoints.
+ * <p/>
+ * The time series are identified by a 64-bit fingerprint of the metric and tags and stored in primitive arrays
+ * of an open-addressing hash table with linear probing, so a lookup doesn't allocate. The number of stored
+ * time series is bounded: when the store is full, the least recently emitted series among the neighbours of
+ * the new one is evicted.
+ */
+public class DatapointDedupStore {
+    private static final long EMPTY = 0;
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private static final byte VALUE_INTEGRAL = 0;
+    private static final byte VALUE_FLOATING = 1;
+
+    private final int maxCardinality;
+    private final int mask;
+
+    private final long[] fingerprints;
+    private final long[] times;
+    private final long[] values;
+    private final byte[] valueTypes;
+
+    private int size;
+    private int sweepCursor;
+
+    private long lookups;
+    private long hits;
+    private long evictions;
+
+    public DatapointDedupStore(int maxCardinality) {
+        if (maxCardinality <= 0 || maxCardinality > (1 << 29)) {
+            throw new IllegalArgumentException(format("Invalid max cardinality %d", maxCardinality));
+        }
+        this.maxCardinality = maxCardinality;
+
+        // Keep the load factor under 0.75 to have short probe sequences.
+        int capacity = Integer.highestOneBit(maxCardinality + maxCardinality / 3) << 1;
+        this.mask = capacity - 1;
+        this.fingerprints = new long[capacity];
+        this.times = new long[capacity];
+        this.values = new long[capacity];
+        this.valueTypes = new byte[capacity];
+    }
+
+    /**
+     * Calculates the fingerprint of the time series. It doesn't depend on the tags order.
+     */
+    public static long fingerprint(String metric, Map<String, String> tags) {
+        long result = mix(hash(metric));
+        if (tags != null) {
+            long tagsHash = 0;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                tagsHash += mix(hash(tag.getKey()) * 31 + hash(tag.getValue()));
+            }
+            result = mix(result ^ tagsHash);
+        }
+        // Zero marks empty slots.
+        return result != EMPTY ? result : 1;
+    }
+
+    /**
+     * Checks whether the datapoint should be emitted, i.e. the value is changed or the previous datapoint was
+     * emitted long enough ago, and remembers it if so.
+     */
+    public boolean update(long fingerprint, long time, Number value, long muteIfNoUpdatesMillis) {
+        byte valueType = isFloating(value) ? VALUE_FLOATING : VALUE_INTEGRAL;
+        long valueBits = valueType == VALUE_FLOATING
+                ? Double.doubleToLongBits(value.doubleValue()) : value.longValue();
+
+        lookups++;
+        int index = find(fingerprint);
+        if (fingerprints[index] == fingerprint) {
+            hits++;
+            if (valueTypes[index] == valueType && values[index] == valueBits
+                    && time - times[index] < muteIfNoUpdatesMillis) {
+                return false;
+            }
+        } else {
+            if (size >= maxCardinality) {
+                evict(index);
+                index = find(fingerprint);
+            }
+            fingerprints[index] = fingerprint;
+            size++;
+        }
+
+        times[index] = time;
+        values[index] = valueBits;
+        valueTypes[index] = valueType;
+        return true;
+    }
+
+    /**
+     * Removes the time series emitted before the cutoff time, checking not more than the given number of slots
+     * starting where the previous call finished. So a full sweep can be spread across several calls.
+     *
+     * @return the number of removed time series.
+     */
+    public int expire(long cutoffTime, int maxSlots) {
+        int removed = 0;
+        int slots = Math.min(maxSlots, fingerprints.length);
+        int checked = 0;
+        while (checked < slots) {
+            if (fingerprints[sweepCursor] != EMPTY && times[sweepCursor] < cutoffTime) {
+                // The next entries may be shifted into this slot, so check it once more.
+                remove(sweepCursor);
+                removed++;
+            } else {
+                sweepCursor = (sweepCursor + 1) & mask;
+                checked++;
+            }
+        }
+        evictions += removed;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return fingerprints.length;
+    }
+
+    /**
+     * Gets the ratio of lookups which found the time series since the previous call.
+     */
+    public double getAndResetHitRate() {
+        double rate = lookups == 0 ? 0 : (double) hits / lookups;
+        lookups = 0;
+        hits = 0;
+        return rate;
+    }
+
+    /**
+     * Gets the number of evicted and expired time series since the previous call.
+     */
+    public long getAndResetEvictions() {
+        long result = evictions;
+        evictions = 0;
+        return result;
+    }
+
+    private int find(long fingerprint) {
+        int index = (int) fingerprint & mask;
+        while (fingerprints[index] != EMPTY && fingerprints[index] != fingerprint) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void evict(int index) {
+        // The slot preceding the free one is occupied (the table can't be empty here), sample the probe cluster
+        // backwards from it and evict the least recently emitted time series.
+        int victim = -1;
+        int slot = (index - 1) & mask;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && fingerprints[slot] != EMPTY; i++) {
+            if (victim < 0 || times[slot] < times[victim]) {
+                victim = slot;
+            }
+            slot = (slot - 1) & mask;
+        }
+        if (victim < 0) {
+            // An isolated free slot, take any occupied one following it.
+            victim = (index + 1) & mask;
+            while (fingerprints[victim] == EMPTY) {
+                victim = (victim + 1) & mask;
+            }
+        }
+        remove(victim);
+        evictions++;
+    }
+
+    private void remove(int index) {
+        // Backward shift deletion: move the following entries of the probe sequence to fill the gap.
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (fingerprints[next] != EMPTY) {
+            int home = (int) fingerprints[next] & mask;
+            // The entry can be moved if its home slot is not in the cyclic range (gap, next].
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                fingerprints[gap] = fingerprints[next];
+                times[gap] = times[next];
+                values[gap] = values[next];
+                valueTypes[gap] = valueTypes[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        fingerprints[gap] = EMPTY;
+        size--;
+    }
+
+    private static boolean isFloating(Number value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a
+        long result = 0xcbf29ce484222325L;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                result ^= value.charAt(i);
+                result *= 0x100000001b3L;
+            }
+        }
+        return result;
+    }
+
+    private static long mix(long value) {
+        // MurmurHash3 finalizer
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb53a185ec8a7L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
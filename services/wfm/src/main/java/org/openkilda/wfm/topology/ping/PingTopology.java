@@ -124,9 +124,12 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
 
-        FlowFetcher bolt = new FlowFetcher(persistenceManager);
+        FlowFetcher bolt = new FlowFetcher(
+                persistenceManager, TimeUnit.SECONDS.toMillis(topologyConfig.getRegistrySyncInterval()));
+        // periodic ping registry is kept by the task receiving ticks, so its updates must go to the same task
         topology.setBolt(FlowFetcher.BOLT_ID, bolt, scaleFactor)
                 .globalGrouping(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID)
+                .globalGrouping(InputRouter.BOLT_ID, InputRouter.STREAM_PERIODIC_PING_UPDATE_ID)
                 .shuffleGrouping(InputRouter.BOLT_ID, InputRouter.STREAM_ON_DEMAND_REQUEST_ID);
     }
 
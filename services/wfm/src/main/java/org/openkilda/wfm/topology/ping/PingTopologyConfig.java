@@ -47,6 +47,10 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getPingConfig().getFailReset();
     }
 
+    default int getRegistrySyncInterval() {
+        return getPingConfig().getRegistrySyncInterval();
+    }
+
     default String getKafkaPingTopic() {
         return getKafkaTopics().getPingTopic();
     }
@@ -93,5 +97,9 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         @Key("fail.reset")
         @Default("1800")
         int getFailReset();
+
+        @Key("registry.sync.interval")
+        @Default("600")
+        int getRegistrySyncInterval();
     }
 }
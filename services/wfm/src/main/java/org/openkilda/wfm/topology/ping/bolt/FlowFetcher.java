@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.ping.bolt;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.flow.FlowPingRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.messaging.model.BidirectionalFlowDto;
 import org.openkilda.model.FlowPair;
@@ -36,9 +37,9 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class FlowFetcher extends Abstract {
     public static final String BOLT_ID = ComponentId.FLOW_FETCHER.toString();
@@ -57,11 +58,20 @@ public class FlowFetcher extends Abstract {
     public static final String STREAM_ON_DEMAND_RESPONSE_ID = "on_demand_response";
 
     private final PersistenceManager persistenceManager;
+    private final long registrySyncInterval;
     private transient FlowPairRepository flowPairRepository;
     private FlowsHeap flowsHeap;
 
-    public FlowFetcher(PersistenceManager persistenceManager) {
+    /**
+     * Flows with enabled periodic pings. Seeded on the first tick, then kept current by flow change notifications and
+     * fully reloaded each {@code registrySyncInterval} to catch missed notifications.
+     */
+    private transient Map<String, BidirectionalFlowDto> periodicPingFlows;
+    private transient long registrySyncTime;
+
+    public FlowFetcher(PersistenceManager persistenceManager, long registrySyncInterval) {
         this.persistenceManager = persistenceManager;
+        this.registrySyncInterval = registrySyncInterval;
     }
 
     @Override
@@ -70,6 +80,9 @@ public class FlowFetcher extends Abstract {
 
         if (TickDeduplicator.BOLT_ID.equals(component)) {
             handlePeriodicRequest(input);
+        } else if (InputRouter.BOLT_ID.equals(component)
+                && InputRouter.STREAM_PERIODIC_PING_UPDATE_ID.equals(input.getSourceStreamId())) {
+            handlePeriodicPingUpdate(input);
         } else if (InputRouter.BOLT_ID.equals(component)) {
             handleOnDemandRequest(input);
         } else {
@@ -79,13 +92,15 @@ public class FlowFetcher extends Abstract {
 
     private void handlePeriodicRequest(Tuple input) throws PipelineException {
         log.debug("Handle periodic ping request");
-        final List<BidirectionalFlowDto> flows = flowPairRepository.findWithPeriodicPingsEnabled().stream()
-                .map(pair -> new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair)))
-                .collect(Collectors.toList());
+        long now = input.getLongByField(MonotonicTick.FIELD_ID_TIME_MILLIS);
+        if (periodicPingFlows == null || registrySyncInterval <= now - registrySyncTime) {
+            syncRegistry();
+            registrySyncTime = now;
+        }
 
         final CommandContext commandContext = pullContext(input);
         final FlowsHeap heap = new FlowsHeap();
-        for (BidirectionalFlowDto flow : flows) {
+        for (BidirectionalFlowDto flow : periodicPingFlows.values()) {
             PingContext pingContext = new PingContext(Kinds.PERIODIC, flow);
             emit(input, pingContext, commandContext);
 
@@ -96,6 +111,51 @@ public class FlowFetcher extends Abstract {
         flowsHeap = heap;
     }
 
+    private void handlePeriodicPingUpdate(Tuple input) throws PipelineException {
+        PeriodicPingCommand command = pullValue(input, InputRouter.FIELD_ID_PING_REQUEST, PeriodicPingCommand.class);
+        if (periodicPingFlows == null) {
+            // the registry will be loaded from DB on the next tick
+            return;
+        }
+
+        String flowId = command.getFlowId();
+        Optional<FlowPair> flowPair = Optional.empty();
+        if (command.isEnable()) {
+            flowPair = flowPairRepository.findById(flowId)
+                    .filter(pair -> pair.getForward().isPeriodicPings());
+        }
+
+        if (flowPair.isPresent()) {
+            log.debug("Update flow {} in periodic pings registry", flowId);
+            periodicPingFlows.put(flowId, new BidirectionalFlowDto(FlowMapper.INSTANCE.map(flowPair.get())));
+        } else if (periodicPingFlows.remove(flowId) != null) {
+            log.debug("Remove flow {} from periodic pings registry", flowId);
+        }
+    }
+
+    private void syncRegistry() {
+        Map<String, BidirectionalFlowDto> flows = new HashMap<>();
+        for (FlowPair pair : flowPairRepository.findWithPeriodicPingsEnabled()) {
+            BidirectionalFlowDto flow = new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair));
+            flows.put(flow.getFlowId(), flow);
+        }
+
+        if (periodicPingFlows != null) {
+            long stale = flows.entrySet().stream()
+                    .filter(entry -> !entry.getValue().equals(periodicPingFlows.get(entry.getKey())))
+                    .count();
+            stale += periodicPingFlows.keySet().stream()
+                    .filter(flowId -> !flows.containsKey(flowId))
+                    .count();
+            if (stale > 0) {
+                log.warn("Periodic pings registry had {} stale flows out of {}, missed flow change notifications?",
+                        stale, flows.size());
+            }
+        }
+        log.info("Periodic pings registry is loaded, {} flows", flows.size());
+        periodicPingFlows = flows;
+    }
+
     private void handleOnDemandRequest(Tuple input) throws PipelineException {
         log.debug("Handle on demand ping request");
         FlowPingRequest request = pullOnDemandRequest(input);
@@ -21,6 +21,7 @@ import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowPingRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.floodlight.response.PingResponse;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
@@ -44,6 +45,7 @@ public class InputRouter extends Abstract {
     public static final Fields STREAM_PING_REQUEST_FIELDS = new Fields(
             FIELD_ID_PING_REQUEST, FIELD_ID_CONTEXT);
     public static final String STREAM_ON_DEMAND_REQUEST_ID = "ping_request";
+    public static final String STREAM_PERIODIC_PING_UPDATE_ID = "periodic_ping_update";
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
@@ -72,6 +74,8 @@ public class InputRouter extends Abstract {
         final CommandData data = message.getData();
         if (data instanceof FlowPingRequest) {
             emit(input, new Values(data), STREAM_ON_DEMAND_REQUEST_ID);
+        } else if (data instanceof PeriodicPingCommand) {
+            emit(input, new Values(data), STREAM_PERIODIC_PING_UPDATE_ID);
         } else {
             unhandledInput(input);
         }
@@ -90,5 +94,6 @@ public class InputRouter extends Abstract {
     public void declareOutputFields(OutputFieldsDeclarer outputManager) {
         outputManager.declareStream(STREAM_SPEAKER_PING_RESPONSE_ID, STREAM_SPEAKER_PING_RESPONSE_FIELDS);
         outputManager.declareStream(STREAM_ON_DEMAND_REQUEST_ID, STREAM_PING_REQUEST_FIELDS);
+        outputManager.declareStream(STREAM_PERIODIC_PING_UPDATE_ID, STREAM_PING_REQUEST_FIELDS);
     }
 }
@@ -0,0 +1,120 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.SwitchId;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Resolves flow stats entries (by cookie) and meter stats entries (by switch and meter) to the flow they belong to.
+ * <p/>
+ * The table is loaded from the flows once and then kept up to date with the flow install/remove commands. Every
+ * applied change increments the version of the table. The entries are immutable, so they can be safely passed
+ * along with the stats.
+ */
+@Slf4j
+public class FlowEnrichmentTable {
+    private final Map<Long, CacheFlowEntry> cookieToFlow = new HashMap<>();
+    private final Map<MeterCacheKey, CacheFlowEntry> switchAndMeterToFlow = new HashMap<>();
+
+    private long version;
+
+    /**
+     * Fills the table with the paths of the flows.
+     */
+    public void load(Collection<Flow> flows) {
+        flows.stream()
+                .flatMap(this::extractAllFlowPaths)
+                .forEach(path -> {
+                    CacheFlowEntry entry = new CacheFlowEntry(
+                            path.getFlow().getFlowId(),
+                            path.getSrcSwitch().getSwitchId().toOtsdFormat(),
+                            path.getDestSwitch().getSwitchId().toOtsdFormat(),
+                            path.getCookie().getValue());
+
+                    cookieToFlow.put(path.getCookie().getValue(), entry);
+                    if (path.getMeterId() != null) {
+                        switchAndMeterToFlow.put(
+                                new MeterCacheKey(path.getSrcSwitch().getSwitchId(), path.getMeterId().getValue()),
+                                entry);
+                    } else {
+                        log.warn("Flow {} has no meter ID", path.getFlow().getFlowId());
+                    }
+                });
+        version++;
+        log.debug("cookieToFlow cache: {}, switchAndMeterToFlow cache: {}", cookieToFlow, switchAndMeterToFlow);
+    }
+
+    /**
+     * Applies the flow rule installation.
+     */
+    public void update(Long cookie, Long meterId, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
+        CacheFlowEntry current = cookieToFlow.getOrDefault(cookie, new CacheFlowEntry(flowId, cookie));
+        cookieToFlow.put(cookie, current.replaceSwitch(switchId.toOtsdFormat(), measurePoint));
+
+        MeterCacheKey key = new MeterCacheKey(switchId, meterId);
+        CacheFlowEntry currentMeterEntry = switchAndMeterToFlow.get(key);
+        if (currentMeterEntry == null) {
+            switchAndMeterToFlow.put(key, new CacheFlowEntry(flowId, cookie));
+        } else {
+            switchAndMeterToFlow.put(key, currentMeterEntry.replaceCookie(cookie));
+        }
+        version++;
+    }
+
+    /**
+     * Applies the flow rule removal.
+     */
+    public void remove(Long cookie, Long meterId, SwitchId switchId) {
+        cookieToFlow.remove(cookie);
+        switchAndMeterToFlow.remove(new MeterCacheKey(switchId, meterId));
+        version++;
+    }
+
+    public CacheFlowEntry findByCookie(long cookie) {
+        return cookieToFlow.get(cookie);
+    }
+
+    public CacheFlowEntry findByMeter(SwitchId switchId, long meterId) {
+        return switchAndMeterToFlow.get(new MeterCacheKey(switchId, meterId));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    private Stream<FlowPath> extractAllFlowPaths(Flow flow) {
+        return Stream.concat(
+                Stream.of(flow.getForwardPath(), flow.getProtectedForwardPath()).filter(Objects::nonNull).peek(p -> {
+                    p.setSrcSwitch(flow.getSrcSwitch());
+                    p.setDestSwitch(flow.getDestSwitch());
+                }),
+                Stream.of(flow.getReversePath(), flow.getProtectedReversePath()).filter(Objects::nonNull).peek(p -> {
+                    p.setSrcSwitch(flow.getDestSwitch());
+                    p.setDestSwitch(flow.getSrcSwitch());
+                })
+        );
+    }
+}
@@ -28,7 +28,6 @@ public enum StatsComponentType {
     FLOW_STATS_METRIC_GEN,
     TABLE_STATS_METRIC_GEN,
     ERROR_BOLT,
-    STATS_CACHE_BOLT,
     STATS_KILDA_SPEAKER_SPOUT,
     TICK_BOLT,
     STATS_REQUESTER_BOLT,
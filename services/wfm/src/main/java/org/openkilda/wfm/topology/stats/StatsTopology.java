@@ -20,7 +20,6 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.FLOW_STATS_MET
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_CFG_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PORT_STATS_METRIC_GEN;
-import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_FILTER_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_KILDA_SPEAKER_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_KILDA_SPEAKER_SPOUT;
@@ -30,14 +29,12 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.TABLE_STATS_ME
 import static org.openkilda.wfm.topology.stats.StatsComponentType.TICK_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.CACHE_UPDATE;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.STATS_REQUEST;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.statsWithCacheFields;
 
 import org.openkilda.config.KafkaTopicsConfig;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.topology.AbstractTopology;
-import org.openkilda.wfm.topology.stats.bolts.CacheBolt;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt;
 import org.openkilda.wfm.topology.stats.bolts.SpeakerBolt;
 import org.openkilda.wfm.topology.stats.bolts.SpeakerRequestDecoderBolt;
@@ -54,6 +51,7 @@ import org.openkilda.wfm.topology.utils.JsonKafkaTranslator;
 import com.google.common.collect.ImmutableList;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.storm.generated.StormTopology;
+import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
 import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.topology.TopologyBuilder;
@@ -84,6 +82,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         logger.info("Creating StatsTopology - {}", topologyName);
 
         final Integer parallelism = topologyConfig.getParallelism();
+        final boolean binaryEncoding = topologyConfig.isOpenTsdbBinaryEncoding();
         TopologyBuilder builder = new TopologyBuilder();
 
 
@@ -99,33 +98,34 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         inputSpeakerRequests(builder, parallelism);
         cacheSyncFilter(builder, parallelism);
 
-        // Cache bolt get data from NEO4J on start
-        PersistenceManager persistenceManager =
-                PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
-        builder.setBolt(STATS_CACHE_BOLT.name(), new CacheBolt(persistenceManager), parallelism)
-                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), statsFields);
-
         builder.setBolt(PORT_STATS_METRIC_GEN.name(),
-                new PortMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new PortMetricGenBolt(topologyConfig.getMetricPrefix(), binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldMessage);
         builder.setBolt(METER_CFG_STATS_METRIC_GEN.name(),
-                new MeterConfigMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new MeterConfigMetricGenBolt(topologyConfig.getMetricPrefix(), binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_CONFIG_STATS.toString(), fieldMessage);
         builder.setBolt(SYSTEM_RULE_STATS_METRIC_GEN.name(),
-                new SystemRuleMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new SystemRuleMetricGenBolt(topologyConfig.getMetricPrefix(), binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.SYSTEM_RULE_STATS.toString(), statsFields);
         builder.setBolt(TABLE_STATS_METRIC_GEN.name(),
-                new TableStatsMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new TableStatsMetricGenBolt(topologyConfig.getMetricPrefix(), binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.TABLE_STATS.toString(), statsFields);
 
+        // Flow and meter stats bolts load the flow enrichment table from NEO4J on start
+        // and keep it up to date with the cache filter updates.
+        PersistenceManager persistenceManager =
+                PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
         logger.debug("starting flow_stats_metric_gen");
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(),
-                new FlowMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), statsWithCacheFields);
+                new FlowMetricGenBolt(topologyConfig.getMetricPrefix(), binaryEncoding, persistenceManager),
+                parallelism)
+                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.FLOW_STATS.toString(), statsFields);
         builder.setBolt(METER_STATS_METRIC_GEN.name(),
-                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.METER_STATS.toString(), statsWithCacheFields);
+                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix(), binaryEncoding, persistenceManager),
+                parallelism)
+                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_STATS.toString(), statsFields);
 
         builder.setBolt(TICK_BOLT.name(), new TickBolt(topologyConfig.getStatisticsRequestInterval()));
 
@@ -136,7 +136,9 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .shuffleGrouping(STATS_REQUESTER_BOLT.name(), STATS_REQUEST.name());
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
-        builder.setBolt("stats-opentsdb", createKafkaBolt(openTsdbTopic))
+        KafkaBolt<String, ?> openTsdbBolt = binaryEncoding
+                ? buildDatapointBatchKafkaBolt(openTsdbTopic) : createKafkaBolt(openTsdbTopic);
+        builder.setBolt("stats-opentsdb", openTsdbBolt)
                 .shuffleGrouping(PORT_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
@@ -169,7 +171,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
 
     /**
      * CacheFilterBolt catch data from kilda.speaker spout and tried to find InstallEgressFlow
-     * or InstallOneSwitchFlow and throw tuple to CacheBolt.
+     * or InstallOneSwitchFlow and throw tuple to the flow and meter stats metric gen bolts.
      */
     private void cacheSyncFilter(TopologyBuilder topology, int scaleFactor) {
         topology.setBolt(STATS_CACHE_FILTER_BOLT.name(), new CacheFilterBolt(), scaleFactor)
@@ -44,6 +44,10 @@ public interface StatsTopologyConfig extends AbstractTopologyConfig {
     @Default("kilda.")
     String getMetricPrefix();
 
+    @Key("opentsdb.binary.encoding")
+    @Default("false")
+    boolean isOpenTsdbBinaryEncoding();
+
     @Key("statistics.interval")
     @Default("60")
     int getStatisticsRequestInterval();
@@ -46,7 +46,8 @@ public class SpeakerBolt extends AbstractBolt {
     private static final Logger logger = LoggerFactory.getLogger(SpeakerBolt.class);
     private static final String PORT_STATS_STREAM = StatsStreamType.PORT_STATS.toString();
     private static final String METER_CFG_STATS_STREAM = StatsStreamType.METER_CONFIG_STATS.toString();
-    private static final String CACHE_STREAM = StatsStreamType.CACHE_DATA.toString();
+    private static final String METER_STATS_STREAM = StatsStreamType.METER_STATS.toString();
+    private static final String FLOW_STATS_STREAM = StatsStreamType.FLOW_STATS.toString();
     private static final String SYSTEM_RULES_STATS_STREAM = StatsStreamType.SYSTEM_RULE_STATS.toString();
     private static final String TABLE_STATS_STREAM = StatsStreamType.TABLE_STATS.toString();
 
@@ -68,14 +69,14 @@ public class SpeakerBolt extends AbstractBolt {
             emitWithContext(METER_CFG_STATS_STREAM, tuple, new Values(infoMessage));
         } else if (data instanceof MeterStatsData) {
             logger.debug("Meter stats message: {}", infoMessage);
-            emitWithContext(CACHE_STREAM, tuple, new Values(data));
+            emitWithContext(METER_STATS_STREAM, tuple, new Values(data));
         } else if (data instanceof FlowStatsData) {
             logger.debug("Flow stats message: {}", infoMessage);
             ImmutablePair<FlowStatsData, FlowStatsData> splitData =
                     splitSystemRuleStatsAndFlowStats((FlowStatsData) data);
 
             emitWithContext(SYSTEM_RULES_STATS_STREAM, tuple, new Values(splitData.getKey()));
-            emitWithContext(CACHE_STREAM, tuple, new Values(splitData.getValue()));
+            emitWithContext(FLOW_STATS_STREAM, tuple, new Values(splitData.getValue()));
         } else if (data instanceof SwitchTableStatsData) {
             logger.debug("Table stats message: {}", infoMessage);
             emitWithContext(TABLE_STATS_STREAM, tuple, new Values(data));
@@ -112,7 +113,8 @@ public class SpeakerBolt extends AbstractBolt {
         outputFieldsDeclarer.declareStream(METER_CFG_STATS_STREAM, fields);
 
         Fields statsFields = new Fields(StatsTopology.STATS_FIELD, FIELD_ID_CONTEXT);
-        outputFieldsDeclarer.declareStream(CACHE_STREAM, statsFields);
+        outputFieldsDeclarer.declareStream(METER_STATS_STREAM, statsFields);
+        outputFieldsDeclarer.declareStream(FLOW_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(SYSTEM_RULES_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(TABLE_STATS_STREAM, statsFields);
     }
@@ -0,0 +1,92 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_FILTER_BOLT;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.wfm.topology.stats.FlowEnrichmentTable;
+import org.openkilda.wfm.topology.stats.MeasurePoint;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
+
+import org.apache.storm.tuple.Tuple;
+
+/**
+ * Base for the metric gen bolts which enrich the stats entries with flow data. Each bolt task keeps its own
+ * replica of {@link FlowEnrichmentTable}, loads it on start and applies the flow rule updates received from
+ * the cache filter bolt, so the stats tuples carry only the raw stats entries.
+ */
+public abstract class FlowEnrichedMetricGenBolt extends MetricGenBolt {
+    private final PersistenceManager persistenceManager;
+
+    protected transient FlowEnrichmentTable enrichmentTable;
+
+    public FlowEnrichedMetricGenBolt(String metricPrefix, boolean binaryEncoding,
+                                     PersistenceManager persistenceManager) {
+        super(metricPrefix, binaryEncoding);
+        this.persistenceManager = persistenceManager;
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+
+        enrichmentTable = new FlowEnrichmentTable();
+        try {
+            enrichmentTable.load(persistenceManager.getRepositoryFactory().createFlowRepository().findAll());
+            log.info("Flow enrichment table: Initialized");
+        } catch (Exception e) {
+            log.error("Error on flow enrichment table initialization", e);
+        }
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        if (STATS_CACHE_FILTER_BOLT.name().equals(input.getSourceComponent())) {
+            handleUpdateTable(input);
+        } else {
+            handleStats(input);
+        }
+    }
+
+    protected abstract void handleStats(Tuple input) throws Exception;
+
+    private void handleUpdateTable(Tuple input) {
+        Long cookie = input.getLongByField(FieldsNames.COOKIE.name());
+        Long meterId = input.getLongByField(FieldsNames.METER.name());
+        String flowId = input.getStringByField(FieldsNames.FLOW.name());
+        SwitchId switchId = new SwitchId(input.getValueByField(FieldsNames.SWITCH.name()).toString());
+
+        Commands command = (Commands) input.getValueByField(FieldsNames.COMMAND.name());
+        MeasurePoint measurePoint = (MeasurePoint) input.getValueByField(FieldsNames.MEASURE_POINT.name());
+
+        switch (command) {
+            case UPDATE:
+                enrichmentTable.update(cookie, meterId, flowId, switchId, measurePoint);
+                break;
+            case REMOVE:
+                enrichmentTable.remove(cookie, meterId, switchId);
+                break;
+            default:
+                log.error("invalid command");
+                return;
+        }
+
+        log.debug("Flow enrichment table is updated to version {}", enrichmentTable.getVersion());
+    }
+}
@@ -17,11 +17,11 @@ package org.openkilda.wfm.topology.stats.metrics;
 
 import static org.openkilda.model.Cookie.isMaskedAsFlowCookie;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.COOKIE_CACHE_FIELD;
 
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
@@ -36,23 +36,20 @@ import javax.annotation.Nullable;
 /**
  * The type Flow metric gen bolt.
  */
-public class FlowMetricGenBolt extends MetricGenBolt {
+public class FlowMetricGenBolt extends FlowEnrichedMetricGenBolt {
 
-    public FlowMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public FlowMetricGenBolt(String metricPrefix, boolean binaryEncoding, PersistenceManager persistenceManager) {
+        super(metricPrefix, binaryEncoding, persistenceManager);
     }
 
     @Override
-    protected void handleInput(Tuple input) throws Exception {
-        Map<Long, CacheFlowEntry> dataCache = (Map<Long, CacheFlowEntry>) input.getValueByField(COOKIE_CACHE_FIELD);
-        log.debug("dataCache in FlowMetricGenBolt {}", dataCache);
-
+    protected void handleStats(Tuple input) throws Exception {
         FlowStatsData data = (FlowStatsData) input.getValueByField(STATS_FIELD);
         long timestamp = pullContext(input).getCreateTime();
         SwitchId switchId = data.getSwitchId();
 
         for (FlowStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
+            @Nullable CacheFlowEntry flowEntry = enrichmentTable.findByCookie(entry.getCookie());
             emit(entry, timestamp, switchId, flowEntry);
         }
     }
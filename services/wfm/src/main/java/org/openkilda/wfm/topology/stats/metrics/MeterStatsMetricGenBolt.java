@@ -18,15 +18,14 @@ package org.openkilda.wfm.topology.stats.metrics;
 import static org.openkilda.model.Cookie.createCookieForDefaultRule;
 import static org.openkilda.model.MeterId.isMeterIdOfDefaultRule;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.METER_CACHE_FIELD;
 
 import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.MeterStatsEntry;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.tuple.Tuple;
@@ -36,29 +35,26 @@ import java.util.Map;
 import javax.annotation.Nullable;
 
 @Slf4j
-public class MeterStatsMetricGenBolt extends MetricGenBolt {
+public class MeterStatsMetricGenBolt extends FlowEnrichedMetricGenBolt {
 
     public static final String UNKNOWN = "unknown";
 
-    public MeterStatsMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public MeterStatsMetricGenBolt(String metricPrefix, boolean binaryEncoding,
+                                   PersistenceManager persistenceManager) {
+        super(metricPrefix, binaryEncoding, persistenceManager);
     }
 
     @Override
-    protected void handleInput(Tuple input) throws Exception {
+    protected void handleStats(Tuple input) throws Exception {
         MeterStatsData data = (MeterStatsData) input.getValueByField(STATS_FIELD);
 
         log.debug("Received meter statistics: {}.", data);
 
-        @SuppressWarnings("unchecked")
-        Map<MeterCacheKey, CacheFlowEntry> meterCache =
-                (Map<MeterCacheKey, CacheFlowEntry>) input.getValueByField(METER_CACHE_FIELD);
-
         long timestamp = getCommandContext().getCreateTime();
 
         SwitchId switchId = data.getSwitchId();
         for (MeterStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = meterCache.get(new MeterCacheKey(switchId, entry.getMeterId()));
+            @Nullable CacheFlowEntry flowEntry = enrichmentTable.findByMeter(switchId, entry.getMeterId());
             emit(entry, timestamp, switchId, flowEntry);
         }
     }
@@ -19,12 +19,15 @@ import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
+import org.openkilda.wfm.kafka.DatapointCodec;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.AbstractTopology;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -32,9 +35,31 @@ import java.util.Map;
 public abstract class MetricGenBolt extends AbstractBolt {
 
     private MetricFormatter metricFormatter;
+    private final boolean binaryEncoding;
 
-    public MetricGenBolt(String metricPrefix) {
+    private transient List<Datapoint> pendingDatapoints;
+
+    /**
+     * Creates the bolt. With the binary encoding all datapoints produced for an input tuple are emitted as
+     * a single {@link DatapointCodec} record, otherwise each datapoint is emitted as a JSON record.
+     */
+    public MetricGenBolt(String metricPrefix, boolean binaryEncoding) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
+        this.binaryEncoding = binaryEncoding;
+    }
+
+    @Override
+    protected void init() {
+        pendingDatapoints = new ArrayList<>();
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        try {
+            super.dispatch(input);
+        } finally {
+            flushDatapoints();
+        }
     }
 
     protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
@@ -50,6 +75,11 @@ public abstract class MetricGenBolt extends AbstractBolt {
     }
 
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
+        if (binaryEncoding) {
+            pendingDatapoints.add(new Datapoint(metricFormatter.format(metric), timestamp, tag, value));
+            return;
+        }
+
         try {
             getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
         } catch (JsonEncodeException e) {
@@ -57,6 +87,13 @@ public abstract class MetricGenBolt extends AbstractBolt {
         }
     }
 
+    private void flushDatapoints() {
+        if (!pendingDatapoints.isEmpty()) {
+            getOutput().emit(Collections.singletonList(DatapointCodec.encode(pendingDatapoints)));
+            pendingDatapoints.clear();
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.topology.utils;
 
+import org.openkilda.messaging.codec.MessageCodec;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
@@ -23,6 +25,8 @@ public final class SerializationUtils {
     public static ObjectMapper MAPPER = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
+    public static final MessageCodec CODEC = new MessageCodec(MAPPER);
+
     /**
      * A private constructor.
      */
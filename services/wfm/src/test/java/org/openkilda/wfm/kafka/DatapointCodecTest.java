@@ -0,0 +1,100 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DatapointCodecTest {
+    private static final long TIMESTAMP = 1565000000000L;
+
+    @Test
+    public void shouldEncodeAndDecodeBatch() throws IOException {
+        List<Datapoint> datapoints = Arrays.asList(
+                new Datapoint("kilda.flow.bytes", TIMESTAMP, ImmutableMap.of("flowid", "f1", "direction", "forward"),
+                        123456789012L),
+                new Datapoint("kilda.flow.bits", TIMESTAMP - 10, ImmutableMap.of("flowid", "f1"), -8L),
+                new Datapoint("kilda.isl.latency", TIMESTAMP + 1000, Collections.emptyMap(), 0.25));
+
+        List<Datapoint> decoded = DatapointCodec.decode(DatapointCodec.encode(datapoints));
+
+        assertEquals(datapoints.size(), decoded.size());
+        for (int i = 0; i < datapoints.size(); i++) {
+            assertEquals(datapoints.get(i), decoded.get(i));
+            assertEquals(datapoints.get(i).getTime(), decoded.get(i).getTime());
+        }
+    }
+
+    @Test
+    public void shouldWriteRepeatedStringsOnce() {
+        Datapoint datapoint = new Datapoint("kilda.switch.rx-bytes", TIMESTAMP,
+                ImmutableMap.of("switchid", "00:00:00:00:00:00:00:01", "port", "1"), 1L);
+        byte[] single = DatapointCodec.encode(Collections.singletonList(datapoint));
+        byte[] batch = DatapointCodec.encode(Collections.nCopies(100, datapoint));
+
+        // Every next datapoint takes 9 bytes: metric index, time delta, tags count, 2 tag pairs, value type, value.
+        assertEquals(single.length + 99 * 9, batch.length);
+    }
+
+    @Test
+    public void shouldKeepFloatingValuesExact() throws IOException {
+        List<Datapoint> datapoints = Arrays.asList(
+                new Datapoint("kilda.isl.rtt", TIMESTAMP, Collections.emptyMap(), Double.MIN_VALUE),
+                new Datapoint("kilda.isl.rtt", TIMESTAMP, Collections.emptyMap(), -1234.5678e-90),
+                new Datapoint("kilda.isl.rtt", TIMESTAMP, Collections.emptyMap(), Double.NaN));
+
+        List<Datapoint> decoded = DatapointCodec.decode(DatapointCodec.encode(datapoints));
+
+        assertEquals(datapoints, decoded);
+    }
+
+    @Test
+    public void shouldSkipDatapointsWithoutValue() throws IOException {
+        Datapoint valid = new Datapoint("kilda.flow.bytes", TIMESTAMP, ImmutableMap.of("flowid", "f1"), 1L);
+        List<Datapoint> datapoints = Arrays.asList(
+                new Datapoint("kilda.flow.bytes", TIMESTAMP, ImmutableMap.of("flowid", "f1"), null),
+                valid,
+                new Datapoint(null, TIMESTAMP, Collections.emptyMap(), 1L),
+                new Datapoint("kilda.flow.bytes", TIMESTAMP, Collections.singletonMap("flowid", null), 1L));
+
+        List<Datapoint> decoded = DatapointCodec.decode(DatapointCodec.encode(datapoints));
+
+        assertEquals(Collections.singletonList(valid), decoded);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectDictionarySizeBeyondRecord() throws IOException {
+        // Integer.MAX_VALUE dictionary strings in a 7 bytes record
+        DatapointCodec.decode(new byte[] {DatapointCodec.MAGIC, DatapointCodec.VERSION,
+                (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07});
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFailOnTruncatedRecord() throws IOException {
+        byte[] record = DatapointCodec.encode(Collections.singletonList(
+                new Datapoint("kilda.flow.bytes", TIMESTAMP, Collections.emptyMap(), 1L)));
+        DatapointCodec.decode(Arrays.copyOf(record, record.length - 2));
+    }
+}
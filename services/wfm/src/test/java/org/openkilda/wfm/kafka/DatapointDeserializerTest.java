@@ -0,0 +1,71 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DatapointDeserializerTest {
+    private static final String TOPIC = "kilda.otsdb";
+
+    private final List<Datapoint> datapoints = Arrays.asList(
+            new Datapoint("kilda.flow.bytes", 1565000000000L, ImmutableMap.of("flowid", "f1"), 1L),
+            new Datapoint("kilda.isl.latency", 1565000001000L, Collections.emptyMap(), 0.25D));
+
+    @Test
+    public void shouldReadMarkedBinaryRecords() {
+        Headers headers = new RecordHeaders();
+        byte[] data = new DatapointBatchSerializer().serialize(TOPIC, headers, DatapointCodec.encode(datapoints));
+
+        assertArrayEquals(MessageFormat.DATAPOINT_BATCH.getHeaderValue(),
+                headers.lastHeader(MessageFormat.HEADER).value());
+        assertEquals(datapoints, new DatapointDeserializer().deserialize(TOPIC, headers, data));
+    }
+
+    @Test
+    public void shouldReadJsonRecords() throws Exception {
+        byte[] data = SerializationUtils.MAPPER.writeValueAsBytes(datapoints.get(1));
+
+        assertEquals(Collections.singletonList(datapoints.get(1)),
+                new DatapointDeserializer().deserialize(TOPIC, new RecordHeaders(), data));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void shouldNotReadBatchRecordsMarkedAsBinaryMessages() {
+        Headers headers = new RecordHeaders();
+        headers.add(MessageFormat.HEADER, MessageFormat.BINARY.getHeaderValue());
+        new DatapointDeserializer().deserialize(TOPIC, headers, DatapointCodec.encode(datapoints));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void shouldNotReadBinaryRecordsWithoutHeader() {
+        new DatapointDeserializer().deserialize(TOPIC, new RecordHeaders(), DatapointCodec.encode(datapoints));
+    }
+}
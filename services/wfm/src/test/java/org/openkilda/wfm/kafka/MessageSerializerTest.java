@@ -0,0 +1,75 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.InfoMessage;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class MessageSerializerTest {
+    private static final String TOPIC = "kilda.test";
+
+    private final Message message = new InfoMessage(
+            new Datapoint("kilda.test.metric", 1565000000000L, ImmutableMap.of("switchid", "00:01"), 0.5D),
+            1565000000000L, "correlation");
+
+    @Test
+    public void shouldWriteJsonByDefault() {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(Collections.emptyMap(), false);
+        Headers headers = new RecordHeaders();
+
+        byte[] data = serializer.serialize(TOPIC, headers, message);
+
+        assertNull(headers.lastHeader(MessageFormat.HEADER));
+        assertEquals(message, new MessageDeserializer().deserialize(TOPIC, data));
+        assertEquals(message, new MessageDeserializer().deserialize(TOPIC, headers, data));
+    }
+
+    @Test
+    public void shouldMarkBinaryRecords() {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(Collections.singletonMap(Serializer.MESSAGE_FORMAT_CONFIG, "binary"), false);
+        Headers headers = new RecordHeaders();
+
+        byte[] data = serializer.serialize(TOPIC, headers, message);
+
+        assertArrayEquals(MessageFormat.BINARY.getHeaderValue(), headers.lastHeader(MessageFormat.HEADER).value());
+        assertEquals(message, new MessageDeserializer().deserialize(TOPIC, headers, data));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void shouldRejectUnknownFormat() {
+        Headers headers = new RecordHeaders();
+        headers.add(MessageFormat.HEADER, "smile".getBytes(StandardCharsets.UTF_8));
+
+        new MessageDeserializer().deserialize(TOPIC, headers, new byte[]{1, 1});
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+public class ResourceIdBitmapTest {
+    private final Set<Long> repository = new HashSet<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<LongStream> loader = () -> {
+        loads.incrementAndGet();
+        return repository.stream().mapToLong(Long::longValue);
+    };
+    private final LongPredicate isAllocated = repository::contains;
+
+    @Test
+    public void shouldAllocateLowestFreeId() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(5, 25);
+
+        assertEquals(5, allocate(bitmap));
+        assertEquals(6, allocate(bitmap));
+        assertEquals(7, allocate(bitmap));
+
+        release(bitmap, 6);
+        assertEquals(6, allocate(bitmap));
+        assertEquals(8, allocate(bitmap));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldSkipIdsAllocatedByOthers() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(5, 25);
+        assertEquals(5, allocate(bitmap));
+
+        repository.add(6L);
+        repository.add(7L);
+        assertEquals(8, allocate(bitmap));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldReloadWhenExhausted() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(1, 3);
+        assertEquals(1, allocate(bitmap));
+        assertEquals(2, allocate(bitmap));
+        assertEquals(3, allocate(bitmap));
+
+        // Released by another allocator, so the bitmap isn't aware of it.
+        repository.remove(2L);
+        assertEquals(2, allocate(bitmap));
+        assertEquals(2, loads.get());
+
+        assertFalse(bitmap.allocate(loader, isAllocated).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidRange() {
+        new ResourceIdBitmap(10, 1);
+    }
+
+    private long allocate(ResourceIdBitmap bitmap) {
+        long id = bitmap.allocate(loader, isAllocated).getAsLong();
+        repository.add(id);
+        return id;
+    }
+
+    private void release(ResourceIdBitmap bitmap, long id) {
+        repository.remove(id);
+        bitmap.release(id);
+    }
+}
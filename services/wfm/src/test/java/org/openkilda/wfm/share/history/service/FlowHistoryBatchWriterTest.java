@@ -0,0 +1,191 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+import org.openkilda.persistence.PersistenceException;
+import org.openkilda.persistence.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+import org.openkilda.persistence.repositories.history.StateLogRepository;
+import org.openkilda.wfm.share.history.model.FlowEventData;
+import org.openkilda.wfm.share.history.model.FlowHistoryData;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FlowHistoryBatchWriterTest {
+    private static final String TASK_ID = "task-1";
+    private static final String BROKEN_TASK_ID = "task-2";
+
+    @Mock
+    private TransactionManager transactionManager;
+    @Mock
+    private FlowEventRepository flowEventRepository;
+    @Mock
+    private FlowHistoryRepository flowHistoryRepository;
+    @Mock
+    private FlowStateRepository flowStateRepository;
+    @Mock
+    private HistoryLogRepository historyLogRepository;
+    @Mock
+    private StateLogRepository stateLogRepository;
+
+    private FlowHistoryBatchWriter writer;
+
+    @Before
+    public void setUp() throws Exception {
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createFlowEventRepository()).thenReturn(flowEventRepository);
+        when(repositoryFactory.createFlowHistoryRepository()).thenReturn(flowHistoryRepository);
+        when(repositoryFactory.createFlowStateRepository()).thenReturn(flowStateRepository);
+        when(repositoryFactory.createHistoryLogRepository()).thenReturn(historyLogRepository);
+        when(repositoryFactory.createStateLogRepository()).thenReturn(stateLogRepository);
+
+        doAnswer(invocation -> {
+            TransactionCallbackWithoutResult<?> action = invocation.getArgument(0);
+            action.doInTransaction();
+            return null;
+        }).when(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+
+        writer = new FlowHistoryBatchWriter(transactionManager, repositoryFactory, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWriteBatchWhenBatchSizeReached() {
+        when(historyLogRepository.createByTaskId(anyCollection())).thenReturn(Sets.newHashSet(TASK_ID));
+
+        writer.add(makeEvent());
+        writer.add(makeHistory("first"));
+        assertEquals(2, writer.getBacklogSize());
+        verify(transactionManager, never()).doInTransaction(any(TransactionCallbackWithoutResult.class));
+
+        writer.add(makeHistory("second"));
+        assertEquals(0, writer.getBacklogSize());
+
+        ArgumentCaptor<Collection<FlowEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<FlowHistory>> histories = ArgumentCaptor.forClass(Collection.class);
+        InOrder order = inOrder(flowEventRepository, flowHistoryRepository, historyLogRepository);
+        order.verify(flowEventRepository).createOrUpdateAll(events.capture());
+        order.verify(flowHistoryRepository).createOrUpdateAll(histories.capture());
+        order.verify(historyLogRepository).createByTaskId(histories.getValue());
+        verify(flowStateRepository, never()).createOrUpdateAll(any());
+
+        assertEquals(TASK_ID, events.getValue().iterator().next().getTaskId());
+        List<FlowHistory> stored = (List<FlowHistory>) histories.getValue();
+        assertEquals(2, stored.size());
+        assertEquals("first", stored.get(0).getAction());
+        assertEquals(TASK_ID, stored.get(1).getTaskId());
+    }
+
+    @Test
+    public void shouldDropBatchOnStorageError() {
+        doThrow(new PersistenceException("test")).when(flowEventRepository).createOrUpdateAll(any());
+
+        writer.add(makeEvent());
+        writer.flush();
+
+        assertEquals(0, writer.getBacklogSize());
+        assertEquals(1, writer.getAndResetDroppedRecords());
+        assertEquals(0, writer.getAndResetDroppedRecords());
+
+        // nothing to write
+        writer.flush();
+        verify(flowEventRepository).createOrUpdateAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDropOnlyFailedTaskOnStorageError() {
+        doAnswer(invocation -> {
+            Collection<FlowEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> BROKEN_TASK_ID.equals(event.getTaskId()))) {
+                throw new PersistenceException("test");
+            }
+            return null;
+        }).when(flowEventRepository).createOrUpdateAll(any());
+
+        writer.add(makeEvent(TASK_ID));
+        writer.add(makeEvent(BROKEN_TASK_ID));
+        writer.flush();
+
+        assertEquals(1, writer.getAndResetDroppedRecords());
+
+        // the whole batch, then each task separately
+        ArgumentCaptor<Collection<FlowEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(flowEventRepository, times(3)).createOrUpdateAll(events.capture());
+        assertEquals(2, events.getAllValues().get(0).size());
+        assertEquals(TASK_ID, events.getAllValues().get(1).iterator().next().getTaskId());
+        assertEquals(BROKEN_TASK_ID, events.getAllValues().get(2).iterator().next().getTaskId());
+    }
+
+    private FlowHistoryHolder makeEvent() {
+        return makeEvent(TASK_ID);
+    }
+
+    private FlowHistoryHolder makeEvent(String taskId) {
+        return FlowHistoryHolder.builder()
+                .taskId(taskId)
+                .flowEventData(FlowEventData.builder()
+                        .flowId("flow-1")
+                        .event(FlowEventData.Event.CREATE)
+                        .initiator(FlowEventData.Initiator.NB)
+                        .time(Instant.now())
+                        .build())
+                .build();
+    }
+
+    private FlowHistoryHolder makeHistory(String action) {
+        return FlowHistoryHolder.builder()
+                .taskId(TASK_ID)
+                .flowHistoryData(FlowHistoryData.builder()
+                        .flowId("flow-1")
+                        .action(action)
+                        .time(Instant.now())
+                        .build())
+                .build();
+    }
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,9 +33,6 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.Set;
-import java.util.stream.Collectors;
-
 @RunWith(MockitoJUnitRunner.class)
 public class CoordinatorBoltTest {
 
@@ -68,6 +66,7 @@ public class CoordinatorBoltTest {
 
         target.cancelCallback(key);
         assertTrue(target.getCallbacks().isEmpty());
+        assertTrue(target.getTimeouts().isEmpty());
     }
 
     @Test
@@ -82,16 +81,26 @@ public class CoordinatorBoltTest {
         assertThat(target.getCallbacks().size(), is(2));
 
         // check that we have stored timeouts for out tasks
-        Set<String> tasks = target.getTimeouts()
-                .values()
-                .stream()
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
-        assertThat(tasks.size(), is(2));
+        assertThat(target.getTimeouts().size(), is(2));
 
         long afterTimeout = System.currentTimeMillis() + timeout + 1L;
         target.tick(afterTimeout);
         verify(collector).emitDirect(eq(firstTask), anyList());
         verify(collector).emitDirect(eq(secondTask), anyList());
+        assertTrue(target.getCallbacks().isEmpty());
+        assertTrue(target.getTimeouts().isEmpty());
+    }
+
+    @Test
+    public void shouldReplaceTimeoutOfReRegisteredCallback() {
+        final int taskId = 101;
+        target.registerCallback("request", "some context", 1, taskId);
+        target.registerCallback("request", "some context", 3600, taskId);
+
+        assertThat(target.getTimeouts().size(), is(1));
+
+        target.tick(System.currentTimeMillis() + 2L);
+        verify(collector, never()).emitDirect(eq(taskId), anyList());
+        assertThat(target.getCallbacks().size(), is(1));
     }
 }
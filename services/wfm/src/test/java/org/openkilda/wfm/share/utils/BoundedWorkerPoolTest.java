@@ -0,0 +1,112 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.wfm.share.utils.BoundedWorkerPool.Completion;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BoundedWorkerPoolTest {
+    private final BoundedWorkerPool<String, Integer> pool = new BoundedWorkerPool<>("test", 2, 3);
+    private final List<Completion<String, Integer>> completions = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldKeepSubmissionOrderForSameKey() throws Exception {
+        CountDownLatch firstTaskLatch = new CountDownLatch(1);
+        assertTrue(pool.submit("flow", "first", () -> {
+            firstTaskLatch.await();
+            return 1;
+        }));
+        CountDownLatch secondTaskLatch = new CountDownLatch(1);
+        assertTrue(pool.submit("flow", "second", () -> {
+            secondTaskLatch.countDown();
+            return 2;
+        }));
+
+        // The second task is executed, but it must not be passed until the first one is completed.
+        assertTrue(secondTaskLatch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, pool.drain(completions::add));
+
+        firstTaskLatch.countDown();
+        drainAll();
+        assertEquals(Arrays.asList("first", "second"), contexts());
+        assertEquals(Integer.valueOf(1), completions.get(0).getResult());
+        assertFalse(pool.hasPending());
+    }
+
+    @Test
+    public void shouldRejectTasksOverLimit() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(pool.submit("flow" + i, "task" + i, () -> {
+                latch.await();
+                return 0;
+            }));
+        }
+        assertFalse(pool.submit("flow", "rejected", () -> 0));
+        assertEquals(1, pool.getAndResetRejectedCount());
+        assertEquals(0, pool.getAndResetRejectedCount());
+
+        latch.countDown();
+        drainAll();
+        assertEquals(3, completions.size());
+        assertTrue(pool.submit("flow", "accepted", () -> 0));
+    }
+
+    @Test
+    public void shouldPassTaskError() throws Exception {
+        IllegalStateException error = new IllegalStateException("test");
+        pool.submit("flow", "failed", () -> {
+            throw error;
+        });
+
+        drainAll();
+        assertEquals(1, completions.size());
+        assertNull(completions.get(0).getResult());
+        assertEquals(error, completions.get(0).getError());
+    }
+
+    private void drainAll() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (pool.hasPending() && System.currentTimeMillis() < deadline) {
+            pool.drain(completions::add);
+            Thread.sleep(1);
+        }
+    }
+
+    private List<String> contexts() {
+        List<String> result = new ArrayList<>();
+        completions.forEach(completion -> result.add(completion.getContext()));
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.wfm.share.utils.TimingWheel.Timeout;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TimingWheelTest {
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, 8);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    public void expiresOnlyDueTimeouts() {
+        wheel.schedule("a", 15);
+        wheel.schedule("b", 25);
+        wheel.schedule("c", 500);
+        assertEquals(3, wheel.size());
+
+        wheel.advance(20, expired::add);
+        assertEquals(Collections.singletonList("a"), expired);
+
+        wheel.advance(30, expired::add);
+        assertEquals(Arrays.asList("a", "b"), expired);
+
+        // "c" is several laps ahead, it must survive all of them
+        wheel.advance(499, expired::add);
+        assertEquals(1, wheel.size());
+
+        wheel.advance(500, expired::add);
+        assertEquals(Arrays.asList("a", "b", "c"), expired);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void cancelledTimeoutIsNotExpired() {
+        Timeout<String> timeout = wheel.schedule("a", 15);
+        wheel.schedule("b", 15);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.isPending());
+        assertFalse(timeout.cancel());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(100, expired::add);
+        assertEquals(Collections.singletonList("b"), expired);
+    }
+
+    @Test
+    public void pastDeadlineExpiresOnNextAdvance() {
+        wheel.advance(100, expired::add);
+        wheel.schedule("a", 50);
+
+        wheel.advance(100, expired::add);
+        assertEquals(Collections.singletonList("a"), expired);
+    }
+
+    @Test
+    public void handlerCanReschedule() {
+        wheel.schedule("a", 10);
+        wheel.advance(10, payload -> {
+            expired.add(payload);
+            wheel.schedule(payload, 20);
+        });
+        assertEquals(1, expired.size());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(20, expired::add);
+        assertEquals(Arrays.asList("a", "a"), expired);
+    }
+}
@@ -74,14 +74,48 @@ public class PacketServiceTest extends Neo4jBasedTest {
         Thread.sleep(10);
         // update
         packetService.handleLldpData(data);
+        packetService.flushLastSeen();
 
         Collection<ConnectedDevice> devices = connectedDeviceRepository.findAll();
         assertEquals(1, devices.size());
         assertNotEquals(devices.iterator().next().getTimeFirstSeen(), devices.iterator().next().getTimeLastSeen());
     }
 
+    @Test
+    public void testHandleLldpDataLastSeenIsWrittenOnFlush() throws InterruptedException {
+        flowCookieRepository.createOrUpdate(new FlowCookie(FLOW_ID, COOKIE));
+        LldpInfoData data = createLldpInfoData(COOKIE, SYSTEM_NAME);
+        packetService.handleLldpData(data);
+
+        Thread.sleep(10);
+        packetService.handleLldpData(data);
+
+        ConnectedDevice device = connectedDeviceRepository.findAll().iterator().next();
+        assertEquals(device.getTimeFirstSeen(), device.getTimeLastSeen());
+
+        packetService.flushLastSeen();
+
+        device = connectedDeviceRepository.findAll().iterator().next();
+        assertNotEquals(device.getTimeFirstSeen(), device.getTimeLastSeen());
+    }
+
+    @Test
+    public void testHandleLldpDataChangedAttributesAreWrittenImmediately() {
+        flowCookieRepository.createOrUpdate(new FlowCookie(FLOW_ID, COOKIE));
+        packetService.handleLldpData(createLldpInfoData(COOKIE, SYSTEM_NAME));
+        packetService.handleLldpData(createLldpInfoData(COOKIE, "debian"));
+
+        Collection<ConnectedDevice> devices = connectedDeviceRepository.findAll();
+        assertEquals(1, devices.size());
+        assertEquals("debian", devices.iterator().next().getSystemName());
+    }
+
     private LldpInfoData createLldpInfoData(long cookie) {
-        return new LldpInfoData(cookie, MAC_ADDRESS, CHASSIS_ID, PORT_ID, TTL, POST, SYSTEM_NAME, SYSTEM_DESCRIPTION,
+        return createLldpInfoData(cookie, SYSTEM_NAME);
+    }
+
+    private LldpInfoData createLldpInfoData(long cookie, String systemName) {
+        return new LldpInfoData(cookie, MAC_ADDRESS, CHASSIS_ID, PORT_ID, TTL, POST, systemName, SYSTEM_DESCRIPTION,
                 CAPABILITIES, MANAGEMENT_ADDRESS);
     }
 }
@@ -27,6 +27,7 @@ import org.openkilda.floodlight.flow.response.FlowResponse;
 import org.openkilda.floodlight.flow.response.FlowRuleResponse;
 import org.openkilda.model.Cookie;
 import org.openkilda.model.SwitchId;
+import org.openkilda.pce.NetworkSnapshotCache;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionCallback;
@@ -59,6 +60,8 @@ public abstract class AbstractFlowTest {
     @Mock
     PathComputer pathComputer;
     @Mock
+    NetworkSnapshotCache networkSnapshotCache;
+    @Mock
     FlowResourcesManager flowResourcesManager;
 
     final Queue<SpeakerFlowRequest> requests = new ArrayDeque<>();
@@ -95,6 +98,17 @@ public abstract class AbstractFlowTest {
             public RetryPolicy makeRetryPolicyBlank() {
                 return new RetryPolicy().retryIf(result -> false);
             }
+
+            @Override
+            public void registerRollbackCallback(Runnable callback) {
+                // There's no real transaction to roll back.
+            }
+
+            @Override
+            public void registerCommitCallback(Runnable callback) {
+                // There's no real transaction to wait for.
+                callback.run();
+            }
         });
     }
 
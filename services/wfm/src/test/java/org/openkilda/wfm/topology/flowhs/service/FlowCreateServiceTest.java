@@ -149,7 +149,8 @@ public class FlowCreateServiceTest extends AbstractFlowTest {
         }).when(flowPathRepository).createOrUpdate(any(FlowPath.class));
 
         doAnswer(getSpeakerCommandsAnswer()).when(carrier).sendSpeakerRequest(any(SpeakerFlowRequest.class));
-        target = new FlowCreateService(carrier, persistenceManager, pathComputer, flowResourcesManager, 0, 0);
+        target = new FlowCreateService(carrier, persistenceManager, pathComputer, networkSnapshotCache,
+                flowResourcesManager, 0, 0);
     }
 
     @After
@@ -255,7 +256,8 @@ public class FlowCreateServiceTest extends AbstractFlowTest {
 
     @Test
     public void shouldRollbackIfEgressRuleNotInstalled() throws Exception {
-        target = new FlowCreateService(carrier, persistenceManager, pathComputer, flowResourcesManager, 0, 0);
+        target = new FlowCreateService(carrier, persistenceManager, pathComputer, networkSnapshotCache,
+                flowResourcesManager, 0, 0);
         String key = "failed_flow_create";
         String flowId = "failed_flow_id";
 
@@ -316,7 +318,8 @@ public class FlowCreateServiceTest extends AbstractFlowTest {
 
     @Test
     public void shouldRollbackIfIngressRuleNotInstalled() throws Exception {
-        target = new FlowCreateService(carrier, persistenceManager, pathComputer, flowResourcesManager, 0, 0);
+        target = new FlowCreateService(carrier, persistenceManager, pathComputer, networkSnapshotCache,
+                flowResourcesManager, 0, 0);
         String key = "failed_flow_create";
         String flowId = "failed_flow_id";
 
@@ -381,8 +384,8 @@ public class FlowCreateServiceTest extends AbstractFlowTest {
     @Test
     public void shouldCreateFlowWithRetryNonIngressRuleIfSwitchIsUnavailable() throws Exception {
         int retriesLimit = 10;
-        target = new FlowCreateService(carrier, persistenceManager, pathComputer, flowResourcesManager,
-                0, retriesLimit);
+        target = new FlowCreateService(carrier, persistenceManager, pathComputer, networkSnapshotCache,
+                flowResourcesManager, 0, retriesLimit);
         String key = "retries_non_ingress_installation";
         String flowId = "failed_flow_id";
 
@@ -443,8 +446,8 @@ public class FlowCreateServiceTest extends AbstractFlowTest {
     @Test
     public void shouldCreateFlowWithRetryIngressRuleIfSwitchIsUnavailable() throws Exception {
         int retriesLimit = 10;
-        target = new FlowCreateService(carrier, persistenceManager, pathComputer, flowResourcesManager,
-                0, retriesLimit);
+        target = new FlowCreateService(carrier, persistenceManager, pathComputer, networkSnapshotCache,
+                flowResourcesManager, 0, retriesLimit);
         String key = "retries_non_ingress_installation";
         String flowId = "failed_flow_id";
 
@@ -15,9 +15,12 @@
 
 package org.openkilda.wfm.topology.flowhs.service;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -53,6 +56,7 @@ import org.openkilda.model.SwitchFeature;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.TransitVlan;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.Path.Segment;
 import org.openkilda.pce.PathPair;
@@ -69,16 +73,22 @@ import org.openkilda.wfm.share.flow.resources.FlowResources;
 import org.openkilda.wfm.share.flow.resources.FlowResources.PathResources;
 import org.openkilda.wfm.share.flow.resources.ResourceAllocationException;
 import org.openkilda.wfm.share.flow.resources.transitvlan.TransitVlanEncapsulation;
+import org.openkilda.wfm.share.utils.BoundedWorkerPool;
+import org.openkilda.wfm.topology.flowhs.fsm.reroute.PrecomputedPath;
 
 import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FlowRerouteServiceTest extends AbstractFlowTest {
@@ -94,6 +104,8 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
     private FlowRerouteHubCarrier carrier;
     @Mock
     private CommandContext commandContext;
+    @Mock
+    private BoundedWorkerPool<List<String>, Map<String, PrecomputedPath>> pathComputationPool;
 
     @Before
     public void setUp() {
@@ -143,7 +155,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -165,7 +177,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
                 .thenThrow(new ResourceAllocationException("No resources"));
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -187,7 +199,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         doThrow(new RuntimeException("Must fail")).when(flowPathRepository).lockInvolvedSwitches(any(), any());
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -203,7 +215,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -222,7 +234,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -262,7 +274,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -296,7 +308,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -337,7 +349,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -371,7 +383,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -422,7 +434,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -465,7 +477,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -504,7 +516,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -546,7 +558,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                pathComputer, networkSnapshotCache, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -573,6 +585,173 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         assertEquals(NEW_REVERSE_FLOW_PATH, flow.getReversePathId());
     }
 
+    @Test
+    public void shouldRerouteFlowWithPathComputedByPool() throws Exception {
+        Flow flow = build2SwitchFlow();
+        flow.setStatus(FlowStatus.DOWN);
+        when(pathComputationPool.submit(any(), any(), any())).thenReturn(true);
+        when(pathComputer.getPaths(any(), any())).thenReturn(new BatchPathResult(
+                Collections.singletonMap(FLOW_ID, build2SwitchPathPair(2, 3)), Collections.emptyMap()));
+        buildFlowResources();
+
+        FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
+                pathComputer, networkSnapshotCache, flowResourcesManager, pathComputationPool);
+
+        rerouteService.handleRequest("test_key", commandContext, FLOW_ID,
+                Sets.newHashSet(OLD_FORWARD_FLOW_PATH, OLD_REVERSE_FLOW_PATH));
+
+        // The flow is validated before its path computation is submitted.
+        assertEquals(FlowStatus.IN_PROGRESS, flow.getStatus());
+        verify(pathComputationPool, never()).submit(any(), any(), any());
+        assertTrue(rerouteService.hasPendingPathComputations());
+
+        rerouteService.submitPathComputations();
+        Map<String, PrecomputedPath> paths = runSubmittedPathComputation();
+
+        ArgumentCaptor<Map<String, List<PathId>>> reusePaths = ArgumentCaptor.forClass(Map.class);
+        verify(pathComputer).getPaths(any(), reusePaths.capture());
+        assertThat(reusePaths.getValue().get(FLOW_ID),
+                containsInAnyOrder(OLD_FORWARD_FLOW_PATH, OLD_REVERSE_FLOW_PATH));
+
+        rerouteService.handlePathComputation("test_key", paths, null);
+
+        verify(pathComputer, never()).getPath(any(), any());
+        verify(carrier, times(1)).sendNorthboundResponse(any());
+
+        SpeakerFlowRequest flowRequest;
+        while ((flowRequest = requests.poll()) != null) {
+            if (flowRequest instanceof GetInstalledRule) {
+                rerouteService.handleAsyncResponse("test_key",
+                        buildResponseOnGetInstalled((GetInstalledRule) flowRequest));
+            } else {
+                rerouteService.handleAsyncResponse("test_key", FlowResponse.builder()
+                        .commandId(flowRequest.getCommandId())
+                        .flowId(flowRequest.getFlowId())
+                        .switchId(flowRequest.getSwitchId())
+                        .success(true)
+                        .build());
+            }
+        }
+
+        assertEquals(FlowStatus.UP, flow.getStatus());
+        assertEquals(NEW_FORWARD_FLOW_PATH, flow.getForwardPathId());
+        assertEquals(NEW_REVERSE_FLOW_PATH, flow.getReversePathId());
+    }
+
+    @Test
+    public void shouldReuseAllFlowPathsInPoolOnPartialReroute() throws Exception {
+        build2SwitchFlow();
+        when(pathComputationPool.submit(any(), any(), any())).thenReturn(true);
+        when(pathComputer.getPaths(any(), any())).thenReturn(new BatchPathResult(
+                Collections.singletonMap(FLOW_ID, build2SwitchPathPair(2, 3)), Collections.emptyMap()));
+
+        FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
+                pathComputer, networkSnapshotCache, flowResourcesManager, pathComputationPool);
+
+        rerouteService.handleRequest("test_key", commandContext, FLOW_ID, Sets.newHashSet(OLD_FORWARD_FLOW_PATH));
+        rerouteService.submitPathComputations();
+        runSubmittedPathComputation();
+
+        // the same reuse paths as the path computation made by the FSM itself
+        ArgumentCaptor<Map<String, List<PathId>>> reusePaths = ArgumentCaptor.forClass(Map.class);
+        verify(pathComputer).getPaths(any(), reusePaths.capture());
+        assertThat(reusePaths.getValue().get(FLOW_ID),
+                containsInAnyOrder(OLD_FORWARD_FLOW_PATH, OLD_REVERSE_FLOW_PATH));
+    }
+
+    @Test
+    public void shouldFailRerouteFlowIfPoolFoundNoPath() throws Exception {
+        Flow flow = build2SwitchFlow();
+        when(pathComputationPool.submit(any(), any(), any())).thenReturn(true);
+        when(pathComputer.getPaths(any(), any())).thenReturn(new BatchPathResult(Collections.emptyMap(),
+                Collections.singletonMap(FLOW_ID, new UnroutableFlowException("No path found"))));
+
+        FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
+                pathComputer, networkSnapshotCache, flowResourcesManager, pathComputationPool);
+
+        rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
+        rerouteService.submitPathComputations();
+        rerouteService.handlePathComputation("test_key", runSubmittedPathComputation(), null);
+
+        assertEquals(FlowStatus.DOWN, flow.getStatus());
+        assertEquals(OLD_FORWARD_FLOW_PATH, flow.getForwardPathId());
+        assertEquals(OLD_REVERSE_FLOW_PATH, flow.getReversePathId());
+        verify(pathComputer, never()).getPath(any(), any());
+        verify(flowResourcesManager, never()).allocateFlowResources(any());
+        verify(carrier, never()).sendSpeakerRequest(any());
+        verify(carrier, times(1)).sendNorthboundResponse(any());
+    }
+
+    @Test
+    public void shouldComputePathInFsmIfPoolComputationFailed()
+            throws RecoverableException, UnroutableFlowException, ResourceAllocationException {
+        Flow flow = build2SwitchFlow();
+        when(pathComputationPool.submit(any(), any(), any())).thenReturn(true);
+        when(pathComputer.getPath(any(), any())).thenReturn(build2SwitchPathPair(2, 3));
+        buildFlowResources();
+
+        FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
+                pathComputer, networkSnapshotCache, flowResourcesManager, pathComputationPool);
+
+        rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
+        rerouteService.submitPathComputations();
+        rerouteService.handlePathComputation("test_key", null, new RecoverableException("Database is unavailable"));
+
+        assertEquals(FlowStatus.IN_PROGRESS, flow.getStatus());
+        verify(pathComputer, times(1)).getPath(any(), any());
+        verify(flowResourcesManager, times(1)).allocateFlowResources(any());
+        verify(carrier, times(1)).sendNorthboundResponse(any());
+    }
+
+    @Test
+    public void shouldFailRerouteOnTimeoutDuringPathComputation() throws Exception {
+        Flow flow = build2SwitchFlow();
+        when(pathComputationPool.submit(any(), any(), any())).thenReturn(true);
+
+        FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
+                pathComputer, networkSnapshotCache, flowResourcesManager, pathComputationPool);
+
+        rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
+        rerouteService.submitPathComputations();
+        assertEquals(FlowStatus.IN_PROGRESS, flow.getStatus());
+
+        rerouteService.handleTimeout("test_key");
+
+        assertEquals(FlowStatus.UP, flow.getStatus());
+        assertTrue(rerouteService.fsms.isEmpty());
+
+        // The late completion must be ignored.
+        rerouteService.handlePathComputation("test_key", Collections.emptyMap(), null);
+
+        verify(pathComputer, never()).getPath(any(), any());
+        verify(flowResourcesManager, never()).allocateFlowResources(any());
+        verify(carrier, never()).sendSpeakerRequest(any());
+    }
+
+    @Test
+    public void shouldNotSubmitPathComputationIfFlowValidationFailed() {
+        Flow flow = build2SwitchFlow();
+        flow.setStatus(FlowStatus.IN_PROGRESS);
+
+        FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
+                pathComputer, networkSnapshotCache, flowResourcesManager, pathComputationPool);
+
+        rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
+        rerouteService.submitPathComputations();
+
+        verify(pathComputationPool, never()).submit(any(), any(), any());
+        verify(carrier, times(1)).sendNorthboundResponse(any());
+        assertTrue(rerouteService.fsms.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, PrecomputedPath> runSubmittedPathComputation() throws Exception {
+        ArgumentCaptor<Callable> computation = ArgumentCaptor.forClass(Callable.class);
+        verify(pathComputationPool).submit(eq("test_key"), eq(Collections.singletonList("test_key")),
+                computation.capture());
+        return (Map<String, PrecomputedPath>) computation.getValue().call();
+    }
+
     private PathPair build2SwitchPathPair() {
         return build2SwitchPathPair(1, 2);
     }
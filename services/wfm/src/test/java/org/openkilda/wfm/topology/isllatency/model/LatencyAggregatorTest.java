@@ -0,0 +1,68 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyAggregatorTest {
+    private static final long TIME_RANGE = 1000;
+
+    @Test
+    public void windowAverage() {
+        LatencyAggregator aggregator = new WindowLatencyAggregator(TIME_RANGE, 10);
+        assertEquals(-1, aggregator.getAverage(0));
+
+        for (int i = 1; i <= 5; i++) {
+            aggregator.add(i, i * 100);
+        }
+        assertEquals(3, aggregator.getAverage(500));
+
+        // measurements from buckets 1 and 2 are out of the window now
+        assertEquals(4, aggregator.getAverage(1250));
+        assertEquals(-1, aggregator.getAverage(1500));
+    }
+
+    @Test
+    public void windowReusesExpiredBuckets() {
+        LatencyAggregator aggregator = new WindowLatencyAggregator(TIME_RANGE, 10);
+        aggregator.add(1000, 50);
+        aggregator.add(10, 1050);
+        assertEquals(10, aggregator.getAverage(1050));
+
+        // the bucket already belongs to the newer time slice
+        aggregator.add(1000, 60);
+        assertEquals(10, aggregator.getAverage(1050));
+    }
+
+    @Test
+    public void ewmaAverage() {
+        LatencyAggregator aggregator = new EwmaLatencyAggregator(TIME_RANGE);
+        assertEquals(-1, aggregator.getAverage(0));
+
+        aggregator.add(100, 0);
+        aggregator.add(200, 0);
+        assertEquals(150, aggregator.getAverage(0));
+
+        // older measurements weight is exp(-1)
+        aggregator.add(300, TIME_RANGE);
+        double decay = Math.exp(-1);
+        assertEquals(Math.round((300 * decay + 300) / (2 * decay + 1)), aggregator.getAverage(TIME_RANGE));
+
+        assertEquals(-1, aggregator.getAverage(TIME_RANGE * 2 + 1));
+    }
+}
@@ -28,19 +28,20 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.Neo4jBasedTest;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.ManualClock;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.IslLatencyOptions;
+import org.openkilda.wfm.topology.isllatency.model.LatencyAggregationType;
+import org.openkilda.wfm.topology.isllatency.service.IslLatencyService.IslLatencyState;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.time.ZoneOffset;
 
 public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -49,23 +50,29 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final int PORT_2 = 2;
     private static final int INITIAL_LATENCY = 123;
     private static final long PACKET_ID = 0;
-    private static final SwitchId NON_EXISTENT_SWITCH_ID = new SwitchId(123);
     private static final int NON_EXISTENT_PORT = 555;
     private static final Endpoint FORWARD_DESTINATION = Endpoint.of(SWITCH_ID_2, PORT_2);
+    private static final Endpoint REVERSE_DESTINATION = Endpoint.of(SWITCH_ID_1, PORT_1);
     private static final IslKey FORWARD_ISL_KEY = new IslKey(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2);
-    public static final int LATENCY_UPDATE_INTERVAL = 100;
-    public static final int LATENCY_UPDATE_TIME_RANGE = 10;
-
+    private static final IslLatencyOptions OPTIONS = IslLatencyOptions.builder()
+            .aggregationType(LatencyAggregationType.WINDOW)
+            .timeRange(10_000)
+            .windowBuckets(10)
+            .updateInterval(100_000)
+            .updateThresholdPercent(10)
+            .flushBatchSize(1)
+            .build();
 
     private SwitchRepository switchRepository;
     private IslRepository islRepository;
     private IslLatencyService islLatencyService;
+    private ManualClock clock;
 
     @Before
     public void setup() {
+        clock = new ManualClock(Instant.now(), ZoneOffset.UTC);
         islLatencyService = new IslLatencyService(
-                persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(),
-                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE);
+                persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(), OPTIONS, clock);
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
 
@@ -73,6 +80,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         Switch secondSwitch = createSwitch(SWITCH_ID_2);
 
         createIsl(firstSwitch, PORT_1, secondSwitch, PORT_2, INITIAL_LATENCY);
+        createIsl(secondSwitch, PORT_2, firstSwitch, PORT_1, INITIAL_LATENCY);
     }
 
     @After
@@ -82,163 +90,124 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         switchRepository.forceDelete(SWITCH_ID_2);
     }
 
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentSrcEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2, 0);
-    }
-
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentDstEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2, 0);
-    }
-
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentIslTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT, 0);
-    }
-
     @Test
-    public void updateIslLatencyTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 1000);
-        assertForwardLatency(1000);
-    }
+    public void latencyIsStoredOnFlushOnly() {
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(1), clock.millis());
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(3), clock.millis());
+        assertForwardLatency(INITIAL_LATENCY);
 
-    @Test
-    public void handleOneWayIslLatencyTest() {
-        assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
-        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(1), System.currentTimeMillis());
-        assertForwardLatency(1);
-
-        // second latency will be put in cache
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
-        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(10000), System.currentTimeMillis());
-        assertForwardLatency(1);
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+        assertEquals(1, islLatencyService.flush());
+        assertForwardLatency(2);
+        assertEquals(1, islLatencyService.getLastFlushSize());
     }
 
     @Test
-    public void handleRoundTripIslLatencyTest() {
-        assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+    public void roundTripLatencyIsPreferredOverOneWayLatency() {
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(7), clock.millis());
         islLatencyService.handleRoundTripIslLatency(
-                createForwardRoundTripLatency(5), FORWARD_DESTINATION, System.currentTimeMillis());
-        assertForwardLatency(5);
+                createForwardRoundTripLatency(1000), FORWARD_DESTINATION, clock.millis());
 
-        // second latency will be put in cache
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
-        islLatencyService.handleRoundTripIslLatency(
-                createForwardRoundTripLatency(50000), FORWARD_DESTINATION, System.currentTimeMillis());
-        assertForwardLatency(5);
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+        islLatencyService.flush();
+        assertForwardLatency(1000);
     }
 
     @Test
-    public void handleRoundTripIslLatencyAfterOneWayIslLatencyTest() {
-        assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
-        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(7), System.currentTimeMillis());
-        assertForwardLatency(7);
-
-        // second latency will be put in cache
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
-        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(70000), System.currentTimeMillis());
-        assertForwardLatency(7);
-
-        // round trip latency will rewrite one way latency
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+    public void reverseRoundTripLatencyIsUsedForOneWayLatency() {
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(7), clock.millis());
         islLatencyService.handleRoundTripIslLatency(
-                createForwardRoundTripLatency(8), FORWARD_DESTINATION, System.currentTimeMillis());
-        assertForwardLatency(8);
+                new IslRoundTripLatency(SWITCH_ID_2, PORT_2, 1000, PACKET_ID), REVERSE_DESTINATION, clock.millis());
 
-        // second latency will be put in cache
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
-        islLatencyService.handleRoundTripIslLatency(
-                createForwardRoundTripLatency(80000), FORWARD_DESTINATION, System.currentTimeMillis());
-        assertForwardLatency(8);
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+        assertEquals(2, islLatencyService.flush());
+        assertForwardLatency(1000);
+        assertReverseLatency(1000);
     }
 
     @Test
-    public void isUpdateRequiredTest() {
-        assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+    public void onlyChangesBeyondThresholdAreStored() {
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(1000), FORWARD_DESTINATION, clock.millis());
+        assertEquals(1, islLatencyService.flush());
+        assertEquals(0, islLatencyService.flush());
 
-        IslRoundTripLatency data = new IslRoundTripLatency(SWITCH_ID_1, PORT_1, 1L, 0L);
-        Endpoint destination = Endpoint.of(SWITCH_ID_2, PORT_2);
-        islLatencyService.handleRoundTripIslLatency(data, destination, System.currentTimeMillis());
+        // average is 1050, 5% change
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(1100), FORWARD_DESTINATION, clock.millis());
+        assertEquals(0, islLatencyService.flush());
+        assertForwardLatency(1000);
 
-        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+        // average is 1200, 20% change
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(1500), FORWARD_DESTINATION, clock.millis());
+        assertEquals(1, islLatencyService.flush());
+        assertForwardLatency(1200);
     }
 
     @Test
-    public void handleOneWayIslLatencyNonExistentIslTest() {
-        int fakePort = 999;
-        IslKey islKey = new IslKey(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort);
-
-        assertTrue(islLatencyService.isUpdateRequired(islKey));
+    public void unchangedLatencyIsRefreshedAfterUpdateInterval() {
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(1000), FORWARD_DESTINATION, clock.millis());
+        islLatencyService.flush();
 
-        IslOneWayLatency nonExistent = new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID);
-        islLatencyService.handleOneWayIslLatency(nonExistent, System.currentTimeMillis());
+        clock.adjust(Duration.ofMillis(OPTIONS.getUpdateInterval() / 2));
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(1000), FORWARD_DESTINATION, clock.millis());
+        assertEquals(0, islLatencyService.flush());
+        assertEquals(OPTIONS.getUpdateInterval() / 2, islLatencyService.getMaxStaleness());
 
-        assertTrue(islLatencyService.isUpdateRequired(islKey));
+        clock.adjust(Duration.ofMillis(OPTIONS.getUpdateInterval() / 2));
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(1000), FORWARD_DESTINATION, clock.millis());
+        assertEquals(1, islLatencyService.flush());
+        assertEquals(0, islLatencyService.getMaxStaleness());
     }
 
     @Test
-    public void handleRoundTripIslLatencyNonExistentIslTest() {
-        int fakePort = 998;
-        IslKey islKey = new IslKey(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort);
-
-        assertTrue(islLatencyService.isUpdateRequired(islKey));
-
-        IslRoundTripLatency nonExistent = new IslRoundTripLatency(SWITCH_ID_1, fakePort, 4, PACKET_ID);
+    public void expiredIslsAreForgotten() {
         islLatencyService.handleRoundTripIslLatency(
-                nonExistent, Endpoint.of(SWITCH_ID_2, fakePort), System.currentTimeMillis());
+                createForwardRoundTripLatency(1000), FORWARD_DESTINATION, clock.millis());
+        islLatencyService.flush();
+        assertEquals(1, islLatencyService.getTrackedIslsCount());
 
-        assertTrue(islLatencyService.isUpdateRequired(islKey));
+        clock.adjust(Duration.ofMillis(OPTIONS.getTimeRange() * 2));
+        assertEquals(0, islLatencyService.flush());
+        assertEquals(0, islLatencyService.getTrackedIslsCount());
+        assertForwardLatency(1000);
     }
 
     @Test
-    public void getNextUpdateTimeTest() {
-        Instant actualTime = islLatencyService.getNextUpdateTime();
-        long expectedTime = System.currentTimeMillis() + LATENCY_UPDATE_INTERVAL * 1000;
-        assertEquals(expectedTime, actualTime.toEpochMilli(), 50);
+    public void nonExistentIslDoesNotBreakOtherUpdates() {
+        islLatencyService.handleOneWayIslLatency(new IslOneWayLatency(
+                SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT, 3, PACKET_ID), clock.millis());
+        islLatencyService.handleOneWayIslLatency(new IslOneWayLatency(
+                new SwitchId(123), PORT_1, SWITCH_ID_2, PORT_2, 3, PACKET_ID), clock.millis());
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(5), clock.millis());
+
+        assertEquals(1, islLatencyService.flush());
+        assertForwardLatency(5);
     }
 
     @Test
-    public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+    public void invalidLatencyIsIgnored() {
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(-1), FORWARD_DESTINATION, clock.millis());
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(-1), clock.millis());
 
-        for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
-        }
-        assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
+        assertEquals(0, islLatencyService.getTrackedIslsCount());
     }
 
     @Test
-    public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
-    }
+    public void isUpdateRequiredTest() {
+        IslLatencyState state = islLatencyService.getState(FORWARD_ISL_KEY);
+        long now = clock.millis();
+        assertTrue(islLatencyService.isUpdateRequired(state, 1000, now));
 
-    @Test
-    public void pollExpiredRecordsTest() {
-        Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
-
-        for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
-            time = time.plusSeconds(1);
-        }
-
-        time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
-        for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
-            time = time.plusSeconds(1);
-        }
-
-        assertEquals(10, latencyRecords.size());
-        islLatencyService.pollExpiredRecords(latencyRecords);
-        assertEquals(5, latencyRecords.size());
-
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+        islLatencyService.handleRoundTripIslLatency(createForwardRoundTripLatency(1000), FORWARD_DESTINATION, now);
+        islLatencyService.flush();
+
+        assertFalse(islLatencyService.isUpdateRequired(state, 1100, now));
+        assertTrue(islLatencyService.isUpdateRequired(state, 1101, now));
+        assertTrue(islLatencyService.isUpdateRequired(state, 899, now));
+        assertTrue(islLatencyService.isUpdateRequired(state, 1000, now + OPTIONS.getUpdateInterval()));
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -271,4 +240,9 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         long actualLatency = islRepository.findByEndpoints(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2).get().getLatency();
         assertEquals(expectedLatency, actualLatency);
     }
+
+    private void assertReverseLatency(long expectedLatency) {
+        long actualLatency = islRepository.findByEndpoints(SWITCH_ID_2, PORT_2, SWITCH_ID_1, PORT_1).get().getLatency();
+        assertEquals(expectedLatency, actualLatency);
+    }
 }
@@ -55,7 +55,7 @@ public class NetworkWatchListServiceTest {
         s.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(s.getEndpoints().size(), is(4));
-        assertThat(s.getTimeouts().size(), is(3));
+        assertThat(s.getPendingTimeouts(), is(4));
 
         verify(carrier, times(4)).discoveryRequest(any(Endpoint.class), anyLong());
     }
@@ -75,12 +75,10 @@ public class NetworkWatchListServiceTest {
         s.removeWatch(Endpoint.of(new SwitchId(2), 1));
 
         assertThat(s.getEndpoints().size(), is(0));
-        assertThat(s.getTimeouts().size(), is(2));
+        assertThat(s.getPendingTimeouts(), is(0));
 
         s.tick(100);
 
-        assertThat(s.getTimeouts().size(), is(0));
-
         verify(carrier, times(3)).discoveryRequest(any(Endpoint.class), anyLong());
     }
 
@@ -59,7 +59,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getPendingTimeouts(), is(5));
 
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
     }
@@ -79,7 +79,7 @@ public class NetworkWatcherServiceTest {
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
 
         assertThat(w.getConfirmedPackets().size(), is(2));
-        assertThat(w.getTimeouts().size(), is(5));
+        assertThat(w.getPendingTimeouts(), is(5));
         assertThat(w.getProducedPackets().size(), is(3));
 
         w.removeWatch(Endpoint.of(new SwitchId(1), 2));
@@ -90,9 +90,10 @@ public class NetworkWatcherServiceTest {
 
         assertThat(w.getConfirmedPackets().size(), is(1));
         assertThat(w.getProducedPackets().size(), is(2));
+        assertThat(w.getPendingTimeouts(), is(3));
 
         w.tick(100);
-        assertThat(w.getTimeouts().size(), is(0));
+        assertThat(w.getPendingTimeouts(), is(0));
     }
 
     @Test
@@ -105,7 +106,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getPendingTimeouts(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
@@ -121,7 +122,7 @@ public class NetworkWatcherServiceTest {
         verify(carrier).discoveryFailed(eq(Endpoint.of(new SwitchId(2), 1)), eq(2L), anyLong());
         verify(carrier, times(2)).discoveryFailed(any(Endpoint.class), anyLong(), anyLong());
 
-        assertThat(w.getTimeouts().size(), is(0));
+        assertThat(w.getPendingTimeouts(), is(0));
     }
 
     @Test
@@ -134,7 +135,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getPendingTimeouts(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
@@ -159,7 +160,7 @@ public class NetworkWatcherServiceTest {
                                           anyLong());
         verify(carrier, times(2)).discoveryReceived(any(Endpoint.class), anyLong(), any(IslInfoData.class), anyLong());
 
-        assertThat(w.getTimeouts().size(), is(0));
+        assertThat(w.getPendingTimeouts(), is(0));
     }
 
     @Test
@@ -0,0 +1,109 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DatapointDedupStoreTest {
+    private static final long MUTE_MILLIS = 1000;
+
+    @Test
+    public void shouldSuppressSameValue() {
+        DatapointDedupStore store = new DatapointDedupStore(10);
+        long fingerprint = DatapointDedupStore.fingerprint("metric", Collections.emptyMap());
+
+        assertTrue(store.update(fingerprint, 100, 1L, MUTE_MILLIS));
+        assertFalse(store.update(fingerprint, 200, 1L, MUTE_MILLIS));
+        assertTrue(store.update(fingerprint, 300, 2L, MUTE_MILLIS));
+        assertFalse(store.update(fingerprint, 300 + MUTE_MILLIS - 1, 2L, MUTE_MILLIS));
+        assertTrue(store.update(fingerprint, 300 + MUTE_MILLIS, 2L, MUTE_MILLIS));
+        assertTrue(store.update(fingerprint, 300 + MUTE_MILLIS, 2.0, MUTE_MILLIS));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void shouldIgnoreTagsOrder() {
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("a", "1");
+        tags.put("b", "2");
+        Map<String, String> reversedTags = new LinkedHashMap<>();
+        reversedTags.put("b", "2");
+        reversedTags.put("a", "1");
+
+        assertEquals(DatapointDedupStore.fingerprint("metric", tags),
+                DatapointDedupStore.fingerprint("metric", reversedTags));
+        assertNotEquals(DatapointDedupStore.fingerprint("metric", tags),
+                DatapointDedupStore.fingerprint("metric", ImmutableMap.of("a", "2", "b", "1")));
+    }
+
+    @Test
+    public void shouldBoundCardinality() {
+        DatapointDedupStore store = new DatapointDedupStore(100);
+        for (int i = 0; i < 1000; i++) {
+            long fingerprint = DatapointDedupStore.fingerprint("metric", ImmutableMap.of("id", String.valueOf(i)));
+            assertTrue(store.update(fingerprint, i, 1L, MUTE_MILLIS));
+        }
+
+        assertEquals(100, store.size());
+        assertEquals(900, store.getAndResetEvictions());
+        // The latest one must be kept.
+        long fingerprint = DatapointDedupStore.fingerprint("metric", ImmutableMap.of("id", "999"));
+        assertFalse(store.update(fingerprint, 1000, 1L, MUTE_MILLIS));
+    }
+
+    @Test
+    public void shouldExpireAcrossSeveralSweeps() {
+        DatapointDedupStore store = new DatapointDedupStore(1000);
+        for (int i = 0; i < 1000; i++) {
+            long fingerprint = DatapointDedupStore.fingerprint("metric", ImmutableMap.of("id", String.valueOf(i)));
+            store.update(fingerprint, i % 2 == 0 ? 0 : 5000, 1L, MUTE_MILLIS);
+        }
+
+        int slots = store.capacity() / 4;
+        int removed = 0;
+        for (int i = 0; i < 4; i++) {
+            removed += store.expire(1000, slots);
+        }
+        assertEquals(500, removed);
+        assertEquals(500, store.size());
+
+        for (int i = 0; i < 1000; i++) {
+            long fingerprint = DatapointDedupStore.fingerprint("metric", ImmutableMap.of("id", String.valueOf(i)));
+            assertEquals(i % 2 == 0, store.update(fingerprint, 5000, 1L, MUTE_MILLIS));
+        }
+    }
+
+    @Test
+    public void shouldCountHitRate() {
+        DatapointDedupStore store = new DatapointDedupStore(10);
+        long fingerprint = DatapointDedupStore.fingerprint("metric", null);
+        store.update(fingerprint, 0, 1L, MUTE_MILLIS);
+        store.update(fingerprint, 1, 1L, MUTE_MILLIS);
+
+        assertEquals(0.5, store.getAndResetHitRate(), 0.001);
+        assertEquals(0, store.getAndResetHitRate(), 0.001);
+    }
+}
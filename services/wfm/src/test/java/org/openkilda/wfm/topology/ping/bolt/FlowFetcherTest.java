@@ -0,0 +1,233 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPair;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowPairRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.flow.TestFlowBuilder;
+import org.openkilda.wfm.topology.ping.model.FlowRef;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.tuple.Values;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FlowFetcherTest {
+    private static final long REGISTRY_SYNC_INTERVAL = 10000L;
+
+    private static final String FLOW_ALPHA = "flow-alpha";
+    private static final String FLOW_BETA = "flow-beta";
+
+    private static final int TICK_TASK_ID = 1;
+    private static final int INPUT_ROUTER_TASK_ID = 2;
+
+    private static final Map<Integer, String> taskIdToComponentName = ImmutableMap.of(
+            TICK_TASK_ID, TickDeduplicator.BOLT_ID,
+            INPUT_ROUTER_TASK_ID, InputRouter.BOLT_ID);
+
+    private final Switch switchAlpha = Switch.builder().switchId(new SwitchId(1)).build();
+    private final Switch switchBeta = Switch.builder().switchId(new SwitchId(2)).build();
+
+    @Mock
+    private PersistenceManager persistenceManager;
+
+    @Mock
+    private FlowPairRepository flowPairRepository;
+
+    @Mock
+    private TopologyContext topologyContext;
+
+    @Mock
+    private OutputCollector output;
+
+    private FlowFetcher subject;
+
+    @Before
+    public void setUp() {
+        RepositoryFactory repositoryFactory = Mockito.mock(RepositoryFactory.class);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+        when(repositoryFactory.createFlowPairRepository()).thenReturn(flowPairRepository);
+
+        doAnswer(invocation -> taskIdToComponentName.get(invocation.<Integer>getArgument(0)))
+                .when(topologyContext).getComponentId(any(Integer.class));
+        doAnswer(invocation -> InputRouter.BOLT_ID.equals(invocation.getArgument(0))
+                ? InputRouter.STREAM_PING_REQUEST_FIELDS : TickDeduplicator.STREAM_FIELDS)
+                .when(topologyContext).getComponentOutputFields(any(String.class), any(String.class));
+
+        subject = new FlowFetcher(persistenceManager, REGISTRY_SYNC_INTERVAL);
+        subject.prepare(Collections.emptyMap(), topologyContext, output);
+    }
+
+    @Test
+    public void seedRegistryOnFirstTick() {
+        when(flowPairRepository.findWithPeriodicPingsEnabled())
+                .thenReturn(Arrays.asList(makeFlowPair(FLOW_ALPHA), makeFlowPair(FLOW_BETA)));
+
+        assertEquals(Sets.newHashSet(FLOW_ALPHA, FLOW_BETA), tick(0L));
+        assertEquals(Sets.newHashSet(FLOW_ALPHA, FLOW_BETA), tick(1000L));
+
+        verify(flowPairRepository).findWithPeriodicPingsEnabled();
+    }
+
+    @Test
+    public void ignoreUpdateBeforeRegistrySeed() {
+        when(flowPairRepository.findWithPeriodicPingsEnabled())
+                .thenReturn(Collections.singletonList(makeFlowPair(FLOW_ALPHA)));
+
+        update(FLOW_ALPHA, true);
+        verify(flowPairRepository, never()).findById(any());
+
+        assertEquals(Sets.newHashSet(FLOW_ALPHA), tick(0L));
+    }
+
+    @Test
+    public void addUpdatedFlow() {
+        when(flowPairRepository.findWithPeriodicPingsEnabled())
+                .thenReturn(Collections.singletonList(makeFlowPair(FLOW_ALPHA)));
+        assertEquals(Sets.newHashSet(FLOW_ALPHA), tick(0L));
+
+        when(flowPairRepository.findById(FLOW_BETA)).thenReturn(Optional.of(makeFlowPair(FLOW_BETA)));
+        update(FLOW_BETA, true);
+
+        assertEquals(Sets.newHashSet(FLOW_ALPHA, FLOW_BETA), tick(1000L));
+        verify(flowPairRepository).findWithPeriodicPingsEnabled();
+    }
+
+    @Test
+    public void removeFlowWithDisabledPeriodicPings() {
+        when(flowPairRepository.findWithPeriodicPingsEnabled())
+                .thenReturn(Arrays.asList(makeFlowPair(FLOW_ALPHA), makeFlowPair(FLOW_BETA)));
+        assertEquals(Sets.newHashSet(FLOW_ALPHA, FLOW_BETA), tick(0L));
+
+        FlowPair disabled = makeFlowPair(FLOW_BETA);
+        disabled.getForward().getFlow().setPeriodicPings(false);
+        when(flowPairRepository.findById(FLOW_BETA)).thenReturn(Optional.of(disabled));
+        update(FLOW_BETA, true);
+
+        assertEquals(Sets.newHashSet(FLOW_ALPHA), tick(1000L));
+    }
+
+    @Test
+    public void removeDeletedFlow() {
+        when(flowPairRepository.findWithPeriodicPingsEnabled())
+                .thenReturn(Arrays.asList(makeFlowPair(FLOW_ALPHA), makeFlowPair(FLOW_BETA)));
+        assertEquals(Sets.newHashSet(FLOW_ALPHA, FLOW_BETA), tick(0L));
+
+        update(FLOW_BETA, false);
+        verify(flowPairRepository, never()).findById(any());
+
+        Tuple tuple = makeTickTuple(1000L);
+        subject.execute(tuple);
+        assertEquals(Sets.newHashSet(FLOW_ALPHA), collectPingedFlows(tuple));
+
+        // forward and reverse cookies of the removed flow
+        verify(output, times(2)).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), eq(tuple),
+                argThat(values -> FLOW_BETA.equals(((FlowRef) values.get(0)).getFlowId())));
+    }
+
+    @Test
+    public void reloadRegistryOnSyncInterval() {
+        when(flowPairRepository.findWithPeriodicPingsEnabled())
+                .thenReturn(Collections.singletonList(makeFlowPair(FLOW_ALPHA)))
+                .thenReturn(Collections.singletonList(makeFlowPair(FLOW_BETA)));
+
+        assertEquals(Sets.newHashSet(FLOW_ALPHA), tick(0L));
+        // missed notification is not visible until the sync sweep
+        assertEquals(Sets.newHashSet(FLOW_ALPHA), tick(REGISTRY_SYNC_INTERVAL - 1));
+        assertEquals(Sets.newHashSet(FLOW_BETA), tick(REGISTRY_SYNC_INTERVAL));
+
+        verify(flowPairRepository, times(2)).findWithPeriodicPingsEnabled();
+    }
+
+    private Set<String> tick(long timeMillis) {
+        reset(output);
+        Tuple tuple = makeTickTuple(timeMillis);
+        subject.execute(tuple);
+        return collectPingedFlows(tuple);
+    }
+
+    private void update(String flowId, boolean enable) {
+        Tuple tuple = new TupleImpl(topologyContext,
+                new Values(new PeriodicPingCommand(flowId, enable), new CommandContext()),
+                INPUT_ROUTER_TASK_ID, InputRouter.STREAM_PERIODIC_PING_UPDATE_ID);
+        subject.execute(tuple);
+        verify(output).ack(tuple);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> collectPingedFlows(Tuple tuple) {
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        verify(output, atLeast(0)).emit(eq(tuple), captor.capture());
+        return captor.getAllValues().stream()
+                .map(values -> (String) values.get(0))
+                .collect(Collectors.toSet());
+    }
+
+    private Tuple makeTickTuple(long timeMillis) {
+        return new TupleImpl(topologyContext,
+                new Values(timeMillis, timeMillis / 1000, TickId.PERIODIC_PING, new CommandContext()),
+                TICK_TASK_ID, TickDeduplicator.STREAM_PING_ID);
+    }
+
+    private FlowPair makeFlowPair(String flowId) {
+        Flow flow = new TestFlowBuilder(flowId)
+                .srcSwitch(switchAlpha)
+                .srcPort(1)
+                .destSwitch(switchBeta)
+                .destPort(2)
+                .build();
+        flow.setPeriodicPings(true);
+        return new FlowPair(flow, null, null);
+    }
+}
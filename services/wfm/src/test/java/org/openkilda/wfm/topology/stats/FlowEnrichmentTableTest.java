@@ -0,0 +1,144 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.openkilda.model.Cookie;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.PathId;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.UUID;
+
+public class FlowEnrichmentTableTest {
+
+    private static final Long FORWARD_PATH_COOKIE = 1L;
+    private static final Long PROTECTED_FORWARD_PATH_COOKIE = 2L;
+    private static final Long REVERSE_PATH_COOKIE = 3L;
+    private static final Long PROTECTED_REVERSE_PATH_COOKIE = 4L;
+
+    private static final Long FORWARD_METER_ID = MeterId.MIN_FLOW_METER_ID + 1L;
+    private static final Long PROTECTED_FORWARD_METER_ID = MeterId.MIN_FLOW_METER_ID + 2L;
+    private static final Long REVERSE_METER_ID = MeterId.MIN_FLOW_METER_ID + 3L;
+    private static final Long PROTECTED_REVERSE_METER_ID = MeterId.MIN_FLOW_METER_ID + 4L;
+
+    private static final SwitchId SRC_SWITCH_ID = new SwitchId(1L);
+    private static final SwitchId DST_SWITCH_ID = new SwitchId(2L);
+
+    @Test
+    public void loadCookieTest() {
+        Flow flow = getFlow();
+        FlowEnrichmentTable table = new FlowEnrichmentTable();
+        table.load(Collections.singletonList(flow));
+
+        assertCookieEntry(flow, table, FORWARD_PATH_COOKIE, SRC_SWITCH_ID, DST_SWITCH_ID);
+        assertCookieEntry(flow, table, PROTECTED_FORWARD_PATH_COOKIE, SRC_SWITCH_ID, DST_SWITCH_ID);
+        assertCookieEntry(flow, table, REVERSE_PATH_COOKIE, DST_SWITCH_ID, SRC_SWITCH_ID);
+        assertCookieEntry(flow, table, PROTECTED_REVERSE_PATH_COOKIE, DST_SWITCH_ID, SRC_SWITCH_ID);
+        assertNull(table.findByCookie(PROTECTED_REVERSE_PATH_COOKIE + 1));
+        assertEquals(1, table.getVersion());
+    }
+
+    @Test
+    public void loadMeterTest() {
+        Flow flow = getFlow();
+        FlowEnrichmentTable table = new FlowEnrichmentTable();
+        table.load(Collections.singletonList(flow));
+
+        assertMeterEntry(flow, table, SRC_SWITCH_ID, FORWARD_METER_ID, FORWARD_PATH_COOKIE);
+        assertMeterEntry(flow, table, SRC_SWITCH_ID, PROTECTED_FORWARD_METER_ID, PROTECTED_FORWARD_PATH_COOKIE);
+        assertMeterEntry(flow, table, DST_SWITCH_ID, REVERSE_METER_ID, REVERSE_PATH_COOKIE);
+        assertMeterEntry(flow, table, DST_SWITCH_ID, PROTECTED_REVERSE_METER_ID, PROTECTED_REVERSE_PATH_COOKIE);
+        assertNull(table.findByMeter(DST_SWITCH_ID, FORWARD_METER_ID));
+    }
+
+    @Test
+    public void updateAndRemoveTest() {
+        String flowId = uuid();
+        FlowEnrichmentTable table = new FlowEnrichmentTable();
+
+        table.update(FORWARD_PATH_COOKIE, FORWARD_METER_ID, flowId, SRC_SWITCH_ID, MeasurePoint.INGRESS);
+        table.update(FORWARD_PATH_COOKIE, null, flowId, DST_SWITCH_ID, MeasurePoint.EGRESS);
+        assertEquals(2, table.getVersion());
+
+        CacheFlowEntry entry = table.findByCookie(FORWARD_PATH_COOKIE);
+        assertEquals(flowId, entry.getFlowId());
+        assertEquals(SRC_SWITCH_ID.toOtsdFormat(), entry.getIngressSwitch());
+        assertEquals(DST_SWITCH_ID.toOtsdFormat(), entry.getEgressSwitch());
+        assertEquals(FORWARD_PATH_COOKIE, table.findByMeter(SRC_SWITCH_ID, FORWARD_METER_ID).getCookie());
+
+        table.remove(FORWARD_PATH_COOKIE, FORWARD_METER_ID, SRC_SWITCH_ID);
+        assertNull(table.findByCookie(FORWARD_PATH_COOKIE));
+        assertNull(table.findByMeter(SRC_SWITCH_ID, FORWARD_METER_ID));
+        assertEquals(3, table.getVersion());
+    }
+
+    private void assertCookieEntry(Flow flow, FlowEnrichmentTable table, Long cookie,
+                                   SwitchId ingress, SwitchId egress) {
+        CacheFlowEntry entry = table.findByCookie(cookie);
+        assertEquals(flow.getFlowId(), entry.getFlowId());
+        assertEquals(cookie, entry.getCookie());
+        assertEquals(ingress.toOtsdFormat(), entry.getIngressSwitch());
+        assertEquals(egress.toOtsdFormat(), entry.getEgressSwitch());
+    }
+
+    private void assertMeterEntry(Flow flow, FlowEnrichmentTable table, SwitchId switchId, Long meterId,
+                                  Long cookie) {
+        CacheFlowEntry entry = table.findByMeter(switchId, meterId);
+        assertEquals(flow.getFlowId(), entry.getFlowId());
+        assertEquals(cookie, entry.getCookie());
+    }
+
+    private Flow getFlow() {
+        Switch srcSwitch = Switch.builder().switchId(SRC_SWITCH_ID).build();
+        Switch destSwitch = Switch.builder().switchId(DST_SWITCH_ID).build();
+        Flow flow = Flow.builder()
+                .flowId(uuid())
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .build();
+        flow.setForwardPath(getPath(flow, srcSwitch, destSwitch, FORWARD_PATH_COOKIE, FORWARD_METER_ID));
+        flow.setProtectedForwardPath(getPath(
+                flow, srcSwitch, destSwitch, PROTECTED_FORWARD_PATH_COOKIE, PROTECTED_FORWARD_METER_ID));
+        flow.setReversePath(getPath(flow, destSwitch, srcSwitch, REVERSE_PATH_COOKIE, REVERSE_METER_ID));
+        flow.setProtectedReversePath(getPath(
+                flow, destSwitch, srcSwitch, PROTECTED_REVERSE_PATH_COOKIE, PROTECTED_REVERSE_METER_ID));
+        return flow;
+    }
+
+    private FlowPath getPath(Flow flow, Switch src, Switch dest, long cookie, long meterId) {
+        return FlowPath.builder()
+                .pathId(new PathId(uuid()))
+                .flow(flow)
+                .srcSwitch(src)
+                .destSwitch(dest)
+                .cookie(new Cookie(cookie))
+                .meterId(new MeterId(meterId))
+                .build();
+    }
+
+    private String uuid() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -160,7 +160,7 @@ public class StatsTopologyTest extends AbstractStormTest {
     public void setup() throws IOException {
         otsdbConsumer.clear();
 
-        // need clear data in CacheBolt
+        // need clear data in the flow enrichment tables
         for (Flow flow : flowRepository.findAll()) {
             sendRemoveFlowCommand(new UnidirectionalFlow(flow.getForwardPath(), null, false));
             flowRepository.delete(flow);